@@ -0,0 +1,39 @@
+package com.example.runshop.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+
+// 다른 노드에서 지운 캐시 항목을 이 노드의 L1 에서도 지움 (spring.cache.type 이 redis 가 아니면 L1 이 없으므로 무시)
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "cache.near.invalidation", havingValue = "redis", matchIfMissing = true)
+public class CacheInvalidationListener implements MessageListener {
+
+    private final ObjectMapper objectMapper;
+    private final ObjectProvider<TieredCacheManager> tieredCacheManager;
+
+    public CacheInvalidationListener(ObjectMapper objectMapper, ObjectProvider<TieredCacheManager> tieredCacheManager) {
+        this.objectMapper = objectMapper;
+        this.tieredCacheManager = tieredCacheManager;
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        TieredCacheManager cacheManager = tieredCacheManager.getIfAvailable();
+        if (cacheManager == null) {
+            return;
+        }
+        try {
+            cacheManager.invalidateLocal(objectMapper.readValue(message.getBody(), CacheInvalidationMessage.class));
+        } catch (IOException e) {
+            log.warn("캐시 무효화 메시지를 해석할 수 없습니다.", e);
+        }
+    }
+}
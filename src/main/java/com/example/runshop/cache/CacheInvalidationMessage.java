@@ -0,0 +1,5 @@
+package com.example.runshop.cache;
+
+// L1 무효화 메시지 (key 가 null 이면 캐시 전체), origin 은 보낸 노드 - 자신이 보낸 메시지는 이미 반영했으므로 무시
+public record CacheInvalidationMessage(String origin, String cacheName, String key) {
+}
@@ -0,0 +1,11 @@
+package com.example.runshop.cache;
+
+/**
+ * 다른 노드의 L1(노드 메모리) 캐시 무효화 전파.
+ * 여러 노드에서는 Redis pub/sub 으로 전파하고, 단일 노드/테스트 환경에서는 cache.near.invalidation 설정(redis | local)으로
+ * 전파하지 않는 구현체를 선택합니다.
+ */
+public interface CacheInvalidationPublisher {
+
+    void publish(CacheInvalidationMessage message);
+}
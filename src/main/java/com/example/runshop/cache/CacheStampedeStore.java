@@ -0,0 +1,20 @@
+package com.example.runshop.cache;
+
+import java.time.Duration;
+
+/**
+ * 캐시 항목 적재 조정 저장소.
+ * 여러 노드가 같은 항목을 동시에 적재하지 않도록 짧은 적재 잠금을 두고, 조기 갱신 판단에 쓸 L2 항목의 남은 TTL 을 조회합니다.
+ * 테스트/부하 테스트처럼 Redis 없이 실행하는 환경에서는 cache.stampede.store 설정(redis | memory)으로 인메모리 구현체를 선택합니다.
+ */
+public interface CacheStampedeStore {
+
+    // 적재 잠금 선점 (ttl 이 지나면 자동 해제), 선점하면 true
+    boolean tryLock(String key, String owner, Duration ttl);
+
+    // 자신이 선점한 잠금만 해제
+    void unlock(String key, String owner);
+
+    // L2 항목의 남은 TTL (밀리초), 항목이 없거나 알 수 없으면 -1
+    long remainingTtlMillis(String cacheKey);
+}
@@ -0,0 +1,28 @@
+package com.example.runshop.cache;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+// Redis 없이 실행하는 테스트/로컬 환경용 (단일 노드 전용)
+// 노드 안의 동시 적재는 TieredCache 가 이미 하나로 묶으므로 잠금은 항상 선점되고, 남은 TTL 을 모르므로 조기 갱신하지 않음
+@Component
+@ConditionalOnProperty(name = "cache.stampede.store", havingValue = "memory")
+public class InMemoryCacheStampedeStore implements CacheStampedeStore {
+
+    @Override
+    public boolean tryLock(String key, String owner, Duration ttl) {
+        return true;
+    }
+
+    @Override
+    public void unlock(String key, String owner) {
+        // 잠금 없음
+    }
+
+    @Override
+    public long remainingTtlMillis(String cacheKey) {
+        return -1;
+    }
+}
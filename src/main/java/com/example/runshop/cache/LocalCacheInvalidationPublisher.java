@@ -0,0 +1,15 @@
+package com.example.runshop.cache;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+// 단일 노드/테스트 환경용 - 이 노드의 L1 은 TieredCache 가 이미 지웠으므로 전파할 곳이 없음
+@Component
+@ConditionalOnProperty(name = "cache.near.invalidation", havingValue = "local")
+public class LocalCacheInvalidationPublisher implements CacheInvalidationPublisher {
+
+    @Override
+    public void publish(CacheInvalidationMessage message) {
+        // 다른 노드 없음
+    }
+}
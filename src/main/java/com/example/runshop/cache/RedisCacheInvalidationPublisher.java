@@ -0,0 +1,39 @@
+package com.example.runshop.cache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+// Redis pub/sub 으로 모든 노드에 전파
+// Redis 에 접근할 수 없으면 L2 도 지우지 못한 상태이므로 전파를 건너뛰고, 다른 노드의 L1 은 만료 시간이 지나면 갱신됨
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "cache.near.invalidation", havingValue = "redis", matchIfMissing = true)
+public class RedisCacheInvalidationPublisher implements CacheInvalidationPublisher {
+
+    public static final String CHANNEL = "cache-invalidation";
+
+    private final StringRedisTemplate redisTemplate;
+    private final ObjectMapper objectMapper;
+
+    public RedisCacheInvalidationPublisher(StringRedisTemplate redisTemplate, ObjectMapper objectMapper) {
+        this.redisTemplate = redisTemplate;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public void publish(CacheInvalidationMessage message) {
+        try {
+            redisTemplate.convertAndSend(CHANNEL, objectMapper.writeValueAsString(message));
+        } catch (DataAccessException e) {
+            log.warn("Redis 에 접근할 수 없어 캐시 무효화를 다른 노드에 전파하지 못했습니다. 캐시: {}, 키: {}",
+                    message.cacheName(), message.key(), e);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("캐시 무효화 메시지를 직렬화할 수 없습니다.", e);
+        }
+    }
+}
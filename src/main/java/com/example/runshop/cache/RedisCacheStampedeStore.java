@@ -0,0 +1,60 @@
+package com.example.runshop.cache;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// 모든 노드가 공유하는 Redis 적재 잠금 (SET NX PX 로 선점, 소유자가 같을 때만 삭제)
+// Redis 에 접근할 수 없으면 잠금 없이 각 노드가 적재함 (노드 안에서는 여전히 하나로 묶임)
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "cache.stampede.store", havingValue = "redis", matchIfMissing = true)
+public class RedisCacheStampedeStore implements CacheStampedeStore {
+
+    private static final RedisScript<Long> UNLOCK_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('get', KEYS[1]) == ARGV[1] then return redis.call('del', KEYS[1]) else return 0 end", Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+
+    public RedisCacheStampedeStore(StringRedisTemplate redisTemplate) {
+        this.redisTemplate = redisTemplate;
+    }
+
+    @Override
+    public boolean tryLock(String key, String owner, Duration ttl) {
+        try {
+            return Boolean.TRUE.equals(redisTemplate.opsForValue().setIfAbsent(key, owner, ttl));
+        } catch (DataAccessException e) {
+            log.warn("Redis 에 접근할 수 없어 적재 잠금 없이 캐시 항목을 적재합니다: {}", e.getMessage());
+            return true;
+        }
+    }
+
+    @Override
+    public void unlock(String key, String owner) {
+        try {
+            redisTemplate.execute(UNLOCK_SCRIPT, List.of(key), owner);
+        } catch (DataAccessException e) {
+            // 잠금은 ttl 이 지나면 풀림
+            log.warn("캐시 적재 잠금을 해제하지 못했습니다: {}", e.getMessage());
+        }
+    }
+
+    @Override
+    public long remainingTtlMillis(String cacheKey) {
+        try {
+            Long ttl = redisTemplate.getExpire(cacheKey, TimeUnit.MILLISECONDS);
+            return ttl != null && ttl >= 0 ? ttl : -1;
+        } catch (DataAccessException e) {
+            return -1;
+        }
+    }
+}
@@ -0,0 +1,304 @@
+package com.example.runshop.cache;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.SimpleValueWrapper;
+
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * L1(노드 메모리, Caffeine) 을 L2(Redis) 앞에 둔 캐시.
+ * 조회는 L1 → L2 → 로더 순으로 찾고 찾은 값을 L1 에 올려, 자주 읽는 항목은 Redis 왕복과 JSON 역직렬화 없이 반환합니다.
+ * 삭제는 L2 와 이 노드의 L1 을 지운 뒤 CacheInvalidationPublisher 로 다른 노드의 L1 도 지우게 합니다.
+ * L1 은 역직렬화하지 않은 객체를 그대로 돌려주므로 캐시된 값은 읽기 전용으로 다뤄야 합니다.
+ * 삭제가 L2 를 읽은 뒤 L1 에 올리기 전 사이에 일어나면 삭제 전 값이 L1 TTL 동안 남으므로, 삭제마다 세대를 올리고
+ * 읽기 시작 후 세대가 바뀐 값은 L1 에 남기지 않습니다.
+ *
+ * 로더를 받는 조회(@Cacheable(sync = true))는 인기 항목이 만료되는 순간 요청이 한꺼번에 DB 로 몰리지 않도록,
+ * 노드 안에서는 같은 키의 적재를 하나로 묶고 노드 사이에서는 CacheStampedeStore 의 짧은 잠금을 선점한 노드만 적재하며
+ * 나머지 노드는 잠금 시간 동안 L2 에 값이 올라오기를 기다립니다.
+ * 또한 L2 항목의 남은 TTL 이 짧을수록 높은 확률로 만료 전에 미리 다시 적재합니다 (XFetch: -window × ln(rand) ≥ 남은 TTL).
+ */
+public class TieredCache implements Cache {
+
+    private static final String LOCK_PREFIX = "cache:lock:";
+    private static final long LOCK_POLL_MILLIS = 20;
+
+    private final String name;
+    private final com.github.benmanes.caffeine.cache.Cache<String, Object> local;
+    private final Cache remote;
+    private final CacheInvalidationPublisher invalidationPublisher;
+    private final CacheStampedeStore stampedeStore;
+    private final String origin;
+    // L2 항목의 Redis 키 접두사 (남은 TTL 조회용, 모르면 null 이고 조기 갱신하지 않음)
+    private final String remoteKeyPrefix;
+    private final Duration lockTtl;
+    private final long earlyRefreshWindowMillis;
+    private final ConcurrentMap<String, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+    // L1 항목을 지울 때마다 증가 (이 노드의 삭제와 다른 노드에서 받은 무효화 모두)
+    private final AtomicLong evictions = new AtomicLong();
+
+    TieredCache(String name,
+                com.github.benmanes.caffeine.cache.Cache<String, Object> local,
+                Cache remote,
+                CacheInvalidationPublisher invalidationPublisher,
+                CacheStampedeStore stampedeStore,
+                String origin,
+                String remoteKeyPrefix,
+                Duration lockTtl,
+                Duration earlyRefreshWindow) {
+        this.name = name;
+        this.local = local;
+        this.remote = remote;
+        this.invalidationPublisher = invalidationPublisher;
+        this.stampedeStore = stampedeStore;
+        this.origin = origin;
+        this.remoteKeyPrefix = remoteKeyPrefix;
+        this.lockTtl = lockTtl;
+        this.earlyRefreshWindowMillis = earlyRefreshWindow.toMillis();
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return remote.getNativeCache();
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        Object value = local.getIfPresent(localKey(key));
+        if (value != null) {
+            return new SimpleValueWrapper(value);
+        }
+        long generation = evictions.get();
+        ValueWrapper wrapper = remote.get(key);
+        if (wrapper != null && wrapper.get() != null) {
+            fillLocal(localKey(key), wrapper.get(), generation);
+        }
+        return wrapper;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Class<T> type) {
+        ValueWrapper wrapper = get(key);
+        Object value = wrapper != null ? wrapper.get() : null;
+        if (value != null && type != null && !type.isInstance(value)) {
+            throw new IllegalStateException("캐시 값이 요청한 타입이 아닙니다. 캐시: " + name + ", 타입: " + type.getName());
+        }
+        return (T) value;
+    }
+
+    // 같은 키를 적재 중인 요청이 있으면 그 결과를 함께 기다림 (적재 실패도 함께 받음)
+    // 잠금 시간 안에 끝나지 않으면(로더가 멈춤 등) 더 기다리지 않고 직접 적재
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        String localKey = localKey(key);
+        Object value = local.getIfPresent(localKey);
+        if (value != null) {
+            return (T) value;
+        }
+
+        CompletableFuture<Object> loading = new CompletableFuture<>();
+        CompletableFuture<Object> existing = inFlight.putIfAbsent(localKey, loading);
+        if (existing != null) {
+            try {
+                return (T) existing.get(lockTtl.toMillis(), TimeUnit.MILLISECONDS);
+            } catch (ExecutionException e) {
+                throw e.getCause() instanceof RuntimeException cause ? cause : new ValueRetrievalException(key, valueLoader, e.getCause());
+            } catch (TimeoutException e) {
+                return (T) load(key, valueLoader);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new ValueRetrievalException(key, valueLoader, e);
+            }
+        }
+        try {
+            long generation = evictions.get();
+            Object loaded = load(key, valueLoader);
+            if (loaded != null) {
+                fillLocal(localKey, loaded, generation);
+            }
+            loading.complete(loaded);
+            return (T) loaded;
+        } catch (RuntimeException e) {
+            loading.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(localKey, loading);
+        }
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        remote.put(key, value);
+        if (value != null) {
+            local.put(localKey(key), value);
+        }
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value) {
+        long generation = evictions.get();
+        ValueWrapper existing = remote.putIfAbsent(key, value);
+        Object current = existing != null ? existing.get() : value;
+        if (current != null) {
+            fillLocal(localKey(key), current, generation);
+        }
+        return existing;
+    }
+
+    @Override
+    public void evict(Object key) {
+        remote.evict(key);
+        evictions.incrementAndGet();
+        local.invalidate(localKey(key));
+        invalidationPublisher.publish(new CacheInvalidationMessage(origin, name, localKey(key)));
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        boolean present = remote.evictIfPresent(key);
+        evictions.incrementAndGet();
+        local.invalidate(localKey(key));
+        invalidationPublisher.publish(new CacheInvalidationMessage(origin, name, localKey(key)));
+        return present;
+    }
+
+    @Override
+    public void clear() {
+        remote.clear();
+        evictions.incrementAndGet();
+        local.invalidateAll();
+        invalidationPublisher.publish(new CacheInvalidationMessage(origin, name, null));
+    }
+
+    @Override
+    public boolean invalidate() {
+        boolean invalidated = remote.invalidate();
+        evictions.incrementAndGet();
+        local.invalidateAll();
+        invalidationPublisher.publish(new CacheInvalidationMessage(origin, name, null));
+        return invalidated;
+    }
+
+    // L2 에 있으면 그 값을 (만료가 가까우면 확률적으로 미리 다시 적재), 없으면 적재 잠금을 선점한 노드만 적재
+    private Object load(Object key, Callable<?> valueLoader) {
+        ValueWrapper cached = remote.get(key);
+        if (cached != null && cached.get() != null) {
+            if (shouldRefreshEarly(key)) {
+                Object refreshed = refreshIfLocked(key, valueLoader);
+                if (refreshed != null) {
+                    return refreshed;
+                }
+            }
+            return cached.get();
+        }
+
+        String lockKey = lockKey(key);
+        String owner = UUID.randomUUID().toString();
+        if (stampedeStore.tryLock(lockKey, owner, lockTtl)) {
+            try {
+                return loadAndPut(key, valueLoader);
+            } finally {
+                stampedeStore.unlock(lockKey, owner);
+            }
+        }
+
+        // 다른 노드가 적재 중 - 잠금 시간 안에 L2 에 올라오지 않으면(적재 실패, 노드 중단) 직접 적재
+        long deadline = System.nanoTime() + lockTtl.toNanos();
+        while (System.nanoTime() < deadline) {
+            try {
+                TimeUnit.MILLISECONDS.sleep(LOCK_POLL_MILLIS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+            ValueWrapper loaded = remote.get(key);
+            if (loaded != null && loaded.get() != null) {
+                return loaded.get();
+            }
+        }
+        return loadAndPut(key, valueLoader);
+    }
+
+    // 다른 노드가 이미 갱신 중이면 기존 값을 그대로 사용
+    private Object refreshIfLocked(Object key, Callable<?> valueLoader) {
+        String lockKey = lockKey(key);
+        String owner = UUID.randomUUID().toString();
+        if (!stampedeStore.tryLock(lockKey, owner, lockTtl)) {
+            return null;
+        }
+        try {
+            return loadAndPut(key, valueLoader);
+        } finally {
+            stampedeStore.unlock(lockKey, owner);
+        }
+    }
+
+    private boolean shouldRefreshEarly(Object key) {
+        if (remoteKeyPrefix == null || earlyRefreshWindowMillis <= 0) {
+            return false;
+        }
+        long remaining = stampedeStore.remainingTtlMillis(remoteKeyPrefix + localKey(key));
+        if (remaining < 0) {
+            return false;
+        }
+        double random = 1.0 - ThreadLocalRandom.current().nextDouble(); // (0, 1]
+        return -earlyRefreshWindowMillis * Math.log(random) >= remaining;
+    }
+
+    private Object loadAndPut(Object key, Callable<?> valueLoader) {
+        Object value;
+        try {
+            value = valueLoader.call();
+        } catch (Exception e) {
+            throw new ValueRetrievalException(key, valueLoader, e);
+        }
+        if (value != null) {
+            remote.put(key, value);
+        }
+        return value;
+    }
+
+    // 올린 뒤 세대를 확인 - 삭제는 세대를 올린 다음 L1 을 지우므로, 확인을 통과한 값은 뒤이은 삭제가 지움
+    private void fillLocal(String localKey, Object value, long generation) {
+        local.put(localKey, value);
+        if (evictions.get() != generation) {
+            local.invalidate(localKey);
+        }
+    }
+
+    private String lockKey(Object key) {
+        return LOCK_PREFIX + name + ":" + localKey(key);
+    }
+
+    // 다른 노드에서 받은 무효화 (L2 는 보낸 노드가 이미 지움)
+    void invalidateLocal(String key) {
+        evictions.incrementAndGet();
+        if (key == null) {
+            local.invalidateAll();
+        } else {
+            local.invalidate(key);
+        }
+    }
+
+    // 노드 간 메시지로 주고받을 수 있도록 L1 키는 문자열로 맞춤 (Redis 캐시 키와 같은 표현)
+    private static String localKey(Object key) {
+        return String.valueOf(key);
+    }
+}
@@ -0,0 +1,112 @@
+package com.example.runshop.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.redis.cache.RedisCache;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * 2단계 캐시 매니저.
+ * near-caches 로 지정한 캐시만 L1(Caffeine, W-TinyLFU 교체) 을 L2(Redis) 앞에 두고, 나머지 캐시는 Redis 캐시를 그대로 반환합니다.
+ * L1 은 캐시마다 maximum-weight 까지 담으며 목록 값은 원소 수만큼 가중치를 주어 큰 목록이 메모리를 독차지하지 않게 하고,
+ * 무효화 메시지를 놓쳐도 오래된 값이 계속 남지 않도록 expire-after-write 가 지나면 L2 에서 다시 읽습니다.
+ * 같은 캐시의 L2 적재는 TieredCache 가 노드 안/노드 사이에서 하나로 묶습니다 (lock-ttl, early-refresh-window).
+ */
+public class TieredCacheManager implements CacheManager {
+
+    private final CacheManager remoteCacheManager;
+    private final CacheInvalidationPublisher invalidationPublisher;
+    private final CacheStampedeStore stampedeStore;
+    private final MeterRegistry meterRegistry;
+    private final Set<String> nearCacheNames;
+    private final long maximumWeight;
+    private final Duration expireAfterWrite;
+    private final Duration lockTtl;
+    private final Duration earlyRefreshWindow;
+    private final String origin = UUID.randomUUID().toString();
+    private final ConcurrentMap<String, TieredCache> tieredCaches = new ConcurrentHashMap<>();
+
+    public TieredCacheManager(CacheManager remoteCacheManager,
+                              CacheInvalidationPublisher invalidationPublisher,
+                              CacheStampedeStore stampedeStore,
+                              MeterRegistry meterRegistry,
+                              Set<String> nearCacheNames,
+                              long maximumWeight,
+                              Duration expireAfterWrite,
+                              Duration lockTtl,
+                              Duration earlyRefreshWindow) {
+        this.remoteCacheManager = remoteCacheManager;
+        this.invalidationPublisher = invalidationPublisher;
+        this.stampedeStore = stampedeStore;
+        this.meterRegistry = meterRegistry;
+        this.nearCacheNames = Set.copyOf(nearCacheNames);
+        this.maximumWeight = maximumWeight;
+        this.expireAfterWrite = expireAfterWrite;
+        this.lockTtl = lockTtl;
+        this.earlyRefreshWindow = earlyRefreshWindow;
+    }
+
+    @Override
+    public Cache getCache(String name) {
+        if (!nearCacheNames.contains(name)) {
+            return remoteCacheManager.getCache(name);
+        }
+        TieredCache cache = tieredCaches.get(name);
+        if (cache != null) {
+            return cache;
+        }
+        Cache remote = remoteCacheManager.getCache(name);
+        return remote != null ? tieredCaches.computeIfAbsent(name, n -> createTieredCache(n, remote)) : null;
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        return remoteCacheManager.getCacheNames();
+    }
+
+    // 다른 노드가 보낸 무효화를 L1 에 반영 (아직 만들지 않은 캐시는 지울 항목도 없음)
+    void invalidateLocal(CacheInvalidationMessage message) {
+        if (origin.equals(message.origin())) {
+            return;
+        }
+        TieredCache cache = tieredCaches.get(message.cacheName());
+        if (cache != null) {
+            cache.invalidateLocal(message.key());
+        }
+    }
+
+    private TieredCache createTieredCache(String name, Cache remote) {
+        com.github.benmanes.caffeine.cache.Cache<String, Object> local = Caffeine.newBuilder()
+                .maximumWeight(maximumWeight)
+                .weigher((String key, Object value) -> weight(value))
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, local, name + ".l1");
+        String remoteKeyPrefix = remote instanceof RedisCache redisCache
+                ? redisCache.getCacheConfiguration().getKeyPrefixFor(name)
+                : null;
+        return new TieredCache(name, local, remote, invalidationPublisher, stampedeStore, origin,
+                remoteKeyPrefix, lockTtl, earlyRefreshWindow);
+    }
+
+    private static int weight(Object value) {
+        if (value instanceof Collection<?> collection) {
+            return Math.max(1, collection.size());
+        }
+        if (value instanceof Map<?, ?> map) {
+            return Math.max(1, map.size());
+        }
+        return 1;
+    }
+}
@@ -0,0 +1,35 @@
+package com.example.runshop.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * 결제 처리처럼 요청 스레드와 분리해 실행할 작업을 위한 실행기를 구성합니다.
+ * 아웃박스 릴레이가 결제 이벤트를 이 실행기에서 리스너로 전달합니다.
+ * 스레드 수와 대기열 크기를 제한하고, 대기열이 가득 차면 호출한 스레드에서 실행해 자연스럽게 유입 속도를 늦춥니다.
+ * ThreadPoolTaskExecutor 빈은 Actuator 가 executor.* 지표(active, queued, completed 등)로 자동 계측합니다.
+ */
+@Configuration
+public class AsyncConfig {
+
+    @Bean(name = "paymentExecutor")
+    public ThreadPoolTaskExecutor paymentExecutor(@Value("${payment.executor.core-size:8}") int coreSize,
+                                                  @Value("${payment.executor.max-size:16}") int maxSize,
+                                                  @Value("${payment.executor.queue-capacity:500}") int queueCapacity,
+                                                  @Value("${payment.executor.await-termination-seconds:30}") int awaitTerminationSeconds) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(coreSize);
+        executor.setMaxPoolSize(maxSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("payment-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        // 종료 시 이미 접수된 결제는 끝까지 처리
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(awaitTerminationSeconds);
+        return executor;
+    }
+}
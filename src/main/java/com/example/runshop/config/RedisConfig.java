@@ -1,37 +1,53 @@
 package com.example.runshop.config;
 
+import com.example.runshop.cache.CacheInvalidationPublisher;
+import com.example.runshop.cache.CacheStampedeStore;
+import com.example.runshop.cache.TieredCacheManager;
 import com.fasterxml.jackson.annotation.JsonTypeInfo;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.jsontype.BasicPolymorphicTypeValidator;
 import com.fasterxml.jackson.databind.jsontype.PolymorphicTypeValidator;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.cache.RedisCacheWriter;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
 import org.springframework.data.redis.serializer.RedisSerializationContext;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
 
 import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
 
 /**
  * RedisConfig 클래스는 Spring Cache와 Redis를 사용하여 애플리케이션의 캐싱을 구성합니다.
  * 이 클래스는 Redis 캐시에 저장되는 데이터의 직렬화/역직렬화를 설정하고,
  * 캐시의 유효 시간과 Null 값 캐싱 비활성화 등을 설정합니다.
+ * 자주 읽는 캐시는 Redis 앞에 노드 메모리 캐시를 두는 2단계 캐시(TieredCacheManager)로 구성합니다.
  */
 @Configuration // Spring의 설정 파일임을 나타내며, Bean 정의와 설정을 포함합니다.
 @EnableCaching // Spring의 캐싱 기능을 활성화하여 캐시를 사용 가능하게 합니다.
 public class RedisConfig {
 
+    private static final Duration ENTRY_TTL = Duration.ofMinutes(60);
+
     /**
      * Redis 캐시 구성을 정의하는 메소드입니다.
      * RedisCacheConfiguration Bean을 생성하여 캐시에 대한 직렬화 설정 및 TTL(캐시 유효 시간)을 정의합니다.
+     * 같은 시각에 캐시된 항목이 한꺼번에 만료되지 않도록 TTL 에 0 ~ ttl-jitter-seconds 의 임의 시간을 더합니다.
      *
+     * @param ttlJitterSeconds TTL 에 더할 임의 시간의 상한(초)입니다.
      * @return RedisCacheConfiguration 객체를 반환하여 캐시 설정을 적용합니다.
      */
     @Bean
-    public RedisCacheConfiguration cacheConfiguration() {
+    public RedisCacheConfiguration cacheConfiguration(@Value("${cache.ttl-jitter-seconds:300}") long ttlJitterSeconds) {
         // ObjectMapper는 직렬화 및 역직렬화 시 사용되는 JSON Mapper입니다.
         ObjectMapper objectMapper = new ObjectMapper();
 
@@ -58,9 +74,46 @@ public class RedisConfig {
 
         // RedisCacheConfiguration 객체를 생성하여 캐시 설정을 구성합니다.
         return RedisCacheConfiguration.defaultCacheConfig()
-                .entryTtl(Duration.ofMinutes(60)) // 캐시 항목의 유효 시간을 60분으로 설정합니다.
+                .entryTtl(jitteredTtl(ttlJitterSeconds)) // 캐시 항목의 유효 시간을 60분(+ 임의 시간)으로 설정합니다.
                 .disableCachingNullValues() // Null 값을 캐싱하지 않도록 설정하여, 불필요한 캐시 저장을 방지합니다.
                 .serializeKeysWith(RedisSerializationContext.SerializationPair.fromSerializer(new StringRedisSerializer())) // 캐시 키를 String으로 직렬화합니다.
                 .serializeValuesWith(RedisSerializationContext.SerializationPair.fromSerializer(serializer)); // 캐시 값을 JSON 형식으로 직렬화합니다.
     }
+
+    /**
+     * 캐시 매니저를 정의하는 메소드입니다.
+     * Redis 캐시(L2)를 기본으로 사용하고, cache.near.caches 로 지정한 캐시만 앞에 노드 메모리 캐시(L1)를 둡니다.
+     * L1 에서 찾은 값은 Redis 왕복과 JSON 역직렬화 없이 반환되며, @CacheEvict 시 다른 노드의 L1 도 함께 지워집니다.
+     * spring.cache.type 을 redis 가 아닌 값(simple 등)으로 지정하면 등록하지 않고 Spring Boot 의 기본 CacheManager 를 사용합니다.
+     *
+     * @return L1/L2 캐시를 구성한 TieredCacheManager 를 반환합니다.
+     */
+    @Bean
+    @ConditionalOnProperty(name = "spring.cache.type", havingValue = "redis", matchIfMissing = true)
+    public TieredCacheManager cacheManager(RedisConnectionFactory connectionFactory,
+                                           RedisCacheConfiguration cacheConfiguration,
+                                           CacheInvalidationPublisher cacheInvalidationPublisher,
+                                           CacheStampedeStore cacheStampedeStore,
+                                           MeterRegistry meterRegistry,
+                                           @Value("${cache.near.caches:productCache}") Set<String> nearCaches,
+                                           @Value("${cache.near.maximum-weight:10000}") long maximumWeight,
+                                           @Value("${cache.near.expire-after-write-seconds:60}") long expireAfterWriteSeconds,
+                                           @Value("${cache.stampede.lock-ms:3000}") long lockMillis,
+                                           @Value("${cache.stampede.early-refresh-window-seconds:60}") long earlyRefreshWindowSeconds) {
+        RedisCacheManager redisCacheManager = RedisCacheManager.builder(connectionFactory)
+                .cacheDefaults(cacheConfiguration)
+                .build();
+        redisCacheManager.afterPropertiesSet(); // 빈으로 등록하지 않으므로 직접 초기화합니다.
+        return new TieredCacheManager(redisCacheManager, cacheInvalidationPublisher, cacheStampedeStore, meterRegistry,
+                nearCaches, maximumWeight, Duration.ofSeconds(expireAfterWriteSeconds),
+                Duration.ofMillis(lockMillis), Duration.ofSeconds(earlyRefreshWindowSeconds));
+    }
+
+    // 항목마다 TTL 을 다르게 주어 만료 시각을 분산합니다.
+    private static RedisCacheWriter.TtlFunction jitteredTtl(long jitterSeconds) {
+        if (jitterSeconds <= 0) {
+            return RedisCacheWriter.TtlFunction.just(ENTRY_TTL);
+        }
+        return (key, value) -> ENTRY_TTL.plusSeconds(ThreadLocalRandom.current().nextLong(jitterSeconds + 1));
+    }
 }
@@ -0,0 +1,51 @@
+package com.example.runshop.config;
+
+import com.example.runshop.cache.CacheInvalidationListener;
+import com.example.runshop.cache.RedisCacheInvalidationPublisher;
+import com.example.runshop.module.order.adapters.in.event.OrderStatusMessageListener;
+import com.example.runshop.module.order.adapters.out.messaging.RedisOrderStatusPublisher;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+/**
+ * Redis pub/sub 구독 설정.
+ * 구독 연결 하나로 모든 채널 메시지를 받고, 리스너 호출은 작은 고정 크기 풀에서 처리합니다
+ * (기본 실행기는 메시지마다 스레드를 만들기 때문에 알림이 몰리면 스레드가 급증함).
+ * 주문 상태 알림과 L1 캐시 무효화 중 Redis 로 전파하도록 설정된 리스너만 구독합니다.
+ */
+@Configuration
+@ConditionalOnExpression("'${order.status-stream.broker:redis}' == 'redis' or '${cache.near.invalidation:redis}' == 'redis'")
+public class RedisPubSubConfig {
+
+    @Bean
+    public ThreadPoolTaskExecutor redisListenerExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(2);
+        executor.setMaxPoolSize(2);
+        executor.setQueueCapacity(10_000);
+        executor.setThreadNamePrefix("redis-listener-");
+        executor.initialize();
+        return executor;
+    }
+
+    @Bean
+    public RedisMessageListenerContainer redisMessageListenerContainer(RedisConnectionFactory connectionFactory,
+                                                                       ObjectProvider<OrderStatusMessageListener> orderStatusMessageListener,
+                                                                       ObjectProvider<CacheInvalidationListener> cacheInvalidationListener,
+                                                                       ThreadPoolTaskExecutor redisListenerExecutor) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.setTaskExecutor(redisListenerExecutor);
+        orderStatusMessageListener.ifAvailable(listener ->
+                container.addMessageListener(listener, new ChannelTopic(RedisOrderStatusPublisher.CHANNEL)));
+        cacheInvalidationListener.ifAvailable(listener ->
+                container.addMessageListener(listener, new ChannelTopic(RedisCacheInvalidationPublisher.CHANNEL)));
+        return container;
+    }
+}
@@ -0,0 +1,12 @@
+package com.example.runshop.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * 재고 카운터 반영(write-behind) 등 주기적으로 실행되는 작업을 위해 스케줄링을 활성화합니다.
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -1,9 +1,13 @@
 package com.example.runshop.config;
 
+import com.example.runshop.filter.IdempotencyFilter;
 import com.example.runshop.filter.JWTFilter;
 import com.example.runshop.filter.LoginFilter;
 import com.example.runshop.utils.auth.JWT;
+import com.example.runshop.service.IdempotencyService;
 import com.example.runshop.utils.auth.JwtLogoutHandler;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.DispatcherType;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.annotation.Bean;
@@ -54,7 +58,7 @@ public class SecurityConfig {
     }
 
     @Bean
-    public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
+    public SecurityFilterChain filterChain(HttpSecurity http, IdempotencyService idempotencyService, ObjectMapper objectMapper) throws Exception {
         log.info("filterChain() in SecurityConfig"); // 필터 체인 설정 메서드 호출 로그
 
         // CSRF 보호를 비활성화, 폼 로그인과 HTTP 기본 인증을 비활성화
@@ -65,6 +69,8 @@ public class SecurityConfig {
 
         // 특정 엔드포인트를 허용: 회원가입, 로그인 엔드포인트 등
         http.authorizeHttpRequests(auth -> auth
+                // SSE 등 비동기 요청의 재디스패치는 최초 요청에서 이미 인증됨
+                .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
                 .requestMatchers("/", "/signup", "/login", "/h2-console/**", "/swagger-ui/**", "/v3/api-docs/**", "/actuator/**").permitAll()
                 .requestMatchers("/admin/**").hasRole("ADMIN") // /admin 경로는 ADMIN 권한 필요
                         .anyRequest().authenticated() // 나머지 요청들은 인증 필요
@@ -83,6 +89,8 @@ public class SecurityConfig {
         // addFilterAt: UsernamePasswordAuthenticationFilter 위치에 LoginFilter를 추가
         http.addFilterBefore(new JWTFilter(this.jwt), UsernamePasswordAuthenticationFilter.class);
         http.addFilterAt(new LoginFilter(authenticationManager(authenticationConfiguration), jwt), UsernamePasswordAuthenticationFilter.class);
+        // IdempotencyFilter: 주문 생성/결제 요청의 Idempotency-Key 를 처리 (JWTFilter 다음에 두어 사용자별로 키를 구분)
+        http.addFilterAfter(new IdempotencyFilter(idempotencyService, objectMapper), JWTFilter.class);
 
         // 세션을 사용하지 않도록 Stateless로 설정
         // 이는 REST API에 적합하며, 서버가 클라이언트의 상태를 유지하지 않음
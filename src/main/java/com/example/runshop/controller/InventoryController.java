@@ -1,19 +1,25 @@
 package com.example.runshop.controller;
 
+import com.example.runshop.model.dto.inventory.BulkStockAdjustmentResult;
 import com.example.runshop.model.dto.response.SuccessResponse;
+import com.example.runshop.service.InventoryBulkService;
 import com.example.runshop.service.InventoryService;
 import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+
 @RestController
 @RequestMapping("/api/inventory")
 public class InventoryController {
 
     private final InventoryService inventoryService;
+    private final InventoryBulkService inventoryBulkService;
 
-    public InventoryController(InventoryService inventoryService) {
+    public InventoryController(InventoryService inventoryService, InventoryBulkService inventoryBulkService) {
         this.inventoryService = inventoryService;
+        this.inventoryBulkService = inventoryBulkService;
     }
 
     // 재고 감소
@@ -30,6 +36,30 @@ public class InventoryController {
         return SuccessResponse.ok("재고가 성공적으로 증가되었습니다.", httpRequest.getRequestURI());
     }
 
+    // 인기 상품 재고 모드 전환 (Redis 카운터 + DB 일괄 반영)
+    @PatchMapping("/{productId}/hot-stock")
+    public ResponseEntity<?> changeHotStockMode(@PathVariable Long productId, @RequestParam boolean enabled, HttpServletRequest httpRequest) {
+        inventoryService.changeHotStockMode(productId, enabled);
+        return SuccessResponse.ok("재고 모드가 성공적으로 변경되었습니다.", httpRequest.getRequestURI());
+    }
+
+    // 초인기 상품 재고를 여러 버킷으로 분할 (count=1 이면 다시 합침)
+    @PatchMapping("/{productId}/buckets")
+    public ResponseEntity<?> changeBucketCount(@PathVariable Long productId, @RequestParam int count, HttpServletRequest httpRequest) {
+        inventoryService.changeBucketCount(productId, count);
+        return SuccessResponse.ok("재고 버킷 수가 성공적으로 변경되었습니다.", httpRequest.getRequestURI());
+    }
+
+    // 재고 일괄 조정 (CSV 또는 JSON Lines 파일을 요청 본문으로 스트리밍)
+    @PostMapping(value = "/bulk", consumes = {"text/csv", "application/x-ndjson"})
+    public ResponseEntity<?> bulkAdjustStock(@RequestHeader("Content-Type") String contentType, HttpServletRequest httpRequest) throws IOException {
+        InventoryBulkService.Format format = contentType.startsWith("text/csv")
+                ? InventoryBulkService.Format.CSV
+                : InventoryBulkService.Format.JSON_LINES;
+        BulkStockAdjustmentResult result = inventoryBulkService.apply(httpRequest.getInputStream(), format);
+        return SuccessResponse.ok("재고 일괄 조정이 완료되었습니다.", result, httpRequest.getRequestURI());
+    }
+
     // 특정 상품의 재고 조회
     @GetMapping("/{productId}")
     public ResponseEntity<?> getStock(@PathVariable Long productId, HttpServletRequest httpRequest) {
@@ -1,9 +1,15 @@
 package com.example.runshop.controller;
 
 import com.example.runshop.model.dto.product.ProductDTO;
+import com.example.runshop.model.dto.product.ProductFacetFilter;
+import com.example.runshop.model.dto.product.ProductFacetPageDTO;
+import com.example.runshop.model.dto.product.ProductPageDTO;
+import com.example.runshop.model.dto.product.ProductSuggestionDTO;
 import com.example.runshop.model.dto.product.UpdateProductRequest;
 import com.example.runshop.model.dto.product.AddProductRequest;
 import com.example.runshop.model.dto.response.SuccessResponse;
+import com.example.runshop.model.enums.Category;
+import com.example.runshop.search.ProductSearchService;
 import com.example.runshop.service.ProductService;
 import com.example.runshop.utils.PaginationUtils;
 import jakarta.servlet.http.HttpServletRequest;
@@ -25,8 +31,10 @@ import java.util.List;
 public class ProductController {
 
     private final ProductService productService;
-    public ProductController(ProductService productService) {
+    private final ProductSearchService productSearchService;
+    public ProductController(ProductService productService, ProductSearchService productSearchService) {
         this.productService = productService;
+        this.productSearchService = productSearchService;
     }
 
 
@@ -42,16 +50,44 @@ public class ProductController {
         return SuccessResponse.ok("상품을 성공적으로 조회했습니다.", product, httpRequest.getRequestURI());
     }
 
+    // 필터 조건이 있으면 메모리 필터/패싯 색인으로 조회하고 패싯별 상품 수를 함께 반환 (어느 쪽이든 활성 상품만)
     @GetMapping
     public ResponseEntity<?> getProducts(@RequestParam(defaultValue = "0") int page,
                                          @RequestParam(defaultValue = "10") int size,
+                                         @RequestParam(required = false) Category category,
+                                         @RequestParam(required = false) String brand,
+                                         @RequestParam(required = false) String priceBand,
                                          HttpServletRequest httpRequest) {
+        ProductFacetFilter filter = new ProductFacetFilter(category, brand, priceBand, null);
+        if (!filter.isEmpty()) {
+            ProductFacetPageDTO products = productSearchService.filter(filter, page, size);
+            return SuccessResponse.ok("상품 목록을 성공적으로 조회했습니다.", products, httpRequest.getRequestURI());
+        }
         Pageable pageable = PaginationUtils.createPageable(page, size);
         List<ProductDTO> productList = productService.getProducts(pageable);
         Page<ProductDTO> products = new PageImpl<>(productList, pageable, productList.size());
         return SuccessResponse.ok("상품 목록을 성공적으로 조회했습니다.", products, httpRequest.getRequestURI());
     }
 
+    // 상품 검색 (이름/설명/브랜드/카테고리, 관련도 순)
+    @GetMapping("/search")
+    public ResponseEntity<?> searchProducts(@RequestParam String q,
+                                            @RequestParam(defaultValue = "0") int page,
+                                            @RequestParam(defaultValue = "10") int size,
+                                            HttpServletRequest httpRequest) {
+        ProductPageDTO products = productSearchService.search(q, page, size);
+        return SuccessResponse.ok("상품 검색 결과를 성공적으로 조회했습니다.", products, httpRequest.getRequestURI());
+    }
+
+    // 상품 이름/브랜드 자동완성 (입력 중인 한글, 오타 허용)
+    @GetMapping("/suggest")
+    public ResponseEntity<?> suggestProducts(@RequestParam String prefix,
+                                             @RequestParam(defaultValue = "10") int size,
+                                             HttpServletRequest httpRequest) {
+        List<ProductSuggestionDTO> suggestions = productSearchService.suggest(prefix, size);
+        return SuccessResponse.ok("자동완성 결과를 성공적으로 조회했습니다.", suggestions, httpRequest.getRequestURI());
+    }
+
     @PutMapping("/{id}")
     public ResponseEntity<?> updateProduct(@PathVariable Long id, @RequestBody @Valid UpdateProductRequest request, HttpServletRequest httpRequest) {
         productService.updateProduct(id, request);
@@ -0,0 +1,7 @@
+package com.example.runshop.exception.Inventory;
+
+public class InvalidStockModeException extends RuntimeException {
+    public InvalidStockModeException(String message) {
+        super(message);
+    }
+}
@@ -1,12 +1,17 @@
 package com.example.runshop.exception.global;
 
+import com.example.runshop.exception.Inventory.InvalidStockModeException;
 import com.example.runshop.exception.Inventory.InventoryNotFoundException;
 import com.example.runshop.exception.Inventory.OutOfStockException;
 import com.example.runshop.exception.cart.CartItemAlreadyExistsException;
 import com.example.runshop.exception.cart.CartItemNotFoundException;
 import com.example.runshop.exception.cartitem.InvalidCartItemException;
+import com.example.runshop.exception.order.InvalidOrderRequestException;
+import com.example.runshop.exception.order.InvalidOrderStatusException;
 import com.example.runshop.exception.order.OrderAlreadyBeenCancelledException;
+import com.example.runshop.exception.order.OrderIntakePendingException;
 import com.example.runshop.exception.order.OrderNotFoundException;
+import com.example.runshop.exception.order.StalePriceException;
 import com.example.runshop.exception.orderitem.QuantityNegativeException;
 import com.example.runshop.exception.payment.InvalidPaymentAmountException;
 import com.example.runshop.exception.product.*;
@@ -56,6 +61,11 @@ public class GlobalExceptionHandler {
         return SuccessResponse.error(HttpStatus.NOT_FOUND, ex.getMessage(), request.getRequestURI());
     }
 
+    @ExceptionHandler(InvalidStockModeException.class)
+    public ResponseEntity<SuccessResponse<Void>> handleInvalidStockModeException(InvalidStockModeException ex, HttpServletRequest request) {
+        return SuccessResponse.error(HttpStatus.CONFLICT, ex.getMessage(), request.getRequestURI());
+    }
+
     // ====================== Product 관련 예외 ======================
 
     @ExceptionHandler(CharactersArrangeDescriptionException.class)
@@ -112,6 +122,28 @@ public class GlobalExceptionHandler {
         return SuccessResponse.error(HttpStatus.NOT_FOUND, ex.getMessage(), request.getRequestURI());
     }
 
+    @ExceptionHandler(InvalidOrderRequestException.class)
+    public ResponseEntity<SuccessResponse<Void>> handleInvalidOrderRequestException(InvalidOrderRequestException ex, HttpServletRequest request) {
+        return SuccessResponse.error(HttpStatus.BAD_REQUEST, ex.getMessage(), request.getRequestURI());
+    }
+
+    @ExceptionHandler(InvalidOrderStatusException.class)
+    public ResponseEntity<SuccessResponse<Void>> handleInvalidOrderStatusException(InvalidOrderStatusException ex, HttpServletRequest request) {
+        return SuccessResponse.error(HttpStatus.CONFLICT, ex.getMessage(), request.getRequestURI());
+    }
+
+    @ExceptionHandler(StalePriceException.class)
+    public ResponseEntity<SuccessResponse<Void>> handleStalePriceException(StalePriceException ex, HttpServletRequest request) {
+        return SuccessResponse.error(HttpStatus.CONFLICT, ex.getMessage(), request.getRequestURI());
+    }
+
+    // 배치 트랜잭션이 아직 끝나지 않아 결과를 모르는 주문 - 실패가 아니므로 접수(202)로 응답하고 주문 내역에서 확인하게 함
+    // (2xx 는 Idempotency-Key 응답으로 저장되어, 같은 키로 재시도해도 주문이 다시 생성되지 않음)
+    @ExceptionHandler(OrderIntakePendingException.class)
+    public ResponseEntity<SuccessResponse<Void>> handleOrderIntakePendingException(OrderIntakePendingException ex, HttpServletRequest request) {
+        return SuccessResponse.error(HttpStatus.ACCEPTED, ex.getMessage(), request.getRequestURI());
+    }
+
     // ====================== User 관련 예외 ======================
 
     @ExceptionHandler(InvalidEmailException.class)
@@ -0,0 +1,7 @@
+package com.example.runshop.exception.order;
+
+public class InvalidOrderRequestException extends RuntimeException {
+    public InvalidOrderRequestException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package com.example.runshop.exception.order;
+
+public class InvalidOrderStatusException extends RuntimeException {
+    public InvalidOrderStatusException(String message) {
+        super(message);
+    }
+}
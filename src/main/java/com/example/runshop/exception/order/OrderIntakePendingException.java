@@ -0,0 +1,7 @@
+package com.example.runshop.exception.order;
+
+public class OrderIntakePendingException extends RuntimeException {
+    public OrderIntakePendingException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package com.example.runshop.exception.order;
+
+public class StalePriceException extends RuntimeException {
+    public StalePriceException(String message) {
+        super(message);
+    }
+}
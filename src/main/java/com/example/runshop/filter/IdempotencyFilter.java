@@ -0,0 +1,211 @@
+package com.example.runshop.filter;
+
+import com.example.runshop.exception.idempotency.IdempotencyKeyInProgressException;
+import com.example.runshop.exception.idempotency.IdempotencyKeyMismatchException;
+import com.example.runshop.model.dto.idempotency.IdempotencyRecord;
+import com.example.runshop.model.dto.response.SuccessResponse;
+import com.example.runshop.service.IdempotencyService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.util.StreamUtils;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * 주문 생성과 결제 요청의 Idempotency-Key 헤더를 처리하는 필터.
+ * 모바일 클라이언트가 타임아웃 후 같은 키로 재시도하면 요청을 다시 실행하지 않고 처음 응답을 그대로 돌려줍니다.
+ * 키는 사용자별로 구분하며, 5xx 응답은 저장하지 않아 재시도가 다시 실행될 수 있습니다.
+ */
+@Slf4j
+public class IdempotencyFilter extends OncePerRequestFilter {
+
+    public static final String HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+    private static final Set<String> IDEMPOTENT_PATHS = Set.of("/api/orders", "/payments/process");
+    private static final int MAX_KEY_LENGTH = 255;
+
+    private final IdempotencyService idempotencyService;
+    private final ObjectMapper objectMapper;
+
+    public IdempotencyFilter(IdempotencyService idempotencyService, ObjectMapper objectMapper) {
+        this.idempotencyService = idempotencyService;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !"POST".equals(request.getMethod())
+                || !IDEMPOTENT_PATHS.contains(request.getRequestURI())
+                || request.getHeader(HEADER) == null;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, @NonNull HttpServletResponse response, @NonNull FilterChain filterChain)
+            throws ServletException, IOException {
+        String idempotencyKey = request.getHeader(HEADER).trim();
+        if (idempotencyKey.isEmpty() || idempotencyKey.length() > MAX_KEY_LENGTH) {
+            writeError(response, request, HttpStatus.BAD_REQUEST, "Idempotency-Key 는 1~255자여야 합니다.");
+            return;
+        }
+
+        CachedBodyRequest cachedRequest = new CachedBodyRequest(request);
+        String key = scope(request, idempotencyKey);
+        String fingerprint = fingerprint(cachedRequest);
+        IdempotencyRecord claim = IdempotencyRecord.inProgress(fingerprint);
+
+        Optional<IdempotencyRecord> stored;
+        try {
+            stored = idempotencyService.begin(key, claim);
+        } catch (IdempotencyKeyInProgressException e) {
+            writeError(response, request, HttpStatus.CONFLICT, e.getMessage());
+            return;
+        } catch (IdempotencyKeyMismatchException e) {
+            writeError(response, request, HttpStatus.UNPROCESSABLE_ENTITY, e.getMessage());
+            return;
+        }
+        if (stored.isPresent()) {
+            replay(response, stored.get());
+            return;
+        }
+
+        ContentCachingResponseWrapper cachingResponse = new ContentCachingResponseWrapper(response);
+        boolean completed = false;
+        try {
+            filterChain.doFilter(cachedRequest, cachingResponse);
+            if (cachingResponse.getStatus() < 500) {
+                idempotencyService.complete(key, claim, IdempotencyRecord.completed(fingerprint, cachingResponse.getStatus(),
+                        cachingResponse.getContentType(), new String(cachingResponse.getContentAsByteArray(), StandardCharsets.UTF_8)));
+                completed = true;
+            }
+        } finally {
+            if (!completed) {
+                idempotencyService.abort(key, claim);
+            }
+            cachingResponse.copyBodyToResponse();
+        }
+    }
+
+    // 사용자마다 키 공간을 분리 (다른 사용자가 같은 키를 써도 응답이 섞이지 않도록)
+    private String scope(HttpServletRequest request, String idempotencyKey) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        String principal = authentication != null ? authentication.getName() : "anonymous";
+        return principal + ":" + request.getRequestURI() + ":" + idempotencyKey;
+    }
+
+    private String fingerprint(CachedBodyRequest request) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update((request.getMethod() + " " + request.getRequestURI() + "?" + request.getQueryString() + "\n")
+                    .getBytes(StandardCharsets.UTF_8));
+            digest.update(request.body);
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private void replay(HttpServletResponse response, IdempotencyRecord record) throws IOException {
+        response.setStatus(record.getStatus());
+        if (record.getContentType() != null) {
+            response.setContentType(record.getContentType());
+        }
+        response.setHeader(REPLAYED_HEADER, "true");
+        if (record.getBody() != null) {
+            response.getOutputStream().write(record.getBody().getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    private void writeError(HttpServletResponse response, HttpServletRequest request, HttpStatus status, String message) throws IOException {
+        log.warn("Idempotency-Key 요청 거절: {} ({})", message, request.getRequestURI());
+        response.setStatus(status.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        objectMapper.writeValue(response.getOutputStream(), new SuccessResponse<Void>(status, message, null, request.getRequestURI()));
+    }
+
+    // 요청 해시 계산을 위해 본문을 먼저 읽고, 이후 컨트롤러가 다시 읽을 수 있도록 보관
+    private static class CachedBodyRequest extends HttpServletRequestWrapper {
+        private final byte[] body;
+
+        CachedBodyRequest(HttpServletRequest request) throws IOException {
+            super(request);
+            this.body = StreamUtils.copyToByteArray(request.getInputStream());
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            return new CachedBodyInputStream(body);
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            return new BufferedReader(new InputStreamReader(getInputStream(), StandardCharsets.UTF_8));
+        }
+    }
+
+    // 보관한 본문을 읽는 입력 스트림 - 본문이 이미 메모리에 있으므로 항상 읽을 수 있고, 비동기 읽기도 바로 완료됨
+    private static class CachedBodyInputStream extends ServletInputStream {
+        private final ByteArrayInputStream input;
+
+        CachedBodyInputStream(byte[] body) {
+            this.input = new ByteArrayInputStream(body);
+        }
+
+        @Override
+        public boolean isFinished() {
+            return input.available() == 0;
+        }
+
+        @Override
+        public boolean isReady() {
+            return true;
+        }
+
+        @Override
+        public void setReadListener(ReadListener readListener) {
+            try {
+                if (!isFinished()) {
+                    readListener.onDataAvailable();
+                }
+                if (isFinished()) {
+                    readListener.onAllDataRead();
+                }
+            } catch (IOException | RuntimeException e) {
+                readListener.onError(e);
+            }
+        }
+
+        @Override
+        public int read() {
+            return input.read();
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) {
+            return input.read(b, off, len);
+        }
+    }
+}
@@ -1,7 +1,5 @@
 package com.example.runshop.model.dto;
 
-import com.example.runshop.model.entity.Product;
-import com.example.runshop.model.vo.orderitem.OrderQuantity;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -9,10 +7,12 @@ import lombok.NoArgsConstructor;
 
 import java.math.BigDecimal;
 
+// 상품 엔티티 대신 응답에 필요한 값만 담아, 직렬화 시 상품/재고 연관관계를 따라가지 않도록 함
 @Data @AllArgsConstructor @NoArgsConstructor @Builder
 public class OrderItemDTO {
     private Long id;
-    private Product product;
-    private OrderQuantity quantity;
+    private Long productId;
+    private String productName;
+    private int quantity;
     private BigDecimal price;
 }
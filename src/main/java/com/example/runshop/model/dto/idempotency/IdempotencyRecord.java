@@ -0,0 +1,28 @@
+package com.example.runshop.model.dto.idempotency;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+// Idempotency-Key 하나에 대해 저장하는 상태 (처리 중이거나, 처리가 끝나 재전송할 응답을 보관)
+@Data @AllArgsConstructor @NoArgsConstructor
+public class IdempotencyRecord {
+    private boolean completed;
+    // 같은 키로 다른 요청을 보낸 경우를 구분하기 위한 요청 해시
+    private String fingerprint;
+    private int status;
+    private String contentType;
+    private String body;
+    // 처리 중 표시를 남긴 요청마다 다른 값 - 자신이 남긴 표시일 때만 연장/삭제하기 위해 사용
+    private String token;
+
+    public static IdempotencyRecord inProgress(String fingerprint) {
+        return new IdempotencyRecord(false, fingerprint, 0, null, null, UUID.randomUUID().toString());
+    }
+
+    public static IdempotencyRecord completed(String fingerprint, int status, String contentType, String body) {
+        return new IdempotencyRecord(true, fingerprint, status, contentType, body, null);
+    }
+}
@@ -0,0 +1,25 @@
+package com.example.runshop.model.dto.inventory;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data @AllArgsConstructor @NoArgsConstructor @Builder
+public class BulkStockAdjustmentResult {
+    private long totalRows;
+    private long appliedRows;
+    private long failedRows;
+    // 실패한 행 목록 (최대 개수를 넘으면 잘리고 errorsTruncated 가 true)
+    private List<RowError> errors;
+    private boolean errorsTruncated;
+
+    @Data @AllArgsConstructor @NoArgsConstructor
+    public static class RowError {
+        private long rowNumber;
+        private Long productId;
+        private String reason;
+    }
+}
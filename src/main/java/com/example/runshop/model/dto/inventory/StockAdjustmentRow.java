@@ -0,0 +1,7 @@
+package com.example.runshop.model.dto.inventory;
+
+import com.example.runshop.model.enums.StockAdjustmentMode;
+
+// 대량 재고 조정 파일의 한 행 (rowNumber 는 결과 보고용 1 부터 시작하는 행 번호)
+public record StockAdjustmentRow(long rowNumber, Long productId, StockAdjustmentMode mode, int quantity) {
+}
@@ -0,0 +1,28 @@
+package com.example.runshop.model.dto.order;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+// 주문 내역 커서 - 마지막으로 받은 주문의 (order_date, id). 클라이언트에는 불투명한 문자열로 전달
+public record OrderCursor(LocalDateTime orderDate, Long id) {
+
+    public String encode() {
+        String raw = orderDate + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static OrderCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf('|');
+            return new OrderCursor(LocalDateTime.parse(raw.substring(0, separator)), Long.parseLong(raw.substring(separator + 1)));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("잘못된 커서입니다.");
+        }
+    }
+
+    public static OrderCursor of(OrderListDTO order) {
+        return new OrderCursor(order.getOrderDate(), order.getOrderId());
+    }
+}
@@ -0,0 +1,17 @@
+package com.example.runshop.model.dto.order;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+// 커서 기반 주문 내역 한 페이지 (totalCount 는 요청한 경우에만 계산)
+@Data @AllArgsConstructor @NoArgsConstructor @Builder
+public class OrderHistoryPage {
+    private List<OrderListDTO> orders;
+    private String nextCursor;
+    private boolean hasNext;
+    private Long totalCount;
+}
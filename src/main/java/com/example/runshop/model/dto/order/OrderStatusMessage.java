@@ -0,0 +1,19 @@
+package com.example.runshop.model.dto.order;
+
+import com.example.runshop.model.enums.OrderStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+// 주문 상태 변경 알림 (SSE 로 주문한 사용자에게 전달하고, 노드 간에는 Redis pub/sub 으로 전파)
+@Data @AllArgsConstructor @NoArgsConstructor @Builder
+public class OrderStatusMessage {
+    private Long orderId;
+    private Long userId;
+    private OrderStatus orderStatus;
+    private LocalDateTime paymentDate;
+    private LocalDateTime changedAt;
+}
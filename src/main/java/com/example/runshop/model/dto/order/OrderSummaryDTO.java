@@ -0,0 +1,21 @@
+package com.example.runshop.model.dto.order;
+
+import com.example.runshop.model.enums.OrderStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+// 주문 단건 조회 응답 (주문 상태 확인용 - 항목 목록은 주문 상세 조회에서 제공)
+@Data @AllArgsConstructor @NoArgsConstructor @Builder
+public class OrderSummaryDTO {
+    private Long orderId;
+    private LocalDateTime orderDate;
+    private OrderStatus orderStatus;
+    private BigDecimal totalPrice;
+    private LocalDateTime paymentDate;
+    private int itemCount;
+}
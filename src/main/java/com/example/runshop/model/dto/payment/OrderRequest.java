@@ -1,7 +1,7 @@
 package com.example.runshop.model.dto.payment;
 
-import com.example.runshop.module.order.domain.OrderItem;
 import com.example.runshop.model.vo.payment.PaymentAmount;
+import com.example.runshop.module.order.application.port.in.OrderLine;
 import com.example.runshop.module.payment.domain.PaymentMethod;
 import lombok.Data;
 
@@ -10,8 +10,9 @@ import java.util.List;
 @Data
 public class OrderRequest {
     private Long userId;
+    // 클라이언트가 본 주문 총액 (선택). 서버가 계산한 금액과 다르면 주문을 거절
     private PaymentAmount amount;
-    private List<OrderItem> orderItems;
+    private List<OrderLine> orderLines;
     private PaymentMethod paymentMethod;
 
 }
@@ -0,0 +1,34 @@
+package com.example.runshop.model.dto.payment;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+@Data @AllArgsConstructor @NoArgsConstructor @Builder
+public class ReconciliationReport {
+    private long settlementRows;
+    private long invalidRows;
+    private long matchedOrders;
+    private long discrepancyCount;
+    // 불일치 목록 (최대 개수를 넘으면 잘리고 discrepanciesTruncated 가 true)
+    private List<Discrepancy> discrepancies;
+    private boolean discrepanciesTruncated;
+
+    public enum DiscrepancyType {
+        MISSING_IN_LEDGER, // 정산 파일에만 있는 주문
+        MISSING_IN_SETTLEMENT, // 원장에만 있는 주문
+        AMOUNT_MISMATCH
+    }
+
+    @Data @AllArgsConstructor @NoArgsConstructor
+    public static class Discrepancy {
+        private Long orderId;
+        private DiscrepancyType type;
+        private BigDecimal settlementAmount;
+        private BigDecimal ledgerAmount;
+    }
+}
@@ -0,0 +1,16 @@
+package com.example.runshop.model.dto.product;
+
+import com.example.runshop.model.enums.Category;
+
+// 상품 목록 필터 (null 인 조건은 적용하지 않음), priceBand 는 응답 facets 의 가격대 값 ("50000-100000")
+public record ProductFacetFilter(Category category, String brand, String priceBand, Boolean enabled) {
+
+    public boolean isEmpty() {
+        return category == null && brand == null && priceBand == null && enabled == null;
+    }
+
+    // 공개 목록 조회용 - 요청한 활성 여부와 관계없이 활성 상품만
+    public ProductFacetFilter enabledOnly() {
+        return new ProductFacetFilter(category, brand, priceBand, true);
+    }
+}
@@ -0,0 +1,17 @@
+package com.example.runshop.model.dto.product;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+// 필터 결과 페이지와 차원별(category, brand, priceBand, enabled) 값마다의 상품 수
+// 각 차원의 수는 그 차원을 뺀 나머지 필터를 적용한 결과 기준 (다른 값으로 바꿨을 때의 결과 수)
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ProductFacetPageDTO {
+    private ProductPageDTO page;
+    private Map<String, Map<String, Long>> facets;
+}
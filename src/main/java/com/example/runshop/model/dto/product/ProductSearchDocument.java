@@ -0,0 +1,12 @@
+package com.example.runshop.model.dto.product;
+
+import com.example.runshop.model.enums.Category;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+// 검색/필터 색인용 상품 필드 (엔티티와 연관관계를 로드하지 않도록 JPQL 에서 바로 생성)
+// updatedAt 은 색인된 버전으로, 같은 버전이면 다시 색인하지 않음
+public record ProductSearchDocument(Long productId, String name, String description, String brand,
+                                    Category category, BigDecimal price, boolean enabled, LocalDateTime updatedAt) {
+}
@@ -0,0 +1,9 @@
+package com.example.runshop.model.dto.product;
+
+// 자동완성 후보 (같은 이름/브랜드를 가진 활성 상품 수를 함께 반환)
+public record ProductSuggestionDTO(String text, Type type, int productCount) {
+
+    public enum Type {
+        NAME, BRAND
+    }
+}
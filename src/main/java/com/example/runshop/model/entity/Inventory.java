@@ -1,5 +1,6 @@
 package com.example.runshop.model.entity;
 
+import com.example.runshop.model.enums.StockMode;
 import com.example.runshop.model.vo.inventory.StockQuantity;
 import jakarta.persistence.*;
 import lombok.Getter;
@@ -19,6 +20,15 @@ public class Inventory {
     @AttributeOverride(name = "value", column = @Column(name = "stock_quantity"))
     private StockQuantity stockQuantity;
 
+    // 재고 차감 방식 (인기 상품만 REDIS 로 전환)
+    @Enumerated(EnumType.STRING)
+    @Column(name = "stock_mode", nullable = false)
+    private StockMode stockMode = StockMode.DATABASE;
+
+    // SHARDED 모드에서 재고를 나누어 담는 버킷 수 (그 외 모드에서는 1)
+    @Column(name = "bucket_count", nullable = false)
+    private int bucketCount = 1;
+
     // - **Product** 1 : 1 **Inventory**
     // (하나의 상품에 대해 하나의 재고가 관리됨)
 
@@ -0,0 +1,42 @@
+package com.example.runshop.model.entity;
+
+import com.example.runshop.model.vo.inventory.StockQuantity;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+// 한 상품의 재고를 N 개로 나눈 버킷 - 동시 주문이 서로 다른 행을 갱신하도록 하여 락 경합을 분산
+@Entity
+@Getter
+@NoArgsConstructor
+@Table(name = "inventory_bucket", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_inventory_bucket_product_bucket", columnNames = {"product_id", "bucket_no"})
+})
+public class InventoryBucket {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "product_id", nullable = false)
+    private Long productId;
+
+    @Column(name = "bucket_no", nullable = false)
+    private int bucketNo;
+
+    @Embedded
+    @AttributeOverride(name = "value", column = @Column(name = "stock_quantity"))
+    private StockQuantity stockQuantity;
+
+    public InventoryBucket(Long productId, int bucketNo, StockQuantity stockQuantity) {
+        this.productId = productId;
+        this.bucketNo = bucketNo;
+        this.stockQuantity = stockQuantity;
+    }
+
+    // 버킷 재고 차감 (남은 재고만큼만 차감하고 실제 차감한 수량을 반환)
+    public int drain(int quantity) {
+        int taken = Math.min(quantity, stockQuantity.value());
+        this.stockQuantity = stockQuantity.decreaseStock(taken);
+        return taken;
+    }
+}
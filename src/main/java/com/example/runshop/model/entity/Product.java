@@ -18,7 +18,9 @@ import java.util.List;
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
-@Table(name = "product")
+@Table(name = "product", indexes = {
+        @Index(name = "idx_product_updated_at", columnList = "updated_at")
+})
 public class Product {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -60,9 +62,11 @@ public class Product {
     private boolean enabled = true;
 
 
+    // 등록 시각을 수정 시각으로도 기록해 검색 색인 동기화가 updated_at 하나로 변경분을 찾을 수 있게 함
     @PrePersist
     protected void onCreate() {
         createdAt = LocalDateTime.now();
+        updatedAt = createdAt;
     }
 
     @PreUpdate
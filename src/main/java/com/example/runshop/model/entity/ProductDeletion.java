@@ -0,0 +1,37 @@
+package com.example.runshop.model.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+// 삭제된 상품 기록 (검색/자동완성/필터 색인 동기화용 툼스톤)
+// 상품 행은 바로 지우므로 updated_at 으로는 삭제를 알 수 없어, 각 노드가 deleted_at 이후 기록을 읽어 색인에서 뺌
+// 보존 기간이 지난 기록은 색인 스레드가 지움
+@Entity
+@Getter
+@NoArgsConstructor
+@Table(name = "product_deletion", indexes = {
+        @Index(name = "idx_product_deletion_deleted_at", columnList = "deleted_at, id")
+})
+public class ProductDeletion {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "product_id", nullable = false)
+    private Long productId;
+
+    @Column(name = "deleted_at", nullable = false)
+    private LocalDateTime deletedAt;
+
+    private ProductDeletion(Long productId, LocalDateTime deletedAt) {
+        this.productId = productId;
+        this.deletedAt = deletedAt;
+    }
+
+    public static ProductDeletion of(Long productId) {
+        return new ProductDeletion(productId, LocalDateTime.now());
+    }
+}
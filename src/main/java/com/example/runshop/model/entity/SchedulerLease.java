@@ -0,0 +1,30 @@
+package com.example.runshop.model.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+// 여러 노드 중 한 노드만 스케줄 작업을 실행하도록 하는 DB 임대(lease). 만료 시각이 지나면 다른 노드가 가져갈 수 있음
+@Entity
+@Getter
+@NoArgsConstructor
+@Table(name = "scheduler_lease")
+public class SchedulerLease {
+    @Id
+    @Column(name = "name", length = 100)
+    private String name;
+
+    @Column(name = "owner", nullable = false)
+    private String owner;
+
+    @Column(name = "lease_until", nullable = false)
+    private LocalDateTime leaseUntil;
+
+    public SchedulerLease(String name, String owner, LocalDateTime leaseUntil) {
+        this.name = name;
+        this.owner = owner;
+        this.leaseUntil = leaseUntil;
+    }
+}
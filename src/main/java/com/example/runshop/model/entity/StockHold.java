@@ -0,0 +1,58 @@
+package com.example.runshop.model.entity;
+
+import com.example.runshop.model.enums.StockHoldStatus;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+// 결제 대기 중인 주문이 선점한 재고 (만료 시각이 지나면 스케줄러가 일괄 반환)
+@Entity
+@Getter
+@NoArgsConstructor
+@Table(name = "stock_hold", indexes = {
+        @Index(name = "idx_stock_hold_status_expires_at", columnList = "status, expires_at"),
+        @Index(name = "idx_stock_hold_order_id", columnList = "order_id")
+})
+public class StockHold {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "order_id", nullable = false)
+    private Long orderId;
+
+    @Column(name = "product_id", nullable = false)
+    private Long productId;
+
+    @Column(name = "quantity", nullable = false)
+    private int quantity;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false)
+    private StockHoldStatus status;
+
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+    }
+
+    private StockHold(Long orderId, Long productId, int quantity, LocalDateTime expiresAt) {
+        this.orderId = orderId;
+        this.productId = productId;
+        this.quantity = quantity;
+        this.expiresAt = expiresAt;
+        this.status = StockHoldStatus.HELD;
+    }
+
+    public static StockHold create(Long orderId, Long productId, int quantity, LocalDateTime expiresAt) {
+        return new StockHold(orderId, productId, quantity, expiresAt);
+    }
+}
@@ -0,0 +1,6 @@
+package com.example.runshop.model.enums;
+
+public enum StockAdjustmentMode {
+    ABSOLUTE, // 재고를 지정한 수량으로 설정
+    DELTA // 현재 재고에 수량을 더함 (음수면 차감)
+}
@@ -0,0 +1,7 @@
+package com.example.runshop.model.enums;
+
+public enum StockHoldStatus {
+    HELD, // 주문 생성 시 재고 선점 (결제 대기)
+    COMMITTED, // 결제 완료로 확정
+    RELEASED // 결제 실패, 주문 취소 또는 만료로 재고 반환
+}
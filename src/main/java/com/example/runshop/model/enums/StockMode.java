@@ -0,0 +1,7 @@
+package com.example.runshop.model.enums;
+
+public enum StockMode {
+    DATABASE, // inventory 테이블의 행에서 직접 재고를 차감 (기본)
+    REDIS, // Redis 카운터에서 재고를 차감하고 DB 에는 모아서 반영 (인기 상품용)
+    SHARDED // 재고를 여러 inventory_bucket 행으로 나누어 행 락 경합을 분산 (초인기 한정판용)
+}
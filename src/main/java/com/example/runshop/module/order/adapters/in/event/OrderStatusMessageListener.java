@@ -0,0 +1,36 @@
+package com.example.runshop.module.order.adapters.in.event;
+
+import com.example.runshop.model.dto.order.OrderStatusMessage;
+import com.example.runshop.module.order.application.service.OrderStatusStreamService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+
+// Redis pub/sub 으로 받은 주문 상태 알림을 이 노드에 연결된 사용자에게 전달
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "order.status-stream.broker", havingValue = "redis", matchIfMissing = true)
+public class OrderStatusMessageListener implements MessageListener {
+
+    private final ObjectMapper objectMapper;
+    private final OrderStatusStreamService orderStatusStreamService;
+
+    public OrderStatusMessageListener(ObjectMapper objectMapper, OrderStatusStreamService orderStatusStreamService) {
+        this.objectMapper = objectMapper;
+        this.orderStatusStreamService = orderStatusStreamService;
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        try {
+            orderStatusStreamService.deliver(objectMapper.readValue(message.getBody(), OrderStatusMessage.class));
+        } catch (IOException e) {
+            log.warn("주문 상태 알림을 해석할 수 없습니다.", e);
+        }
+    }
+}
@@ -1,10 +1,15 @@
 package com.example.runshop.module.order.adapters.in.rest;
 
 import com.example.runshop.model.dto.order.OrderDetailDTO;
+import com.example.runshop.model.dto.order.OrderHistoryPage;
 import com.example.runshop.model.dto.order.OrderListDTO;
+import com.example.runshop.model.dto.order.OrderSummaryDTO;
 import com.example.runshop.model.dto.payment.OrderRequest;
 import com.example.runshop.model.dto.response.SuccessResponse;
+import com.example.runshop.module.order.application.service.OrderIntakePipeline;
+import com.example.runshop.module.order.application.service.OrderPricingService;
 import com.example.runshop.module.order.application.service.OrderService;
+import com.example.runshop.module.order.application.service.PricedOrder;
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
@@ -19,22 +24,28 @@ import org.springframework.web.bind.annotation.*;
 public class OrderController {
 
     private final OrderService orderService;
+    private final OrderIntakePipeline orderIntakePipeline;
+    private final OrderPricingService orderPricingService;
 
-    public OrderController(OrderService orderService) {
+    public OrderController(OrderService orderService, OrderIntakePipeline orderIntakePipeline, OrderPricingService orderPricingService) {
         this.orderService = orderService;
+        this.orderIntakePipeline = orderIntakePipeline;
+        this.orderPricingService = orderPricingService;
     }
 
-    // 주문 생성
+    // 주문 생성 (가격은 서버에서 계산하고, 동시 요청을 모아 한 트랜잭션으로 커밋)
     @PostMapping
     public ResponseEntity<?> createOrder(@RequestBody OrderRequest orderRequest, HttpServletRequest httpRequest) {
-        orderService.createOrder(orderRequest.getUserId(), orderRequest.getAmount().value(), orderRequest.getOrderItems(), orderRequest.getPaymentMethod());
-        return SuccessResponse.ok("주문이 성공적으로 생성되었습니다.", httpRequest.getRequestURI());
+        PricedOrder pricedOrder = orderPricingService.price(orderRequest.getOrderLines(), orderRequest.getPaymentMethod(),
+                orderRequest.getAmount() != null ? orderRequest.getAmount().value() : null);
+        orderIntakePipeline.createOrder(orderRequest.getUserId(), pricedOrder.totalPrice(), pricedOrder.orderItems(), orderRequest.getPaymentMethod());
+        return SuccessResponse.ok("주문이 성공적으로 생성되었습니다.", pricedOrder.lines(), httpRequest.getRequestURI());
     }
 
-    // 주문 조회
+    // 주문 조회 (엔티티 대신 요약 DTO 를 반환해 연관관계 지연 로딩과 큰 응답을 피함)
     @GetMapping("/{id}")
     public ResponseEntity<?> getOrder(@PathVariable Long id, HttpServletRequest httpRequest) {
-        var order = orderService.findOrderOrThrow(id);
+        OrderSummaryDTO order = orderService.getOrderSummary(id);
         return SuccessResponse.ok("주문을 성공적으로 조회했습니다.", order, httpRequest.getRequestURI());
     }
 
@@ -45,8 +56,19 @@ public class OrderController {
         return SuccessResponse.ok("주문 목록 조회 성공", orders, httpRequest.getRequestURI());
     }
 
-    // 주문 상세 조회
-    @GetMapping("/{orderId}")
+    // 유저의 주문 내역 조회 (커서 기반 - 응답의 nextCursor 를 다음 요청의 cursor 로 전달)
+    @GetMapping("/history")
+    public ResponseEntity<?> getOrderHistory(@RequestParam Long userId,
+                                             @RequestParam(required = false) String cursor,
+                                             @RequestParam(defaultValue = "20") int size,
+                                             @RequestParam(defaultValue = "false") boolean includeTotal,
+                                             HttpServletRequest httpRequest) {
+        OrderHistoryPage history = orderService.getOrderHistory(userId, cursor, size, includeTotal);
+        return SuccessResponse.ok("주문 내역 조회 성공", history, httpRequest.getRequestURI());
+    }
+
+    // 주문 상세 조회 (주문 항목 포함)
+    @GetMapping("/{orderId}/detail")
     public ResponseEntity<?> getOrderDetail(@PathVariable Long orderId, HttpServletRequest httpRequest) {
         OrderDetailDTO orderDetail = orderService.getOrderDetail(orderId);
         return SuccessResponse.ok("주문 상세 조회 성공", orderDetail, httpRequest.getRequestURI());
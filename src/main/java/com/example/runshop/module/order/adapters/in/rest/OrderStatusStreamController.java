@@ -0,0 +1,31 @@
+package com.example.runshop.module.order.adapters.in.rest;
+
+import com.example.runshop.model.dto.user.UsersDetails;
+import com.example.runshop.module.order.application.service.OrderStatusStreamService;
+import com.example.runshop.service.UserService;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+@RestController
+@RequestMapping("/api/orders")
+public class OrderStatusStreamController {
+
+    private final OrderStatusStreamService orderStatusStreamService;
+    private final UserService userService;
+
+    public OrderStatusStreamController(OrderStatusStreamService orderStatusStreamService, UserService userService) {
+        this.orderStatusStreamService = orderStatusStreamService;
+        this.userService = userService;
+    }
+
+    // 로그인한 사용자의 주문/결제 상태 변경을 SSE 로 수신 (이벤트 이름: order-status)
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamOrderStatus(@AuthenticationPrincipal UsersDetails usersDetails) {
+        Long userId = userService.findByEmail(usersDetails.getUsername()).getId();
+        return orderStatusStreamService.subscribe(userId);
+    }
+}
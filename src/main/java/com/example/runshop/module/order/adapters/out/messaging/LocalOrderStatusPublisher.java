@@ -0,0 +1,24 @@
+package com.example.runshop.module.order.adapters.out.messaging;
+
+import com.example.runshop.model.dto.order.OrderStatusMessage;
+import com.example.runshop.module.order.application.port.out.OrderStatusPublisher;
+import com.example.runshop.module.order.application.service.OrderStatusStreamService;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+// 단일 노드(테스트/로컬) 환경용 - 이 노드의 연결에 바로 전달
+@Component
+@ConditionalOnProperty(name = "order.status-stream.broker", havingValue = "local")
+public class LocalOrderStatusPublisher implements OrderStatusPublisher {
+
+    private final OrderStatusStreamService orderStatusStreamService;
+
+    public LocalOrderStatusPublisher(OrderStatusStreamService orderStatusStreamService) {
+        this.orderStatusStreamService = orderStatusStreamService;
+    }
+
+    @Override
+    public void publish(OrderStatusMessage message) {
+        orderStatusStreamService.deliver(message);
+    }
+}
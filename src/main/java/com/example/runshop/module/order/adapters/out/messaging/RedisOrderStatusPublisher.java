@@ -0,0 +1,44 @@
+package com.example.runshop.module.order.adapters.out.messaging;
+
+import com.example.runshop.model.dto.order.OrderStatusMessage;
+import com.example.runshop.module.order.application.port.out.OrderStatusPublisher;
+import com.example.runshop.module.order.application.service.OrderStatusStreamService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+// Redis pub/sub 으로 모든 노드에 전파 (이 노드의 연결도 구독 리스너를 통해 전달받음)
+// Redis 에 접근할 수 없으면 이 노드에 연결된 사용자에게만 전달
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "order.status-stream.broker", havingValue = "redis", matchIfMissing = true)
+public class RedisOrderStatusPublisher implements OrderStatusPublisher {
+
+    public static final String CHANNEL = "order-status";
+
+    private final StringRedisTemplate redisTemplate;
+    private final ObjectMapper objectMapper;
+    private final OrderStatusStreamService orderStatusStreamService;
+
+    public RedisOrderStatusPublisher(StringRedisTemplate redisTemplate, ObjectMapper objectMapper, OrderStatusStreamService orderStatusStreamService) {
+        this.redisTemplate = redisTemplate;
+        this.objectMapper = objectMapper;
+        this.orderStatusStreamService = orderStatusStreamService;
+    }
+
+    @Override
+    public void publish(OrderStatusMessage message) {
+        try {
+            redisTemplate.convertAndSend(CHANNEL, objectMapper.writeValueAsString(message));
+        } catch (DataAccessException e) {
+            log.warn("Redis 에 접근할 수 없어 이 노드의 연결에만 주문 상태를 전달합니다: {}", e.getMessage());
+            orderStatusStreamService.deliver(message);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("주문 상태 알림을 직렬화할 수 없습니다.", e);
+        }
+    }
+}
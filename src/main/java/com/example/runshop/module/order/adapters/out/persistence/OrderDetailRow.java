@@ -0,0 +1,18 @@
+package com.example.runshop.module.order.adapters.out.persistence;
+
+import com.example.runshop.model.enums.OrderStatus;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+// 주문 상세 조회 프로젝션 - 주문 항목 한 줄마다 한 행 (항목이 없는 주문은 항목 컬럼이 null 인 한 행)
+public record OrderDetailRow(Long orderId,
+                             LocalDateTime orderDate,
+                             OrderStatus orderStatus,
+                             BigDecimal totalPrice,
+                             Long orderItemId,
+                             Long productId,
+                             String productName,
+                             Integer quantity,
+                             BigDecimal price) {
+}
@@ -1,12 +1,71 @@
 package com.example.runshop.module.order.adapters.out.persistence;
 
+import com.example.runshop.model.dto.order.OrderListDTO;
+import com.example.runshop.model.dto.order.OrderSummaryDTO;
+import com.example.runshop.model.enums.OrderStatus;
 import com.example.runshop.module.order.domain.Order;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
 @Repository
 public interface OrderJpaRepository extends JpaRepository<Order, Long> {
     Page<Order> findByUserId(Long userId, Pageable pageable);
-}
\ No newline at end of file
+
+    long countByUserId(Long userId);
+
+    // 주문 내역 첫 페이지 - (user_id, order_date, id) 인덱스를 역순으로 읽고 limit 건에서 멈춤 (COUNT 쿼리 없음)
+    @Query("select new com.example.runshop.model.dto.order.OrderListDTO(o.id, o.orderDate, o.status, o.totalPrice) " +
+            "from Order o where o.user.id = :userId " +
+            "order by o.orderDate desc, o.id desc")
+    List<OrderListDTO> findHistoryFirstPage(@Param("userId") Long userId, Pageable pageable);
+
+    // 주문 내역 다음 페이지 - 마지막으로 본 (order_date, id) 바로 다음부터 탐색 (OFFSET 없음)
+    @Query("select new com.example.runshop.model.dto.order.OrderListDTO(o.id, o.orderDate, o.status, o.totalPrice) " +
+            "from Order o where o.user.id = :userId " +
+            "and (o.orderDate < :orderDate or (o.orderDate = :orderDate and o.id < :id)) " +
+            "order by o.orderDate desc, o.id desc")
+    List<OrderListDTO> findHistoryPageAfter(@Param("userId") Long userId,
+                                           @Param("orderDate") LocalDateTime orderDate,
+                                           @Param("id") Long id,
+                                           Pageable pageable);
+
+    // 주문 상세 조회 - 주문, 주문 항목, 상품을 한 번의 조인으로 필요한 컬럼만 읽음 (user, payment, inventory 는 읽지 않음)
+    @Query("select new com.example.runshop.module.order.adapters.out.persistence.OrderDetailRow(" +
+            "o.id, o.orderDate, o.status, o.totalPrice, i.id, p.id, p.name.value, i.quantity.value, p.price.value) " +
+            "from Order o left join o.orderItems i left join i.product p " +
+            "where o.id = :orderId order by i.id")
+    List<OrderDetailRow> findDetailRows(@Param("orderId") Long orderId);
+
+    // 주문 단건 요약 조회 - orders 한 행과 항목 수만 읽음
+    @Query("select new com.example.runshop.model.dto.order.OrderSummaryDTO(" +
+            "o.id, o.orderDate, o.status, o.totalPrice, o.paymentDate, size(o.orderItems)) " +
+            "from Order o where o.id = :orderId")
+    Optional<OrderSummaryDTO> findSummaryById(@Param("orderId") Long orderId);
+
+    // 결제 결과 반영 시 주문 행을 잠가 만료 스케줄러/주문 취소와 상태 변경이 겹치지 않도록 함
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select o from Order o where o.id = :orderId")
+    Optional<Order> findByIdForUpdate(@Param("orderId") Long orderId);
+
+    // (status, order_date) 인덱스를 타는 오래된 주문 조회 (SKIP LOCKED - 결제 처리 중인 주문은 건너뜀)
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("select o from Order o where o.status = :status and o.orderDate < :before order by o.orderDate")
+    List<Order> findByStatusOrderedBeforeForUpdate(@Param("status") OrderStatus status,
+                                                  @Param("before") LocalDateTime before,
+                                                  Pageable pageable);
+
+    long countByStatusAndOrderDateBefore(OrderStatus status, LocalDateTime before);
+}
@@ -0,0 +1,20 @@
+package com.example.runshop.module.order.application.port.in;
+
+import com.example.runshop.module.order.domain.OrderItem;
+import com.example.runshop.module.payment.domain.PaymentMethod;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+// 주문 생성 요청 한 건 (그룹 커밋 시 여러 건을 모아 한 트랜잭션으로 처리)
+public record CreateOrderCommand(Long userId, BigDecimal totalPrice, List<OrderItem> orderItems, PaymentMethod paymentMethod) {
+
+    // 같은 상품/수량으로 주문 항목을 새로 만든 요청
+    // 롤백된 저장 시도에서 식별자(IDENTITY)가 채워진 항목은 다시 persist 할 수 없으므로 재시도마다 새 항목을 사용
+    public CreateOrderCommand withNewOrderItems() {
+        List<OrderItem> newItems = orderItems.stream()
+                .map(item -> OrderItem.create(item.getProduct(), item.getQuantity(), item.getPaymentMethod()))
+                .toList();
+        return new CreateOrderCommand(userId, totalPrice, newItems, paymentMethod);
+    }
+}
@@ -0,0 +1,7 @@
+package com.example.runshop.module.order.application.port.in;
+
+import com.example.runshop.model.dto.order.OrderSummaryDTO;
+
+public interface GetOrderSummaryUseCase {
+    OrderSummaryDTO getOrderSummary(Long orderId);
+}
@@ -0,0 +1,7 @@
+package com.example.runshop.module.order.application.port.in;
+
+import java.math.BigDecimal;
+
+// 주문 한 줄 - 상품 ID 와 수량. expectedUnitPrice 는 클라이언트가 화면에서 본 단가로, 현재 가격과 다르면 주문을 거절
+public record OrderLine(Long productId, int quantity, BigDecimal expectedUnitPrice) {
+}
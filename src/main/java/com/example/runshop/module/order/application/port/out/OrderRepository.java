@@ -1,15 +1,33 @@
 package com.example.runshop.module.order.application.port.out;
 
+import com.example.runshop.model.dto.order.OrderCursor;
+import com.example.runshop.model.dto.order.OrderDetailDTO;
+import com.example.runshop.model.dto.order.OrderListDTO;
+import com.example.runshop.model.dto.order.OrderSummaryDTO;
 import com.example.runshop.module.order.domain.Order;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 public interface OrderRepository {
     Order save(Order order);
+    List<Order> saveAll(List<Order> orders);
     void delete(Order order);  // Changed from deleteById
     Page<Order> findByUserId(Long userId, Pageable pageable);
     Optional<Order> findById(Long orderId);
+    // 주문 행을 잠가 조회 (트랜잭션이 끝날 때까지 다른 상태 변경을 막음)
+    Optional<Order> findByIdForUpdate(Long orderId);
+    // 주문 상세를 엔티티 그래프를 거치지 않고 한 번의 쿼리로 조회 (항목 수와 무관)
+    Optional<OrderDetailDTO> findDetailById(Long orderId);
+    Optional<OrderSummaryDTO> findSummaryById(Long orderId);
+    // after 가 null 이면 최신 주문부터, 아니면 커서 다음 주문부터 (order_date, id) 내림차순으로 최대 limit 건
+    List<OrderListDTO> findHistory(Long userId, OrderCursor after, int limit);
+    long countByUserId(Long userId);
+    // before 이전에 생성되어 아직 결제 대기 중인 주문을 오래된 순으로 최대 limit 건 잠금 (다른 트랜잭션이 잠근 주문은 건너뜀)
+    List<Order> findPendingOrderedBeforeForUpdate(LocalDateTime before, int limit);
+    long countPendingOrderedBefore(LocalDateTime before);
 }
 
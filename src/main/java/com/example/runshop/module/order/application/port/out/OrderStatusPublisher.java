@@ -0,0 +1,8 @@
+package com.example.runshop.module.order.application.port.out;
+
+import com.example.runshop.model.dto.order.OrderStatusMessage;
+
+// 주문 상태 변경을 SSE 연결을 가진 모든 노드로 전파
+public interface OrderStatusPublisher {
+    void publish(OrderStatusMessage message);
+}
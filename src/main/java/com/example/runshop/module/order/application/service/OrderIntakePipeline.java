@@ -0,0 +1,248 @@
+package com.example.runshop.module.order.application.service;
+
+import com.example.runshop.exception.order.OrderIntakePendingException;
+import com.example.runshop.module.order.application.port.in.CreateOrderCommand;
+import com.example.runshop.module.order.application.port.in.CreateOrderUseCase;
+import com.example.runshop.module.order.domain.Order;
+import com.example.runshop.module.order.domain.OrderItem;
+import com.example.runshop.module.payment.domain.PaymentMethod;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 주문 접수 그룹 커밋 파이프라인.
+ * 동시에 들어온 주문 생성 요청을 linger-ms 동안 모아 최대 max-batch-size 건을 한 트랜잭션으로 저장하여
+ * 요청마다 발생하던 커밋(fsync) 비용을 배치 단위로 나눕니다.
+ * 각 호출자는 자신의 주문 결과(또는 예외)를 그대로 돌려받으며, 배치 트랜잭션이 실패하면 한 건씩 다시 처리합니다.
+ * await-timeout-ms 안에 배치에 실리지 못한 요청은 큐에서 빼고 요청 스레드에서 직접 처리하며,
+ * 배치에 실린 뒤 결과가 늦어지는 요청은 접수 중(202)으로 응답합니다.
+ */
+@Service
+@Slf4j
+public class OrderIntakePipeline implements CreateOrderUseCase {
+
+    private final OrderService orderService;
+    private final boolean enabled;
+    private final int maxBatchSize;
+    private final long lingerNanos;
+    private final long awaitTimeoutMillis;
+    private final BlockingQueue<PendingOrder> queue;
+    private final DistributionSummary batchFillRatio;
+    private final Timer queueLatency;
+    private final Timer batchDuration;
+    // 큐에 넣기(읽기 잠금)와 종료(쓰기 잠금)를 배타적으로 - 종료 후 큐에 들어가 처리되지 않는 요청이 없도록
+    private final ReadWriteLock intakeLock = new ReentrantReadWriteLock();
+
+    private volatile boolean running;
+    private Thread writer;
+
+    public OrderIntakePipeline(OrderService orderService,
+                               MeterRegistry meterRegistry,
+                               @Value("${order.intake.enabled:true}") boolean enabled,
+                               @Value("${order.intake.max-batch-size:32}") int maxBatchSize,
+                               @Value("${order.intake.linger-ms:5}") long lingerMillis,
+                               @Value("${order.intake.queue-capacity:10000}") int queueCapacity,
+                               @Value("${order.intake.await-timeout-ms:3000}") long awaitTimeoutMillis) {
+        this.orderService = orderService;
+        this.enabled = enabled;
+        this.maxBatchSize = maxBatchSize;
+        this.lingerNanos = TimeUnit.MILLISECONDS.toNanos(lingerMillis);
+        this.awaitTimeoutMillis = awaitTimeoutMillis;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.batchFillRatio = DistributionSummary.builder("order.intake.batch.fill.ratio")
+                .description("배치 크기 / max-batch-size")
+                .register(meterRegistry);
+        this.queueLatency = Timer.builder("order.intake.queue.latency")
+                .description("주문 요청이 배치에 실리기까지 대기한 시간 (그룹 커밋으로 추가된 지연)")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.batchDuration = Timer.builder("order.intake.batch.duration")
+                .description("배치 트랜잭션 처리 시간")
+                .register(meterRegistry);
+        meterRegistry.gauge("order.intake.queue.size", queue, BlockingQueue::size);
+    }
+
+    @PostConstruct
+    void start() {
+        if (!enabled) {
+            return;
+        }
+        running = true;
+        writer = new Thread(this::runWriter, "order-intake-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    // 종료 시 새 요청은 받지 않고, 큐에 남은 요청은 모두 처리한 뒤 멈춤
+    @PreDestroy
+    void stop() throws InterruptedException {
+        intakeLock.writeLock().lock();
+        try {
+            running = false;
+        } finally {
+            intakeLock.writeLock().unlock();
+        }
+        if (writer != null) {
+            writer.join(TimeUnit.SECONDS.toMillis(10));
+        }
+    }
+
+    @Override
+    public void createOrder(Long userId, BigDecimal totalPrice, List<OrderItem> orderItems, PaymentMethod paymentMethod) {
+        PendingOrder pending = new PendingOrder(new CreateOrderCommand(userId, totalPrice, orderItems, paymentMethod), System.nanoTime());
+        if (!enqueue(pending)) {
+            // 파이프라인이 꺼져 있거나 큐가 가득 찬 경우 요청 스레드에서 기존 방식대로 처리
+            orderService.createOrder(userId, totalPrice, orderItems, paymentMethod);
+            return;
+        }
+
+        // 결제 요청은 배치 트랜잭션에서 아웃박스에 함께 기록됨
+        Order order = await(pending);
+        if (order == null) {
+            // 제한 시간 안에 배치에 실리지 못해 큐에서 뺀 요청 (배치 스레드가 멈췄거나 종료 중)
+            orderService.createOrder(userId, totalPrice, orderItems, paymentMethod);
+            return;
+        }
+        log.info("주문이 성공적으로 생성되었습니다. 주문 ID: {}", order.getId());
+    }
+
+    private boolean enqueue(PendingOrder pending) {
+        intakeLock.readLock().lock();
+        try {
+            return running && queue.offer(pending);
+        } finally {
+            intakeLock.readLock().unlock();
+        }
+    }
+
+    private void runWriter() {
+        while (running || !queue.isEmpty()) {
+            try {
+                List<PendingOrder> batch = nextBatch();
+                if (!batch.isEmpty()) {
+                    writeBatch(batch);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                log.error("주문 접수 배치 처리 중 예기치 못한 오류가 발생했습니다.", e);
+            }
+        }
+    }
+
+    // 첫 요청이 도착한 시점부터 linger 시간이 지나거나 배치가 가득 찰 때까지 모음 (대기 시간이 지나 호출자가 가져간 요청은 건너뜀)
+    private List<PendingOrder> nextBatch() throws InterruptedException {
+        PendingOrder first = queue.poll(100, TimeUnit.MILLISECONDS);
+        if (first == null || !first.claim()) {
+            return List.of();
+        }
+        List<PendingOrder> batch = new ArrayList<>(maxBatchSize);
+        batch.add(first);
+        long deadline = first.enqueuedAt() + lingerNanos;
+        while (batch.size() < maxBatchSize) {
+            long remaining = deadline - System.nanoTime();
+            PendingOrder next = remaining > 0 ? queue.poll(remaining, TimeUnit.NANOSECONDS) : queue.poll();
+            if (next == null) {
+                break;
+            }
+            if (next.claim()) {
+                batch.add(next);
+            }
+        }
+        return batch;
+    }
+
+    private void writeBatch(List<PendingOrder> batch) {
+        long startedAt = System.nanoTime();
+        batch.forEach(pending -> queueLatency.record(startedAt - pending.enqueuedAt(), TimeUnit.NANOSECONDS));
+        batchFillRatio.record((double) batch.size() / maxBatchSize);
+        placeBatch(batch, batch.stream().map(PendingOrder::command).toList());
+    }
+
+    private void placeBatch(List<PendingOrder> batch, List<CreateOrderCommand> commands) {
+        List<OrderPlacement> placements;
+        try {
+            placements = batchDuration.record(() -> orderService.placeOrders(commands));
+        } catch (RuntimeException e) {
+            if (batch.size() == 1) {
+                batch.get(0).result().completeExceptionally(e);
+                return;
+            }
+            // 한 건의 예외(존재하지 않는 유저 등)로 배치 전체가 롤백된 경우, 한 건씩 다시 처리해 각자의 결과를 돌려줌
+            // 롤백 전에 저장된 주문 항목은 식별자가 채워져 있으므로 새 주문 항목으로 다시 저장
+            log.warn("주문 접수 배치가 롤백되어 개별 처리로 전환합니다. 배치 크기: {}", batch.size(), e);
+            batch.forEach(pending -> placeBatch(List.of(pending), List.of(pending.command().withNewOrderItems())));
+            return;
+        }
+
+        // 주문 목록 캐시는 placeOrders 가 커밋 이후 사용자별 캐시 버전을 올려 무효화
+        for (int i = 0; i < batch.size(); i++) {
+            PendingOrder pending = batch.get(i);
+            OrderPlacement placement = placements.get(i);
+            if (placement.isPlaced()) {
+                pending.result().complete(placement.order());
+            } else {
+                pending.result().completeExceptionally(placement.error());
+            }
+        }
+    }
+
+    // 배치 결과를 기다림, 제한 시간 안에 배치에 실리지 못했으면 요청을 가져오고 null 반환
+    // 이미 배치에 실렸으면 그 트랜잭션 결과를 한 번 더 제한 시간만큼 기다림 (직접 처리하면 주문이 중복 생성될 수 있음)
+    // 그래도 끝나지 않으면 주문이 커밋될 수 있으므로 실패가 아닌 처리 중(OrderIntakePendingException)으로 알림
+    private Order await(PendingOrder pending) {
+        try {
+            try {
+                return pending.result().get(awaitTimeoutMillis, TimeUnit.MILLISECONDS);
+            } catch (TimeoutException e) {
+                if (pending.claim()) {
+                    return null;
+                }
+                return pending.result().get(awaitTimeoutMillis, TimeUnit.MILLISECONDS);
+            }
+        } catch (TimeoutException e) {
+            log.warn("주문 접수 결과를 제한 시간 안에 확인하지 못했습니다. 유저 ID: {}", pending.command().userId());
+            throw new OrderIntakePendingException("주문이 접수되어 처리 중입니다. 잠시 후 주문 내역에서 결과를 확인해 주세요.");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException("주문 접수에 실패했습니다.", e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("주문 접수 대기 중 인터럽트되었습니다.", e);
+        }
+    }
+
+    // claimed - 배치 스레드(배치에 실음)와 호출자(직접 처리로 전환) 중 먼저 가져간 쪽만 처리
+    private record PendingOrder(CreateOrderCommand command, long enqueuedAt, CompletableFuture<Order> result,
+                                AtomicBoolean claimed) {
+        PendingOrder(CreateOrderCommand command, long enqueuedAt) {
+            this(command, enqueuedAt, new CompletableFuture<>(), new AtomicBoolean());
+        }
+
+        boolean claim() {
+            return claimed.compareAndSet(false, true);
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package com.example.runshop.module.order.application.service;
+
+import com.example.runshop.module.order.domain.Order;
+
+// 그룹 커밋된 주문 한 건의 결과 - 저장된 주문 또는 거절 사유 중 하나
+public record OrderPlacement(Order order, RuntimeException error) {
+
+    public static OrderPlacement placed(Order order) {
+        return new OrderPlacement(order, null);
+    }
+
+    public static OrderPlacement rejected(RuntimeException error) {
+        return new OrderPlacement(null, error);
+    }
+
+    public boolean isPlaced() {
+        return order != null;
+    }
+}
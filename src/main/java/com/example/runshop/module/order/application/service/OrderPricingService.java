@@ -0,0 +1,114 @@
+package com.example.runshop.module.order.application.service;
+
+import com.example.runshop.exception.Inventory.OutOfStockException;
+import com.example.runshop.exception.order.InvalidOrderRequestException;
+import com.example.runshop.exception.order.StalePriceException;
+import com.example.runshop.exception.product.ProductNotFoundException;
+import com.example.runshop.model.entity.Inventory;
+import com.example.runshop.model.entity.Product;
+import com.example.runshop.model.enums.StockMode;
+import com.example.runshop.model.vo.orderitem.OrderQuantity;
+import com.example.runshop.module.order.application.port.in.OrderLine;
+import com.example.runshop.module.order.domain.OrderItem;
+import com.example.runshop.module.payment.domain.PaymentMethod;
+import com.example.runshop.repository.ProductRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * 주문 가격 계산 단계.
+ * 클라이언트가 보낸 금액을 믿지 않고 (상품 ID, 수량) 줄만 받아, 주문에 포함된 상품과 재고를 IN 쿼리 한 번으로 읽은 뒤
+ * 줄별 금액과 주문 총액을 서버에서 BigDecimal 로 계산합니다.
+ * 클라이언트가 본 단가나 총액이 현재 가격과 다르면 주문을 거절합니다.
+ */
+@Service
+@Slf4j
+@Transactional(readOnly = true)
+public class OrderPricingService {
+
+    private final ProductRepository productRepository;
+    private final int maxLines;
+
+    public OrderPricingService(ProductRepository productRepository,
+                               @Value("${order.pricing.max-lines:100}") int maxLines) {
+        this.productRepository = productRepository;
+        this.maxLines = maxLines;
+    }
+
+    public PricedOrder price(List<OrderLine> lines, PaymentMethod paymentMethod, BigDecimal expectedTotal) {
+        if (lines == null || lines.isEmpty()) {
+            throw new InvalidOrderRequestException("주문할 상품이 없습니다.");
+        }
+        if (lines.size() > maxLines) {
+            throw new InvalidOrderRequestException("한 번에 주문할 수 있는 상품은 최대 " + maxLines + "개입니다.");
+        }
+
+        Map<Long, Product> products = loadProducts(lines);
+        List<PricedOrder.PricedLine> pricedLines = new ArrayList<>(lines.size());
+        List<OrderItem> orderItems = new ArrayList<>(lines.size());
+        List<Long> stalePriceProductIds = new ArrayList<>();
+        // 같은 상품이 여러 줄에 나뉘어 있으면 줄마다가 아니라 합산한 수량으로 재고를 확인
+        Map<Long, Integer> requestedQuantities = new HashMap<>();
+        BigDecimal totalPrice = BigDecimal.ZERO;
+
+        for (OrderLine line : lines) {
+            Product product = products.get(line.productId());
+            if (product == null || !product.isEnabled()) {
+                throw new ProductNotFoundException("주문할 수 없는 상품입니다. 상품 ID: " + line.productId());
+            }
+            OrderQuantity quantity = new OrderQuantity(line.quantity());
+            checkAvailableStock(product, requestedQuantities.merge(product.getId(), quantity.value(), Integer::sum));
+
+            BigDecimal unitPrice = product.getPrice().value();
+            if (line.expectedUnitPrice() != null && line.expectedUnitPrice().compareTo(unitPrice) != 0) {
+                stalePriceProductIds.add(product.getId());
+            }
+            BigDecimal lineTotal = unitPrice.multiply(BigDecimal.valueOf(quantity.value()));
+            totalPrice = totalPrice.add(lineTotal);
+            pricedLines.add(new PricedOrder.PricedLine(product.getId(), quantity.value(), unitPrice, lineTotal));
+            orderItems.add(OrderItem.create(product, quantity, paymentMethod));
+        }
+
+        if (!stalePriceProductIds.isEmpty()) {
+            throw new StalePriceException("상품 가격이 변경되었습니다. 상품 ID: " + stalePriceProductIds);
+        }
+        if (expectedTotal != null && expectedTotal.compareTo(totalPrice) != 0) {
+            throw new StalePriceException("주문 금액이 변경되었습니다. 요청 금액: " + expectedTotal + ", 현재 금액: " + totalPrice);
+        }
+        return new PricedOrder(pricedLines, orderItems, totalPrice);
+    }
+
+    // 줄 수와 관계없이 상품과 재고를 한 번의 IN 쿼리로 로드
+    private Map<Long, Product> loadProducts(List<OrderLine> lines) {
+        Set<Long> productIds = new LinkedHashSet<>(lines.size());
+        for (OrderLine line : lines) {
+            if (line.productId() == null) {
+                throw new InvalidOrderRequestException("상품 ID 가 필요합니다.");
+            }
+            productIds.add(line.productId());
+        }
+        return productRepository.findAllWithInventoryByIdIn(productIds).stream()
+                .collect(Collectors.toMap(Product::getId, Function.identity()));
+    }
+
+    // DB 재고 상품은 읽어 온 재고로 명백한 부족을 먼저 거절 (실제 차감은 주문 저장 시 StockHoldService 가 원자적으로 처리)
+    private void checkAvailableStock(Product product, int quantity) {
+        Inventory inventory = product.getInventory();
+        if (inventory != null && inventory.getStockMode() == StockMode.DATABASE
+                && inventory.getStockQuantity().value() < quantity) {
+            throw new OutOfStockException("재고가 부족합니다. 상품 ID: " + product.getId());
+        }
+    }
+}
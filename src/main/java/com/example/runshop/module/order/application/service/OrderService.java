@@ -1,27 +1,35 @@
 package com.example.runshop.module.order.application.service;
 
+import com.example.runshop.exception.Inventory.OutOfStockException;
 import com.example.runshop.exception.order.OrderNotFoundException;
+import com.example.runshop.model.dto.order.OrderCursor;
 import com.example.runshop.model.dto.order.OrderDetailDTO;
+import com.example.runshop.model.dto.order.OrderHistoryPage;
 import com.example.runshop.model.dto.order.OrderListDTO;
+import com.example.runshop.model.dto.order.OrderSummaryDTO;
+import com.example.runshop.model.enums.OrderStatus;
 import com.example.runshop.module.order.application.port.in.CancelOrderUseCase;
+import com.example.runshop.module.order.application.port.in.CreateOrderCommand;
 import com.example.runshop.module.order.application.port.in.CreateOrderUseCase;
 import com.example.runshop.module.order.application.port.in.GetOrderDetailUseCase;
+import com.example.runshop.module.order.application.port.in.GetOrderSummaryUseCase;
 import com.example.runshop.module.order.domain.Order;
 import com.example.runshop.module.order.domain.OrderItem;
+import com.example.runshop.module.outbox.application.service.OutboxService;
 import com.example.runshop.model.entity.User;
 import com.example.runshop.module.order.application.port.out.OrderRepository;
 import com.example.runshop.module.payment.adapters.in.event.PaymentFailedEvent;
+import com.example.runshop.module.payment.adapters.in.event.PaymentRefundRequestEvent;
 import com.example.runshop.module.payment.adapters.in.event.PaymentRequestEvent;
 import com.example.runshop.module.payment.adapters.in.event.PaymentSuccessEvent;
 import com.example.runshop.module.payment.domain.PaymentMethod;
+import com.example.runshop.service.CacheVersionService;
+import com.example.runshop.service.StockHoldService;
 import com.example.runshop.service.UserService;
 import com.example.runshop.utils.mapper.OrderMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
-import org.springframework.cache.annotation.Caching;
-import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.context.event.EventListener;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -29,38 +37,110 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 @Service
 @Slf4j
 @Transactional(readOnly = true)
 @RequiredArgsConstructor
-public class OrderService implements CreateOrderUseCase, CancelOrderUseCase, GetOrderDetailUseCase {
+public class OrderService implements CreateOrderUseCase, CancelOrderUseCase, GetOrderDetailUseCase, GetOrderSummaryUseCase {
+
+    // 캐시 버전 네임스페이스 - 캐시 키에 버전을 넣어, 항목을 하나씩 지우지 않고 버전을 올리는 것으로 무효화
+    // (@Cacheable 키 SpEL 에서는 T(...) 로 이 상수를 참조)
+    public static final String ORDER_VERSION = "order";                // 주문 단위: 요약/상세
+    public static final String ORDER_HISTORY_VERSION = "orderHistory"; // 사용자 단위: 목록/커서 페이지
+    private static final int MAX_HISTORY_PAGE_SIZE = 100;
 
     private final UserService userService;
     private final OrderRepository orderRepository;  // Use the OrderRepository abstraction
-    private final ApplicationEventPublisher eventPublisher;
+    private final OutboxService outboxService;
     private final OrderMapper orderMapper;
+    private final StockHoldService stockHoldService;
+    private final CacheVersionService cacheVersionService;
+    private final OrderStatusNotifier orderStatusNotifier;
 
     // 주문 생성
     @Transactional
-    @CacheEvict(value = "orderListCache", key = "#userId")
     public void createOrder(Long userId, BigDecimal totalPrice, List<OrderItem> orderItems, PaymentMethod paymentMethod) {
         User user = userService.findUserOrThrow(userId, "주문 생성");
         Order order = Order.create(user, totalPrice, orderItems);
         orderRepository.save(order);
-        // 결제 요청 이벤트 발행
-        eventPublisher.publishEvent(new PaymentRequestEvent(this, order.getId(), totalPrice,paymentMethod));
+        // 결제가 끝날 때까지 재고를 TTL 과 함께 선점 (부족하면 예외로 주문 생성 전체가 롤백)
+        stockHoldService.hold(order.getId(), order.quantitiesByProduct());
+        // 결제 요청 이벤트를 같은 트랜잭션에서 아웃박스에 기록 (커밋 이후 OutboxRelay 가 전달)
+        outboxService.append(new PaymentRequestEvent(this, order.getId(), totalPrice, paymentMethod));
+        cacheVersionService.bumpAfterCommit(ORDER_HISTORY_VERSION, userId);
         log.info("주문이 성공적으로 생성되었습니다. 주문 ID: {}", order.getId());
     }
 
-    // 결제 성공 이벤트 리스너
+    // 주문 일괄 생성 (그룹 커밋) - 여러 요청의 주문/주문 항목/재고 차감을 한 트랜잭션으로 저장
+    // 재고가 부족한 주문만 거절하고 나머지는 결제 요청 이벤트(아웃박스)와 함께 커밋
+    @Transactional
+    public List<OrderPlacement> placeOrders(List<CreateOrderCommand> commands) {
+        List<OrderPlacement> placements = new ArrayList<>(commands.size());
+        List<Order> orders = new ArrayList<>(commands.size());
+        List<CreateOrderCommand> placedCommands = new ArrayList<>(commands.size());
+        for (CreateOrderCommand command : commands) {
+            User user = userService.findUserOrThrow(command.userId(), "주문 생성");
+            Order order = Order.create(user, command.totalPrice(), command.orderItems());
+            if (!stockHoldService.tryReserve(order.quantitiesByProduct())) {
+                placements.add(OrderPlacement.rejected(new OutOfStockException("재고가 부족합니다.")));
+                continue;
+            }
+            orders.add(order);
+            placedCommands.add(command);
+            placements.add(OrderPlacement.placed(order));
+        }
+        if (orders.isEmpty()) {
+            return placements;
+        }
+
+        orderRepository.saveAll(orders);
+        Map<Long, Map<Long, Integer>> quantitiesByOrder = new LinkedHashMap<>();
+        orders.forEach(order -> quantitiesByOrder.put(order.getId(), order.quantitiesByProduct()));
+        stockHoldService.recordHolds(quantitiesByOrder);
+        for (int i = 0; i < orders.size(); i++) {
+            CreateOrderCommand command = placedCommands.get(i);
+            outboxService.append(new PaymentRequestEvent(this, orders.get(i).getId(), command.totalPrice(), command.paymentMethod()));
+        }
+        placedCommands.stream().map(CreateOrderCommand::userId).distinct()
+                .forEach(userId -> cacheVersionService.bumpAfterCommit(ORDER_HISTORY_VERSION, userId));
+        log.info("주문을 일괄 생성했습니다. 요청: {}, 생성: {}", commands.size(), orders.size());
+        return placements;
+    }
+
+    // 결제 성공 이벤트 리스너 (아웃박스 릴레이가 같은 이벤트를 다시 전달할 수 있으므로 이미 반영된 경우 무시)
     @EventListener
     @Transactional
     public void handlePaymentSuccess(PaymentSuccessEvent event) {
-        Order order = findOrderOrThrow(event.getOrderId());
+        // 주문 행을 잠가 만료 스케줄러(SKIP LOCKED)/주문 취소와 상태 변경이 겹치지 않도록 함
+        Order order = findOrderForUpdateOrThrow(event.getOrderId());
+        if (order.getStatus() == OrderStatus.ORDER_CANCELLATION) {
+            // 결제 처리 중에 만료/취소되어 재고가 이미 반환된 주문 - 주문을 되살리지 않고 결제를 환불
+            outboxService.append(new PaymentRefundRequestEvent(this, order.getId()));
+            log.warn("취소된 주문에 결제가 완료되어 환불을 요청합니다. 주문 ID: {}", order.getId());
+            return;
+        }
+        if (order.getStatus() != OrderStatus.PENDING) {
+            return;
+        }
+        // 홀드가 만료되어 재고가 반환됐다면 다시 차감하고, 그 사이 재고가 팔려 확보하지 못하면 주문을 취소하고 환불
+        if (!stockHoldService.commit(order.getId())
+                && !stockHoldService.reacquire(order.getId(), order.quantitiesByProduct())) {
+            order.cancelOrder();
+            orderRepository.save(order);
+            outboxService.append(new PaymentRefundRequestEvent(this, order.getId()));
+            afterStatusChange(order);
+            log.warn("재고 홀드가 만료된 뒤 결제가 완료되었고 재고를 다시 확보하지 못해 주문을 취소하고 환불합니다. 주문 ID: {}", order.getId());
+            return;
+        }
         order.completePayment();
         orderRepository.save(order);
+        afterStatusChange(order);
 
         log.info("결제가 성공적으로 처리되었습니다. 주문 ID: {}", order.getId());
     }
@@ -69,24 +149,65 @@ public class OrderService implements CreateOrderUseCase, CancelOrderUseCase, Get
     @EventListener
     @Transactional
     public void handlePaymentFailure(PaymentFailedEvent event) {
-        Order order = findOrderOrThrow(event.getOrderId());
+        Order order = findOrderForUpdateOrThrow(event.getOrderId());
+        // 결제 대기 중인 주문만 취소 (이미 취소되었거나 결제가 완료된 주문에 늦게 도착한 실패는 무시)
+        if (order.getStatus() != OrderStatus.PENDING) {
+            return;
+        }
         order.cancelOrder();
         orderRepository.save(order);
+        stockHoldService.release(order.getId());
+        afterStatusChange(order);
 
         log.warn("결제가 실패하여 주문이 취소되었습니다. 주문 ID: {}", order.getId());
     }
     // 주문 목록 조회
-    @Cacheable(value = "orderListCache", key = "#userId")
+    @Cacheable(value = "orderListCache",
+            key = "#userId + ':' + @cacheVersionService.current(T(com.example.runshop.module.order.application.service.OrderService).ORDER_HISTORY_VERSION, #userId) + ':' + #pageable.pageNumber + ':' + #pageable.pageSize + ':' + #pageable.sort")
     public Page<OrderListDTO> getOrderList(Long userId, Pageable pageable) {
         return orderRepository.findByUserId(userId, pageable).map(orderMapper::toOrderListDTO);
 
     }
 
+    // 주문 내역 조회 (커서 기반) - 마지막으로 받은 주문 다음부터 size 건을 인덱스 순서대로 읽으므로 페이지가 깊어져도 비용이 일정
+    // 전체 건수는 includeTotal 일 때만 계산. 캐시 키에 사용자별 버전을 포함해 주문 상태가 바뀌면 이전 페이지들이 더 이상 조회되지 않음
+    @Cacheable(value = "orderHistoryCache",
+            key = "#userId + ':' + @cacheVersionService.current(T(com.example.runshop.module.order.application.service.OrderService).ORDER_HISTORY_VERSION, #userId) + ':' + (#cursor ?: 'first') + ':' + #size + ':' + #includeTotal")
+    public OrderHistoryPage getOrderHistory(Long userId, String cursor, int size, boolean includeTotal) {
+        if (size < 1) {
+            throw new IllegalArgumentException("size 는 1 이상이어야 합니다.");
+        }
+        int limit = Math.min(size, MAX_HISTORY_PAGE_SIZE);
+        OrderCursor after = cursor == null || cursor.isBlank() ? null : OrderCursor.decode(cursor);
+
+        // 한 건 더 읽어 다음 페이지 존재 여부를 COUNT 없이 판단
+        List<OrderListDTO> rows = orderRepository.findHistory(userId, after, limit + 1);
+        boolean hasNext = rows.size() > limit;
+        List<OrderListDTO> orders = hasNext ? new ArrayList<>(rows.subList(0, limit)) : rows;
+
+        return OrderHistoryPage.builder()
+                .orders(orders)
+                .hasNext(hasNext)
+                .nextCursor(hasNext ? OrderCursor.of(orders.get(orders.size() - 1)).encode() : null)
+                .totalCount(includeTotal ? orderRepository.countByUserId(userId) : null)
+                .build();
+    }
+
+    // 주문 요약 조회 - 주문 화면에서 가장 자주 호출되는 상태 확인용. orders 한 행만 읽고, 상태가 바뀌면 주문 버전이 올라감
+    @Cacheable(value = "orderSummaryCache",
+            key = "#orderId + ':' + @cacheVersionService.current(T(com.example.runshop.module.order.application.service.OrderService).ORDER_VERSION, #orderId)")
+    public OrderSummaryDTO getOrderSummary(Long orderId) {
+        return orderRepository.findSummaryById(orderId)
+                .orElseThrow(() -> new OrderNotFoundException(orderId));
+    }
+
     // 주문 상세 조회
-    @Cacheable(value = "orderDetailCache", key = "#orderId")
+    @Cacheable(value = "orderDetailCache",
+            key = "#orderId + ':' + @cacheVersionService.current(T(com.example.runshop.module.order.application.service.OrderService).ORDER_VERSION, #orderId)")
     public OrderDetailDTO getOrderDetail(Long orderId) {
-        Order order = findOrderOrThrow(orderId);
-        return orderMapper.toOrderDetailDTO(order);
+        // 엔티티를 거치면 항목/상품/결제/유저 지연 로딩으로 1 + 2N 번 이상 조회하므로 전용 프로젝션 쿼리 사용
+        return orderRepository.findDetailById(orderId)
+                .orElseThrow(() -> new OrderNotFoundException(orderId));
     }
     // 주문 조회
     public Order findOrderOrThrow(Long orderId) {
@@ -94,16 +215,48 @@ public class OrderService implements CreateOrderUseCase, CancelOrderUseCase, Get
                 .orElseThrow(() -> new OrderNotFoundException(orderId));
     }
 
-        // 주문 취소
+    private Order findOrderForUpdateOrThrow(Long orderId) {
+        return orderRepository.findByIdForUpdate(orderId)
+                .orElseThrow(() -> new OrderNotFoundException(orderId));
+    }
+
+    // 결제 대기 만료 - before 이전에 생성된 PENDING 주문을 최대 limit 건 취소하고 재고를 상품별로 합산해 한 번에 반환
+    // 결제 처리 중이라 잠겨 있는 주문은 건너뛰고 다음 실행에서 다시 확인
+    @Transactional
+    public int expirePendingOrders(LocalDateTime before, int limit) {
+        List<Order> expired = orderRepository.findPendingOrderedBeforeForUpdate(before, limit);
+        if (expired.isEmpty()) {
+            return 0;
+        }
+        List<Long> orderIds = new ArrayList<>(expired.size());
+        for (Order order : expired) {
+            order.cancelOrder();
+            orderIds.add(order.getId());
+            afterStatusChange(order);
+        }
+        stockHoldService.releaseAll(orderIds);
+        return expired.size();
+    }
+
+    // 주문 취소 (주문 행을 잠가 결제 성공 처리와 직렬화 - 이미 결제가 완료된 주문이면 재고 반환과 함께 결제를 환불)
     @Transactional
-    @Caching(evict = {
-            @CacheEvict(value = "orderDetailCache", key = "#orderId"),  // 주문 상세 캐시 무효화
-            @CacheEvict(value = "orderListCache", key = "#order.user.id")  // 주문 목록 캐시 무효화
-    })
     public void cancelOrder(Long orderId) {
-        Order order = findOrderOrThrow(orderId);
+        Order order = findOrderForUpdateOrThrow(orderId);
+        boolean paid = order.getStatus() == OrderStatus.PAYMENT_COMPLETE;
         order.cancelOrder();
         orderRepository.save(order);
+        stockHoldService.release(orderId);
+        if (paid) {
+            outboxService.append(new PaymentRefundRequestEvent(this, orderId));
+        }
+        afterStatusChange(order);
         log.info("주문이 성공적으로 취소되었습니다. 주문 ID: {}", orderId);
     }
-}
\ No newline at end of file
+
+    // 주문 상태가 바뀌면 주문 요약/상세와 해당 사용자의 목록/내역 캐시 버전을 올리고 사용자에게 알림 (모두 커밋 이후)
+    private void afterStatusChange(Order order) {
+        cacheVersionService.bumpAfterCommit(ORDER_VERSION, order.getId());
+        cacheVersionService.bumpAfterCommit(ORDER_HISTORY_VERSION, order.getUser().getId());
+        orderStatusNotifier.notifyAfterCommit(order);
+    }
+}
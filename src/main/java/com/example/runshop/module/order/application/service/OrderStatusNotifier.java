@@ -0,0 +1,55 @@
+package com.example.runshop.module.order.application.service;
+
+import com.example.runshop.model.dto.order.OrderStatusMessage;
+import com.example.runshop.module.order.application.port.out.OrderStatusPublisher;
+import com.example.runshop.module.order.domain.Order;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+
+/**
+ * 주문 상태가 바뀌면 주문한 사용자의 SSE 연결로 알립니다.
+ * 롤백된 변경을 알리지 않도록 커밋 이후에 전파하며, 알림은 최선 노력(best-effort)으로
+ * 전파에 실패해도 주문 처리에는 영향을 주지 않습니다 (클라이언트는 재연결 후 주문 조회로 상태를 맞춤).
+ */
+@Component
+@Slf4j
+public class OrderStatusNotifier {
+
+    private final OrderStatusPublisher orderStatusPublisher;
+
+    public OrderStatusNotifier(OrderStatusPublisher orderStatusPublisher) {
+        this.orderStatusPublisher = orderStatusPublisher;
+    }
+
+    public void notifyAfterCommit(Order order) {
+        OrderStatusMessage message = OrderStatusMessage.builder()
+                .orderId(order.getId())
+                .userId(order.getUser().getId())
+                .orderStatus(order.getStatus())
+                .paymentDate(order.getPaymentDate())
+                .changedAt(LocalDateTime.now())
+                .build();
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            publish(message);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                publish(message);
+            }
+        });
+    }
+
+    private void publish(OrderStatusMessage message) {
+        try {
+            orderStatusPublisher.publish(message);
+        } catch (RuntimeException e) {
+            log.warn("주문 상태 알림을 전파하지 못했습니다. 주문 ID: {}", message.getOrderId(), e);
+        }
+    }
+}
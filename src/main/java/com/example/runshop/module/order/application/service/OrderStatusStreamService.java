@@ -0,0 +1,240 @@
+package com.example.runshop.module.order.application.service;
+
+import com.example.runshop.model.dto.order.OrderStatusMessage;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 사용자별 주문 상태 SSE 연결 관리.
+ * 연결은 서블릿 비동기 요청(SseEmitter)으로 유지되어 대기 중에는 스레드를 점유하지 않으며,
+ * 이 노드에 연결된 사용자에게 온 알림만 전달합니다 (다른 노드의 알림은 OrderStatusPublisher 가 전파).
+ * 끊어진 연결은 전송 실패나 타임아웃으로 정리하고, heartbeat-seconds 마다 주석 이벤트를 보내 프록시 유휴 타임아웃과 끊긴 연결을 감지합니다.
+ * 알림과 heartbeat 는 연결마다 send-queue-size 크기의 대기열에 넣고 공유 전송 스레드(sender-threads)가 연결별 순서대로 보내므로,
+ * 느린 연결이 알림 수신(Redis 리스너) 스레드나 heartbeat 스레드, 다른 연결의 전송을 막지 않습니다.
+ * 대기열이 가득 찰 만큼 받아 가지 못하는 연결은 닫습니다 (클라이언트는 재연결).
+ */
+@Service
+public class OrderStatusStreamService {
+
+    static final String EVENT_NAME = "order-status";
+
+    private final ConcurrentMap<Long, Set<Connection>> connectionsByUser = new ConcurrentHashMap<>();
+    private final AtomicInteger connections = new AtomicInteger();
+    private final long timeoutMillis;
+    private final long heartbeatSeconds;
+    private final int maxConnectionsPerUser;
+    private final long reconnectMillis;
+    private final int sendQueueSize;
+    private final int senderThreads;
+    private final Counter deliveredCounter;
+    private final Counter slowClosedCounter;
+
+    private ScheduledExecutorService heartbeat;
+    private ExecutorService sender;
+
+    public OrderStatusStreamService(MeterRegistry meterRegistry,
+                                    @Value("${order.status-stream.timeout-minutes:30}") long timeoutMinutes,
+                                    @Value("${order.status-stream.heartbeat-seconds:25}") long heartbeatSeconds,
+                                    @Value("${order.status-stream.max-connections-per-user:5}") int maxConnectionsPerUser,
+                                    @Value("${order.status-stream.reconnect-ms:3000}") long reconnectMillis,
+                                    @Value("${order.status-stream.send-queue-size:32}") int sendQueueSize,
+                                    @Value("${order.status-stream.sender-threads:4}") int senderThreads) {
+        this.timeoutMillis = TimeUnit.MINUTES.toMillis(timeoutMinutes);
+        this.heartbeatSeconds = heartbeatSeconds;
+        this.maxConnectionsPerUser = maxConnectionsPerUser;
+        this.reconnectMillis = reconnectMillis;
+        this.sendQueueSize = sendQueueSize;
+        this.senderThreads = senderThreads;
+        this.deliveredCounter = Counter.builder("order.status.stream.delivered")
+                .description("SSE 로 전달한 주문 상태 알림 수")
+                .register(meterRegistry);
+        this.slowClosedCounter = Counter.builder("order.status.stream.slow_closed")
+                .description("전송 대기열이 가득 차 닫은 느린 연결 수")
+                .register(meterRegistry);
+        meterRegistry.gauge("order.status.stream.connections", connections);
+    }
+
+    @PostConstruct
+    void start() {
+        AtomicInteger senderNo = new AtomicInteger();
+        sender = Executors.newFixedThreadPool(senderThreads, runnable -> {
+            Thread thread = new Thread(runnable, "order-status-sender-" + senderNo.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        heartbeat = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "order-status-heartbeat");
+            thread.setDaemon(true);
+            return thread;
+        });
+        heartbeat.scheduleWithFixedDelay(this::sendHeartbeats, heartbeatSeconds, heartbeatSeconds, TimeUnit.SECONDS);
+    }
+
+    @PreDestroy
+    void stop() {
+        heartbeat.shutdownNow();
+        sender.shutdownNow();
+        connectionsByUser.values().forEach(userConnections -> userConnections.forEach(connection -> connection.emitter().complete()));
+    }
+
+    public SseEmitter subscribe(Long userId) {
+        Connection connection = new Connection(userId, new SseEmitter(timeoutMillis));
+        connectionsByUser.compute(userId, (id, existing) -> {
+            Set<Connection> userConnections = existing != null ? existing : ConcurrentHashMap.newKeySet();
+            // 한 사용자가 연결을 계속 늘리지 못하도록 한도를 넘으면 기존 연결 하나를 닫음 (클라이언트는 재연결 시 새 연결로 대체)
+            if (userConnections.size() >= maxConnectionsPerUser) {
+                userConnections.stream().findAny().ifPresent(evicted -> {
+                    userConnections.remove(evicted);
+                    connections.decrementAndGet();
+                    evicted.emitter().complete();
+                });
+            }
+            userConnections.add(connection);
+            return userConnections;
+        });
+        connections.incrementAndGet();
+
+        Runnable remove = () -> remove(connection);
+        connection.emitter().onCompletion(remove);
+        connection.emitter().onTimeout(remove);
+        connection.emitter().onError(e -> remove.run());
+
+        // 첫 이벤트로 재연결 간격을 알려 연결이 맺어졌음을 확인시킴
+        connection.enqueue(SseEmitter.event().comment("connected").reconnectTime(reconnectMillis), false);
+        return connection.emitter();
+    }
+
+    // 이 노드에 연결된 사용자에게만 전달 (연결이 없으면 무시), 전송은 연결별 대기열에서 비동기로
+    public void deliver(OrderStatusMessage message) {
+        Set<Connection> userConnections = connectionsByUser.get(message.getUserId());
+        if (userConnections == null) {
+            return;
+        }
+        for (Connection connection : userConnections) {
+            connection.enqueue(SseEmitter.event()
+                    .name(EVENT_NAME)
+                    .id(message.getOrderId() + ":" + message.getOrderStatus())
+                    .data(message, MediaType.APPLICATION_JSON), true);
+        }
+    }
+
+    int connectionCount() {
+        return connections.get();
+    }
+
+    private void sendHeartbeats() {
+        connectionsByUser.values().forEach(userConnections ->
+                userConnections.forEach(connection -> connection.enqueue(SseEmitter.event().comment("heartbeat"), false)));
+    }
+
+    private void remove(Connection connection) {
+        connectionsByUser.computeIfPresent(connection.userId(), (id, userConnections) -> {
+            if (userConnections.remove(connection)) {
+                connections.decrementAndGet();
+            }
+            return userConnections.isEmpty() ? null : userConnections;
+        });
+    }
+
+    private record Outgoing(SseEmitter.SseEventBuilder event, boolean notification) {
+    }
+
+    // 연결 하나와 그 전송 대기열 - 한 번에 한 전송 스레드만 대기열을 비우므로 이벤트 순서가 유지됨
+    private final class Connection {
+        private final Long userId;
+        private final SseEmitter emitter;
+        private final BlockingQueue<Outgoing> queue = new ArrayBlockingQueue<>(sendQueueSize);
+        private final AtomicBoolean draining = new AtomicBoolean();
+
+        Connection(Long userId, SseEmitter emitter) {
+            this.userId = userId;
+            this.emitter = emitter;
+        }
+
+        Long userId() {
+            return userId;
+        }
+
+        SseEmitter emitter() {
+            return emitter;
+        }
+
+        // 대기열이 가득 찼으면 받아 가지 못하는 느린 연결로 보고 닫음
+        void enqueue(SseEmitter.SseEventBuilder event, boolean notification) {
+            if (!queue.offer(new Outgoing(event, notification))) {
+                slowClosedCounter.increment();
+                remove(this);
+                queue.clear();
+                emitter.complete();
+                return;
+            }
+            scheduleDrain();
+        }
+
+        private void scheduleDrain() {
+            // 시작 전(sender 없음)에는 대기열에만 쌓음
+            if (sender == null || !draining.compareAndSet(false, true)) {
+                return;
+            }
+            try {
+                sender.execute(this::drain);
+            } catch (RejectedExecutionException e) {
+                // 종료 중
+                draining.set(false);
+            }
+        }
+
+        private void drain() {
+            try {
+                Outgoing next;
+                while ((next = queue.poll()) != null) {
+                    if (!send(next.event())) {
+                        queue.clear();
+                        return;
+                    }
+                    if (next.notification()) {
+                        deliveredCounter.increment();
+                    }
+                }
+            } finally {
+                draining.set(false);
+            }
+            // 비우는 사이에 들어온 이벤트가 있으면 다시 예약
+            if (!queue.isEmpty()) {
+                scheduleDrain();
+            }
+        }
+
+        private boolean send(SseEmitter.SseEventBuilder event) {
+            try {
+                emitter.send(event);
+                return true;
+            } catch (IOException | IllegalStateException e) {
+                // 클라이언트가 연결을 끊었거나 이미 완료된 연결
+                remove(this);
+                emitter.completeWithError(e);
+                return false;
+            }
+        }
+    }
+}
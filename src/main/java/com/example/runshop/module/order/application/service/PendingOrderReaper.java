@@ -0,0 +1,92 @@
+package com.example.runshop.module.order.application.service;
+
+import com.example.runshop.module.order.application.port.out.OrderRepository;
+import com.example.runshop.service.SchedulerLeaseService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 결제 대기 만료 스케줄러.
+ * 결제가 끝나지 않아 PENDING 으로 남은 주문을 (status, order_date) 인덱스로 찾아 batch-size 단위로 취소하고 재고를 반환합니다.
+ * 여러 노드에서 떠 있어도 DB 임대를 가진 노드만 실행하며, 한 번 실행에 max-batches 배치까지만 처리해 실행 시간을 제한합니다.
+ */
+@Service
+@Slf4j
+public class PendingOrderReaper {
+
+    static final String LEASE_NAME = "pending-order-reaper";
+
+    private final OrderService orderService;
+    private final OrderRepository orderRepository;
+    private final SchedulerLeaseService schedulerLeaseService;
+    private final boolean enabled;
+    private final Duration pendingTtl;
+    private final int batchSize;
+    private final int maxBatches;
+    private final Duration leaseDuration;
+    private final AtomicLong backlog = new AtomicLong();
+    private final Counter reaped;
+    private final Timer runDuration;
+
+    public PendingOrderReaper(OrderService orderService,
+                              OrderRepository orderRepository,
+                              SchedulerLeaseService schedulerLeaseService,
+                              MeterRegistry meterRegistry,
+                              @Value("${order.expiry.enabled:true}") boolean enabled,
+                              @Value("${order.expiry.pending-ttl-minutes:30}") long pendingTtlMinutes,
+                              @Value("${order.expiry.batch-size:200}") int batchSize,
+                              @Value("${order.expiry.max-batches:50}") int maxBatches,
+                              @Value("${order.expiry.lease-seconds:120}") long leaseSeconds) {
+        this.orderService = orderService;
+        this.orderRepository = orderRepository;
+        this.schedulerLeaseService = schedulerLeaseService;
+        this.enabled = enabled;
+        this.pendingTtl = Duration.ofMinutes(pendingTtlMinutes);
+        this.batchSize = batchSize;
+        this.maxBatches = maxBatches;
+        this.leaseDuration = Duration.ofSeconds(leaseSeconds);
+        meterRegistry.gauge("order.expiry.backlog", backlog);
+        this.reaped = Counter.builder("order.expiry.reaped")
+                .description("만료되어 취소된 결제 대기 주문 수")
+                .register(meterRegistry);
+        this.runDuration = Timer.builder("order.expiry.run.duration")
+                .description("만료 주문 정리 1회 실행 시간")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${order.expiry.interval-ms:30000}")
+    public void reap() {
+        if (!enabled || !schedulerLeaseService.tryAcquire(LEASE_NAME, leaseDuration)) {
+            return;
+        }
+        runDuration.record(this::reapExpired);
+    }
+
+    private void reapExpired() {
+        LocalDateTime before = LocalDateTime.now().minus(pendingTtl);
+        int total = 0;
+        for (int batch = 0; batch < maxBatches; batch++) {
+            int cancelled = orderService.expirePendingOrders(before, batchSize);
+            total += cancelled;
+            reaped.increment(cancelled);
+            if (cancelled < batchSize) {
+                break;
+            }
+        }
+        // 이번 실행에서 처리하지 못한(또는 잠겨 있어 건너뛴) 만료 주문 수
+        backlog.set(orderRepository.countPendingOrderedBefore(before));
+
+        if (total > 0) {
+            log.info("결제 대기 시간이 지난 주문을 취소했습니다. 건수: {}, 남은 건수: {}", total, backlog.get());
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package com.example.runshop.module.order.application.service;
+
+import com.example.runshop.module.order.domain.OrderItem;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+// 서버에서 가격을 계산한 주문 (줄별 금액과 주문 총액, 저장할 주문 항목)
+public record PricedOrder(List<PricedLine> lines, List<OrderItem> orderItems, BigDecimal totalPrice) {
+
+    public record PricedLine(Long productId, int quantity, BigDecimal unitPrice, BigDecimal lineTotal) {
+    }
+}
@@ -1,7 +1,7 @@
 package com.example.runshop.module.order.domain;
 
+import com.example.runshop.exception.order.InvalidOrderStatusException;
 import com.example.runshop.exception.order.OrderAlreadyBeenCancelledException;
-import com.example.runshop.module.payment.domain.Payment;
 import com.example.runshop.model.entity.User;
 import jakarta.persistence.*;
 import com.example.runshop.model.enums.OrderStatus;
@@ -11,10 +11,17 @@ import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
 
 @Entity
 @Getter
-@Table(name = "orders") // 테이블 이름을 'orders' 로 변경
+@Table(name = "orders", indexes = { // 테이블 이름을 'orders' 로 변경
+        // 사용자별 주문 내역을 (order_date, id) 순으로 탐색하는 커서 페이지네이션용
+        @Index(name = "idx_orders_user_order_date_id", columnList = "user_id, order_date, id"),
+        // 결제 대기 상태로 오래 남은 주문을 찾는 만료 스케줄러용
+        @Index(name = "idx_orders_status_order_date", columnList = "status, order_date")
+})
 public class Order {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -34,19 +41,18 @@ public class Order {
         orderDate = LocalDateTime.now();
     }
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id")
     private User user;
 
     // - **Order** 1 : N **OrderItem**
     // (한 주문에 여러 상품이 포함될 수 있음)
-    @OneToMany(mappedBy = "order", fetch = FetchType.LAZY)
+    @OneToMany(mappedBy = "order", fetch = FetchType.LAZY, cascade = CascadeType.PERSIST)
     private List<OrderItem> orderItems = new ArrayList<>();
 
     // - **Order** 1 : 1 **Payment**
-    // (한 주문에 대해 하나의 결제가 이루어짐)
-    @OneToOne(mappedBy = "order")
-    private Payment payment;
+    // (한 주문에 대해 하나의 결제가 이루어짐 - 연관관계는 Payment.order 에서만 관리.
+    //  주인이 아닌 쪽 @OneToOne 은 지연 로딩이 되지 않아 주문을 읽을 때마다 결제 조회가 추가되므로 Order 에는 두지 않음)
 
 // Business Logic
 // ==== 메서드 ====================================
@@ -55,23 +61,35 @@ public class Order {
         this.totalPrice = totalPrice;
         this.user = user;
         this.status = OrderStatus.PENDING;
+        items.forEach(item -> item.assignOrder(this));
         this.orderItems.addAll(items);
     }
+    // 재고는 주문 저장 후 StockHoldService 가 TTL 과 함께 선점
     public static Order create(User user, BigDecimal totalPrice, List<OrderItem> orderItems) {
-        orderItems.forEach(OrderItem::decreaseStock);
         return new Order(user, totalPrice, orderItems);
     }
 
+    // 상품별 주문 수량 (같은 상품이 여러 줄이면 합산)
+    public Map<Long, Integer> quantitiesByProduct() {
+        return orderItems.stream()
+                .collect(Collectors.toMap(item -> item.getProduct().getId(), item -> item.getQuantity().value(), Integer::sum));
+    }
+
+    // 결제 대기 중인 주문만 결제 완료로 변경 - 만료/취소되어 재고가 이미 반환된 주문을 늦게 도착한 결제가 되살리지 않도록 함
     public void completePayment() {
+        if (this.status != OrderStatus.PENDING) {
+            throw new InvalidOrderStatusException("결제 대기 중인 주문만 결제를 완료할 수 있습니다. 현재 상태: " + this.status);
+        }
         this.status = OrderStatus.PAYMENT_COMPLETE;
+        this.paymentDate = LocalDateTime.now();
     }
 
     public void cancelOrder() {
         if (this.status == OrderStatus.ORDER_CANCELLATION) {
             throw new OrderAlreadyBeenCancelledException("이미 취소된 주문입니다.");
         }
+        // 재고 반환은 StockHoldService.release 에서 홀드 단위로 처리
         this.status = OrderStatus.ORDER_CANCELLATION;
-        orderItems.forEach(OrderItem::restoreStock);
     }
 
 
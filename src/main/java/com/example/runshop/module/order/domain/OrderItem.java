@@ -66,6 +66,11 @@ public class OrderItem {
         paymentDate = LocalDateTime.now();
     }
 
+    // 주문과의 연관관계 설정 (Order 생성 시 호출)
+    void assignOrder(Order order) {
+        this.order = order;
+    }
+
     // 주문 시 재고 감소 메서드
     public void decreaseStock() {
         product.getInventory().decreaseStock(quantity.value());
@@ -1,11 +1,22 @@
 package com.example.runshop.module.order.infrastructure.persistence;
 
+import com.example.runshop.model.dto.OrderItemDTO;
+import com.example.runshop.model.dto.order.OrderCursor;
+import com.example.runshop.model.dto.order.OrderDetailDTO;
+import com.example.runshop.model.dto.order.OrderListDTO;
+import com.example.runshop.model.dto.order.OrderSummaryDTO;
+import com.example.runshop.model.enums.OrderStatus;
+import com.example.runshop.module.order.adapters.out.persistence.OrderDetailRow;
 import com.example.runshop.module.order.adapters.out.persistence.OrderJpaRepository;
 import com.example.runshop.module.order.domain.Order;
 import com.example.runshop.module.order.application.port.out.OrderRepository;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Repository;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -21,6 +32,11 @@ public class OrderRepositoryImpl implements OrderRepository {
         return orderJpaRepository.save(order);
     }
 
+    @Override
+    public List<Order> saveAll(List<Order> orders) {
+        return orderJpaRepository.saveAll(orders);
+    }
+
     @Override
     public void delete(Order order) {  // Changed from deleteById
         orderJpaRepository.delete(order);
@@ -35,4 +51,54 @@ public class OrderRepositoryImpl implements OrderRepository {
     public Optional<Order> findById(Long orderId) {
         return orderJpaRepository.findById(orderId);
     }
-}
\ No newline at end of file
+
+    @Override
+    public Optional<Order> findByIdForUpdate(Long orderId) {
+        return orderJpaRepository.findByIdForUpdate(orderId);
+    }
+
+    @Override
+    public Optional<OrderDetailDTO> findDetailById(Long orderId) {
+        List<OrderDetailRow> rows = orderJpaRepository.findDetailRows(orderId);
+        if (rows.isEmpty()) {
+            return Optional.empty();
+        }
+        OrderDetailRow first = rows.get(0);
+        List<OrderItemDTO> orderItems = new ArrayList<>(rows.size());
+        for (OrderDetailRow row : rows) {
+            if (row.orderItemId() != null) {
+                orderItems.add(new OrderItemDTO(row.orderItemId(), row.productId(), row.productName(), row.quantity(), row.price()));
+            }
+        }
+        return Optional.of(new OrderDetailDTO(first.orderId(), first.orderDate(), first.orderStatus(), first.totalPrice(), orderItems));
+    }
+
+    @Override
+    public Optional<OrderSummaryDTO> findSummaryById(Long orderId) {
+        return orderJpaRepository.findSummaryById(orderId);
+    }
+
+    @Override
+    public List<OrderListDTO> findHistory(Long userId, OrderCursor after, int limit) {
+        PageRequest firstRows = PageRequest.of(0, limit);
+        if (after == null) {
+            return orderJpaRepository.findHistoryFirstPage(userId, firstRows);
+        }
+        return orderJpaRepository.findHistoryPageAfter(userId, after.orderDate(), after.id(), firstRows);
+    }
+
+    @Override
+    public long countByUserId(Long userId) {
+        return orderJpaRepository.countByUserId(userId);
+    }
+
+    @Override
+    public List<Order> findPendingOrderedBeforeForUpdate(LocalDateTime before, int limit) {
+        return orderJpaRepository.findByStatusOrderedBeforeForUpdate(OrderStatus.PENDING, before, PageRequest.of(0, limit));
+    }
+
+    @Override
+    public long countPendingOrderedBefore(LocalDateTime before) {
+        return orderJpaRepository.countByStatusAndOrderDateBefore(OrderStatus.PENDING, before);
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.runshop.module.outbox.adapters.out.persistence;
+
+import com.example.runshop.module.outbox.domain.OutboxEvent;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface OutboxJpaRepository extends JpaRepository<OutboxEvent, Long> {
+
+    // lock.timeout = -2 는 SKIP LOCKED 로 변환되어 여러 릴레이 스레드/노드가 서로 다른 행을 선점
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("select o from OutboxEvent o where o.availableAt <= :now and o.deadLetteredAt is null order by o.id")
+    List<OutboxEvent> findAvailableForUpdate(@Param("now") LocalDateTime now, Pageable pageable);
+
+    @Modifying
+    @Query("update OutboxEvent o set o.availableAt = :availableAt where o.id in :ids")
+    int updateAvailableAt(@Param("ids") Collection<Long> ids, @Param("availableAt") LocalDateTime availableAt);
+
+    @Modifying
+    @Query("update OutboxEvent o set o.attempts = o.attempts + 1, o.availableAt = :availableAt where o.id = :id")
+    int reschedule(@Param("id") Long id, @Param("availableAt") LocalDateTime availableAt);
+
+    @Modifying
+    @Query("update OutboxEvent o set o.attempts = o.attempts + 1, o.deadLetteredAt = :deadLetteredAt where o.id = :id")
+    int deadLetter(@Param("id") Long id, @Param("deadLetteredAt") LocalDateTime deadLetteredAt);
+
+    @Modifying
+    @Query("delete from OutboxEvent o where o.id in :ids")
+    int deleteByIds(@Param("ids") Collection<Long> ids);
+}
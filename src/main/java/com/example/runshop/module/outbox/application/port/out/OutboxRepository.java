@@ -0,0 +1,16 @@
+package com.example.runshop.module.outbox.application.port.out;
+
+import com.example.runshop.module.outbox.domain.OutboxEvent;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+public interface OutboxRepository {
+    OutboxEvent save(OutboxEvent event);
+    List<OutboxEvent> findAvailableForUpdate(LocalDateTime now, int limit);
+    void extendLease(Collection<Long> ids, LocalDateTime leaseUntil);
+    void reschedule(Long id, LocalDateTime availableAt);
+    void deadLetter(Long id, LocalDateTime deadLetteredAt);
+    void deleteAll(Collection<Long> ids);
+}
@@ -0,0 +1,77 @@
+package com.example.runshop.module.outbox.application.service;
+
+import com.example.runshop.module.outbox.domain.OutboxEvent;
+import com.example.runshop.module.outbox.domain.OutboxEventType;
+import com.example.runshop.module.payment.adapters.in.event.PaymentFailedEvent;
+import com.example.runshop.module.payment.adapters.in.event.PaymentRefundRequestEvent;
+import com.example.runshop.module.payment.adapters.in.event.PaymentRequestEvent;
+import com.example.runshop.module.payment.adapters.in.event.PaymentSuccessEvent;
+import com.example.runshop.module.payment.domain.PaymentMethod;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.context.ApplicationEvent;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+
+/**
+ * 애플리케이션 이벤트와 아웃박스 행을 상호 변환합니다.
+ * 이벤트의 주문 ID 는 aggregate_id 컬럼에, 나머지 필드는 JSON payload 로 저장합니다.
+ */
+@Component
+public class OutboxEventCodec {
+
+    private final ObjectMapper objectMapper;
+
+    public OutboxEventCodec(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    public OutboxEvent encode(ApplicationEvent event) {
+        if (event instanceof PaymentRequestEvent request) {
+            return OutboxEvent.create(OutboxEventType.PAYMENT_REQUESTED, request.getOrderId(),
+                    write(new PaymentRequestPayload(request.getAmount(), request.getPaymentMethod())));
+        }
+        if (event instanceof PaymentSuccessEvent success) {
+            return OutboxEvent.create(OutboxEventType.PAYMENT_SUCCEEDED, success.getOrderId(), null);
+        }
+        if (event instanceof PaymentFailedEvent failed) {
+            return OutboxEvent.create(OutboxEventType.PAYMENT_FAILED, failed.getOrderId(), null);
+        }
+        if (event instanceof PaymentRefundRequestEvent refund) {
+            return OutboxEvent.create(OutboxEventType.PAYMENT_REFUND_REQUESTED, refund.getOrderId(), null);
+        }
+        throw new IllegalArgumentException("아웃박스로 발행할 수 없는 이벤트입니다: " + event.getClass().getName());
+    }
+
+    public ApplicationEvent decode(OutboxEvent event, Object source) {
+        return switch (event.getEventType()) {
+            case PAYMENT_REQUESTED -> {
+                PaymentRequestPayload payload = read(event.getPayload());
+                yield new PaymentRequestEvent(source, event.getAggregateId(), payload.amount(), payload.paymentMethod());
+            }
+            case PAYMENT_SUCCEEDED -> new PaymentSuccessEvent(source, event.getAggregateId());
+            case PAYMENT_FAILED -> new PaymentFailedEvent(source, event.getAggregateId());
+            case PAYMENT_REFUND_REQUESTED -> new PaymentRefundRequestEvent(source, event.getAggregateId());
+        };
+    }
+
+    private String write(Object payload) {
+        try {
+            return objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("아웃박스 이벤트를 직렬화할 수 없습니다.", e);
+        }
+    }
+
+    private PaymentRequestPayload read(String payload) {
+        try {
+            return objectMapper.readValue(payload, PaymentRequestPayload.class);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("아웃박스 이벤트를 역직렬화할 수 없습니다.", e);
+        }
+    }
+
+    record PaymentRequestPayload(BigDecimal amount, PaymentMethod paymentMethod) {
+    }
+}
@@ -0,0 +1,219 @@
+package com.example.runshop.module.outbox.application.service;
+
+import com.example.runshop.module.outbox.application.port.out.OutboxRepository;
+import com.example.runshop.module.outbox.domain.OutboxEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 아웃박스 릴레이. 여러 스레드(및 여러 노드)가 각자 SKIP LOCKED 로 batch-size 건씩 선점하고,
+ * 선점한 행은 리스 시간 동안 다른 릴레이에게 보이지 않도록 available_at 을 미룬 뒤 커밋합니다.
+ * 이벤트는 결제 실행기에서 리스너로 전달하며, 리스너가 정상 종료한 행만 삭제합니다 (at-least-once).
+ * 전달에 실패한 행은 지수 백오프로 재시도하고, max-attempts 번 실패하면 dead-letter 로 표시해 더 이상 선점하지 않습니다.
+ * 전달 중인 행은 리스 시간의 1/3 마다 리스를 연장하므로 결제사 호출이 리스보다 오래 걸려도 다른 릴레이가 다시 선점하지 않으며,
+ * 처리 중 노드가 죽으면 연장이 멈춰 리스가 만료된 뒤 다시 선점됩니다.
+ */
+@Service
+@Slf4j
+public class OutboxRelay {
+
+    private final OutboxRepository outboxRepository;
+    private final OutboxEventCodec outboxEventCodec;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Executor dispatchExecutor;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final int threads;
+    private final int batchSize;
+    private final long pollIntervalMillis;
+    private final Duration lease;
+    private final Duration baseBackoff;
+    private final Duration maxBackoff;
+    private final int maxAttempts;
+    private final Counter deliveredCounter;
+    private final Counter failedCounter;
+    private final Counter deadLetteredCounter;
+    // 이 노드에서 전달 중인 행 (리스 연장 대상)
+    private final Set<Long> inProgress = ConcurrentHashMap.newKeySet();
+
+    private ScheduledExecutorService pollers;
+
+    public OutboxRelay(OutboxRepository outboxRepository,
+                       OutboxEventCodec outboxEventCodec,
+                       ApplicationEventPublisher eventPublisher,
+                       @Qualifier("paymentExecutor") Executor dispatchExecutor,
+                       PlatformTransactionManager transactionManager,
+                       MeterRegistry meterRegistry,
+                       @Value("${outbox.relay.enabled:true}") boolean enabled,
+                       @Value("${outbox.relay.threads:2}") int threads,
+                       @Value("${outbox.relay.batch-size:100}") int batchSize,
+                       @Value("${outbox.relay.poll-interval-ms:200}") long pollIntervalMillis,
+                       @Value("${outbox.relay.lease-seconds:60}") long leaseSeconds,
+                       @Value("${outbox.relay.base-backoff-seconds:1}") long baseBackoffSeconds,
+                       @Value("${outbox.relay.max-backoff-seconds:300}") long maxBackoffSeconds,
+                       @Value("${outbox.relay.max-attempts:20}") int maxAttempts) {
+        this.outboxRepository = outboxRepository;
+        this.outboxEventCodec = outboxEventCodec;
+        this.eventPublisher = eventPublisher;
+        this.dispatchExecutor = dispatchExecutor;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.enabled = enabled;
+        this.threads = threads;
+        this.batchSize = batchSize;
+        this.pollIntervalMillis = pollIntervalMillis;
+        this.lease = Duration.ofSeconds(leaseSeconds);
+        this.baseBackoff = Duration.ofSeconds(baseBackoffSeconds);
+        this.maxBackoff = Duration.ofSeconds(maxBackoffSeconds);
+        this.maxAttempts = maxAttempts;
+        this.deliveredCounter = Counter.builder("outbox.relay.delivered").register(meterRegistry);
+        this.failedCounter = Counter.builder("outbox.relay.failed").register(meterRegistry);
+        this.deadLetteredCounter = Counter.builder("outbox.relay.dead_lettered").register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        AtomicInteger sequence = new AtomicInteger();
+        // 폴링 스레드가 모두 전달을 기다리는 중에도 리스를 연장할 수 있도록 한 스레드를 더 둠
+        pollers = Executors.newScheduledThreadPool(threads + 1, runnable -> {
+            Thread thread = new Thread(runnable, "outbox-relay-" + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        for (int i = 0; i < threads; i++) {
+            pollers.scheduleWithFixedDelay(this::relayAvailable, 0, pollIntervalMillis, TimeUnit.MILLISECONDS);
+        }
+        long renewIntervalMillis = Math.max(1, lease.toMillis() / 3);
+        pollers.scheduleWithFixedDelay(this::renewLeases, renewIntervalMillis, renewIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        if (pollers != null) {
+            pollers.shutdown();
+            pollers.awaitTermination(lease.toSeconds(), TimeUnit.SECONDS);
+        }
+    }
+
+    // 선점할 행이 남아 있는 동안 연속으로 처리하고, 비면 다음 주기까지 대기
+    void relayAvailable() {
+        try {
+            while (relayBatch() == batchSize && !Thread.currentThread().isInterrupted()) {
+                // 다음 배치
+            }
+        } catch (RuntimeException e) {
+            log.error("아웃박스 릴레이 중 오류가 발생했습니다.", e);
+        }
+    }
+
+    int relayBatch() {
+        List<OutboxEvent> claimed = transactionTemplate.execute(status -> claim());
+        if (claimed == null || claimed.isEmpty()) {
+            return 0;
+        }
+
+        List<Long> claimedIds = claimed.stream().map(OutboxEvent::getId).toList();
+        inProgress.addAll(claimedIds);
+        List<CompletableFuture<Boolean>> results;
+        try {
+            results = claimed.stream()
+                    .map(event -> CompletableFuture.supplyAsync(() -> dispatch(event), dispatchExecutor)
+                            .whenComplete((delivered, error) -> inProgress.remove(event.getId())))
+                    .toList();
+            CompletableFuture.allOf(results.toArray(CompletableFuture[]::new)).join();
+        } finally {
+            claimedIds.forEach(inProgress::remove);
+        }
+
+        List<Long> delivered = new ArrayList<>(claimed.size());
+        List<OutboxEvent> failed = new ArrayList<>();
+        List<OutboxEvent> exhausted = new ArrayList<>();
+        for (int i = 0; i < claimed.size(); i++) {
+            if (results.get(i).join()) {
+                delivered.add(claimed.get(i).getId());
+            } else if (claimed.get(i).getAttempts() + 1 >= maxAttempts) {
+                exhausted.add(claimed.get(i));
+            } else {
+                failed.add(claimed.get(i));
+            }
+        }
+
+        transactionTemplate.executeWithoutResult(status -> {
+            if (!delivered.isEmpty()) {
+                outboxRepository.deleteAll(delivered);
+            }
+            LocalDateTime now = LocalDateTime.now();
+            failed.forEach(event -> outboxRepository.reschedule(event.getId(), now.plus(backoff(event.getAttempts()))));
+            exhausted.forEach(event -> outboxRepository.deadLetter(event.getId(), now));
+        });
+        deliveredCounter.increment(delivered.size());
+        failedCounter.increment(failed.size() + exhausted.size());
+        deadLetteredCounter.increment(exhausted.size());
+        exhausted.forEach(event -> log.error("아웃박스 이벤트를 {}번 전달하지 못해 dead-letter 로 표시했습니다. ID: {}, 종류: {}, 집계 ID: {}",
+                maxAttempts, event.getId(), event.getEventType(), event.getAggregateId()));
+        return claimed.size();
+    }
+
+    // 전달 중인 행의 리스를 다시 lease 만큼 연장 (전달이 끝난 행은 이미 삭제/재예약되어 영향 없음)
+    void renewLeases() {
+        if (inProgress.isEmpty()) {
+            return;
+        }
+        List<Long> ids = List.copyOf(inProgress);
+        try {
+            transactionTemplate.executeWithoutResult(status -> outboxRepository.extendLease(ids, LocalDateTime.now().plus(lease)));
+        } catch (RuntimeException e) {
+            log.warn("아웃박스 리스 연장에 실패했습니다. 건수: {}", ids.size(), e);
+        }
+    }
+
+    private List<OutboxEvent> claim() {
+        LocalDateTime now = LocalDateTime.now();
+        List<OutboxEvent> events = outboxRepository.findAvailableForUpdate(now, batchSize);
+        if (!events.isEmpty()) {
+            outboxRepository.extendLease(events.stream().map(OutboxEvent::getId).toList(), now.plus(lease));
+        }
+        return events;
+    }
+
+    private boolean dispatch(OutboxEvent event) {
+        try {
+            eventPublisher.publishEvent(outboxEventCodec.decode(event, this));
+            return true;
+        } catch (RuntimeException e) {
+            log.warn("아웃박스 이벤트 전달에 실패했습니다. ID: {}, 종류: {}, 시도: {}",
+                    event.getId(), event.getEventType(), event.getAttempts() + 1, e);
+            return false;
+        }
+    }
+
+    private Duration backoff(int attempts) {
+        Duration delay = baseBackoff.multipliedBy(1L << Math.min(attempts, 20));
+        return delay.compareTo(maxBackoff) > 0 ? maxBackoff : delay;
+    }
+}
@@ -0,0 +1,24 @@
+package com.example.runshop.module.outbox.application.service;
+
+import com.example.runshop.module.outbox.application.port.out.OutboxRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEvent;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * 이벤트를 메모리에서 바로 발행하는 대신, 호출한 트랜잭션 안에서 아웃박스 테이블에 기록합니다.
+ * 주문/결제 변경과 함께 커밋되거나 함께 롤백되며, 실제 전달은 OutboxRelay 가 담당합니다.
+ */
+@Service
+@RequiredArgsConstructor
+public class OutboxService {
+
+    private final OutboxRepository outboxRepository;
+    private final OutboxEventCodec outboxEventCodec;
+
+    @Transactional
+    public void append(ApplicationEvent event) {
+        outboxRepository.save(outboxEventCodec.encode(event));
+    }
+}
@@ -0,0 +1,63 @@
+package com.example.runshop.module.outbox.domain;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+// 주문/결제와 같은 트랜잭션에 기록되는 이벤트. 릴레이가 전달을 마치면 삭제
+// available_at 이 지나야 선점 가능 - 선점 시 리스 만료 시각으로, 전달 실패 시 재시도 시각으로 미뤄짐
+// 최대 시도 횟수까지 전달하지 못하면 dead_lettered_at 을 기록하고 더 이상 선점하지 않음 (원인 확인 후 수동 처리)
+@Entity
+@Getter
+@NoArgsConstructor
+@Table(name = "outbox_event", indexes = {
+        @Index(name = "idx_outbox_event_available_at", columnList = "available_at")
+})
+public class OutboxEvent {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "event_type", nullable = false)
+    private OutboxEventType eventType;
+
+    @Column(name = "aggregate_id", nullable = false)
+    private Long aggregateId;
+
+    @Lob
+    @Column(name = "payload")
+    private String payload;
+
+    @Column(name = "attempts", nullable = false)
+    private int attempts;
+
+    @Column(name = "available_at", nullable = false)
+    private LocalDateTime availableAt;
+
+    @Column(name = "dead_lettered_at")
+    private LocalDateTime deadLetteredAt;
+
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+        if (availableAt == null) {
+            availableAt = createdAt;
+        }
+    }
+
+    private OutboxEvent(OutboxEventType eventType, Long aggregateId, String payload) {
+        this.eventType = eventType;
+        this.aggregateId = aggregateId;
+        this.payload = payload;
+    }
+
+    public static OutboxEvent create(OutboxEventType eventType, Long aggregateId, String payload) {
+        return new OutboxEvent(eventType, aggregateId, payload);
+    }
+}
@@ -0,0 +1,9 @@
+package com.example.runshop.module.outbox.domain;
+
+// 아웃박스에 기록되는 이벤트 종류 (OutboxEventCodec 이 애플리케이션 이벤트와 상호 변환)
+public enum OutboxEventType {
+    PAYMENT_REQUESTED,
+    PAYMENT_SUCCEEDED,
+    PAYMENT_FAILED,
+    PAYMENT_REFUND_REQUESTED
+}
@@ -0,0 +1,50 @@
+package com.example.runshop.module.outbox.infrastructure.persistence;
+
+import com.example.runshop.module.outbox.adapters.out.persistence.OutboxJpaRepository;
+import com.example.runshop.module.outbox.application.port.out.OutboxRepository;
+import com.example.runshop.module.outbox.domain.OutboxEvent;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public class OutboxRepositoryImpl implements OutboxRepository {
+    private final OutboxJpaRepository outboxJpaRepository;
+
+    public OutboxRepositoryImpl(OutboxJpaRepository outboxJpaRepository) {
+        this.outboxJpaRepository = outboxJpaRepository;
+    }
+
+    @Override
+    public OutboxEvent save(OutboxEvent event) {
+        return outboxJpaRepository.save(event);
+    }
+
+    @Override
+    public List<OutboxEvent> findAvailableForUpdate(LocalDateTime now, int limit) {
+        return outboxJpaRepository.findAvailableForUpdate(now, PageRequest.of(0, limit));
+    }
+
+    @Override
+    public void extendLease(Collection<Long> ids, LocalDateTime leaseUntil) {
+        outboxJpaRepository.updateAvailableAt(ids, leaseUntil);
+    }
+
+    @Override
+    public void reschedule(Long id, LocalDateTime availableAt) {
+        outboxJpaRepository.reschedule(id, availableAt);
+    }
+
+    @Override
+    public void deadLetter(Long id, LocalDateTime deadLetteredAt) {
+        outboxJpaRepository.deadLetter(id, deadLetteredAt);
+    }
+
+    @Override
+    public void deleteAll(Collection<Long> ids) {
+        outboxJpaRepository.deleteByIds(ids);
+    }
+}
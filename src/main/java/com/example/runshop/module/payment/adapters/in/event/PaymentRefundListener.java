@@ -0,0 +1,24 @@
+package com.example.runshop.module.payment.adapters.in.event;
+
+import com.example.runshop.module.payment.application.port.in.RefundPaymentUseCase;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * 환불 요청 이벤트를 받아 결제를 환불합니다.
+ * 결제 요청과 마찬가지로 아웃박스를 거쳐 전달되며, 환불을 확정하지 못하면 예외를 그대로 던져 릴레이가 다시 전달하도록 합니다.
+ */
+@Component
+public class PaymentRefundListener {
+
+    private final RefundPaymentUseCase refundPaymentUseCase;
+
+    public PaymentRefundListener(RefundPaymentUseCase refundPaymentUseCase) {
+        this.refundPaymentUseCase = refundPaymentUseCase;
+    }
+
+    @EventListener
+    public void onRefundRequested(PaymentRefundRequestEvent event) {
+        refundPaymentUseCase.refundPayment(event.getOrderId());
+    }
+}
@@ -0,0 +1,15 @@
+package com.example.runshop.module.payment.adapters.in.event;
+
+import lombok.Getter;
+import org.springframework.context.ApplicationEvent;
+
+// 결제는 승인됐지만 주문을 유지할 수 없어(만료/취소 등) 환불해야 하는 경우 주문 쪽에서 아웃박스로 발행
+@Getter
+public class PaymentRefundRequestEvent extends ApplicationEvent {
+    private final Long orderId;
+
+    public PaymentRefundRequestEvent(Object source, Long orderId) {
+        super(source);
+        this.orderId = orderId;
+    }
+}
@@ -0,0 +1,32 @@
+package com.example.runshop.module.payment.adapters.in.event;
+
+import com.example.runshop.module.payment.application.port.in.ProcessPaymentUseCase;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * 결제 요청 이벤트를 받아 결제를 처리합니다.
+ * 결제 요청은 주문과 같은 트랜잭션에서 아웃박스에 기록되고, 커밋 이후 OutboxRelay 가 결제 실행기에서 이 리스너를 호출합니다.
+ * 예외는 그대로 던져 릴레이가 해당 이벤트를 다시 전달하도록 합니다.
+ */
+@Component
+public class PaymentRequestListener {
+
+    private final ProcessPaymentUseCase processPaymentUseCase;
+    private final Timer processingTimer;
+
+    public PaymentRequestListener(ProcessPaymentUseCase processPaymentUseCase, MeterRegistry meterRegistry) {
+        this.processPaymentUseCase = processPaymentUseCase;
+        this.processingTimer = Timer.builder("payment.processing")
+                .description("결제 요청 한 건의 처리 시간 (게이트웨이 호출 포함)")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    @EventListener
+    public void onPaymentRequested(PaymentRequestEvent event) {
+        processingTimer.record(() -> processPaymentUseCase.processPayment(event));
+    }
+}
@@ -1,36 +1,39 @@
 package com.example.runshop.module.payment.adapters.in.rest;
 
-import com.example.runshop.model.vo.payment.PaymentAmount;
+import com.example.runshop.module.order.application.service.OrderService;
+import com.example.runshop.module.order.domain.Order;
+import com.example.runshop.module.outbox.application.service.OutboxService;
 import com.example.runshop.module.payment.adapters.in.event.PaymentRequestEvent;
 import com.example.runshop.module.payment.domain.PaymentMethod;
-import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
-import java.math.BigDecimal;
-
 @RestController
 @RequestMapping("/payments")
 public class PaymentController {
 
-    private final ApplicationEventPublisher eventPublisher;
+    private final OutboxService outboxService;
+    private final OrderService orderService;
 
-    public PaymentController(ApplicationEventPublisher eventPublisher) {
-        this.eventPublisher = eventPublisher;
+    public PaymentController(OutboxService outboxService, OrderService orderService) {
+        this.outboxService = outboxService;
+        this.orderService = orderService;
     }
 
+    // 결제 금액은 클라이언트가 보내지 않고 주문 총액을 사용
     @PostMapping("/process")
     public ResponseEntity<?> processPayment(
             @RequestParam Long orderId,
-            @RequestParam BigDecimal amount,
             @RequestParam PaymentMethod method) {
 
-        PaymentRequestEvent event = new PaymentRequestEvent(this, orderId, new PaymentAmount(amount).value(), method);
-        eventPublisher.publishEvent(event);
+        Order order = orderService.findOrderOrThrow(orderId);
+        PaymentRequestEvent event = new PaymentRequestEvent(this, orderId, order.getTotalPrice(), method);
+        // 아웃박스에 기록된 요청은 OutboxRelay 가 결제 실행기에서 처리
+        outboxService.append(event);
 
         return ResponseEntity.accepted().body("Payment request has been accepted and is being processed");
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,18 @@
+package com.example.runshop.module.payment.adapters.out.persistence;
+
+import com.example.runshop.module.payment.domain.LedgerBalance;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface LedgerBalanceJpaRepository extends JpaRepository<LedgerBalance, Long> {
+
+    // 주문 ID 순 키셋 페이지 (대사 작업이 잔액 테이블을 한 번 훑을 때 사용)
+    @Query("select b from LedgerBalance b where b.orderId > :afterOrderId order by b.orderId")
+    List<LedgerBalance> findAfter(@Param("afterOrderId") Long afterOrderId, Pageable pageable);
+}
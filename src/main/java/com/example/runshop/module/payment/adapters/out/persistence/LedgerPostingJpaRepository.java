@@ -0,0 +1,30 @@
+package com.example.runshop.module.payment.adapters.out.persistence;
+
+import com.example.runshop.module.payment.domain.LedgerPosting;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface LedgerPostingJpaRepository extends JpaRepository<LedgerPosting, Long> {
+
+    // lock.timeout = -2 는 SKIP LOCKED 로 변환되어 여러 노드가 서로 다른 거래를 선점
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("select p from LedgerPosting p order by p.id")
+    List<LedgerPosting> findPendingForUpdate(Pageable pageable);
+
+    @Modifying
+    @Query("delete from LedgerPosting p where p.id in :ids")
+    int deleteByIds(@Param("ids") Collection<Long> ids);
+}
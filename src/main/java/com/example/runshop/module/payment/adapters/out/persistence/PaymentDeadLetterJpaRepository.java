@@ -0,0 +1,9 @@
+package com.example.runshop.module.payment.adapters.out.persistence;
+
+import com.example.runshop.module.payment.domain.PaymentDeadLetter;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface PaymentDeadLetterJpaRepository extends JpaRepository<PaymentDeadLetter, Long> {
+}
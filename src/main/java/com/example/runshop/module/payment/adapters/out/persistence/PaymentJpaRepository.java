@@ -1,9 +1,22 @@
 package com.example.runshop.module.payment.adapters.out.persistence;
 
 import com.example.runshop.module.payment.domain.Payment;
+import com.example.runshop.module.payment.domain.PaymentStatus;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Optional;
+
 @Repository
 public interface PaymentJpaRepository extends JpaRepository<Payment, Long> {
+    boolean existsByOrderIdAndStatus(Long orderId, PaymentStatus status);
+
+    Optional<Payment> findFirstByOrderIdAndStatus(Long orderId, PaymentStatus status);
+
+    @Modifying
+    @Query("update Payment p set p.status = :to where p.id = :id and p.status = :from")
+    int updateStatus(@Param("id") Long id, @Param("from") PaymentStatus from, @Param("to") PaymentStatus to);
 }
@@ -0,0 +1,41 @@
+package com.example.runshop.module.payment.adapters.out.persistence;
+
+import com.example.runshop.module.payment.domain.PaymentRetry;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface PaymentRetryJpaRepository extends JpaRepository<PaymentRetry, Long> {
+
+    boolean existsByOrderId(Long orderId);
+
+    // lock.timeout = -2 는 SKIP LOCKED 로 변환되어 여러 노드가 서로 다른 재시도를 선점
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("select r from PaymentRetry r where r.nextAttemptAt <= :now order by r.nextAttemptAt")
+    List<PaymentRetry> findDueForUpdate(@Param("now") LocalDateTime now, Pageable pageable);
+
+    @Modifying
+    @Query("update PaymentRetry r set r.nextAttemptAt = :nextAttemptAt where r.id in :ids")
+    int updateNextAttemptAt(@Param("ids") Collection<Long> ids, @Param("nextAttemptAt") LocalDateTime nextAttemptAt);
+
+    @Modifying
+    @Query("update PaymentRetry r set r.attempts = r.attempts + 1, r.nextAttemptAt = :nextAttemptAt, r.lastError = :lastError where r.id = :id")
+    int reschedule(@Param("id") Long id, @Param("nextAttemptAt") LocalDateTime nextAttemptAt, @Param("lastError") String lastError);
+
+    @Modifying
+    @Query("delete from PaymentRetry r where r.id in :ids")
+    int deleteByIds(@Param("ids") Collection<Long> ids);
+}
@@ -1,12 +1,8 @@
 package com.example.runshop.module.payment.application.port.in;
 
 import com.example.runshop.module.payment.adapters.in.event.PaymentRequestEvent;
-import org.springframework.context.event.EventListener;
-import org.springframework.transaction.annotation.Transactional;
 
 public interface ProcessPaymentUseCase {
-    // 결제 요청 이벤트 처리 메서드
-    @EventListener
-    @Transactional
+    // 결제 요청 처리 메서드 (PaymentRequestListener 가 커밋 이후 비동기로 호출)
     void processPayment(PaymentRequestEvent event);
-}
\ No newline at end of file
+}
@@ -0,0 +1,6 @@
+package com.example.runshop.module.payment.application.port.in;
+
+public interface RefundPaymentUseCase {
+    // 주문의 성공한 결제를 환불 (PaymentRefundListener 가 아웃박스 릴레이에서 호출, 실패 시 예외로 재전달)
+    void refundPayment(Long orderId);
+}
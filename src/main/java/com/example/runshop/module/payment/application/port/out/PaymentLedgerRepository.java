@@ -0,0 +1,16 @@
+package com.example.runshop.module.payment.application.port.out;
+
+import com.example.runshop.module.payment.domain.LedgerBalance;
+import com.example.runshop.module.payment.domain.LedgerPosting;
+
+import java.util.List;
+
+// 결제 원장 (반영 대기 거래, 원장 항목, 주문별 잔액)
+public interface PaymentLedgerRepository {
+    // 결제 기록과 같은 트랜잭션에서 호출
+    void enqueue(LedgerPosting posting);
+    List<LedgerPosting> findPendingForUpdate(int limit);
+    // 거래를 원장 항목으로 추가하고 주문별 잔액을 증감한 뒤 대기열에서 제거 (호출자의 트랜잭션에서 실행)
+    void post(List<LedgerPosting> postings);
+    List<LedgerBalance> findBalancesAfter(Long afterOrderId, int limit);
+}
@@ -7,4 +7,8 @@ import java.util.Optional;
 public interface PaymentRepository {
     Payment save(Payment payment);
     Optional<Payment> findById(Long id);
+    boolean existsSuccessfulPayment(Long orderId);
+    Optional<Payment> findSuccessfulPayment(Long orderId);
+    // 성공한 결제만 환불로 변경 (같은 환불 요청이 다시 전달되어도 한 번만 반영되도록 변경 여부를 반환)
+    boolean markRefunded(Long paymentId);
 }
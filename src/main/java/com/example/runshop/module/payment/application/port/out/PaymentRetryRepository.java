@@ -0,0 +1,20 @@
+package com.example.runshop.module.payment.application.port.out;
+
+import com.example.runshop.module.payment.domain.PaymentRetry;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+// 결제 재시도 큐와 (재시도를 모두 소진한 결제를 옮기는) dead-letter 테이블
+public interface PaymentRetryRepository {
+    PaymentRetry save(PaymentRetry retry);
+    boolean existsByOrderId(Long orderId);
+    List<PaymentRetry> findDueForUpdate(LocalDateTime now, int limit);
+    // 시도 횟수는 그대로 두고 다음 시도 시각만 미룸 (선점 리스, 처리율 제한으로 미룬 경우)
+    void postpone(Collection<Long> ids, LocalDateTime nextAttemptAt);
+    // 시도 횟수를 하나 올리고 다음 시도 시각을 지정
+    void reschedule(Long id, LocalDateTime nextAttemptAt, String lastError);
+    void deleteAll(Collection<Long> ids);
+    void moveToDeadLetter(PaymentRetry retry, int attempts, String lastError);
+}
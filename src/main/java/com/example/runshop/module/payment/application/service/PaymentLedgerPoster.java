@@ -0,0 +1,74 @@
+package com.example.runshop.module.payment.application.service;
+
+import com.example.runshop.module.payment.application.port.out.PaymentLedgerRepository;
+import com.example.runshop.module.payment.domain.LedgerPosting;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+/**
+ * 결제 원장 반영기.
+ * 결제 기록과 같은 트랜잭션으로 쌓인 거래를 SKIP LOCKED 로 batch-size 건씩 선점해,
+ * 한 트랜잭션 안에서 차변/대변 항목 추가(JDBC 배치), 주문별 잔액 증감, 대기열 삭제를 함께 반영합니다.
+ * 결제 한 건마다 원장 행과 잔액 행을 따로 쓰지 않으므로 결제가 몰려도 원장 쓰기는 배치 수만큼만 늘어나며,
+ * 반영 도중 실패하면 트랜잭션이 롤백되어 거래가 대기열에 남고 다음 주기에 다시 반영됩니다.
+ */
+@Service
+@Slf4j
+public class PaymentLedgerPoster {
+
+    private final PaymentLedgerRepository paymentLedgerRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final int batchSize;
+    private final Counter postedCounter;
+
+    public PaymentLedgerPoster(PaymentLedgerRepository paymentLedgerRepository,
+                               PlatformTransactionManager transactionManager,
+                               MeterRegistry meterRegistry,
+                               @Value("${payment.ledger.enabled:true}") boolean enabled,
+                               @Value("${payment.ledger.batch-size:500}") int batchSize) {
+        this.paymentLedgerRepository = paymentLedgerRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+        this.postedCounter = Counter.builder("payment.ledger.posted")
+                .description("원장에 반영한 거래 수")
+                .register(meterRegistry);
+    }
+
+    // 가득 찬 배치를 반영했다면 연속으로 처리하고, 아니면 다음 주기까지 대기
+    @Scheduled(fixedDelayString = "${payment.ledger.poll-interval-ms:1000}")
+    public void postPending() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            while (postBatch() == batchSize && !Thread.currentThread().isInterrupted()) {
+                // 다음 배치
+            }
+        } catch (RuntimeException e) {
+            log.error("결제 원장 반영 중 오류가 발생했습니다.", e);
+        }
+    }
+
+    int postBatch() {
+        Integer posted = transactionTemplate.execute(status -> {
+            List<LedgerPosting> postings = paymentLedgerRepository.findPendingForUpdate(batchSize);
+            if (!postings.isEmpty()) {
+                paymentLedgerRepository.post(postings);
+            }
+            return postings.size();
+        });
+        int count = posted != null ? posted : 0;
+        postedCounter.increment(count);
+        return count;
+    }
+}
@@ -0,0 +1,70 @@
+package com.example.runshop.module.payment.application.service;
+
+import com.example.runshop.model.dto.payment.ReconciliationReport;
+import com.example.runshop.service.SchedulerLeaseService;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 정산 대사 스케줄러.
+ * 결제사가 내려준 정산 파일(settlement-file)을 cron 주기로 원장과 대사하고 불일치 건수를 지표로 남깁니다.
+ * 여러 노드에서 떠 있어도 DB 임대를 가진 노드만 실행하며, 파일 경로가 비어 있거나 파일이 없으면 실행하지 않습니다.
+ */
+@Service
+@Slf4j
+public class PaymentReconciliationJob {
+
+    static final String LEASE_NAME = "payment-reconciliation";
+
+    private final PaymentReconciliationService paymentReconciliationService;
+    private final SchedulerLeaseService schedulerLeaseService;
+    private final String settlementFile;
+    private final Duration leaseDuration;
+    private final AtomicLong discrepancies = new AtomicLong();
+
+    public PaymentReconciliationJob(PaymentReconciliationService paymentReconciliationService,
+                                    SchedulerLeaseService schedulerLeaseService,
+                                    MeterRegistry meterRegistry,
+                                    @Value("${payment.reconciliation.settlement-file:}") String settlementFile,
+                                    @Value("${payment.reconciliation.lease-seconds:3600}") long leaseSeconds) {
+        this.paymentReconciliationService = paymentReconciliationService;
+        this.schedulerLeaseService = schedulerLeaseService;
+        this.settlementFile = settlementFile;
+        this.leaseDuration = Duration.ofSeconds(leaseSeconds);
+        meterRegistry.gauge("payment.reconciliation.discrepancies", discrepancies);
+    }
+
+    @Scheduled(cron = "${payment.reconciliation.cron:0 30 4 * * *}")
+    public void reconcile() {
+        if (settlementFile.isBlank()) {
+            return;
+        }
+        Path path = Path.of(settlementFile);
+        if (!Files.isReadable(path)) {
+            log.warn("정산 파일을 읽을 수 없어 대사를 건너뜁니다: {}", path);
+            return;
+        }
+        if (!schedulerLeaseService.tryAcquire(LEASE_NAME, leaseDuration)) {
+            return;
+        }
+        try {
+            ReconciliationReport report = paymentReconciliationService.reconcile(path);
+            discrepancies.set(report.getDiscrepancyCount());
+            if (report.getDiscrepancyCount() > 0) {
+                log.warn("정산 파일과 원장이 일치하지 않는 주문이 있습니다. 건수: {}, 예: {}",
+                        report.getDiscrepancyCount(), report.getDiscrepancies().stream().limit(10).toList());
+            }
+        } catch (IOException | RuntimeException e) {
+            log.error("정산 대사 중 오류가 발생했습니다. 파일: {}", path, e);
+        }
+    }
+}
@@ -0,0 +1,238 @@
+package com.example.runshop.module.payment.application.service;
+
+import com.example.runshop.model.dto.payment.ReconciliationReport;
+import com.example.runshop.model.dto.payment.ReconciliationReport.Discrepancy;
+import com.example.runshop.model.dto.payment.ReconciliationReport.DiscrepancyType;
+import com.example.runshop.module.payment.application.port.out.PaymentLedgerRepository;
+import com.example.runshop.module.payment.domain.LedgerBalance;
+import com.example.runshop.module.payment.domain.LedgerEntryType;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * 결제사 정산 파일과 원장 잔액 대사.
+ * 주문 ID 순으로 정렬된 정산 파일(orderId,type,amount)을 한 줄씩 읽고, 원장 잔액을 주문 ID 순 키셋 페이지로 읽어
+ * 두 흐름을 병합하며 한 번에 비교합니다. 파일이나 원장 전체를 메모리에 올리지 않으므로
+ * 사용하는 메모리는 잔액 page-size 건과 (최대 max-reported 건까지의) 불일치 목록으로 제한됩니다.
+ * 한 주문의 정산 금액은 해당 주문 행들의 승인 합계 - 환불 합계이며, 원장의 주문별 잔액과 비교합니다.
+ */
+@Service
+@Slf4j
+public class PaymentReconciliationService {
+
+    private final PaymentLedgerRepository paymentLedgerRepository;
+    private final int pageSize;
+    private final int maxReported;
+
+    public PaymentReconciliationService(PaymentLedgerRepository paymentLedgerRepository,
+                                        @Value("${payment.reconciliation.page-size:1000}") int pageSize,
+                                        @Value("${payment.reconciliation.max-reported:1000}") int maxReported) {
+        this.paymentLedgerRepository = paymentLedgerRepository;
+        this.pageSize = pageSize;
+        this.maxReported = maxReported;
+    }
+
+    public ReconciliationReport reconcile(Path settlementFile) throws IOException {
+        try (InputStream inputStream = Files.newInputStream(settlementFile)) {
+            return reconcile(inputStream);
+        }
+    }
+
+    public ReconciliationReport reconcile(InputStream inputStream) throws IOException {
+        ReportCollector collector = new ReportCollector(maxReported);
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8))) {
+            SettlementReader settlements = new SettlementReader(reader, collector);
+            Iterator<LedgerBalance> balances = new BalanceIterator();
+
+            SettlementTotal settlement = settlements.next();
+            LedgerBalance balance = balances.hasNext() ? balances.next() : null;
+            while (settlement != null || balance != null) {
+                int order = settlement == null ? 1
+                        : balance == null ? -1
+                        : Long.compare(settlement.orderId(), balance.getOrderId());
+                if (order < 0) {
+                    collector.missing(settlement.orderId(), DiscrepancyType.MISSING_IN_LEDGER, settlement.amount(), null);
+                    settlement = settlements.next();
+                } else if (order > 0) {
+                    collector.missing(balance.getOrderId(), DiscrepancyType.MISSING_IN_SETTLEMENT, null, balance.getBalance());
+                    balance = balances.hasNext() ? balances.next() : null;
+                } else {
+                    collector.compare(settlement.orderId(), settlement.amount(), balance.getBalance());
+                    settlement = settlements.next();
+                    balance = balances.hasNext() ? balances.next() : null;
+                }
+            }
+        }
+
+        ReconciliationReport report = collector.toReport();
+        log.info("정산 대사 완료. 정산 행: {}, 일치: {}, 불일치: {}, 해석 실패 행: {}",
+                report.getSettlementRows(), report.getMatchedOrders(), report.getDiscrepancyCount(), report.getInvalidRows());
+        return report;
+    }
+
+    private record SettlementTotal(Long orderId, BigDecimal amount) {
+    }
+
+    // 같은 주문의 연속된 행을 모아 주문별 정산 금액으로 돌려줌 (주문 ID 가 줄어들면 정렬되지 않은 파일로 보고 중단)
+    private static class SettlementReader {
+        private final BufferedReader reader;
+        private final ReportCollector collector;
+        private long rowNumber;
+        private Long currentOrderId;
+        private BigDecimal currentAmount;
+        private Long lastOrderId;
+
+        SettlementReader(BufferedReader reader, ReportCollector collector) {
+            this.reader = reader;
+            this.collector = collector;
+        }
+
+        SettlementTotal next() throws IOException {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                rowNumber++;
+                if (line.isBlank() || (rowNumber == 1 && isHeader(line))) {
+                    continue;
+                }
+                collector.settlementRows++;
+                String[] columns = line.split(",", -1);
+                long orderId;
+                BigDecimal amount;
+                try {
+                    if (columns.length != 3) {
+                        throw new IllegalArgumentException("orderId,type,amount 세 개의 열이 필요합니다.");
+                    }
+                    orderId = Long.parseLong(columns[0].trim());
+                    LedgerEntryType type = LedgerEntryType.valueOf(columns[1].trim().toUpperCase(Locale.ROOT));
+                    BigDecimal value = new BigDecimal(columns[2].trim());
+                    amount = type == LedgerEntryType.CAPTURE ? value : value.negate();
+                } catch (IllegalArgumentException e) {
+                    collector.invalidRows++;
+                    log.warn("정산 파일의 {}번째 행을 해석할 수 없습니다: {}", rowNumber, e.getMessage());
+                    continue;
+                }
+                if (lastOrderId != null && orderId < lastOrderId) {
+                    throw new IllegalArgumentException("정산 파일은 주문 ID 순으로 정렬되어 있어야 합니다. 행: " + rowNumber);
+                }
+                lastOrderId = orderId;
+
+                if (currentOrderId == null) {
+                    currentOrderId = orderId;
+                    currentAmount = amount;
+                } else if (currentOrderId == orderId) {
+                    currentAmount = currentAmount.add(amount);
+                } else {
+                    SettlementTotal total = new SettlementTotal(currentOrderId, currentAmount);
+                    currentOrderId = orderId;
+                    currentAmount = amount;
+                    return total;
+                }
+            }
+            if (currentOrderId == null) {
+                return null;
+            }
+            SettlementTotal total = new SettlementTotal(currentOrderId, currentAmount);
+            currentOrderId = null;
+            return total;
+        }
+
+        private boolean isHeader(String line) {
+            String first = line.split(",", -1)[0].trim();
+            return !first.isEmpty() && !Character.isDigit(first.charAt(0));
+        }
+    }
+
+    // 원장 잔액을 page-size 건씩 주문 ID 순으로 읽음
+    private class BalanceIterator implements Iterator<LedgerBalance> {
+        private List<LedgerBalance> page = List.of();
+        private int index;
+        private long afterOrderId;
+        private boolean exhausted;
+
+        @Override
+        public boolean hasNext() {
+            if (index < page.size()) {
+                return true;
+            }
+            if (exhausted) {
+                return false;
+            }
+            page = paymentLedgerRepository.findBalancesAfter(afterOrderId, pageSize);
+            index = 0;
+            exhausted = page.size() < pageSize;
+            if (!page.isEmpty()) {
+                afterOrderId = page.get(page.size() - 1).getOrderId();
+            }
+            return !page.isEmpty();
+        }
+
+        @Override
+        public LedgerBalance next() {
+            return page.get(index++);
+        }
+    }
+
+    // 일치/불일치 건수와 (최대 개수까지의) 불일치 목록을 모으는 집계기
+    private static class ReportCollector {
+        private final int maxReported;
+        private final List<Discrepancy> discrepancies = new ArrayList<>();
+        private long settlementRows;
+        private long invalidRows;
+        private long matchedOrders;
+        private long discrepancyCount;
+
+        ReportCollector(int maxReported) {
+            this.maxReported = maxReported;
+        }
+
+        // 한쪽에만 있는 주문 - 금액이 0 이면 (전액 환불 등) 정산할 것이 없으므로 일치로 봄
+        void missing(Long orderId, DiscrepancyType type, BigDecimal settlementAmount, BigDecimal ledgerAmount) {
+            BigDecimal amount = settlementAmount != null ? settlementAmount : ledgerAmount;
+            if (amount.signum() == 0) {
+                matchedOrders++;
+                return;
+            }
+            add(new Discrepancy(orderId, type, settlementAmount, ledgerAmount));
+        }
+
+        void compare(Long orderId, BigDecimal settlementAmount, BigDecimal ledgerAmount) {
+            if (settlementAmount.compareTo(ledgerAmount) == 0) {
+                matchedOrders++;
+                return;
+            }
+            add(new Discrepancy(orderId, DiscrepancyType.AMOUNT_MISMATCH, settlementAmount, ledgerAmount));
+        }
+
+        private void add(Discrepancy discrepancy) {
+            discrepancyCount++;
+            if (discrepancies.size() < maxReported) {
+                discrepancies.add(discrepancy);
+            }
+        }
+
+        ReconciliationReport toReport() {
+            return ReconciliationReport.builder()
+                    .settlementRows(settlementRows)
+                    .invalidRows(invalidRows)
+                    .matchedOrders(matchedOrders)
+                    .discrepancyCount(discrepancyCount)
+                    .discrepancies(discrepancies)
+                    .discrepanciesTruncated(discrepancyCount > discrepancies.size())
+                    .build();
+        }
+    }
+}
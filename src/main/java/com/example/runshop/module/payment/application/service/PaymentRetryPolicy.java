@@ -0,0 +1,48 @@
+package com.example.runshop.module.payment.application.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 결제 재시도 간격과 최대 시도 횟수.
+ * 간격은 시도마다 두 배로 늘리되(최대 max-delay-ms), 절반은 무작위로 흩어 같은 시각에 실패한 결제들이
+ * 같은 시각에 다시 몰리지 않도록 합니다 (equal jitter).
+ */
+@Component
+public class PaymentRetryPolicy {
+
+    private final Duration baseDelay;
+    private final Duration maxDelay;
+    private final int maxAttempts;
+
+    public PaymentRetryPolicy(@Value("${payment.retry.base-delay-ms:2000}") long baseDelayMillis,
+                              @Value("${payment.retry.max-delay-ms:300000}") long maxDelayMillis,
+                              @Value("${payment.retry.max-attempts:8}") int maxAttempts) {
+        this.baseDelay = Duration.ofMillis(baseDelayMillis);
+        this.maxDelay = Duration.ofMillis(maxDelayMillis);
+        this.maxAttempts = maxAttempts;
+    }
+
+    // attempts 번 시도한 결제의 다음 시도 시각
+    public LocalDateTime nextAttemptAt(int attempts, LocalDateTime now) {
+        return now.plus(delay(attempts));
+    }
+
+    Duration delay(int attempts) {
+        Duration ceiling = baseDelay.multipliedBy(1L << Math.min(Math.max(attempts - 1, 0), 20));
+        if (ceiling.compareTo(maxDelay) > 0) {
+            ceiling = maxDelay;
+        }
+        long half = ceiling.toMillis() / 2;
+        return Duration.ofMillis(half + ThreadLocalRandom.current().nextLong(half + 1));
+    }
+
+    // 더 이상 재시도하지 않고 dead-letter 로 옮길지
+    public boolean isExhausted(int attempts) {
+        return attempts >= maxAttempts;
+    }
+}
@@ -0,0 +1,13 @@
+package com.example.runshop.module.payment.application.service;
+
+// 재시도 한 건의 결과. resolved 이면 재시도 큐에서 제거되었고, 아니면 reason 과 함께 다시 예약해야 함
+public record PaymentRetryResult(boolean resolved, String reason) {
+
+    public static PaymentRetryResult resolved() {
+        return new PaymentRetryResult(true, null);
+    }
+
+    public static PaymentRetryResult unresolved(String reason) {
+        return new PaymentRetryResult(false, reason);
+    }
+}
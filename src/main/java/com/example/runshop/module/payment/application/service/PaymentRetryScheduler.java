@@ -0,0 +1,206 @@
+package com.example.runshop.module.payment.application.service;
+
+import com.example.runshop.module.payment.application.port.out.PaymentRetryRepository;
+import com.example.runshop.module.payment.domain.PaymentRetry;
+import com.example.runshop.repository.RateLimitStore;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 결제 재시도 스케줄러.
+ * 재시도 시각이 지난 결제를 SKIP LOCKED 로 batch-size 건씩 선점해 결제 실행기에서 다시 시도하고,
+ * 여전히 결과를 알 수 없는 결제는 PaymentRetryPolicy 의 백오프로 다시 예약합니다.
+ * 마지막 시도에서는 PaymentService 가 결제사에 결제 결과를 조회해 승인/거절을 반영하고, 조회마저 실패하면
+ * 실제로 결제됐을 수 있으므로 주문을 취소하지 않고 dead-letter 테이블로 옮겨 수동 대사 대상으로 남깁니다.
+ * 결제사 장애가 풀리는 순간 밀린 재시도가 한꺼번에 몰리지 않도록 모든 노드를 합쳐 초당 rate-limit-per-second 건까지만 호출하며,
+ * 한도를 넘은 결제는 시도 횟수를 올리지 않고 다음 구간으로 미룹니다.
+ */
+@Service
+@Slf4j
+public class PaymentRetryScheduler {
+
+    static final String RATE_LIMIT_NAME = "payment-retry";
+    private static final Duration RATE_LIMIT_WINDOW = Duration.ofSeconds(1);
+    private static final int MAX_ERROR_LENGTH = 500;
+
+    private final PaymentRetryRepository paymentRetryRepository;
+    private final PaymentService paymentService;
+    private final PaymentRetryPolicy paymentRetryPolicy;
+    private final RateLimitStore rateLimitStore;
+    private final Executor dispatchExecutor;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final int batchSize;
+    private final long pollIntervalMillis;
+    private final Duration lease;
+    private final int rateLimitPerSecond;
+    private final Counter resolvedCounter;
+    private final Counter rescheduledCounter;
+    private final Counter deadLetteredCounter;
+    private final Counter rateLimitedCounter;
+
+    private ScheduledExecutorService poller;
+
+    public PaymentRetryScheduler(PaymentRetryRepository paymentRetryRepository,
+                                 PaymentService paymentService,
+                                 PaymentRetryPolicy paymentRetryPolicy,
+                                 RateLimitStore rateLimitStore,
+                                 @Qualifier("paymentExecutor") Executor dispatchExecutor,
+                                 PlatformTransactionManager transactionManager,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${payment.retry.enabled:true}") boolean enabled,
+                                 @Value("${payment.retry.batch-size:50}") int batchSize,
+                                 @Value("${payment.retry.poll-interval-ms:1000}") long pollIntervalMillis,
+                                 @Value("${payment.retry.lease-seconds:60}") long leaseSeconds,
+                                 @Value("${payment.retry.rate-limit-per-second:20}") int rateLimitPerSecond) {
+        this.paymentRetryRepository = paymentRetryRepository;
+        this.paymentService = paymentService;
+        this.paymentRetryPolicy = paymentRetryPolicy;
+        this.rateLimitStore = rateLimitStore;
+        this.dispatchExecutor = dispatchExecutor;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+        this.pollIntervalMillis = pollIntervalMillis;
+        this.lease = Duration.ofSeconds(leaseSeconds);
+        this.rateLimitPerSecond = rateLimitPerSecond;
+        this.resolvedCounter = counter(meterRegistry, "resolved");
+        this.rescheduledCounter = counter(meterRegistry, "rescheduled");
+        this.deadLetteredCounter = counter(meterRegistry, "dead_lettered");
+        this.rateLimitedCounter = counter(meterRegistry, "rate_limited");
+    }
+
+    private static Counter counter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("payment.retry.attempts")
+                .description("결제 재시도 결과")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        poller = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "payment-retry");
+            thread.setDaemon(true);
+            return thread;
+        });
+        poller.scheduleWithFixedDelay(this::retryDue, pollIntervalMillis, pollIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        if (poller != null) {
+            poller.shutdown();
+            poller.awaitTermination(lease.toSeconds(), TimeUnit.SECONDS);
+        }
+    }
+
+    // 가득 찬 배치를 처리했고 처리율 한도에 걸리지 않았다면 연속으로 처리하고, 아니면 다음 주기까지 대기
+    void retryDue() {
+        try {
+            while (retryBatch() == batchSize && !Thread.currentThread().isInterrupted()) {
+                // 다음 배치
+            }
+        } catch (RuntimeException e) {
+            log.error("결제 재시도 중 오류가 발생했습니다.", e);
+        }
+    }
+
+    // 처리한 결제 수를 반환 (처리율 한도로 미룬 결제는 제외)
+    int retryBatch() {
+        List<PaymentRetry> claimed = transactionTemplate.execute(status -> claim());
+        if (claimed == null || claimed.isEmpty()) {
+            return 0;
+        }
+
+        List<PaymentRetry> permitted = new ArrayList<>(claimed.size());
+        List<Long> deferred = new ArrayList<>();
+        for (PaymentRetry retry : claimed) {
+            if (deferred.isEmpty() && rateLimitStore.tryAcquire(RATE_LIMIT_NAME, rateLimitPerSecond, RATE_LIMIT_WINDOW)) {
+                permitted.add(retry);
+            } else {
+                deferred.add(retry.getId());
+            }
+        }
+
+        List<CompletableFuture<PaymentRetryResult>> results = permitted.stream()
+                .map(retry -> CompletableFuture.supplyAsync(() -> paymentService.retryPayment(retry), dispatchExecutor)
+                        .exceptionally(e -> PaymentRetryResult.unresolved(e.getMessage())))
+                .toList();
+        CompletableFuture.allOf(results.toArray(CompletableFuture[]::new)).join();
+
+        LocalDateTime now = LocalDateTime.now();
+        transactionTemplate.executeWithoutResult(status -> {
+            if (!deferred.isEmpty()) {
+                paymentRetryRepository.postpone(deferred, now.plus(RATE_LIMIT_WINDOW));
+            }
+            for (int i = 0; i < permitted.size(); i++) {
+                PaymentRetryResult result = results.get(i).join();
+                if (!result.resolved()) {
+                    handleUnresolved(permitted.get(i), abbreviate(result.reason()), now);
+                }
+            }
+        });
+        long resolved = results.stream().filter(result -> result.join().resolved()).count();
+        resolvedCounter.increment(resolved);
+        rateLimitedCounter.increment(deferred.size());
+        if (!deferred.isEmpty()) {
+            log.warn("결제 재시도 처리율 한도(초당 {}건)를 넘어 {}건을 미뤘습니다.", rateLimitPerSecond, deferred.size());
+            return 0;
+        }
+        return permitted.size();
+    }
+
+    private void handleUnresolved(PaymentRetry retry, String reason, LocalDateTime now) {
+        int attempts = retry.getAttempts() + 1;
+        if (paymentRetryPolicy.isExhausted(attempts)) {
+            // 결제 결과를 조회하지 못함 - 결제됐을 수 있으므로 주문을 취소하지 않고 수동 대사로 넘김
+            // (주문은 결제 대기 만료 시 정리되고, 실제 결제 여부는 결제사 정산 내역과 대조해 환불)
+            paymentRetryRepository.moveToDeadLetter(retry, attempts, reason);
+            deadLetteredCounter.increment();
+            log.error("결제 재시도를 모두 소진했고 결제 결과도 확인하지 못해 수동 대사 대상으로 dead-letter 로 옮깁니다. 주문 ID: {}, 시도: {}, 사유: {}",
+                    retry.getOrderId(), attempts, reason);
+            return;
+        }
+        paymentRetryRepository.reschedule(retry.getId(), paymentRetryPolicy.nextAttemptAt(attempts, now), reason);
+        rescheduledCounter.increment();
+    }
+
+    private List<PaymentRetry> claim() {
+        LocalDateTime now = LocalDateTime.now();
+        List<PaymentRetry> retries = paymentRetryRepository.findDueForUpdate(now, batchSize);
+        if (!retries.isEmpty()) {
+            paymentRetryRepository.postpone(retries.stream().map(PaymentRetry::getId).toList(), now.plus(lease));
+        }
+        return retries;
+    }
+
+    private static String abbreviate(String reason) {
+        if (reason == null || reason.length() <= MAX_ERROR_LENGTH) {
+            return reason;
+        }
+        return reason.substring(0, MAX_ERROR_LENGTH);
+    }
+}
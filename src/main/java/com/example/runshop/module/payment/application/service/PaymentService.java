@@ -6,51 +6,182 @@ import com.example.runshop.model.enums.OrderStatus;
 import com.example.runshop.model.vo.payment.PaymentAmount;
 import com.example.runshop.module.order.domain.Order;
 import com.example.runshop.module.order.application.port.out.OrderRepository;
+import com.example.runshop.module.outbox.application.service.OutboxService;
 import com.example.runshop.module.payment.adapters.in.event.PaymentFailedEvent;
 import com.example.runshop.module.payment.adapters.in.event.PaymentSuccessEvent;
 import com.example.runshop.module.payment.application.port.in.ProcessPaymentUseCase;
+import com.example.runshop.module.payment.application.port.in.RefundPaymentUseCase;
+import com.example.runshop.module.payment.application.port.out.PaymentLedgerRepository;
 import com.example.runshop.module.payment.application.port.out.PaymentRepository;
+import com.example.runshop.module.payment.application.port.out.PaymentRetryRepository;
 import com.example.runshop.module.payment.adapters.in.event.PaymentRequestEvent;
+import com.example.runshop.module.payment.domain.LedgerPosting;
 import com.example.runshop.module.payment.domain.Payment;
+import com.example.runshop.module.payment.domain.PaymentMethod;
+import com.example.runshop.module.payment.domain.PaymentRetry;
 import com.example.runshop.module.payment.intrastructure.gateway.external.PaymentGateway;
-import lombok.RequiredArgsConstructor;
+import com.example.runshop.module.payment.intrastructure.gateway.external.PaymentResult;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
 
 @Service
 @Slf4j
-@RequiredArgsConstructor
-public class PaymentService implements ProcessPaymentUseCase {
+public class PaymentService implements ProcessPaymentUseCase, RefundPaymentUseCase {
 
     private final PaymentRepository paymentRepository;
     private final PaymentGateway paymentGateway;
-    private final ApplicationEventPublisher eventPublisher;
+    private final OutboxService outboxService;
     private final OrderRepository orderRepository;
+    private final PaymentRetryRepository paymentRetryRepository;
+    private final PaymentRetryPolicy paymentRetryPolicy;
+    private final PaymentLedgerRepository paymentLedgerRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    public PaymentService(PaymentRepository paymentRepository,
+                          PaymentGateway paymentGateway,
+                          OutboxService outboxService,
+                          OrderRepository orderRepository,
+                          PaymentRetryRepository paymentRetryRepository,
+                          PaymentRetryPolicy paymentRetryPolicy,
+                          PaymentLedgerRepository paymentLedgerRepository,
+                          PlatformTransactionManager transactionManager) {
+        this.paymentRepository = paymentRepository;
+        this.paymentGateway = paymentGateway;
+        this.outboxService = outboxService;
+        this.orderRepository = orderRepository;
+        this.paymentRetryRepository = paymentRetryRepository;
+        this.paymentRetryPolicy = paymentRetryPolicy;
+        this.paymentLedgerRepository = paymentLedgerRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
 
+    // 게이트웨이 호출은 트랜잭션 밖에서 수행해 응답을 기다리는 동안 DB 커넥션을 점유하지 않음
+    // 결제 기록과 결제 성공/실패 이벤트(아웃박스)는 한 트랜잭션으로 반영
     @Override
-    @Transactional
     public void processPayment(PaymentRequestEvent event) {
         Order order = findOrderById(event.getOrderId());
-        if (order.getStatus() == OrderStatus.PAYMENT_COMPLETE) {
-            log.warn("이미 결제된 주문입니다. 주문 ID: {}", event.getOrderId());
+        // 결제 대기 중인 주문만 결제 - 이미 결제됐거나 만료/취소되어 재고가 반환된 주문에 늦게 전달된 요청은 결제하지 않음
+        if (order.getStatus() != OrderStatus.PENDING) {
+            log.warn("결제 대기 중인 주문이 아니어서 결제하지 않습니다. 주문 ID: {}, 상태: {}", event.getOrderId(), order.getStatus());
+            return;
+        }
+        // 결제는 기록됐지만 주문 상태 반영(결제 성공 이벤트) 전에 같은 요청이 다시 전달된 경우
+        if (paymentRepository.existsSuccessfulPayment(event.getOrderId())) {
+            log.warn("이미 결제가 완료된 요청이 다시 전달되었습니다. 주문 ID: {}", event.getOrderId());
             return;
         }
 
-        // 팩토리 메서드를 통해 Payment 객체 생성
-        Payment payment = Payment.create(order, new PaymentAmount(event.getAmount()), event.getPaymentMethod());
-        boolean success = paymentGateway.process(event.getPaymentMethod(), event.getAmount());
+        // 결제 요청이 다시 전달되었지만 이미 재시도 큐에서 처리 중인 경우
+        if (paymentRetryRepository.existsByOrderId(event.getOrderId())) {
+            log.warn("이미 재시도 대기 중인 결제입니다. 주문 ID: {}", event.getOrderId());
+            return;
+        }
+
+        // 결제 금액은 요청에 담긴 값이 아니라 서버가 계산해 저장한 주문 총액
+        BigDecimal amount = order.getTotalPrice();
+        if (event.getAmount() != null && event.getAmount().compareTo(amount) != 0) {
+            log.warn("결제 요청 금액이 주문 총액과 달라 주문 총액으로 결제합니다. 주문 ID: {}, 요청 금액: {}, 주문 총액: {}",
+                    event.getOrderId(), event.getAmount(), amount);
+        }
+
+        // 게이트웨이가 기한 안에 반드시 결과를 돌려주므로 대기 시간은 timeout-ms 로 제한됨
+        // 재전달/재시도도 같은 결제 키로 요청하므로 앞선 호출이 결제사에서 승인됐다면 그 결과를 돌려받음
+        PaymentResult result = paymentGateway.process(Payment.gatewayKey(event.getOrderId()), event.getPaymentMethod(), amount);
+        if (!result.isDefinitive()) {
+            // 타임아웃/결제사 장애는 일시적인 실패로 보고 주문을 취소하지 않고 재시도 큐에 등록 (재고 선점 유지)
+            LocalDateTime nextAttemptAt = paymentRetryPolicy.nextAttemptAt(1, LocalDateTime.now());
+            transactionTemplate.executeWithoutResult(status -> paymentRetryRepository.save(
+                    PaymentRetry.firstFailure(event.getOrderId(), amount, event.getPaymentMethod(), nextAttemptAt, result.reason())));
+            log.warn("결제 결과를 확인하지 못해 재시도를 예약했습니다. 주문 ID: {}, 사유: {}, 다음 시도: {}",
+                    event.getOrderId(), result.reason(), nextAttemptAt);
+            return;
+        }
+        record(order, amount, event.getPaymentMethod(), result.isApproved(), null);
+    }
+
+    // 재시도 큐에서 꺼낸 결제를 다시 시도 (PaymentRetryScheduler 가 호출)
+    // 확정 결과를 받았거나 더 이상 결제할 필요가 없는 주문이면 큐에서 제거하고, 아니면 호출자가 다시 예약
+    public PaymentRetryResult retryPayment(PaymentRetry retry) {
+        Optional<Order> order = orderRepository.findById(retry.getOrderId());
+        if (order.isEmpty() || order.get().getStatus() != OrderStatus.PENDING
+                || paymentRepository.existsSuccessfulPayment(retry.getOrderId())) {
+            // 이미 결제되었거나 만료/취소된 주문 - 다시 결제하면 이중 결제 또는 취소된 주문의 결제가 됨
+            transactionTemplate.executeWithoutResult(status -> paymentRetryRepository.deleteAll(List.of(retry.getId())));
+            log.info("결제할 필요가 없어진 재시도를 제거했습니다. 주문 ID: {}", retry.getOrderId());
+            return PaymentRetryResult.resolved();
+        }
 
+        String paymentKey = Payment.gatewayKey(retry.getOrderId());
+        BigDecimal amount = order.get().getTotalPrice();
+        PaymentResult result = paymentGateway.process(paymentKey, retry.getMethod(), amount);
+        if (!result.isDefinitive()) {
+            if (!paymentRetryPolicy.isExhausted(retry.getAttempts() + 1)) {
+                return PaymentRetryResult.unresolved(result.reason());
+            }
+            // 마지막 시도 - 앞서 타임아웃된 호출이 결제사에서 승인됐을 수 있으므로 포기하기 전에 결제 결과를 조회
+            PaymentResult inquired = paymentGateway.inquire(paymentKey);
+            if (!inquired.isDefinitive()) {
+                return PaymentRetryResult.unresolved(result.reason() + " (결제 결과 조회 실패: " + inquired.reason() + ")");
+            }
+            log.warn("재시도를 모두 소진해 결제사에서 결과를 조회했습니다. 주문 ID: {}, 결과: {}", retry.getOrderId(), inquired.status());
+            result = inquired;
+        }
+        record(order.get(), amount, retry.getMethod(), result.isApproved(), retry.getId());
+        return PaymentRetryResult.resolved();
+    }
+
+    // 승인된 결제를 같은 결제 키로 환불하고 환불 원장 거래를 기록
+    // 결과를 확정하지 못하면 예외를 던져 아웃박스가 백오프 후 다시 전달 (결제사 쪽 환불도 결제 키로 한 번만 처리됨)
+    @Override
+    public void refundPayment(Long orderId) {
+        Optional<Payment> payment = paymentRepository.findSuccessfulPayment(orderId);
+        if (payment.isEmpty()) {
+            log.warn("환불할 결제가 없습니다 (이미 환불되었을 수 있음). 주문 ID: {}", orderId);
+            return;
+        }
+        Long paymentId = payment.get().getId();
+        BigDecimal amount = payment.get().getAmount().value();
+        PaymentResult result = paymentGateway.refund(Payment.gatewayKey(orderId), amount);
+        if (!result.isApproved()) {
+            throw new IllegalStateException("환불을 완료하지 못했습니다. 주문 ID: " + orderId + ", 결과: " + result.status() + ", 사유: " + result.reason());
+        }
+        transactionTemplate.executeWithoutResult(status -> {
+            if (paymentRepository.markRefunded(paymentId)) {
+                paymentLedgerRepository.enqueue(LedgerPosting.refund(orderId, paymentId, amount));
+            }
+        });
+        log.info("결제를 환불했습니다. 주문 ID: {}, 금액: {}", orderId, amount);
+    }
+
+    // 결제 기록과 원장 거래, 결제 성공/실패 이벤트(아웃박스), 재시도 큐 제거를 한 트랜잭션으로 반영
+    private void record(Order order, BigDecimal amount, PaymentMethod method, boolean success, Long retryId) {
+        // 팩토리 메서드를 통해 Payment 객체 생성
+        Payment payment = Payment.create(order, new PaymentAmount(amount), method);
         payment.process(success);
-        paymentRepository.save(payment);
+        transactionTemplate.executeWithoutResult(status -> {
+            paymentRepository.save(payment);
+            if (success) {
+                paymentLedgerRepository.enqueue(LedgerPosting.capture(order.getId(), payment.getId(), amount));
+                outboxService.append(new PaymentSuccessEvent(this, order.getId()));
+            } else {
+                outboxService.append(new PaymentFailedEvent(this, order.getId()));
+            }
+            if (retryId != null) {
+                paymentRetryRepository.deleteAll(List.of(retryId));
+            }
+        });
 
         if (success) {
-            eventPublisher.publishEvent(new PaymentSuccessEvent(this, event.getOrderId()));
-            log.info("결제가 성공적으로 처리되었습니다. 주문 ID: {}", event.getOrderId());
+            log.info("결제가 성공적으로 처리되었습니다. 주문 ID: {}", order.getId());
         } else {
-            eventPublisher.publishEvent(new PaymentFailedEvent(this, event.getOrderId()));
-            log.warn("결제가 실패했습니다. 주문 ID: {}", event.getOrderId());
+            log.warn("결제가 실패했습니다. 주문 ID: {}", order.getId());
         }
     }
 
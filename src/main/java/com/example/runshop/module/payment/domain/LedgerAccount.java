@@ -0,0 +1,7 @@
+package com.example.runshop.module.payment.domain;
+
+// 결제 원장 계정
+public enum LedgerAccount {
+    PROVIDER_RECEIVABLE, // 결제사로부터 정산받을 금액
+    ORDER_REVENUE // 주문 매출
+}
@@ -0,0 +1,40 @@
+package com.example.runshop.module.payment.domain;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+// 주문별 원장 잔액 (원장 항목을 반영할 때마다 증감으로 갱신 - 항목을 다시 합산하지 않음)
+@Entity
+@Getter
+@NoArgsConstructor
+@Table(name = "payment_ledger_balance")
+public class LedgerBalance {
+    @Id
+    @Column(name = "order_id")
+    private Long orderId;
+
+    @Column(name = "captured_amount", nullable = false)
+    private BigDecimal capturedAmount;
+
+    @Column(name = "refunded_amount", nullable = false)
+    private BigDecimal refundedAmount;
+
+    // 결제사로부터 정산받을 금액 (승인 - 환불)
+    @Column(name = "balance", nullable = false)
+    private BigDecimal balance;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    public LedgerBalance(Long orderId, BigDecimal capturedAmount, BigDecimal refundedAmount, LocalDateTime updatedAt) {
+        this.orderId = orderId;
+        this.capturedAmount = capturedAmount;
+        this.refundedAmount = refundedAmount;
+        this.balance = capturedAmount.subtract(refundedAmount);
+        this.updatedAt = updatedAt;
+    }
+}
@@ -0,0 +1,6 @@
+package com.example.runshop.module.payment.domain;
+
+public enum LedgerDirection {
+    DEBIT, // 차변
+    CREDIT // 대변
+}
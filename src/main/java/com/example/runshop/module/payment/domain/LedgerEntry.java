@@ -0,0 +1,72 @@
+package com.example.runshop.module.payment.domain;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Immutable;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+// 결제 원장 항목 (추가만 하고 수정/삭제하지 않음 - 정정은 반대 거래를 추가)
+// 거래 하나는 같은 journal_id 를 가진 차변 항목과 대변 항목 두 개로 기록됨
+@Entity
+@Getter
+@Immutable
+@NoArgsConstructor
+@Table(name = "payment_ledger_entry", indexes = {
+        @Index(name = "idx_payment_ledger_entry_order_id", columnList = "order_id")
+}, uniqueConstraints = {
+        @UniqueConstraint(name = "uk_payment_ledger_entry_journal_direction", columnNames = {"journal_id", "direction"})
+})
+public class LedgerEntry {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "journal_id", nullable = false, length = 36, updatable = false)
+    private String journalId;
+
+    @Column(name = "order_id", nullable = false, updatable = false)
+    private Long orderId;
+
+    @Column(name = "payment_id", updatable = false)
+    private Long paymentId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "entry_type", nullable = false, updatable = false)
+    private LedgerEntryType type;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "account", nullable = false, updatable = false)
+    private LedgerAccount account;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "direction", nullable = false, updatable = false)
+    private LedgerDirection direction;
+
+    @Column(name = "amount", nullable = false, updatable = false)
+    private BigDecimal amount;
+
+    @Column(name = "posted_at", nullable = false, updatable = false)
+    private LocalDateTime postedAt;
+
+    private LedgerEntry(LedgerPosting posting, LedgerAccount account, LedgerDirection direction, LocalDateTime postedAt) {
+        this.journalId = posting.getJournalId();
+        this.orderId = posting.getOrderId();
+        this.paymentId = posting.getPaymentId();
+        this.type = posting.getType();
+        this.account = account;
+        this.direction = direction;
+        this.amount = posting.getAmount();
+        this.postedAt = postedAt;
+    }
+
+    // 거래를 차변/대변 두 항목으로 나눔
+    public static List<LedgerEntry> of(LedgerPosting posting, LocalDateTime postedAt) {
+        return List.of(
+                new LedgerEntry(posting, posting.getType().getDebitAccount(), LedgerDirection.DEBIT, postedAt),
+                new LedgerEntry(posting, posting.getType().getCreditAccount(), LedgerDirection.CREDIT, postedAt));
+    }
+}
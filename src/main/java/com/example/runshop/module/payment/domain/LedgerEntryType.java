@@ -0,0 +1,18 @@
+package com.example.runshop.module.payment.domain;
+
+import lombok.Getter;
+
+// 원장 거래 종류 - 종류마다 차변/대변 계정이 정해져 있어 한 거래의 차변 합계와 대변 합계가 항상 같음
+@Getter
+public enum LedgerEntryType {
+    CAPTURE(LedgerAccount.PROVIDER_RECEIVABLE, LedgerAccount.ORDER_REVENUE), // 결제 승인 (부분 승인 포함)
+    REFUND(LedgerAccount.ORDER_REVENUE, LedgerAccount.PROVIDER_RECEIVABLE); // 환불 (부분 환불 포함)
+
+    private final LedgerAccount debitAccount;
+    private final LedgerAccount creditAccount;
+
+    LedgerEntryType(LedgerAccount debitAccount, LedgerAccount creditAccount) {
+        this.debitAccount = debitAccount;
+        this.creditAccount = creditAccount;
+    }
+}
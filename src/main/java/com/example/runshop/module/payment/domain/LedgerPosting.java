@@ -0,0 +1,66 @@
+package com.example.runshop.module.payment.domain;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+// 원장에 반영할 거래 (결제 기록과 같은 트랜잭션으로 쌓이고, PaymentLedgerPoster 가 배치로 원장에 반영한 뒤 삭제)
+@Entity
+@Getter
+@NoArgsConstructor
+@Table(name = "payment_ledger_queue", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_payment_ledger_queue_journal_id", columnNames = "journal_id")
+})
+public class LedgerPosting {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    // 원장에서 한 거래의 차변/대변 항목을 묶는 식별자
+    @Column(name = "journal_id", nullable = false, length = 36)
+    private String journalId;
+
+    @Column(name = "order_id", nullable = false)
+    private Long orderId;
+
+    @Column(name = "payment_id")
+    private Long paymentId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "entry_type", nullable = false)
+    private LedgerEntryType type;
+
+    @Column(name = "amount", nullable = false)
+    private BigDecimal amount;
+
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+    }
+
+    private LedgerPosting(Long orderId, Long paymentId, LedgerEntryType type, BigDecimal amount) {
+        if (amount == null || amount.signum() <= 0) {
+            throw new IllegalArgumentException("원장 금액은 0보다 커야 합니다.");
+        }
+        this.journalId = UUID.randomUUID().toString();
+        this.orderId = orderId;
+        this.paymentId = paymentId;
+        this.type = type;
+        this.amount = amount;
+    }
+
+    public static LedgerPosting capture(Long orderId, Long paymentId, BigDecimal amount) {
+        return new LedgerPosting(orderId, paymentId, LedgerEntryType.CAPTURE, amount);
+    }
+
+    public static LedgerPosting refund(Long orderId, Long paymentId, BigDecimal amount) {
+        return new LedgerPosting(orderId, paymentId, LedgerEntryType.REFUND, amount);
+    }
+}
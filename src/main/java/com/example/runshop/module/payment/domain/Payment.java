@@ -15,6 +15,8 @@ import static jakarta.persistence.EnumType.STRING;
 @Table(name = "payment")
 @NoArgsConstructor
 public class Payment {
+    private static final int FIRST_ATTEMPT = 1;
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
@@ -57,6 +59,12 @@ public class Payment {
         this.status = PaymentStatus.PENDING;
     }
 
+    // 결제사 멱등 키 (주문 ID + 결제 시도 번호). 주문당 결제 시도는 한 번(거절되면 주문이 취소됨)이므로
+    // 아웃박스 재전달이나 재시도 큐에서 다시 호출해도 같은 키가 되어 결제사가 이중 결제하지 않음
+    public static String gatewayKey(Long orderId) {
+        return "order-" + orderId + "-" + FIRST_ATTEMPT;
+    }
+
     // 정적 팩토리 메서드
     public static Payment create(Order order, PaymentAmount amount, PaymentMethod method) {
         return new Payment(order, amount, method);
@@ -0,0 +1,57 @@
+package com.example.runshop.module.payment.domain;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+// 최대 재시도 횟수까지 확정 결과를 받지 못하고 결제 결과 조회도 실패한 결제. 결제사 정산 내역과 대조해 수동으로 확인
+@Entity
+@Getter
+@NoArgsConstructor
+@Table(name = "payment_dead_letter", indexes = {
+        @Index(name = "idx_payment_dead_letter_order_id", columnList = "order_id")
+})
+public class PaymentDeadLetter {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "order_id", nullable = false)
+    private Long orderId;
+
+    @Column(name = "amount", nullable = false)
+    private BigDecimal amount;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "method", nullable = false)
+    private PaymentMethod method;
+
+    @Column(name = "attempts", nullable = false)
+    private int attempts;
+
+    @Column(name = "last_error", length = 500)
+    private String lastError;
+
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+    }
+
+    private PaymentDeadLetter(Long orderId, BigDecimal amount, PaymentMethod method, int attempts, String lastError) {
+        this.orderId = orderId;
+        this.amount = amount;
+        this.method = method;
+        this.attempts = attempts;
+        this.lastError = lastError;
+    }
+
+    public static PaymentDeadLetter from(PaymentRetry retry, int attempts, String lastError) {
+        return new PaymentDeadLetter(retry.getOrderId(), retry.getAmount(), retry.getMethod(), attempts, lastError);
+    }
+}
@@ -0,0 +1,66 @@
+package com.example.runshop.module.payment.domain;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+// 결제사로부터 확정 결과를 받지 못해 다시 시도할 결제 (주문당 하나)
+// next_attempt_at 이 지나야 선점 가능 - 선점 시 리스 만료 시각으로, 실패 시 백오프 후 재시도 시각으로 미뤄짐
+@Entity
+@Getter
+@NoArgsConstructor
+@Table(name = "payment_retry", indexes = {
+        @Index(name = "idx_payment_retry_next_attempt_at", columnList = "next_attempt_at")
+}, uniqueConstraints = {
+        @UniqueConstraint(name = "uk_payment_retry_order_id", columnNames = "order_id")
+})
+public class PaymentRetry {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "order_id", nullable = false)
+    private Long orderId;
+
+    @Column(name = "amount", nullable = false)
+    private BigDecimal amount;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "method", nullable = false)
+    private PaymentMethod method;
+
+    // 지금까지 결제사를 호출한 횟수 (최초 시도 포함)
+    @Column(name = "attempts", nullable = false)
+    private int attempts;
+
+    @Column(name = "next_attempt_at", nullable = false)
+    private LocalDateTime nextAttemptAt;
+
+    @Column(name = "last_error", length = 500)
+    private String lastError;
+
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+    }
+
+    private PaymentRetry(Long orderId, BigDecimal amount, PaymentMethod method, int attempts, LocalDateTime nextAttemptAt, String lastError) {
+        this.orderId = orderId;
+        this.amount = amount;
+        this.method = method;
+        this.attempts = attempts;
+        this.nextAttemptAt = nextAttemptAt;
+        this.lastError = lastError;
+    }
+
+    // 최초 시도가 실패한 결제를 재시도 큐에 등록
+    public static PaymentRetry firstFailure(Long orderId, BigDecimal amount, PaymentMethod method, LocalDateTime nextAttemptAt, String lastError) {
+        return new PaymentRetry(orderId, amount, method, 1, nextAttemptAt, lastError);
+    }
+}
@@ -3,5 +3,6 @@ package com.example.runshop.module.payment.domain;
 public enum PaymentStatus {
     PENDING,
     SUCCESS,
-    FAILURE
+    FAILURE,
+    REFUNDED // 결제 후 주문이 유지되지 못해 환불 (만료/취소된 주문에 늦게 도착한 결제 등)
 }
@@ -0,0 +1,128 @@
+package com.example.runshop.module.payment.intrastructure.gateway.external;
+
+import java.util.function.LongSupplier;
+
+/**
+ * 최근 window-size 건의 호출 결과로 판단하는 서킷 브레이커.
+ * CLOSED: 실패율이 임계치를 넘으면 OPEN. OPEN: open-duration 동안 호출 없이 바로 실패.
+ * HALF_OPEN: half-open-calls 건만 시험 호출해 모두 성공하면 CLOSED, 하나라도 실패하면 다시 OPEN.
+ * 상태가 바뀔 때마다 세대를 올리고 호출은 허가받은 세대로 결과를 보고하므로,
+ * 이전 상태에서 시작해 늦게 끝난 호출(예: CLOSED 에서 시작해 HALF_OPEN 중에 끝난 호출)은 시험 결과로 세지 않습니다.
+ */
+class CircuitBreaker {
+
+    enum State { CLOSED, OPEN, HALF_OPEN }
+
+    // 호출을 허가하지 않을 때 tryAcquirePermission 이 돌려주는 값
+    static final long NOT_PERMITTED = -1;
+
+    private final int minimumCalls;
+    private final double failureRateThreshold;
+    private final long openNanos;
+    private final int halfOpenCalls;
+    private final LongSupplier nanoClock;
+
+    // 최근 호출 결과 링 버퍼 (true = 실패)
+    private final boolean[] outcomes;
+    private int next;
+    private int recorded;
+    private int failures;
+
+    private State state = State.CLOSED;
+    private long generation;
+    private long openedAt;
+    private int halfOpenPermits;
+    private int halfOpenSuccesses;
+
+    CircuitBreaker(int windowSize, int minimumCalls, double failureRateThreshold, long openNanos, int halfOpenCalls, LongSupplier nanoClock) {
+        this.outcomes = new boolean[windowSize];
+        this.minimumCalls = minimumCalls;
+        this.failureRateThreshold = failureRateThreshold;
+        this.openNanos = openNanos;
+        this.halfOpenCalls = halfOpenCalls;
+        this.nanoClock = nanoClock;
+    }
+
+    // 호출해도 되면 현재 세대를, 아니면 NOT_PERMITTED 를 돌려줌. HALF_OPEN 에서는 남은 시험 호출 수만큼만 허용
+    synchronized long tryAcquirePermission() {
+        if (state == State.OPEN) {
+            if (nanoClock.getAsLong() - openedAt < openNanos) {
+                return NOT_PERMITTED;
+            }
+            transitionTo(State.HALF_OPEN);
+            halfOpenPermits = halfOpenCalls;
+            halfOpenSuccesses = 0;
+        }
+        if (state == State.HALF_OPEN) {
+            if (halfOpenPermits == 0) {
+                return NOT_PERMITTED;
+            }
+            halfOpenPermits--;
+        }
+        return generation;
+    }
+
+    // permission 은 호출 전에 tryAcquirePermission 으로 받은 세대
+    synchronized void onSuccess(long permission) {
+        if (permission != generation) {
+            return;
+        }
+        if (state == State.HALF_OPEN) {
+            if (++halfOpenSuccesses >= halfOpenCalls) {
+                close();
+            }
+            return;
+        }
+        record(false);
+    }
+
+    synchronized void onFailure(long permission) {
+        if (permission != generation) {
+            return;
+        }
+        if (state == State.HALF_OPEN) {
+            open();
+            return;
+        }
+        record(true);
+        if (state == State.CLOSED && recorded >= minimumCalls && failures * 100.0 / recorded >= failureRateThreshold) {
+            open();
+        }
+    }
+
+    synchronized State state() {
+        return state;
+    }
+
+    private void record(boolean failure) {
+        if (recorded == outcomes.length) {
+            if (outcomes[next]) {
+                failures--;
+            }
+        } else {
+            recorded++;
+        }
+        outcomes[next] = failure;
+        if (failure) {
+            failures++;
+        }
+        next = (next + 1) % outcomes.length;
+    }
+
+    private void open() {
+        transitionTo(State.OPEN);
+        openedAt = nanoClock.getAsLong();
+    }
+
+    private void close() {
+        transitionTo(State.CLOSED);
+        next = 0;
+        recorded = 0;
+        failures = 0;
+    }
+
+    private void transitionTo(State newState) {
+        state = newState;
+        generation++;
+    }
+}
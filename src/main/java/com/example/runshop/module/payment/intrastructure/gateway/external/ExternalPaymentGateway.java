@@ -1,23 +1,47 @@
 package com.example.runshop.module.payment.intrastructure.gateway.external;
 
 import com.example.runshop.module.payment.domain.PaymentMethod;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Component;
 
 import java.math.BigDecimal;
+import java.util.concurrent.CompletableFuture;
 
-@Component
-public class ExternalPaymentGateway implements PaymentGateway {
+// 실제 결제사 연동. 타임아웃/동시 호출 제한/서킷 브레이커는 ResilientPaymentGateway 가 감쌈
+@Slf4j
+@Component(ResilientPaymentGateway.DELEGATE)
+@ConditionalOnProperty(name = "payment.gateway.type", havingValue = "external", matchIfMissing = true)
+public class ExternalPaymentGateway implements PaymentGatewayClient {
 
     @Override
-    public boolean process(PaymentMethod paymentMethod, BigDecimal amount) {
+    public CompletableFuture<PaymentResult> processAsync(String paymentKey, PaymentMethod paymentMethod, BigDecimal amount) {
         // 외부 결제 API 호출 로직 (예: Toss, Stripe 등)
-        // 여기서는 테스트 목적으로 결제를 항상 성공 처리
+        // 실제 연동 시 비동기 HTTP 클라이언트(HttpClient.sendAsync, WebClient 등)의 응답을 PaymentResult 로 변환
+        // paymentKey 는 결제사 멱등 키(Idempotency-Key 헤더)로 전달해 재시도가 이중 결제가 되지 않도록 함
         System.out.println("Processing payment via external gateway...");
+        System.out.println("Payment Key: " + paymentKey);
         System.out.println("Payment Method: " + paymentMethod);
         System.out.println("Amount: " + amount);
 
-        // 실제로 외부 API와 통신을 할 수 있는 코드가 들어가야 합니다.
         // 여기서는 무조건 결제가 성공한다고 가정
-        return true;
+        return CompletableFuture.completedFuture(PaymentResult.approved());
     }
-}
\ No newline at end of file
+
+    @Override
+    public CompletableFuture<PaymentResult> refundAsync(String paymentKey, BigDecimal amount) {
+        // 결제 취소 API 호출 로직 (결제 키로 취소하므로 다시 요청해도 한 번만 환불됨)
+        log.debug("외부 결제사에 환불을 요청합니다. 금액: {}", amount);
+
+        return CompletableFuture.completedFuture(PaymentResult.approved());
+    }
+
+    @Override
+    public CompletableFuture<PaymentResult> inquireAsync(String paymentKey) {
+        // 결제 조회 API 호출 로직 (결제 키로 조회, 내역이 없으면 결제되지 않은 것으로 보고 거절로 변환)
+        // 조회 API 를 연동하기 전까지는 결과를 알 수 없다고 응답 - 승인으로 가정하면 결제되지 않은 주문이 결제 완료가 되므로,
+        // 재시도는 데드 레터로 옮겨져 수동 대사로 처리됨
+        log.warn("결제 조회 API 가 연동되지 않아 결제 결과를 확인하지 못했습니다.");
+        return CompletableFuture.completedFuture(PaymentResult.error("결제 조회 API 가 연동되지 않았습니다."));
+    }
+}
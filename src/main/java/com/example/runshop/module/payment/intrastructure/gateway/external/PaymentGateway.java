@@ -6,5 +6,15 @@ import com.example.runshop.module.payment.domain.PaymentMethod;
 import java.math.BigDecimal;
 
 public interface PaymentGateway {
-    boolean process(PaymentMethod paymentMethod, BigDecimal amount);
+
+    // 결제사 응답을 받거나 기한(timeout-ms)이 지날 때까지 호출 스레드를 점유하므로 결제 실행기(paymentExecutor) 스레드에서 호출
+    // paymentKey 는 결제사 멱등 키 - 같은 키로 다시 요청하면 결제사는 새로 결제하지 않고 처음 결과를 돌려줌
+    PaymentResult process(String paymentKey, PaymentMethod paymentMethod, BigDecimal amount);
+
+    // paymentKey 로 승인된 결제를 환불 (APPROVED = 환불 완료). 같은 키로 다시 요청해도 한 번만 환불됨
+    PaymentResult refund(String paymentKey, BigDecimal amount);
+
+    // paymentKey 로 요청된 결제의 결과 조회. APPROVED/DECLINED(결제 요청이 결제사에 도달하지 않은 경우 포함)는 확정 결과이고,
+    // 나머지는 조회에 실패해 결제 여부를 알 수 없는 경우
+    PaymentResult inquire(String paymentKey);
 }
@@ -0,0 +1,18 @@
+package com.example.runshop.module.payment.intrastructure.gateway.external;
+
+import com.example.runshop.module.payment.domain.PaymentMethod;
+
+import java.math.BigDecimal;
+import java.util.concurrent.CompletableFuture;
+
+// 결제사 연동 (external / simulator). 응답을 기다리는 동안 스레드를 점유하지 않도록 결과를 비동기로 돌려주며,
+// ResilientPaymentGateway 가 기한/동시 호출 제한/서킷 브레이커를 씌워 PaymentGateway 로 노출
+public interface PaymentGatewayClient {
+
+    // paymentKey 를 결제사 멱등 키(Idempotency-Key 헤더 등)로 전달 - 같은 키의 재요청은 결제사가 처음 결과로 응답
+    CompletableFuture<PaymentResult> processAsync(String paymentKey, PaymentMethod paymentMethod, BigDecimal amount);
+
+    CompletableFuture<PaymentResult> refundAsync(String paymentKey, BigDecimal amount);
+
+    CompletableFuture<PaymentResult> inquireAsync(String paymentKey);
+}
@@ -0,0 +1,42 @@
+package com.example.runshop.module.payment.intrastructure.gateway.external;
+
+// 결제 게이트웨이 호출 결과. APPROVED/DECLINED 는 결제사가 내린 확정 결과이고, 나머지는 결과를 알 수 없어 다시 시도해야 하는 경우
+public record PaymentResult(Status status, String reason) {
+
+    public enum Status {
+        APPROVED, // 승인
+        DECLINED, // 거절 (잔액 부족, 카드 정지 등)
+        TIMEOUT,  // 기한 안에 응답 없음
+        REJECTED, // 호출하지 않음 (동시 호출 한도 초과 또는 서킷 열림)
+        ERROR     // 통신 오류 등 결제사 장애
+    }
+
+    public static PaymentResult approved() {
+        return new PaymentResult(Status.APPROVED, null);
+    }
+
+    public static PaymentResult declined(String reason) {
+        return new PaymentResult(Status.DECLINED, reason);
+    }
+
+    public static PaymentResult timeout() {
+        return new PaymentResult(Status.TIMEOUT, "결제사 응답 시간이 초과되었습니다.");
+    }
+
+    public static PaymentResult rejected(String reason) {
+        return new PaymentResult(Status.REJECTED, reason);
+    }
+
+    public static PaymentResult error(String reason) {
+        return new PaymentResult(Status.ERROR, reason);
+    }
+
+    public boolean isApproved() {
+        return status == Status.APPROVED;
+    }
+
+    // 결제사가 승인/거절을 확정했는지 (아니면 결제 결과를 기록하지 않고 재시도)
+    public boolean isDefinitive() {
+        return status == Status.APPROVED || status == Status.DECLINED;
+    }
+}
@@ -0,0 +1,140 @@
+package com.example.runshop.module.payment.intrastructure.gateway.external;
+
+import com.example.runshop.module.payment.domain.PaymentMethod;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * 결제사 호출 보호막. 실제 게이트웨이(external / simulator)를 감싸
+ * 호출마다 기한(timeout-ms)을 두고, 동시 호출 수를 max-concurrent-calls 로 제한(bulkhead)하며,
+ * 결제사 장애(타임아웃/오류) 비율이 높아지면 서킷을 열어 한동안 호출 없이 바로 실패시킵니다.
+ * 결제사가 느려져도 결제 처리 스레드가 응답을 기다리며 쌓이지 않도록 하기 위함입니다.
+ * 같은 결제 키의 호출이 이 노드에서 진행 중이면 결제사를 다시 호출하지 않고 진행 중인 호출의 결과를 함께 기다립니다.
+ */
+@Slf4j
+@Component
+public class ResilientPaymentGateway implements PaymentGateway {
+
+    static final String DELEGATE = "paymentGatewayDelegate";
+    private static final String CHARGE = "charge";
+    private static final String REFUND = "refund";
+    private static final String INQUIRE = "inquire";
+
+    private final PaymentGatewayClient delegate;
+    private final MeterRegistry meterRegistry;
+    private final Duration timeout;
+    private final Semaphore bulkhead;
+    private final CircuitBreaker circuitBreaker;
+    private final ConcurrentMap<String, CompletableFuture<PaymentResult>> inFlight = new ConcurrentHashMap<>();
+
+    public ResilientPaymentGateway(@Qualifier(DELEGATE) PaymentGatewayClient delegate,
+                                   MeterRegistry meterRegistry,
+                                   @Value("${payment.gateway.timeout-ms:2000}") long timeoutMillis,
+                                   @Value("${payment.gateway.max-concurrent-calls:100}") int maxConcurrentCalls,
+                                   @Value("${payment.gateway.circuit-breaker.window-size:50}") int windowSize,
+                                   @Value("${payment.gateway.circuit-breaker.minimum-calls:20}") int minimumCalls,
+                                   @Value("${payment.gateway.circuit-breaker.failure-rate-threshold:50}") double failureRateThreshold,
+                                   @Value("${payment.gateway.circuit-breaker.open-seconds:10}") long openSeconds,
+                                   @Value("${payment.gateway.circuit-breaker.half-open-calls:5}") int halfOpenCalls) {
+        this.delegate = delegate;
+        this.meterRegistry = meterRegistry;
+        this.timeout = Duration.ofMillis(timeoutMillis);
+        this.bulkhead = new Semaphore(maxConcurrentCalls);
+        this.circuitBreaker = new CircuitBreaker(windowSize, minimumCalls, failureRateThreshold,
+                TimeUnit.SECONDS.toNanos(openSeconds), halfOpenCalls, System::nanoTime);
+        meterRegistry.gauge("payment.gateway.in.flight", bulkhead, permits -> maxConcurrentCalls - permits.availablePermits());
+        meterRegistry.gauge("payment.gateway.circuit.state", circuitBreaker, breaker -> breaker.state().ordinal());
+    }
+
+    // 기한을 건 호출이므로 늦어도 timeout-ms 뒤에는 결과(TIMEOUT 포함)를 돌려줌
+    @Override
+    public PaymentResult process(String paymentKey, PaymentMethod paymentMethod, BigDecimal amount) {
+        return processAsync(paymentKey, paymentMethod, amount).join();
+    }
+
+    @Override
+    public PaymentResult refund(String paymentKey, BigDecimal amount) {
+        return shared(REFUND + ":" + paymentKey, () -> invoke(REFUND, () -> delegate.refundAsync(paymentKey, amount))).join();
+    }
+
+    @Override
+    public PaymentResult inquire(String paymentKey) {
+        return shared(INQUIRE + ":" + paymentKey, () -> invoke(INQUIRE, () -> delegate.inquireAsync(paymentKey))).join();
+    }
+
+    CompletableFuture<PaymentResult> processAsync(String paymentKey, PaymentMethod paymentMethod, BigDecimal amount) {
+        return shared(paymentKey, () -> invoke(CHARGE, () -> delegate.processAsync(paymentKey, paymentMethod, amount)));
+    }
+
+    private CompletableFuture<PaymentResult> shared(String key, Supplier<CompletableFuture<PaymentResult>> invocation) {
+        CompletableFuture<PaymentResult> call = inFlight.computeIfAbsent(key, ignored -> invocation.get());
+        call.whenComplete((result, error) -> inFlight.remove(key, call));
+        return call;
+    }
+
+    private CompletableFuture<PaymentResult> invoke(String operation, Supplier<CompletableFuture<PaymentResult>> request) {
+        if (!bulkhead.tryAcquire()) {
+            return completed(operation, PaymentResult.rejected("동시 결제 요청 한도를 초과했습니다."));
+        }
+        long permission = circuitBreaker.tryAcquirePermission();
+        if (permission == CircuitBreaker.NOT_PERMITTED) {
+            bulkhead.release();
+            return completed(operation, PaymentResult.rejected("결제사 장애로 결제 요청을 잠시 중단했습니다."));
+        }
+
+        CompletableFuture<PaymentResult> call;
+        try {
+            call = request.get();
+        } catch (RuntimeException e) {
+            call = CompletableFuture.failedFuture(e);
+        }
+        return call.orTimeout(timeout.toMillis(), TimeUnit.MILLISECONDS)
+                .handle((result, error) -> {
+                    PaymentResult outcome = error == null ? result : toResult(error);
+                    bulkhead.release();
+                    // 거절은 결제사가 정상 응답한 것이므로 장애로 세지 않음
+                    if (outcome.isDefinitive()) {
+                        circuitBreaker.onSuccess(permission);
+                    } else {
+                        circuitBreaker.onFailure(permission);
+                    }
+                    return record(operation, outcome);
+                });
+    }
+
+    CircuitBreaker.State circuitState() {
+        return circuitBreaker.state();
+    }
+
+    private PaymentResult toResult(Throwable error) {
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        if (cause instanceof TimeoutException) {
+            return PaymentResult.timeout();
+        }
+        log.warn("결제사 호출에 실패했습니다: {}", cause.getMessage());
+        return PaymentResult.error(cause.getMessage());
+    }
+
+    private CompletableFuture<PaymentResult> completed(String operation, PaymentResult result) {
+        return CompletableFuture.completedFuture(record(operation, result));
+    }
+
+    private PaymentResult record(String operation, PaymentResult result) {
+        meterRegistry.counter("payment.gateway.calls", "operation", operation, "result", result.status().name()).increment();
+        return result;
+    }
+}
@@ -0,0 +1,121 @@
+package com.example.runshop.module.payment.intrastructure.gateway.external;
+
+import com.example.runshop.module.payment.domain.PaymentMethod;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 부하 테스트용 결제사 시뮬레이터 (payment.gateway.type=simulator).
+ * 지연 시간(기본 지연 + 균등 분포 흔들림, 일정 비율의 느린 응답)과 거절/오류 비율을 설정으로 주입합니다.
+ * 응답은 스케줄러가 지연 시간 뒤에 완료하므로 대기 중인 요청이 스레드를 점유하지 않습니다.
+ * 실제 결제사처럼 멱등 키별 결과를 일정 시간 보관해, 같은 키의 재요청에는 새로 결제하지 않고 처음 결과를 돌려줍니다
+ * (결제사 오류로 끝난 요청은 결제되지 않았으므로 보관하지 않음).
+ */
+@Slf4j
+@Component(ResilientPaymentGateway.DELEGATE)
+@ConditionalOnProperty(name = "payment.gateway.type", havingValue = "simulator")
+public class SimulatedPaymentGateway implements PaymentGatewayClient {
+
+    private static final Duration IDEMPOTENCY_RETENTION = Duration.ofHours(1);
+
+    private final long latencyMillis;
+    private final long latencyJitterMillis;
+    private final double slowRate;
+    private final long slowLatencyMillis;
+    private final double declineRate;
+    private final double errorRate;
+    private final ScheduledExecutorService scheduler;
+    private final Cache<String, CompletableFuture<PaymentResult>> results = Caffeine.newBuilder()
+            .expireAfterWrite(IDEMPOTENCY_RETENTION)
+            .build();
+
+    public SimulatedPaymentGateway(@Value("${payment.gateway.simulator.latency-ms:50}") long latencyMillis,
+                                   @Value("${payment.gateway.simulator.latency-jitter-ms:30}") long latencyJitterMillis,
+                                   @Value("${payment.gateway.simulator.slow-rate:0.01}") double slowRate,
+                                   @Value("${payment.gateway.simulator.slow-latency-ms:3000}") long slowLatencyMillis,
+                                   @Value("${payment.gateway.simulator.decline-rate:0.02}") double declineRate,
+                                   @Value("${payment.gateway.simulator.error-rate:0.0}") double errorRate) {
+        this.latencyMillis = latencyMillis;
+        this.latencyJitterMillis = latencyJitterMillis;
+        this.slowRate = slowRate;
+        this.slowLatencyMillis = slowLatencyMillis;
+        this.declineRate = declineRate;
+        this.errorRate = errorRate;
+        AtomicInteger sequence = new AtomicInteger();
+        this.scheduler = Executors.newScheduledThreadPool(2, runnable -> {
+            Thread thread = new Thread(runnable, "payment-simulator-" + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        log.info("결제사 시뮬레이터를 사용합니다. 지연: {}ms(+{}ms), 느린 응답: {} ({}ms), 거절: {}, 오류: {}",
+                latencyMillis, latencyJitterMillis, slowRate, slowLatencyMillis, declineRate, errorRate);
+    }
+
+    @PreDestroy
+    void stop() {
+        scheduler.shutdownNow();
+    }
+
+    @Override
+    public CompletableFuture<PaymentResult> processAsync(String paymentKey, PaymentMethod paymentMethod, BigDecimal amount) {
+        // 호출한 쪽이 기한(orTimeout)을 걸어도 보관한 결과가 바뀌지 않도록 사본을 돌려줌
+        return results.get(paymentKey, this::charge).copy();
+    }
+
+    // 같은 키로 승인된 결제가 있으면 환불 승인, 없으면 거절 (기본 지연 뒤 응답)
+    @Override
+    public CompletableFuture<PaymentResult> refundAsync(String paymentKey, BigDecimal amount) {
+        CompletableFuture<PaymentResult> charge = results.getIfPresent(paymentKey);
+        PaymentResult charged = charge == null ? null : charge.exceptionally(e -> null).getNow(null);
+
+        CompletableFuture<PaymentResult> result = new CompletableFuture<>();
+        scheduler.schedule(() -> result.complete(charged != null && charged.isApproved()
+                ? PaymentResult.approved()
+                : PaymentResult.declined("환불할 결제가 없습니다.")), latencyMillis, TimeUnit.MILLISECONDS);
+        return result;
+    }
+
+    // 같은 키의 결제 결과 (진행 중이면 완료될 때까지), 결제 요청이 도달하지 않았으면 거절
+    @Override
+    public CompletableFuture<PaymentResult> inquireAsync(String paymentKey) {
+        CompletableFuture<PaymentResult> charge = results.getIfPresent(paymentKey);
+        return charge != null
+                ? charge.copy()
+                : CompletableFuture.completedFuture(PaymentResult.declined("결제 내역이 없습니다."));
+    }
+
+    private CompletableFuture<PaymentResult> charge(String paymentKey) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long delay = random.nextDouble() < slowRate
+                ? slowLatencyMillis
+                : latencyMillis + (latencyJitterMillis > 0 ? random.nextLong(latencyJitterMillis + 1) : 0);
+        double outcome = random.nextDouble();
+
+        CompletableFuture<PaymentResult> result = new CompletableFuture<>();
+        scheduler.schedule(() -> {
+            if (outcome < errorRate) {
+                results.invalidate(paymentKey);
+                result.completeExceptionally(new IllegalStateException("시뮬레이터 결제사 오류"));
+            } else if (outcome < errorRate + declineRate) {
+                result.complete(PaymentResult.declined("시뮬레이터 결제 거절"));
+            } else {
+                result.complete(PaymentResult.approved());
+            }
+        }, delay, TimeUnit.MILLISECONDS);
+        return result;
+    }
+}
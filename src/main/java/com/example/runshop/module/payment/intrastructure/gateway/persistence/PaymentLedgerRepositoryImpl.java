@@ -0,0 +1,133 @@
+package com.example.runshop.module.payment.intrastructure.gateway.persistence;
+
+import com.example.runshop.module.payment.adapters.out.persistence.LedgerBalanceJpaRepository;
+import com.example.runshop.module.payment.adapters.out.persistence.LedgerPostingJpaRepository;
+import com.example.runshop.module.payment.application.port.out.PaymentLedgerRepository;
+import com.example.runshop.module.payment.domain.LedgerBalance;
+import com.example.runshop.module.payment.domain.LedgerEntry;
+import com.example.runshop.module.payment.domain.LedgerEntryType;
+import com.example.runshop.module.payment.domain.LedgerPosting;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+// 원장 항목과 잔액은 JDBC 배치로 기록 (IDENTITY 키 엔티티는 Hibernate 가 INSERT 를 배치로 묶지 못함)
+@Repository
+public class PaymentLedgerRepositoryImpl implements PaymentLedgerRepository {
+
+    private static final String INSERT_ENTRY_SQL =
+            "insert into payment_ledger_entry (journal_id, order_id, payment_id, entry_type, account, direction, amount, posted_at) " +
+            "values (?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String ADD_BALANCE_SQL =
+            "update payment_ledger_balance set captured_amount = captured_amount + ?, refunded_amount = refunded_amount + ?, " +
+            "balance = balance + ?, updated_at = ? where order_id = ?";
+    private static final String INSERT_BALANCE_SQL =
+            "insert into payment_ledger_balance (order_id, captured_amount, refunded_amount, balance, updated_at) values (?, ?, ?, ?, ?)";
+
+    private final LedgerPostingJpaRepository ledgerPostingJpaRepository;
+    private final LedgerBalanceJpaRepository ledgerBalanceJpaRepository;
+    private final JdbcTemplate jdbcTemplate;
+
+    public PaymentLedgerRepositoryImpl(LedgerPostingJpaRepository ledgerPostingJpaRepository,
+                                       LedgerBalanceJpaRepository ledgerBalanceJpaRepository,
+                                       JdbcTemplate jdbcTemplate) {
+        this.ledgerPostingJpaRepository = ledgerPostingJpaRepository;
+        this.ledgerBalanceJpaRepository = ledgerBalanceJpaRepository;
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void enqueue(LedgerPosting posting) {
+        ledgerPostingJpaRepository.save(posting);
+    }
+
+    @Override
+    public List<LedgerPosting> findPendingForUpdate(int limit) {
+        return ledgerPostingJpaRepository.findPendingForUpdate(PageRequest.of(0, limit));
+    }
+
+    @Override
+    public void post(List<LedgerPosting> postings) {
+        LocalDateTime now = LocalDateTime.now();
+        List<LedgerEntry> entries = new ArrayList<>(postings.size() * 2);
+        // 주문 ID 순으로 갱신해 여러 노드가 같은 잔액 행을 서로 반대 순서로 잠그지 않도록 함
+        Map<Long, LedgerBalance> deltas = new TreeMap<>();
+        for (LedgerPosting posting : postings) {
+            entries.addAll(LedgerEntry.of(posting, now));
+            deltas.merge(posting.getOrderId(), delta(posting, now), PaymentLedgerRepositoryImpl::sum);
+        }
+
+        jdbcTemplate.batchUpdate(INSERT_ENTRY_SQL, entries, entries.size(), (ps, entry) -> {
+            ps.setString(1, entry.getJournalId());
+            ps.setLong(2, entry.getOrderId());
+            ps.setObject(3, entry.getPaymentId());
+            ps.setString(4, entry.getType().name());
+            ps.setString(5, entry.getAccount().name());
+            ps.setString(6, entry.getDirection().name());
+            ps.setBigDecimal(7, entry.getAmount());
+            ps.setTimestamp(8, Timestamp.valueOf(entry.getPostedAt()));
+        });
+        applyBalances(new ArrayList<>(deltas.values()));
+        ledgerPostingJpaRepository.deleteByIds(postings.stream().map(LedgerPosting::getId).toList());
+    }
+
+    @Override
+    public List<LedgerBalance> findBalancesAfter(Long afterOrderId, int limit) {
+        return ledgerBalanceJpaRepository.findAfter(afterOrderId, PageRequest.of(0, limit));
+    }
+
+    // 기존 잔액 행에 증감을 더하고, 행이 없던 주문만 새로 만듦
+    // 다른 노드가 같은 주문의 첫 잔액 행을 동시에 만들면 기본 키 충돌로 트랜잭션이 롤백되고, 거래는 대기열에 남아 다음 주기에 반영됨
+    private void applyBalances(List<LedgerBalance> deltas) {
+        int[][] results = jdbcTemplate.batchUpdate(ADD_BALANCE_SQL, deltas, deltas.size(), (ps, delta) -> {
+            ps.setBigDecimal(1, delta.getCapturedAmount());
+            ps.setBigDecimal(2, delta.getRefundedAmount());
+            ps.setBigDecimal(3, delta.getBalance());
+            ps.setTimestamp(4, Timestamp.valueOf(delta.getUpdatedAt()));
+            ps.setLong(5, delta.getOrderId());
+        });
+        List<LedgerBalance> missing = new ArrayList<>();
+        int index = 0;
+        for (int[] batch : results) {
+            for (int count : batch) {
+                // SUCCESS_NO_INFO(-2) 는 드라이버가 행 수를 알려주지 않는 경우로, 반영된 것으로 간주
+                if (count == 0) {
+                    missing.add(deltas.get(index));
+                }
+                index++;
+            }
+        }
+        if (!missing.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_BALANCE_SQL, missing, missing.size(), (ps, balance) -> {
+                ps.setLong(1, balance.getOrderId());
+                ps.setBigDecimal(2, balance.getCapturedAmount());
+                ps.setBigDecimal(3, balance.getRefundedAmount());
+                ps.setBigDecimal(4, balance.getBalance());
+                ps.setTimestamp(5, Timestamp.valueOf(balance.getUpdatedAt()));
+            });
+        }
+    }
+
+    private static LedgerBalance delta(LedgerPosting posting, LocalDateTime now) {
+        boolean capture = posting.getType() == LedgerEntryType.CAPTURE;
+        return new LedgerBalance(posting.getOrderId(),
+                capture ? posting.getAmount() : BigDecimal.ZERO,
+                capture ? BigDecimal.ZERO : posting.getAmount(),
+                now);
+    }
+
+    private static LedgerBalance sum(LedgerBalance a, LedgerBalance b) {
+        return new LedgerBalance(a.getOrderId(),
+                a.getCapturedAmount().add(b.getCapturedAmount()),
+                a.getRefundedAmount().add(b.getRefundedAmount()),
+                b.getUpdatedAt());
+    }
+}
@@ -3,6 +3,7 @@ package com.example.runshop.module.payment.intrastructure.gateway.persistence;
 import com.example.runshop.module.payment.adapters.out.persistence.PaymentJpaRepository;
 import com.example.runshop.module.payment.application.port.out.PaymentRepository;
 import com.example.runshop.module.payment.domain.Payment;
+import com.example.runshop.module.payment.domain.PaymentStatus;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
@@ -25,4 +26,19 @@ public class PaymentRepositoryImpl implements PaymentRepository {
     public Optional<Payment> findById(Long id) {
         return paymentJpaRepository.findById(id);
     }
+
+    @Override
+    public boolean existsSuccessfulPayment(Long orderId) {
+        return paymentJpaRepository.existsByOrderIdAndStatus(orderId, PaymentStatus.SUCCESS);
+    }
+
+    @Override
+    public Optional<Payment> findSuccessfulPayment(Long orderId) {
+        return paymentJpaRepository.findFirstByOrderIdAndStatus(orderId, PaymentStatus.SUCCESS);
+    }
+
+    @Override
+    public boolean markRefunded(Long paymentId) {
+        return paymentJpaRepository.updateStatus(paymentId, PaymentStatus.SUCCESS, PaymentStatus.REFUNDED) == 1;
+    }
 }
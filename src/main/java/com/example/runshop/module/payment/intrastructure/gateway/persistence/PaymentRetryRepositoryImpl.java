@@ -0,0 +1,62 @@
+package com.example.runshop.module.payment.intrastructure.gateway.persistence;
+
+import com.example.runshop.module.payment.adapters.out.persistence.PaymentDeadLetterJpaRepository;
+import com.example.runshop.module.payment.adapters.out.persistence.PaymentRetryJpaRepository;
+import com.example.runshop.module.payment.application.port.out.PaymentRetryRepository;
+import com.example.runshop.module.payment.domain.PaymentDeadLetter;
+import com.example.runshop.module.payment.domain.PaymentRetry;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public class PaymentRetryRepositoryImpl implements PaymentRetryRepository {
+
+    private final PaymentRetryJpaRepository paymentRetryJpaRepository;
+    private final PaymentDeadLetterJpaRepository paymentDeadLetterJpaRepository;
+
+    public PaymentRetryRepositoryImpl(PaymentRetryJpaRepository paymentRetryJpaRepository,
+                                      PaymentDeadLetterJpaRepository paymentDeadLetterJpaRepository) {
+        this.paymentRetryJpaRepository = paymentRetryJpaRepository;
+        this.paymentDeadLetterJpaRepository = paymentDeadLetterJpaRepository;
+    }
+
+    @Override
+    public PaymentRetry save(PaymentRetry retry) {
+        return paymentRetryJpaRepository.save(retry);
+    }
+
+    @Override
+    public boolean existsByOrderId(Long orderId) {
+        return paymentRetryJpaRepository.existsByOrderId(orderId);
+    }
+
+    @Override
+    public List<PaymentRetry> findDueForUpdate(LocalDateTime now, int limit) {
+        return paymentRetryJpaRepository.findDueForUpdate(now, PageRequest.of(0, limit));
+    }
+
+    @Override
+    public void postpone(Collection<Long> ids, LocalDateTime nextAttemptAt) {
+        paymentRetryJpaRepository.updateNextAttemptAt(ids, nextAttemptAt);
+    }
+
+    @Override
+    public void reschedule(Long id, LocalDateTime nextAttemptAt, String lastError) {
+        paymentRetryJpaRepository.reschedule(id, nextAttemptAt, lastError);
+    }
+
+    @Override
+    public void deleteAll(Collection<Long> ids) {
+        paymentRetryJpaRepository.deleteByIds(ids);
+    }
+
+    @Override
+    public void moveToDeadLetter(PaymentRetry retry, int attempts, String lastError) {
+        paymentDeadLetterJpaRepository.save(PaymentDeadLetter.from(retry, attempts, lastError));
+        paymentRetryJpaRepository.deleteByIds(List.of(retry.getId()));
+    }
+}
@@ -0,0 +1,14 @@
+package com.example.runshop.repository;
+
+/**
+ * 캐시 키 버전 카운터 저장소.
+ * 모든 노드가 같은 버전을 보도록 Redis 에 두며, 테스트/부하 테스트처럼 Redis 없이 실행하는 환경에서는
+ * cache.version.store 설정(redis | memory)으로 인메모리 구현체를 선택합니다.
+ */
+public interface CacheVersionStore {
+
+    // 현재 버전 (한 번도 올린 적 없으면 0)
+    long get(String key);
+
+    void increment(String key);
+}
@@ -0,0 +1,25 @@
+package com.example.runshop.repository;
+
+import com.example.runshop.model.dto.idempotency.IdempotencyRecord;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Idempotency-Key 저장소. 키마다 처리 상태와 완료된 응답을 TTL 과 함께 보관합니다.
+ */
+public interface IdempotencyKeyStore {
+
+    // 키가 없을 때만 저장 (다른 요청이 먼저 선점했다면 false)
+    boolean putIfAbsent(String key, IdempotencyRecord record, Duration ttl);
+
+    Optional<IdempotencyRecord> get(String key);
+
+    void put(String key, IdempotencyRecord record, Duration ttl);
+
+    // 저장된 레코드가 expected 와 같을 때만 만료 시간을 ttl 로 연장 (이미 만료되었거나 다른 요청이 선점했다면 false)
+    boolean expire(String key, IdempotencyRecord expected, Duration ttl);
+
+    // 저장된 레코드가 expected 와 같을 때만 삭제 (다른 요청이 다시 선점한 키를 지우지 않도록)
+    void remove(String key, IdempotencyRecord expected);
+}
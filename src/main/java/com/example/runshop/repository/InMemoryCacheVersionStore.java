@@ -0,0 +1,27 @@
+package com.example.runshop.repository;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Repository;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Redis 없이 실행하는 테스트/로컬 환경용 캐시 버전 저장소 (단일 노드 전용)
+@Repository
+@ConditionalOnProperty(name = "cache.version.store", havingValue = "memory")
+public class InMemoryCacheVersionStore implements CacheVersionStore {
+
+    private final ConcurrentMap<String, AtomicLong> versions = new ConcurrentHashMap<>();
+
+    @Override
+    public long get(String key) {
+        AtomicLong version = versions.get(key);
+        return version != null ? version.get() : 0L;
+    }
+
+    @Override
+    public void increment(String key) {
+        versions.computeIfAbsent(key, k -> new AtomicLong()).incrementAndGet();
+    }
+}
@@ -0,0 +1,71 @@
+package com.example.runshop.repository;
+
+import com.example.runshop.model.dto.idempotency.IdempotencyRecord;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Repository;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+// 노드 로컬 Idempotency-Key 저장소 (idempotency.store=memory 이거나, Redis 장애 시 RedisIdempotencyKeyStore 의 대체 저장소)
+@Repository
+public class InMemoryIdempotencyKeyStore implements IdempotencyKeyStore {
+
+    private final ConcurrentMap<String, Entry> entries = new ConcurrentHashMap<>();
+
+    @Override
+    public boolean putIfAbsent(String key, IdempotencyRecord record, Duration ttl) {
+        Entry created = new Entry(record, expiresAt(ttl));
+        Entry current = entries.compute(key, (k, existing) -> existing == null || existing.isExpired() ? created : existing);
+        return current == created;
+    }
+
+    @Override
+    public Optional<IdempotencyRecord> get(String key) {
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            return Optional.empty();
+        }
+        if (entry.isExpired()) {
+            entries.remove(key, entry);
+            return Optional.empty();
+        }
+        return Optional.of(entry.record());
+    }
+
+    @Override
+    public void put(String key, IdempotencyRecord record, Duration ttl) {
+        entries.put(key, new Entry(record, expiresAt(ttl)));
+    }
+
+    @Override
+    public boolean expire(String key, IdempotencyRecord expected, Duration ttl) {
+        Entry renewed = new Entry(expected, expiresAt(ttl));
+        Entry current = entries.computeIfPresent(key,
+                (k, existing) -> !existing.isExpired() && existing.record().equals(expected) ? renewed : existing);
+        return current == renewed;
+    }
+
+    @Override
+    public void remove(String key, IdempotencyRecord expected) {
+        entries.computeIfPresent(key, (k, existing) -> existing.record().equals(expected) ? null : existing);
+    }
+
+    // 조회되지 않고 남은 만료 키 정리
+    @Scheduled(fixedDelayString = "${idempotency.local-sweep-interval-ms:60000}")
+    public void evictExpired() {
+        entries.values().removeIf(Entry::isExpired);
+    }
+
+    private long expiresAt(Duration ttl) {
+        return System.currentTimeMillis() + ttl.toMillis();
+    }
+
+    private record Entry(IdempotencyRecord record, long expiresAtMillis) {
+        boolean isExpired() {
+            return System.currentTimeMillis() >= expiresAtMillis;
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.example.runshop.repository;
+
+import org.springframework.stereotype.Repository;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+// 노드 로컬 처리율 제한 카운터 (rate-limit.store=memory 이거나, Redis 장애 시 RedisRateLimitStore 의 대체 저장소)
+@Repository
+public class InMemoryRateLimitStore implements RateLimitStore {
+
+    private final ConcurrentMap<String, Window> windows = new ConcurrentHashMap<>();
+
+    @Override
+    public boolean tryAcquire(String name, int limit, Duration window) {
+        long windowId = System.currentTimeMillis() / window.toMillis();
+        Window current = windows.compute(name, (k, existing) ->
+                existing == null || existing.id() != windowId ? new Window(windowId, 1) : new Window(windowId, existing.count() + 1));
+        return current.count() <= limit;
+    }
+
+    private record Window(long id, long count) {
+    }
+}
@@ -0,0 +1,88 @@
+package com.example.runshop.repository;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Repository;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicReference;
+
+// Redis 없이 실행하는 테스트/로컬 환경용 재고 카운터 (단일 노드 전용)
+@Repository
+@ConditionalOnProperty(name = "inventory.hot-stock.store", havingValue = "memory")
+public class InMemoryStockCounterStore implements StockCounterStore {
+
+    private final ConcurrentMap<Long, Long> counters = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Long, Long> pendingDeltas = new ConcurrentHashMap<>();
+    // 단일 노드이므로 만료 없이 해제 시까지 유지
+    private final AtomicReference<String> lockOwner = new AtomicReference<>();
+
+    @Override
+    public long tryDecrease(Long productId, int quantity) {
+        long[] result = {MISSING};
+        counters.computeIfPresent(productId, (id, current) -> {
+            if (current < quantity) {
+                result[0] = INSUFFICIENT;
+                return current;
+            }
+            result[0] = current - quantity;
+            return result[0];
+        });
+        return result[0];
+    }
+
+    @Override
+    public long increase(Long productId, int quantity) {
+        Long updated = counters.computeIfPresent(productId, (id, current) -> current + quantity);
+        return updated != null ? updated : MISSING;
+    }
+
+    @Override
+    public boolean initializeIfAbsent(Long productId, long stock) {
+        return counters.putIfAbsent(productId, stock) == null;
+    }
+
+    @Override
+    public Long get(Long productId) {
+        return counters.get(productId);
+    }
+
+    @Override
+    public void remove(Long productId) {
+        counters.remove(productId);
+    }
+
+    @Override
+    public void addPendingDelta(Long productId, long delta) {
+        pendingDeltas.merge(productId, delta, Long::sum);
+    }
+
+    @Override
+    public long getPendingDelta(Long productId) {
+        return pendingDeltas.getOrDefault(productId, 0L);
+    }
+
+    @Override
+    public Map<Long, Long> getPendingDeltas() {
+        return new HashMap<>(pendingDeltas);
+    }
+
+    @Override
+    public void removePendingDeltas(Map<Long, Long> applied) {
+        applied.forEach((productId, delta) ->
+                pendingDeltas.computeIfPresent(productId, (id, current) -> current - delta == 0 ? null : current - delta));
+    }
+
+    @Override
+    public boolean tryLock(String owner, Duration ttl) {
+        return lockOwner.compareAndSet(null, owner);
+    }
+
+    @Override
+    public void unlock(String owner) {
+        lockOwner.compareAndSet(owner, null);
+    }
+}
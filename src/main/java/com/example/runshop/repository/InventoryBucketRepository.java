@@ -0,0 +1,43 @@
+package com.example.runshop.repository;
+
+import com.example.runshop.model.entity.InventoryBucket;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface InventoryBucketRepository extends JpaRepository<InventoryBucket, Long> {
+
+    // 한 버킷에 재고가 충분할 때만 차감하는 조건부 UPDATE
+    @Modifying
+    @Query("update InventoryBucket b set b.stockQuantity.value = b.stockQuantity.value - :quantity " +
+            "where b.productId = :productId and b.bucketNo = :bucketNo and b.stockQuantity.value >= :quantity")
+    int decreaseStockIfAvailable(@Param("productId") Long productId,
+                                 @Param("bucketNo") int bucketNo,
+                                 @Param("quantity") int quantity);
+
+    @Modifying
+    @Query("update InventoryBucket b set b.stockQuantity.value = b.stockQuantity.value + :quantity " +
+            "where b.productId = :productId and b.bucketNo = :bucketNo")
+    int increaseStock(@Param("productId") Long productId,
+                      @Param("bucketNo") int bucketNo,
+                      @Param("quantity") int quantity);
+
+    @Query("select coalesce(sum(b.stockQuantity.value), 0) from InventoryBucket b where b.productId = :productId")
+    long sumStockByProductId(@Param("productId") Long productId);
+
+    // 한 버킷으로 부족한 대량 주문용 - 버킷 번호 순서로 모두 잠가 여러 버킷에서 나누어 차감
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select b from InventoryBucket b where b.productId = :productId order by b.bucketNo")
+    List<InventoryBucket> findAllByProductIdForUpdate(@Param("productId") Long productId);
+
+    @Modifying
+    @Query("delete from InventoryBucket b where b.productId = :productId")
+    int deleteByProductId(@Param("productId") Long productId);
+}
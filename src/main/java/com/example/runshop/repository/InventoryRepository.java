@@ -1,10 +1,47 @@
 package com.example.runshop.repository;
 
 import com.example.runshop.model.entity.Inventory;
+import com.example.runshop.model.enums.StockMode;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.List;
 import java.util.Optional;
 
 public interface InventoryRepository extends JpaRepository<Inventory, Long> {
     Optional<Inventory> findByProductId(Long productId);
+
+    boolean existsByProductId(Long productId);
+
+    // 재고가 충분할 때만 차감하는 조건부 UPDATE (엔티티를 읽지 않고 한 문장으로 처리)
+    // inventory 행에 재고를 두는 상품(StockMode.DATABASE)만 갱신하여, 다른 노드가 재고 모드를 바꾼 것을 아직 모르는 노드가 행을 직접 차감하지 않도록 함
+    // 반환값: 갱신된 행 수 (0 이면 재고 부족, 재고 없음 또는 다른 재고 모드)
+    @Modifying
+    @Query("update Inventory i set i.stockQuantity.value = i.stockQuantity.value - :quantity " +
+            "where i.product.id = :productId and i.stockQuantity.value >= :quantity " +
+            "and i.stockMode = com.example.runshop.model.enums.StockMode.DATABASE")
+    int decreaseStockIfAvailable(@Param("productId") Long productId, @Param("quantity") int quantity);
+
+    @Modifying
+    @Query("update Inventory i set i.stockQuantity.value = i.stockQuantity.value + :quantity " +
+            "where i.product.id = :productId and i.stockMode = com.example.runshop.model.enums.StockMode.DATABASE")
+    int increaseStock(@Param("productId") Long productId, @Param("quantity") int quantity);
+
+    @Query("select i.stockMode from Inventory i where i.product.id = :productId")
+    Optional<StockMode> findStockModeByProductId(@Param("productId") Long productId);
+
+    @Query("select i.product.id from Inventory i where i.stockMode = :stockMode")
+    List<Long> findProductIdsByStockMode(@Param("stockMode") StockMode stockMode);
+
+    // 해당 모드 상품의 (상품 ID, 버킷 수) 목록
+    @Query("select i.product.id, i.bucketCount from Inventory i where i.stockMode = :stockMode")
+    List<Object[]> findBucketCountsByStockMode(@Param("stockMode") StockMode stockMode);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select i from Inventory i where i.product.id = :productId")
+    Optional<Inventory> findByProductIdForUpdate(@Param("productId") Long productId);
 }
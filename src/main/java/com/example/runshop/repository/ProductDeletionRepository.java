@@ -0,0 +1,29 @@
+package com.example.runshop.repository;
+
+import com.example.runshop.model.entity.ProductDeletion;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface ProductDeletionRepository extends JpaRepository<ProductDeletion, Long> {
+
+    // 검색 색인 동기화용 - (deleted_at, id) 키셋 페이지
+    @Query("select d from ProductDeletion d where d.deletedAt > :deletedAt or (d.deletedAt = :deletedAt and d.id > :afterId) " +
+            "order by d.deletedAt, d.id")
+    List<ProductDeletion> findDeletedAfter(@Param("deletedAt") LocalDateTime deletedAt,
+                                           @Param("afterId") Long afterId,
+                                           Pageable pageable);
+
+    @Transactional
+    @Modifying
+    @Query("delete from ProductDeletion d where d.deletedAt < :before")
+    int deleteDeletedBefore(@Param("before") LocalDateTime before);
+}
@@ -1,7 +1,43 @@
 package com.example.runshop.repository;
 
+import com.example.runshop.model.dto.product.ProductSearchDocument;
 import com.example.runshop.model.entity.Product;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
 
 public interface ProductRepository extends JpaRepository<Product, Long> {
+
+    String SEARCH_DOCUMENT_FIELDS = "p.id, p.name.value, p.description.value, p.brand, p.category, p.price.value, p.enabled, p.updatedAt";
+
+    // 상품 목록 조회용 - 비활성 상품은 쿼리에서 제외
+    Page<Product> findAllByEnabledTrue(Pageable pageable);
+
+    // 주문 가격 계산용 - 상품과 재고를 한 번에 로드 (재고를 따로 읽으면 상품마다 쿼리가 추가됨)
+    @Query("select p from Product p left join fetch p.inventory where p.id in :ids")
+    List<Product> findAllWithInventoryByIdIn(@Param("ids") Collection<Long> ids);
+
+    // 검색 색인 재구축용 - 상품 ID 순 키셋 페이지
+    @Query("select new com.example.runshop.model.dto.product.ProductSearchDocument(" + SEARCH_DOCUMENT_FIELDS + ") " +
+            "from Product p where p.id > :afterId order by p.id")
+    List<ProductSearchDocument> findSearchDocumentsAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    // 검색 색인 동기화용 - (updated_at, id) 순 키셋 페이지
+    @Query("select new com.example.runshop.model.dto.product.ProductSearchDocument(" + SEARCH_DOCUMENT_FIELDS + ") " +
+            "from Product p where p.updatedAt > :updatedAt or (p.updatedAt = :updatedAt and p.id > :afterId) " +
+            "order by p.updatedAt, p.id")
+    List<ProductSearchDocument> findSearchDocumentsUpdatedAfter(@Param("updatedAt") LocalDateTime updatedAt,
+                                                                @Param("afterId") Long afterId,
+                                                                Pageable pageable);
+
+    @Query("select new com.example.runshop.model.dto.product.ProductSearchDocument(" + SEARCH_DOCUMENT_FIELDS + ") " +
+            "from Product p where p.id = :id")
+    Optional<ProductSearchDocument> findSearchDocument(@Param("id") Long id);
 }
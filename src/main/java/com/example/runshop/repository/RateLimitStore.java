@@ -0,0 +1,14 @@
+package com.example.runshop.repository;
+
+import java.time.Duration;
+
+/**
+ * 고정 구간(fixed window) 처리율 제한 카운터 저장소.
+ * 여러 노드가 같은 한도를 나누어 쓰도록 Redis 에 두며, Redis 없이 실행하는 환경에서는
+ * rate-limit.store 설정(redis | memory)으로 노드 로컬 구현체를 선택합니다.
+ */
+public interface RateLimitStore {
+
+    // 현재 구간에서 name 에 대한 호출 수를 하나 올리고, 한도 안이면 true
+    boolean tryAcquire(String name, int limit, Duration window);
+}
@@ -0,0 +1,27 @@
+package com.example.runshop.repository;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Repository;
+
+@Repository
+@ConditionalOnProperty(name = "cache.version.store", havingValue = "redis", matchIfMissing = true)
+public class RedisCacheVersionStore implements CacheVersionStore {
+
+    private final StringRedisTemplate redisTemplate;
+
+    public RedisCacheVersionStore(StringRedisTemplate redisTemplate) {
+        this.redisTemplate = redisTemplate;
+    }
+
+    @Override
+    public long get(String key) {
+        String version = redisTemplate.opsForValue().get(key);
+        return version != null ? Long.parseLong(version) : 0L;
+    }
+
+    @Override
+    public void increment(String key) {
+        redisTemplate.opsForValue().increment(key);
+    }
+}
@@ -0,0 +1,115 @@
+package com.example.runshop.repository;
+
+import com.example.runshop.model.dto.idempotency.IdempotencyRecord;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Repository;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+// 모든 노드가 공유하는 Redis Idempotency-Key 저장소 (SET NX PX 로 선점, 저장된 값이 같을 때만 연장/삭제)
+// Redis 에 접근할 수 없으면 노드 로컬 저장소로 대체하여 요청 처리는 계속함 (장애 중에는 노드 간 중복 차단이 보장되지 않음)
+@Slf4j
+@Primary
+@Repository
+@ConditionalOnProperty(name = "idempotency.store", havingValue = "redis", matchIfMissing = true)
+public class RedisIdempotencyKeyStore implements IdempotencyKeyStore {
+
+    private static final String KEY_PREFIX = "idempotency:";
+    // 처리 중 레코드에는 요청마다 다른 token 이 있으므로 직렬화한 값이 같으면 같은 요청이 남긴 표시
+    private static final RedisScript<Long> EXPIRE_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('get', KEYS[1]) == ARGV[1] then return redis.call('pexpire', KEYS[1], ARGV[2]) else return 0 end", Long.class);
+    private static final RedisScript<Long> REMOVE_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('get', KEYS[1]) == ARGV[1] then return redis.call('del', KEYS[1]) else return 0 end", Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final ObjectMapper objectMapper;
+    private final InMemoryIdempotencyKeyStore fallback;
+
+    public RedisIdempotencyKeyStore(StringRedisTemplate redisTemplate, ObjectMapper objectMapper, InMemoryIdempotencyKeyStore fallback) {
+        this.redisTemplate = redisTemplate;
+        this.objectMapper = objectMapper;
+        this.fallback = fallback;
+    }
+
+    @Override
+    public boolean putIfAbsent(String key, IdempotencyRecord record, Duration ttl) {
+        try {
+            return Boolean.TRUE.equals(redisTemplate.opsForValue().setIfAbsent(KEY_PREFIX + key, write(record), ttl));
+        } catch (DataAccessException e) {
+            logFallback(e);
+            return fallback.putIfAbsent(key, record, ttl);
+        }
+    }
+
+    @Override
+    public Optional<IdempotencyRecord> get(String key) {
+        try {
+            String value = redisTemplate.opsForValue().get(KEY_PREFIX + key);
+            return value != null ? Optional.of(read(value)) : fallback.get(key);
+        } catch (DataAccessException e) {
+            logFallback(e);
+            return fallback.get(key);
+        }
+    }
+
+    @Override
+    public void put(String key, IdempotencyRecord record, Duration ttl) {
+        try {
+            redisTemplate.opsForValue().set(KEY_PREFIX + key, write(record), ttl);
+        } catch (DataAccessException e) {
+            logFallback(e);
+            fallback.put(key, record, ttl);
+        }
+    }
+
+    @Override
+    public boolean expire(String key, IdempotencyRecord expected, Duration ttl) {
+        try {
+            Long renewed = redisTemplate.execute(EXPIRE_SCRIPT, List.of(KEY_PREFIX + key), write(expected), String.valueOf(ttl.toMillis()));
+            return (renewed != null && renewed > 0) || fallback.expire(key, expected, ttl);
+        } catch (DataAccessException e) {
+            logFallback(e);
+            return fallback.expire(key, expected, ttl);
+        }
+    }
+
+    @Override
+    public void remove(String key, IdempotencyRecord expected) {
+        fallback.remove(key, expected);
+        try {
+            redisTemplate.execute(REMOVE_SCRIPT, List.of(KEY_PREFIX + key), write(expected));
+        } catch (DataAccessException e) {
+            logFallback(e);
+        }
+    }
+
+    private void logFallback(DataAccessException e) {
+        log.warn("Redis 에 접근할 수 없어 로컬 Idempotency-Key 저장소를 사용합니다: {}", e.getMessage());
+    }
+
+    private String write(IdempotencyRecord record) {
+        try {
+            return objectMapper.writeValueAsString(record);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Idempotency 레코드를 직렬화할 수 없습니다.", e);
+        }
+    }
+
+    private IdempotencyRecord read(String value) {
+        try {
+            return objectMapper.readValue(value, IdempotencyRecord.class);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Idempotency 레코드를 역직렬화할 수 없습니다.", e);
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.example.runshop.repository;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.Duration;
+
+// 모든 노드가 공유하는 Redis 처리율 제한 카운터 (구간마다 키 하나를 INCR 하고, 구간이 지나면 만료)
+// Redis 에 접근할 수 없으면 노드 로컬 카운터로 대체 (장애 중에는 노드 수만큼 한도가 늘어남)
+@Slf4j
+@Primary
+@Repository
+@ConditionalOnProperty(name = "rate-limit.store", havingValue = "redis", matchIfMissing = true)
+public class RedisRateLimitStore implements RateLimitStore {
+
+    private static final String KEY_PREFIX = "rate-limit:";
+
+    private final StringRedisTemplate redisTemplate;
+    private final InMemoryRateLimitStore fallback;
+
+    public RedisRateLimitStore(StringRedisTemplate redisTemplate, InMemoryRateLimitStore fallback) {
+        this.redisTemplate = redisTemplate;
+        this.fallback = fallback;
+    }
+
+    @Override
+    public boolean tryAcquire(String name, int limit, Duration window) {
+        String key = KEY_PREFIX + name + ":" + System.currentTimeMillis() / window.toMillis();
+        try {
+            Long count = redisTemplate.opsForValue().increment(key);
+            if (count != null && count == 1) {
+                redisTemplate.expire(key, window.multipliedBy(2));
+            }
+            return count != null && count <= limit;
+        } catch (DataAccessException e) {
+            log.warn("Redis 에 접근할 수 없어 로컬 처리율 제한 카운터를 사용합니다: {}", e.getMessage());
+            return fallback.tryAcquire(name, limit, window);
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package com.example.runshop.repository;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Repository;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+@Repository
+@ConditionalOnProperty(name = "inventory.hot-stock.store", havingValue = "redis", matchIfMissing = true)
+public class RedisStockCounterStore implements StockCounterStore {
+
+    private static final String KEY_PREFIX = "inventory:stock:";
+    // 미반영 변경량 해시 (필드: 상품 ID, 값: 변경량 합계)
+    private static final String PENDING_KEY = "inventory:stock-pending";
+    private static final String LOCK_KEY = "inventory:stock-flush-lock";
+
+    // 조회-비교-차감을 Lua 스크립트 하나로 실행하여 Redis 안에서 원자적으로 처리
+    private static final RedisScript<Long> DECREASE_SCRIPT = new DefaultRedisScript<>(
+            "local current = redis.call('GET', KEYS[1]) " +
+            "if not current then return -2 end " +
+            "current = tonumber(current) " +
+            "local quantity = tonumber(ARGV[1]) " +
+            "if current < quantity then return -1 end " +
+            "return redis.call('DECRBY', KEYS[1], quantity)",
+            Long.class);
+
+    private static final RedisScript<Long> INCREASE_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('EXISTS', KEYS[1]) == 0 then return -2 end " +
+            "return redis.call('INCRBY', KEYS[1], tonumber(ARGV[1]))",
+            Long.class);
+
+    // 반영한 변경량을 빼고 0 이 된 필드를 지우는 것을 한 번에 처리 (ARGV: 상품 ID, 변경량 쌍)
+    private static final RedisScript<Long> REMOVE_PENDING_SCRIPT = new DefaultRedisScript<>(
+            "for i = 1, #ARGV, 2 do " +
+            "  if redis.call('HINCRBY', KEYS[1], ARGV[i], -tonumber(ARGV[i + 1])) == 0 then redis.call('HDEL', KEYS[1], ARGV[i]) end " +
+            "end " +
+            "return 1",
+            Long.class);
+
+    private static final RedisScript<Long> UNLOCK_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('get', KEYS[1]) == ARGV[1] then return redis.call('del', KEYS[1]) else return 0 end", Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+
+    public RedisStockCounterStore(StringRedisTemplate redisTemplate) {
+        this.redisTemplate = redisTemplate;
+    }
+
+    @Override
+    public long tryDecrease(Long productId, int quantity) {
+        Long result = redisTemplate.execute(DECREASE_SCRIPT, List.of(key(productId)), String.valueOf(quantity));
+        return result != null ? result : MISSING;
+    }
+
+    @Override
+    public long increase(Long productId, int quantity) {
+        Long result = redisTemplate.execute(INCREASE_SCRIPT, List.of(key(productId)), String.valueOf(quantity));
+        return result != null ? result : MISSING;
+    }
+
+    @Override
+    public boolean initializeIfAbsent(Long productId, long stock) {
+        return Boolean.TRUE.equals(redisTemplate.opsForValue().setIfAbsent(key(productId), String.valueOf(stock)));
+    }
+
+    @Override
+    public Long get(Long productId) {
+        String value = redisTemplate.opsForValue().get(key(productId));
+        return value != null ? Long.valueOf(value) : null;
+    }
+
+    @Override
+    public void remove(Long productId) {
+        redisTemplate.delete(key(productId));
+    }
+
+    @Override
+    public void addPendingDelta(Long productId, long delta) {
+        redisTemplate.opsForHash().increment(PENDING_KEY, productId.toString(), delta);
+    }
+
+    @Override
+    public long getPendingDelta(Long productId) {
+        Object value = redisTemplate.opsForHash().get(PENDING_KEY, productId.toString());
+        return value != null ? Long.parseLong(value.toString()) : 0L;
+    }
+
+    @Override
+    public Map<Long, Long> getPendingDeltas() {
+        Map<Long, Long> deltas = new HashMap<>();
+        redisTemplate.opsForHash().entries(PENDING_KEY).forEach((productId, delta) ->
+                deltas.put(Long.valueOf(productId.toString()), Long.valueOf(delta.toString())));
+        return deltas;
+    }
+
+    @Override
+    public void removePendingDeltas(Map<Long, Long> applied) {
+        if (applied.isEmpty()) {
+            return;
+        }
+        Object[] args = applied.entrySet().stream()
+                .flatMap(entry -> Stream.of(entry.getKey().toString(), entry.getValue().toString()))
+                .toArray();
+        redisTemplate.execute(REMOVE_PENDING_SCRIPT, List.of(PENDING_KEY), args);
+    }
+
+    @Override
+    public boolean tryLock(String owner, Duration ttl) {
+        return Boolean.TRUE.equals(redisTemplate.opsForValue().setIfAbsent(LOCK_KEY, owner, ttl));
+    }
+
+    @Override
+    public void unlock(String owner) {
+        redisTemplate.execute(UNLOCK_SCRIPT, List.of(LOCK_KEY), owner);
+    }
+
+    private String key(Long productId) {
+        return KEY_PREFIX + productId;
+    }
+}
@@ -0,0 +1,27 @@
+package com.example.runshop.repository;
+
+import com.example.runshop.model.entity.SchedulerLease;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+
+@Repository
+public interface SchedulerLeaseRepository extends JpaRepository<SchedulerLease, String> {
+
+    // 임대가 만료되었거나 이미 내가 가진 경우에만 가져감/연장 (조건부 UPDATE 한 문장이라 노드 간 경합에도 한 노드만 성공)
+    @Modifying
+    @Query("update SchedulerLease l set l.owner = :owner, l.leaseUntil = :leaseUntil " +
+            "where l.name = :name and (l.leaseUntil < :now or l.owner = :owner)")
+    int acquire(@Param("name") String name,
+                @Param("owner") String owner,
+                @Param("now") LocalDateTime now,
+                @Param("leaseUntil") LocalDateTime leaseUntil);
+
+    @Modifying
+    @Query("update SchedulerLease l set l.leaseUntil = :now where l.name = :name and l.owner = :owner")
+    int release(@Param("name") String name, @Param("owner") String owner, @Param("now") LocalDateTime now);
+}
@@ -0,0 +1,49 @@
+package com.example.runshop.repository;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * 인기 상품의 재고 카운터 저장소.
+ * 카운터와 함께 커밋되었지만 아직 DB 에 반영되지 않은 변경량(상품별 합계)도 보관하여 모든 노드가 같은 값을 보고 재동기화합니다.
+ * Redis 구현체와, 테스트/로컬 환경용 인메모리 구현체가 있으며
+ * inventory.hot-stock.store 설정(redis | memory)으로 선택합니다.
+ */
+public interface StockCounterStore {
+
+    // 재고가 부족해 차감하지 못한 경우
+    long INSUFFICIENT = -1L;
+    // 카운터가 존재하지 않는 경우 (캐시 유실 또는 미초기화) - DB 기준으로 재동기화 필요
+    long MISSING = -2L;
+
+    // 재고가 충분할 때만 원자적으로 차감하고 남은 재고를 반환 (실패 시 INSUFFICIENT / MISSING)
+    long tryDecrease(Long productId, int quantity);
+
+    // 원자적으로 증가시키고 증가 후 재고를 반환 (카운터가 없으면 MISSING)
+    long increase(Long productId, int quantity);
+
+    // 카운터가 없을 때만 초기값을 설정 (이미 있으면 false)
+    boolean initializeIfAbsent(Long productId, long stock);
+
+    // 현재 카운터 값 (없으면 null)
+    Long get(Long productId);
+
+    void remove(Long productId);
+
+    // 미반영 변경량에 더함
+    void addPendingDelta(Long productId, long delta);
+
+    // 상품의 미반영 변경량 (없으면 0)
+    long getPendingDelta(Long productId);
+
+    // 모든 상품의 미반영 변경량
+    Map<Long, Long> getPendingDeltas();
+
+    // DB 에 반영한 만큼을 미반영 변경량에서 원자적으로 빼고 0 이 된 상품은 지움 (그 사이 다른 노드가 더한 변경량은 남음)
+    void removePendingDeltas(Map<Long, Long> applied);
+
+    // 반영(flush)과 재동기화(reconcile)를 모든 노드에서 직렬화하는 잠금 (owner 가 같을 때만 해제)
+    boolean tryLock(String owner, Duration ttl);
+
+    void unlock(String owner);
+}
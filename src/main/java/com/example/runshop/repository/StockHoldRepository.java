@@ -0,0 +1,45 @@
+package com.example.runshop.repository;
+
+import com.example.runshop.model.entity.StockHold;
+import com.example.runshop.model.enums.StockHoldStatus;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface StockHoldRepository extends JpaRepository<StockHold, Long> {
+
+    // (status, expires_at) 인덱스를 타는 만료 홀드 조회
+    // lock.timeout = -2 는 SKIP LOCKED 로 변환되어 여러 노드가 서로 다른 홀드를 나누어 처리
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("select h from StockHold h where h.status = :status and h.expiresAt < :now order by h.expiresAt")
+    List<StockHold> findExpiredForUpdate(@Param("status") StockHoldStatus status,
+                                         @Param("now") LocalDateTime now,
+                                         Pageable pageable);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select h from StockHold h where h.orderId = :orderId and h.status in :statuses")
+    List<StockHold> findByOrderIdForUpdate(@Param("orderId") Long orderId,
+                                           @Param("statuses") Collection<StockHoldStatus> statuses);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select h from StockHold h where h.orderId in :orderIds and h.status in :statuses")
+    List<StockHold> findByOrderIdInForUpdate(@Param("orderIds") Collection<Long> orderIds,
+                                             @Param("statuses") Collection<StockHoldStatus> statuses);
+
+    @Modifying
+    @Query("update StockHold h set h.status = :status where h.id in :ids")
+    int updateStatus(@Param("ids") Collection<Long> ids, @Param("status") StockHoldStatus status);
+}
@@ -0,0 +1,65 @@
+package com.example.runshop.search;
+
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * 한글 음절을 자모로 분해합니다 (자동완성 키).
+ * 입력 중인 글자("나잌")도 완성된 글자("나이키")의 앞부분과 일치하도록 겹받침/겹모음은 자판 입력 순서대로 풀어 씁니다 (ㄺ → ㄹㄱ, ㅘ → ㅗㅏ).
+ */
+final class HangulJamo {
+
+    private static final char SYLLABLE_FIRST = '가';
+    private static final char SYLLABLE_LAST = '힣';
+    private static final int MEDIAL_COUNT = 21;
+    private static final int FINAL_COUNT = 28;
+
+    private static final String[] INITIALS = {
+            "ㄱ", "ㄲ", "ㄴ", "ㄷ", "ㄸ", "ㄹ", "ㅁ", "ㅂ", "ㅃ", "ㅅ", "ㅆ", "ㅇ", "ㅈ", "ㅉ", "ㅊ", "ㅋ", "ㅌ", "ㅍ", "ㅎ"};
+    private static final String[] MEDIALS = {
+            "ㅏ", "ㅐ", "ㅑ", "ㅒ", "ㅓ", "ㅔ", "ㅕ", "ㅖ", "ㅗ", "ㅗㅏ", "ㅗㅐ", "ㅗㅣ", "ㅛ", "ㅜ", "ㅜㅓ", "ㅜㅔ", "ㅜㅣ", "ㅠ", "ㅡ", "ㅡㅣ", "ㅣ"};
+    private static final String[] FINALS = {
+            "", "ㄱ", "ㄲ", "ㄱㅅ", "ㄴ", "ㄴㅈ", "ㄴㅎ", "ㄷ", "ㄹ", "ㄹㄱ", "ㄹㅁ", "ㄹㅂ", "ㄹㅅ", "ㄹㅌ", "ㄹㅍ", "ㄹㅎ",
+            "ㅁ", "ㅂ", "ㅂㅅ", "ㅅ", "ㅆ", "ㅇ", "ㅈ", "ㅊ", "ㅋ", "ㅌ", "ㅍ", "ㅎ"};
+    // 낱자로 입력된 겹자모
+    private static final Map<Character, String> COMPOUND_JAMO = Map.ofEntries(
+            Map.entry('ㄳ', "ㄱㅅ"), Map.entry('ㄵ', "ㄴㅈ"), Map.entry('ㄶ', "ㄴㅎ"), Map.entry('ㄺ', "ㄹㄱ"),
+            Map.entry('ㄻ', "ㄹㅁ"), Map.entry('ㄼ', "ㄹㅂ"), Map.entry('ㄽ', "ㄹㅅ"), Map.entry('ㄾ', "ㄹㅌ"),
+            Map.entry('ㄿ', "ㄹㅍ"), Map.entry('ㅀ', "ㄹㅎ"), Map.entry('ㅄ', "ㅂㅅ"), Map.entry('ㅘ', "ㅗㅏ"),
+            Map.entry('ㅙ', "ㅗㅐ"), Map.entry('ㅚ', "ㅗㅣ"), Map.entry('ㅝ', "ㅜㅓ"), Map.entry('ㅞ', "ㅜㅔ"),
+            Map.entry('ㅟ', "ㅜㅣ"), Map.entry('ㅢ', "ㅡㅣ"));
+
+    private HangulJamo() {
+    }
+
+    static boolean isSyllable(char c) {
+        return c >= SYLLABLE_FIRST && c <= SYLLABLE_LAST;
+    }
+
+    // 음절은 자모로 풀고, 글자/숫자는 소문자로, 그 밖의 문자는 공백 하나로 바꿈 (앞뒤 공백 제거)
+    static String decompose(String text) {
+        StringBuilder builder = new StringBuilder(text.length() * 3);
+        boolean pendingSpace = false;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (!Character.isLetterOrDigit(c)) {
+                pendingSpace = !builder.isEmpty();
+                continue;
+            }
+            if (pendingSpace) {
+                builder.append(' ');
+                pendingSpace = false;
+            }
+            if (isSyllable(c)) {
+                int index = c - SYLLABLE_FIRST;
+                builder.append(INITIALS[index / (MEDIAL_COUNT * FINAL_COUNT)])
+                        .append(MEDIALS[(index % (MEDIAL_COUNT * FINAL_COUNT)) / FINAL_COUNT])
+                        .append(FINALS[index % FINAL_COUNT]);
+            } else {
+                String compound = COMPOUND_JAMO.get(c);
+                builder.append(compound != null ? compound : String.valueOf(c).toLowerCase(Locale.ROOT));
+            }
+        }
+        return builder.toString();
+    }
+}
@@ -0,0 +1,294 @@
+package com.example.runshop.search;
+
+import com.example.runshop.model.dto.product.ProductFacetFilter;
+import com.example.runshop.model.dto.product.ProductSearchDocument;
+import com.example.runshop.model.enums.Category;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.IntStream;
+
+/**
+ * 상품 목록 필터/패싯 색인.
+ * 상품마다 조밀한 순번(ordinal)을 붙이고 카테고리/브랜드/가격대/활성 여부 값마다 해당 순번의 비트를 켠 BitSet 을 두어,
+ * 필터는 비트맵 AND 로, 값별 상품 수는 비트맵 AND 의 cardinality 로 한 번의 조회에서 함께 계산합니다.
+ * 순번은 상품이 처음 들어올 때 차례로 붙이고 수정 시에는 유지하므로 결과는 등록 순(재구축 시 상품 ID 순)입니다.
+ * 비활성 상품도 활성 여부 필터를 위해 색인하며, 삭제된 상품의 순번은 비워 두었다가 재구축(ProductSearchService) 때 정리됩니다.
+ * 조회는 읽기 잠금, 변경은 쓰기 잠금으로 보호합니다.
+ */
+class ProductFacetIndex {
+
+    static final String CATEGORY = "category";
+    static final String BRAND = "brand";
+    static final String PRICE_BAND = "priceBand";
+    static final String ENABLED = "enabled";
+
+    // 브랜드는 값이 많으므로 상품 수 상위만 반환
+    static final int MAX_BRAND_FACETS = 20;
+    private static final int NONE = -1;
+    private static final int INITIAL_CAPACITY = 1024;
+    private static final BitSet EMPTY = new BitSet();
+
+    private final long[] priceBounds;
+    private final List<String> priceBandLabels;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, Integer> ordinalByProduct = new HashMap<>();
+    private final BitSet live = new BitSet();
+    private final BitSet enabled = new BitSet();
+    private final BitSet[] byCategory = new BitSet[Category.values().length];
+    private final BitSet[] byPriceBand;
+    private final Map<String, Integer> brandIds = new HashMap<>();
+    private final List<String> brands = new ArrayList<>();
+    private final List<BitSet> byBrand = new ArrayList<>();
+    private long[] productIds = new long[INITIAL_CAPACITY];
+    private LocalDateTime[] versions = new LocalDateTime[INITIAL_CAPACITY];
+    private int[] categoryOf = new int[INITIAL_CAPACITY];
+    private int[] brandOf = new int[INITIAL_CAPACITY];
+    private int[] priceBandOf = new int[INITIAL_CAPACITY];
+    private int maxOrdinal;
+
+    // priceBounds: 가격대 경계 (오름차순), 경계 n 개로 가격대 n + 1 개를 만듦
+    ProductFacetIndex(long[] priceBounds) {
+        this.priceBounds = priceBounds.clone();
+        Arrays.sort(this.priceBounds);
+        this.priceBandLabels = new ArrayList<>(this.priceBounds.length + 1);
+        this.byPriceBand = new BitSet[this.priceBounds.length + 1];
+        for (int band = 0; band <= this.priceBounds.length; band++) {
+            long lower = band == 0 ? 0 : this.priceBounds[band - 1];
+            priceBandLabels.add(band < this.priceBounds.length ? lower + "-" + this.priceBounds[band] : lower + "-");
+            byPriceBand[band] = new BitSet();
+        }
+        for (int i = 0; i < byCategory.length; i++) {
+            byCategory[i] = new BitSet();
+        }
+    }
+
+    record FacetResult(long totalHits, List<Long> productIds, Map<String, Map<String, Long>> facets) {
+    }
+
+    // 같은 버전이 이미 반영되어 있으면 true
+    boolean isCurrent(ProductSearchDocument document) {
+        lock.readLock().lock();
+        try {
+            Integer ordinal = ordinalByProduct.get(document.productId());
+            return ordinal != null && Objects.equals(versions[ordinal], document.updatedAt());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // 상품의 필터 값을 교체 (순번은 유지)
+    void index(ProductSearchDocument document) {
+        lock.writeLock().lock();
+        try {
+            Integer existing = ordinalByProduct.get(document.productId());
+            int ordinal;
+            if (existing != null) {
+                ordinal = existing;
+                clear(ordinal);
+            } else {
+                ordinal = maxOrdinal++;
+                ensureCapacity(maxOrdinal);
+                ordinalByProduct.put(document.productId(), ordinal);
+                productIds[ordinal] = document.productId();
+            }
+
+            versions[ordinal] = document.updatedAt();
+            live.set(ordinal);
+            enabled.set(ordinal, document.enabled());
+            categoryOf[ordinal] = document.category() != null ? document.category().ordinal() : NONE;
+            if (categoryOf[ordinal] != NONE) {
+                byCategory[categoryOf[ordinal]].set(ordinal);
+            }
+            brandOf[ordinal] = document.brand() != null && !document.brand().isBlank() ? brandId(document.brand().strip()) : NONE;
+            if (brandOf[ordinal] != NONE) {
+                byBrand.get(brandOf[ordinal]).set(ordinal);
+            }
+            priceBandOf[ordinal] = document.price() != null ? priceBand(document.price()) : NONE;
+            if (priceBandOf[ordinal] != NONE) {
+                byPriceBand[priceBandOf[ordinal]].set(ordinal);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void remove(Long productId) {
+        lock.writeLock().lock();
+        try {
+            Integer ordinal = ordinalByProduct.remove(productId);
+            if (ordinal != null) {
+                clear(ordinal);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // 필터를 모두 만족하는 상품 중 offset 부터 limit 개와, 차원별 값마다의 상품 수
+    FacetResult filter(ProductFacetFilter filter, int offset, int limit) {
+        lock.readLock().lock();
+        try {
+            BitSet categoryFilter = filter.category() != null ? byCategory[filter.category().ordinal()] : null;
+            BitSet brandFilter = filter.brand() != null ? brandBitmap(filter.brand().strip()) : null;
+            BitSet priceFilter = filter.priceBand() != null ? byPriceBand[priceBandIndex(filter.priceBand())] : null;
+            BitSet enabledFilter = filter.enabled() == null ? null : filter.enabled() ? enabled : disabled();
+
+            BitSet matched = intersect(categoryFilter, brandFilter, priceFilter, enabledFilter);
+            List<Long> page = new ArrayList<>(limit);
+            int skipped = 0;
+            for (int ordinal = matched.nextSetBit(0); ordinal >= 0 && page.size() < limit; ordinal = matched.nextSetBit(ordinal + 1)) {
+                if (skipped++ >= offset) {
+                    page.add(productIds[ordinal]);
+                }
+            }
+
+            // 각 차원의 수는 그 차원의 필터만 뺀 결과 기준
+            Map<String, Map<String, Long>> facets = new LinkedHashMap<>();
+            BitSet withoutCategory = intersect(null, brandFilter, priceFilter, enabledFilter);
+            Map<String, Long> categoryCounts = new LinkedHashMap<>();
+            for (Category category : Category.values()) {
+                putIfPositive(categoryCounts, category.name(), andCardinality(withoutCategory, byCategory[category.ordinal()]));
+            }
+            facets.put(CATEGORY, categoryCounts);
+            facets.put(BRAND, brandCounts(intersect(categoryFilter, null, priceFilter, enabledFilter)));
+            BitSet withoutPrice = intersect(categoryFilter, brandFilter, null, enabledFilter);
+            Map<String, Long> priceCounts = new LinkedHashMap<>();
+            for (int band = 0; band < byPriceBand.length; band++) {
+                putIfPositive(priceCounts, priceBandLabels.get(band), andCardinality(withoutPrice, byPriceBand[band]));
+            }
+            facets.put(PRICE_BAND, priceCounts);
+            BitSet withoutEnabled = intersect(categoryFilter, brandFilter, priceFilter, null);
+            long enabledCount = andCardinality(withoutEnabled, enabled);
+            Map<String, Long> enabledCounts = new LinkedHashMap<>();
+            putIfPositive(enabledCounts, "true", enabledCount);
+            putIfPositive(enabledCounts, "false", withoutEnabled.cardinality() - enabledCount);
+            facets.put(ENABLED, enabledCounts);
+
+            return new FacetResult(matched.cardinality(), page, facets);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // 삭제되지 않은 상품 수
+    int size() {
+        lock.readLock().lock();
+        try {
+            return ordinalByProduct.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private BitSet intersect(BitSet... filters) {
+        BitSet result = (BitSet) live.clone();
+        for (BitSet filter : filters) {
+            if (filter != null) {
+                result.and(filter);
+            }
+        }
+        return result;
+    }
+
+    private BitSet disabled() {
+        BitSet result = (BitSet) live.clone();
+        result.andNot(enabled);
+        return result;
+    }
+
+    private static long andCardinality(BitSet base, BitSet values) {
+        BitSet result = (BitSet) values.clone();
+        result.and(base);
+        return result.cardinality();
+    }
+
+    // 브랜드 비트맵을 값마다 AND 하지 않고, 대상 상품을 한 번 훑으며 브랜드별로 셈
+    private Map<String, Long> brandCounts(BitSet base) {
+        long[] counts = new long[brands.size()];
+        for (int ordinal = base.nextSetBit(0); ordinal >= 0; ordinal = base.nextSetBit(ordinal + 1)) {
+            if (brandOf[ordinal] != NONE) {
+                counts[brandOf[ordinal]]++;
+            }
+        }
+        Map<String, Long> result = new LinkedHashMap<>();
+        IntStream.range(0, counts.length)
+                .filter(id -> counts[id] > 0)
+                .boxed()
+                .sorted(Comparator.comparingLong((Integer id) -> counts[id]).reversed().thenComparing(brands::get))
+                .limit(MAX_BRAND_FACETS)
+                .forEach(id -> result.put(brands.get(id), counts[id]));
+        return result;
+    }
+
+    private static void putIfPositive(Map<String, Long> counts, String value, long count) {
+        if (count > 0) {
+            counts.put(value, count);
+        }
+    }
+
+    private BitSet brandBitmap(String brand) {
+        Integer id = brandIds.get(brand);
+        return id != null ? byBrand.get(id) : EMPTY;
+    }
+
+    private int priceBandIndex(String label) {
+        int band = priceBandLabels.indexOf(label);
+        if (band < 0) {
+            throw new IllegalArgumentException("알 수 없는 가격대입니다: " + label + " (가능한 값: " + priceBandLabels + ")");
+        }
+        return band;
+    }
+
+    private int priceBand(BigDecimal price) {
+        int band = 0;
+        while (band < priceBounds.length && price.compareTo(BigDecimal.valueOf(priceBounds[band])) >= 0) {
+            band++;
+        }
+        return band;
+    }
+
+    private int brandId(String brand) {
+        return brandIds.computeIfAbsent(brand, value -> {
+            brands.add(value);
+            byBrand.add(new BitSet());
+            return brands.size() - 1;
+        });
+    }
+
+    private void clear(int ordinal) {
+        live.clear(ordinal);
+        enabled.clear(ordinal);
+        if (categoryOf[ordinal] != NONE) {
+            byCategory[categoryOf[ordinal]].clear(ordinal);
+        }
+        if (brandOf[ordinal] != NONE) {
+            byBrand.get(brandOf[ordinal]).clear(ordinal);
+        }
+        if (priceBandOf[ordinal] != NONE) {
+            byPriceBand[priceBandOf[ordinal]].clear(ordinal);
+        }
+    }
+
+    private void ensureCapacity(int required) {
+        if (required <= productIds.length) {
+            return;
+        }
+        int capacity = Math.max(required, productIds.length * 2);
+        productIds = Arrays.copyOf(productIds, capacity);
+        versions = Arrays.copyOf(versions, capacity);
+        categoryOf = Arrays.copyOf(categoryOf, capacity);
+        brandOf = Arrays.copyOf(brandOf, capacity);
+        priceBandOf = Arrays.copyOf(priceBandOf, capacity);
+    }
+}
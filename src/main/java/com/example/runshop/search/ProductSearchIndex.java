@@ -0,0 +1,260 @@
+package com.example.runshop.search;
+
+import com.example.runshop.model.dto.product.ProductSearchDocument;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.PriorityQueue;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 상품 역색인 (BM25 순위).
+ * 상품마다 내부 문서 번호를 차례로 붙이고, 단어별 포스팅(문서 번호, 단어 빈도)을 문서 번호 순으로 덧붙입니다.
+ * 수정된 상품은 새 문서 번호로 다시 추가하고 이전 문서는 삭제 표시만 하므로 포스팅을 고쳐 쓰지 않으며,
+ * 삭제 표시된 문서는 다시 만들 때(ProductSearchService 의 재구축) 정리됩니다.
+ * 필드별 가중치를 단어 빈도에 곱해 이름/브랜드/카테고리에 일치하는 상품이 설명에만 일치하는 상품보다 앞에 오도록 합니다.
+ * 검색은 읽기 잠금, 색인 변경은 쓰기 잠금으로 보호합니다.
+ */
+class ProductSearchIndex {
+
+    private static final int NAME_WEIGHT = 3;
+    private static final int BRAND_WEIGHT = 2;
+    private static final int CATEGORY_WEIGHT = 2;
+    private static final int DESCRIPTION_WEIGHT = 1;
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private static final Comparator<SearchHit> WORST_FIRST = Comparator.comparingDouble(SearchHit::score)
+            .thenComparing(Comparator.comparingLong(SearchHit::productId).reversed());
+
+    // 검색마다 점수 배열을 새로 만들지 않도록 스레드별로 재사용
+    private static final ThreadLocal<ScoreAccumulator> ACCUMULATOR = ThreadLocal.withInitial(ScoreAccumulator::new);
+
+    private final float k1;
+    private final float b;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, Postings> postings = new HashMap<>();
+    private final Map<Long, Integer> docByProduct = new HashMap<>();
+    private final BitSet deleted = new BitSet();
+    private long[] productIds = new long[INITIAL_CAPACITY];
+    private LocalDateTime[] versions = new LocalDateTime[INITIAL_CAPACITY];
+    private int[] lengths = new int[INITIAL_CAPACITY];
+    private int maxDoc;
+    private int deletedCount;
+    // 삭제 표시된 문서도 포함 - 문서 빈도(df)가 삭제 표시된 문서를 포함하므로 평균 길이도 같은 기준으로 계산
+    private long totalLength;
+
+    ProductSearchIndex(float k1, float b) {
+        this.k1 = k1;
+        this.b = b;
+    }
+
+    record SearchHit(long productId, float score) {
+    }
+
+    record SearchHits(long totalHits, List<SearchHit> hits) {
+    }
+
+    // 같은 버전이 이미 반영되어 있으면 true (비활성 상품은 색인에 없어야 반영된 것)
+    boolean isCurrent(ProductSearchDocument document) {
+        lock.readLock().lock();
+        try {
+            Integer doc = docByProduct.get(document.productId());
+            if (doc == null) {
+                return !document.enabled();
+            }
+            return document.enabled() && Objects.equals(versions[doc], document.updatedAt());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // 상품을 색인에 추가하거나 교체 (비활성 상품은 제거)
+    void index(ProductSearchDocument document) {
+        Map<String, Integer> frequencies = document.enabled() ? analyze(document) : Map.of();
+        lock.writeLock().lock();
+        try {
+            removeLocked(document.productId());
+            if (!document.enabled()) {
+                return;
+            }
+            int doc = maxDoc++;
+            ensureCapacity(maxDoc);
+            int length = 0;
+            for (Map.Entry<String, Integer> entry : frequencies.entrySet()) {
+                postings.computeIfAbsent(entry.getKey(), term -> new Postings()).add(doc, entry.getValue());
+                length += entry.getValue();
+            }
+            productIds[doc] = document.productId();
+            versions[doc] = document.updatedAt();
+            lengths[doc] = length;
+            totalLength += length;
+            docByProduct.put(document.productId(), doc);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void remove(Long productId) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(productId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // 검색어 단어 중 하나라도 포함한 상품을 BM25 점수 순으로 최대 limit 건 반환 (totalHits 는 일치한 전체 상품 수)
+    SearchHits search(List<String> terms, int limit) {
+        lock.readLock().lock();
+        ScoreAccumulator accumulator = ACCUMULATOR.get();
+        try {
+            if (maxDoc == 0 || terms.isEmpty() || limit <= 0) {
+                return new SearchHits(0, List.of());
+            }
+            accumulator.ensureCapacity(maxDoc);
+            float averageLength = (float) totalLength / maxDoc;
+            for (String term : terms) {
+                Postings list = postings.get(term);
+                if (list == null) {
+                    continue;
+                }
+                float idf = (float) Math.log(1 + (maxDoc - list.size + 0.5) / (list.size + 0.5));
+                for (int i = 0; i < list.size; i++) {
+                    int doc = list.docs[i];
+                    if (deleted.get(doc)) {
+                        continue;
+                    }
+                    int tf = list.frequencies[i];
+                    float norm = k1 * (1 - b + b * lengths[doc] / averageLength);
+                    accumulator.add(doc, idf * tf * (k1 + 1) / (tf + norm));
+                }
+            }
+            return topHits(accumulator, limit);
+        } finally {
+            accumulator.clear();
+            lock.readLock().unlock();
+        }
+    }
+
+    int size() {
+        lock.readLock().lock();
+        try {
+            return maxDoc - deletedCount;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // 전체 문서 중 삭제 표시된 문서 비율 (높으면 재구축 대상)
+    double deletedRatio() {
+        lock.readLock().lock();
+        try {
+            return maxDoc == 0 ? 0.0 : (double) deletedCount / maxDoc;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private SearchHits topHits(ScoreAccumulator accumulator, int limit) {
+        PriorityQueue<SearchHit> top = new PriorityQueue<>(limit + 1, WORST_FIRST);
+        for (int i = 0; i < accumulator.touchedCount; i++) {
+            int doc = accumulator.touched[i];
+            SearchHit hit = new SearchHit(productIds[doc], accumulator.scores[doc]);
+            if (top.size() < limit) {
+                top.add(hit);
+            } else if (WORST_FIRST.compare(hit, top.peek()) > 0) {
+                top.poll();
+                top.add(hit);
+            }
+        }
+        List<SearchHit> hits = new ArrayList<>(top);
+        hits.sort(WORST_FIRST.reversed());
+        return new SearchHits(accumulator.touchedCount, hits);
+    }
+
+    private void removeLocked(Long productId) {
+        Integer doc = docByProduct.remove(productId);
+        if (doc != null) {
+            deleted.set(doc);
+            versions[doc] = null;
+            deletedCount++;
+        }
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity > productIds.length) {
+            int newLength = Math.max(capacity, productIds.length + (productIds.length >> 1));
+            productIds = Arrays.copyOf(productIds, newLength);
+            versions = Arrays.copyOf(versions, newLength);
+            lengths = Arrays.copyOf(lengths, newLength);
+        }
+    }
+
+    private static Map<String, Integer> analyze(ProductSearchDocument document) {
+        Map<String, Integer> frequencies = new HashMap<>();
+        addField(frequencies, document.name(), NAME_WEIGHT);
+        addField(frequencies, document.brand(), BRAND_WEIGHT);
+        addField(frequencies, document.category() != null ? document.category().name() : null, CATEGORY_WEIGHT);
+        addField(frequencies, document.description(), DESCRIPTION_WEIGHT);
+        return frequencies;
+    }
+
+    private static void addField(Map<String, Integer> frequencies, String text, int weight) {
+        for (String token : ProductSearchTokenizer.tokenize(text)) {
+            frequencies.merge(token, weight, Integer::sum);
+        }
+    }
+
+    // 한 단어의 포스팅 (문서 번호 오름차순, 빈도는 1바이트로 저장해 메모리를 줄임)
+    private static class Postings {
+        private int[] docs = new int[4];
+        private byte[] frequencies = new byte[4];
+        private int size;
+
+        void add(int doc, int frequency) {
+            if (size == docs.length) {
+                int newLength = size + (size >> 1) + 1;
+                docs = Arrays.copyOf(docs, newLength);
+                frequencies = Arrays.copyOf(frequencies, newLength);
+            }
+            docs[size] = doc;
+            frequencies[size] = (byte) Math.min(frequency, Byte.MAX_VALUE);
+            size++;
+        }
+    }
+
+    // 문서별 점수 누적 - 점수가 더해진 문서만 기록해 두고 검색이 끝나면 그 문서만 0 으로 되돌림
+    private static class ScoreAccumulator {
+        private float[] scores = new float[0];
+        private int[] touched = new int[0];
+        private int touchedCount;
+
+        void ensureCapacity(int capacity) {
+            if (scores.length < capacity) {
+                scores = Arrays.copyOf(scores, capacity);
+                touched = Arrays.copyOf(touched, capacity);
+            }
+        }
+
+        void add(int doc, float score) {
+            if (scores[doc] == 0f) {
+                touched[touchedCount++] = doc;
+            }
+            scores[doc] += score;
+        }
+
+        void clear() {
+            for (int i = 0; i < touchedCount; i++) {
+                scores[touched[i]] = 0f;
+            }
+            touchedCount = 0;
+        }
+    }
+}
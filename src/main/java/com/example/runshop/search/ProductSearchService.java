@@ -0,0 +1,357 @@
+package com.example.runshop.search;
+
+import com.example.runshop.model.dto.product.ProductDTO;
+import com.example.runshop.model.dto.product.ProductFacetFilter;
+import com.example.runshop.model.dto.product.ProductFacetPageDTO;
+import com.example.runshop.model.dto.product.ProductPageDTO;
+import com.example.runshop.model.dto.product.ProductSearchDocument;
+import com.example.runshop.model.dto.product.ProductSuggestionDTO;
+import com.example.runshop.model.entity.Product;
+import com.example.runshop.model.entity.ProductDeletion;
+import com.example.runshop.repository.ProductDeletionRepository;
+import com.example.runshop.repository.ProductRepository;
+import com.example.runshop.search.ProductFacetIndex.FacetResult;
+import com.example.runshop.search.ProductSearchIndex.SearchHit;
+import com.example.runshop.search.ProductSearchIndex.SearchHits;
+import com.example.runshop.utils.mapper.ProductMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * 상품 전문 검색.
+ * 상품 이름/설명/브랜드/카테고리를 노드 메모리의 역색인(ProductSearchIndex)에 올려 BM25 순위로 검색하고,
+ * 결과 페이지의 상품만 DB 에서 한 번에 읽어 반환합니다 (DB 에 LIKE 검색을 보내지 않음).
+ * 시작 시 상품 테이블을 ID 순 키셋 페이지로 읽어 색인을 만들고, 이 노드의 상품 변경은 커밋 직후 바로 반영하며,
+ * 다른 노드의 변경은 sync-interval-ms 마다 updated_at 이후 변경분을 읽어 반영합니다.
+ * 상품 삭제는 행이 없어져 updated_at 으로 알 수 없으므로 삭제 기록(ProductDeletion)의 deleted_at 이후분을 같은 주기로 읽어 색인에서 뺍니다.
+ * 삭제 기록은 tombstone-retention-hours 가 지나면 지우고, 그보다 오래 동기화하지 못한 노드는 색인을 새로 만듭니다.
+ * 삭제 표시된 문서 비율이 compact-deleted-ratio 를 넘으면 색인을 새로 만들어 교체합니다.
+ * 이름/브랜드 자동완성 색인(ProductSuggestIndex)과 목록 필터/패싯 색인(ProductFacetIndex)도 같은 흐름으로 만들고 갱신합니다.
+ */
+@Service
+@Slf4j
+public class ProductSearchService {
+
+    // 깊은 페이지는 상위 결과를 모두 정렬해야 하므로 검색 가능한 결과 범위를 제한
+    static final int MAX_RESULT_WINDOW = 1000;
+    static final int MAX_PAGE_SIZE = 100;
+    static final int MAX_QUERY_TERMS = 10;
+
+    private final ProductRepository productRepository;
+    private final ProductDeletionRepository productDeletionRepository;
+    private final ProductMapper productMapper;
+    private final boolean enabled;
+    private final float k1;
+    private final float b;
+    private final int batchSize;
+    private final long syncIntervalMillis;
+    private final Duration syncOverlap;
+    private final Duration tombstoneRetention;
+    private final double compactDeletedRatio;
+    private final int suggestMaxEdits;
+    private final long[] priceBands;
+    private final Timer searchTimer;
+    private final Timer suggestTimer;
+    private final Timer filterTimer;
+
+    private volatile ProductSearchIndex index;
+    private volatile ProductSuggestIndex suggestIndex;
+    private volatile ProductFacetIndex facetIndex;
+    private ScheduledExecutorService indexer;
+    // 색인 스레드에서만 사용
+    private LocalDateTime syncedUntil;
+
+    public ProductSearchService(ProductRepository productRepository,
+                                ProductDeletionRepository productDeletionRepository,
+                                ProductMapper productMapper,
+                                MeterRegistry meterRegistry,
+                                @Value("${search.product.enabled:true}") boolean enabled,
+                                @Value("${search.product.bm25.k1:1.2}") float k1,
+                                @Value("${search.product.bm25.b:0.75}") float b,
+                                @Value("${search.product.batch-size:1000}") int batchSize,
+                                @Value("${search.product.sync-interval-ms:2000}") long syncIntervalMillis,
+                                @Value("${search.product.sync-overlap-seconds:30}") long syncOverlapSeconds,
+                                @Value("${search.product.tombstone-retention-hours:24}") long tombstoneRetentionHours,
+                                @Value("${search.product.compact-deleted-ratio:0.3}") double compactDeletedRatio,
+                                @Value("${search.product.suggest.max-edits:2}") int suggestMaxEdits,
+                                @Value("${search.product.facet.price-bands:30000,50000,100000,200000}") long[] priceBands) {
+        this.productRepository = productRepository;
+        this.productDeletionRepository = productDeletionRepository;
+        this.productMapper = productMapper;
+        this.enabled = enabled;
+        this.k1 = k1;
+        this.b = b;
+        this.batchSize = batchSize;
+        this.syncIntervalMillis = syncIntervalMillis;
+        this.syncOverlap = Duration.ofSeconds(syncOverlapSeconds);
+        this.tombstoneRetention = Duration.ofHours(tombstoneRetentionHours);
+        this.compactDeletedRatio = compactDeletedRatio;
+        this.suggestMaxEdits = suggestMaxEdits;
+        this.priceBands = priceBands;
+        this.index = new ProductSearchIndex(k1, b);
+        this.suggestIndex = new ProductSuggestIndex(suggestMaxEdits);
+        this.facetIndex = new ProductFacetIndex(priceBands);
+        this.searchTimer = Timer.builder("product.search.duration")
+                .description("상품 검색 시간 (색인 검색 + 결과 상품 조회)")
+                .register(meterRegistry);
+        this.suggestTimer = Timer.builder("product.suggest.duration")
+                .description("상품 자동완성 시간")
+                .publishPercentiles(0.99)
+                .register(meterRegistry);
+        this.filterTimer = Timer.builder("product.filter.duration")
+                .description("상품 목록 필터 시간 (비트맵 교집합/패싯 집계 + 결과 상품 조회)")
+                .register(meterRegistry);
+        meterRegistry.gauge("product.search.index.documents", this, service -> service.index.size());
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        indexer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "product-search-indexer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        indexer.execute(this::rebuild);
+        indexer.scheduleWithFixedDelay(this::sync, syncIntervalMillis, syncIntervalMillis, TimeUnit.MILLISECONDS);
+        long purgeIntervalMinutes = Math.max(1, tombstoneRetention.toMinutes() / 24);
+        indexer.scheduleWithFixedDelay(this::purgeDeletions, purgeIntervalMinutes, purgeIntervalMinutes, TimeUnit.MINUTES);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (indexer != null) {
+            indexer.shutdownNow();
+        }
+    }
+
+    public ProductPageDTO search(String query, int page, int size) {
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        int offset = Math.max(0, page) * pageSize;
+        List<String> terms = ProductSearchTokenizer.tokenize(query).stream()
+                .distinct()
+                .limit(MAX_QUERY_TERMS)
+                .toList();
+        if (terms.isEmpty() || offset >= MAX_RESULT_WINDOW) {
+            return new ProductPageDTO(List.of(), page, pageSize, 0, 0);
+        }
+
+        return searchTimer.record(() -> {
+            SearchHits result = index.search(terms, Math.min(offset + pageSize, MAX_RESULT_WINDOW));
+            List<SearchHit> pageHits = result.hits().subList(Math.min(offset, result.hits().size()), result.hits().size());
+            List<ProductDTO> products = loadProducts(pageHits.stream().map(SearchHit::productId).toList(), true);
+            long totalPages = (Math.min(result.totalHits(), MAX_RESULT_WINDOW) + pageSize - 1) / pageSize;
+            return new ProductPageDTO(products, page, pageSize, result.totalHits(), totalPages);
+        });
+    }
+
+    // 카테고리/브랜드/가격대로 상품 목록을 거르고 패싯별 상품 수를 함께 반환 (DB 에는 결과 페이지의 상품만 조회)
+    // 공개 목록이므로 필터의 활성 여부와 관계없이 활성 상품만 반환 (필터 없는 목록 조회와 같음)
+    public ProductFacetPageDTO filter(ProductFacetFilter filter, int page, int size) {
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        int offset = Math.max(0, page) * pageSize;
+        ProductFacetFilter enabledOnly = filter.enabledOnly();
+        return filterTimer.record(() -> {
+            FacetResult result = facetIndex.filter(enabledOnly, offset, pageSize);
+            List<ProductDTO> products = loadProducts(result.productIds(), true);
+            long totalPages = (result.totalHits() + pageSize - 1) / pageSize;
+            return new ProductFacetPageDTO(new ProductPageDTO(products, page, pageSize, result.totalHits(), totalPages), result.facets());
+        });
+    }
+
+    // 이름/브랜드 자동완성 (DB 를 조회하지 않음)
+    public List<ProductSuggestionDTO> suggest(String prefix, int size) {
+        if (prefix == null || prefix.isBlank()) {
+            return List.of();
+        }
+        int limit = Math.max(1, Math.min(size, ProductSuggestIndex.TOP_K));
+        return suggestTimer.record(() -> suggestIndex.suggest(prefix, limit));
+    }
+
+    // 상품 등록/수정/비활성화/삭제 후 커밋되면 DB 의 현재 상태로 색인을 갱신 (롤백되면 반영하지 않음)
+    public void reindexAfterCommit(Long productId) {
+        if (!enabled || productId == null) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            reindex(productId);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                reindex(productId);
+            }
+        });
+    }
+
+    private void reindex(Long productId) {
+        try {
+            productRepository.findSearchDocument(productId).ifPresentOrElse(this::apply, () -> remove(productId));
+        } catch (RuntimeException e) {
+            // 다음 동기화 주기에 updated_at 또는 삭제 기록으로 다시 반영됨
+            log.warn("상품 검색 색인을 갱신하지 못했습니다. 상품 ID: {}", productId, e);
+        }
+    }
+
+    // 상품 테이블 전체로 새 색인을 만든 뒤 교체 (만드는 동안에는 기존 색인으로 검색)
+    void rebuild() {
+        try {
+            LocalDateTime startedAt = LocalDateTime.now();
+            ProductSearchIndex rebuilt = new ProductSearchIndex(k1, b);
+            ProductSuggestIndex rebuiltSuggest = new ProductSuggestIndex(suggestMaxEdits);
+            ProductFacetIndex rebuiltFacet = new ProductFacetIndex(priceBands);
+            long afterId = 0;
+            List<ProductSearchDocument> documents;
+            do {
+                documents = productRepository.findSearchDocumentsAfter(afterId, PageRequest.of(0, batchSize));
+                for (ProductSearchDocument document : documents) {
+                    rebuilt.index(document);
+                    rebuiltSuggest.index(document);
+                    rebuiltFacet.index(document);
+                }
+                if (!documents.isEmpty()) {
+                    afterId = documents.get(documents.size() - 1).productId();
+                }
+            } while (documents.size() == batchSize);
+
+            index = rebuilt;
+            suggestIndex = rebuiltSuggest;
+            facetIndex = rebuiltFacet;
+            // 재구축 중에 바뀐 상품은 다음 동기화에서 반영
+            syncedUntil = startedAt;
+            log.info("상품 검색 색인을 만들었습니다. 상품 수: {}, 소요 시간: {}ms",
+                    rebuilt.size(), Duration.between(startedAt, LocalDateTime.now()).toMillis());
+        } catch (RuntimeException e) {
+            log.error("상품 검색 색인을 만들지 못했습니다.", e);
+        }
+    }
+
+    // updated_at 이 마지막 동기화 지점 이후인 상품과 deleted_at 이 그 이후인 삭제 기록을 반영 (다른 노드의 변경, 커밋 직후 반영에 실패한 변경)
+    // 커밋이 늦게 보이는 변경을 놓치지 않도록 sync-overlap 만큼 겹쳐 읽고, 이미 같은 버전이면 건너뜀
+    // 재구축 중에 삭제된 상품도 재구축 시작 시점 이후의 삭제 기록으로 빠짐
+    void sync() {
+        if (syncedUntil == null) {
+            return;
+        }
+        if (syncedUntil.isBefore(LocalDateTime.now().minus(tombstoneRetention))) {
+            // 그 사이의 삭제 기록이 이미 지워졌을 수 있음
+            rebuild();
+            return;
+        }
+        try {
+            LocalDateTime since = syncedUntil.minus(syncOverlap);
+            LocalDateTime from = since;
+            LocalDateTime until = syncedUntil;
+            long afterId = 0;
+            List<ProductSearchDocument> documents;
+            do {
+                documents = productRepository.findSearchDocumentsUpdatedAfter(from, afterId, PageRequest.of(0, batchSize));
+                for (ProductSearchDocument document : documents) {
+                    if (!index.isCurrent(document) || !facetIndex.isCurrent(document)) {
+                        apply(document);
+                    }
+                }
+                if (!documents.isEmpty()) {
+                    ProductSearchDocument last = documents.get(documents.size() - 1);
+                    from = last.updatedAt();
+                    afterId = last.productId();
+                    if (from.isAfter(until)) {
+                        until = from;
+                    }
+                }
+            } while (documents.size() == batchSize);
+            LocalDateTime deletedUntil = syncDeletions(since);
+            if (deletedUntil != null && deletedUntil.isAfter(until)) {
+                until = deletedUntil;
+            }
+            syncedUntil = until;
+
+            if (index.deletedRatio() > compactDeletedRatio) {
+                rebuild();
+            }
+        } catch (RuntimeException e) {
+            log.error("상품 검색 색인 동기화 중 오류가 발생했습니다.", e);
+        }
+    }
+
+    // 삭제 기록을 (deleted_at, id) 키셋 페이지로 읽어 색인에서 빼고, 마지막으로 읽은 deleted_at 을 반환 (없으면 null)
+    private LocalDateTime syncDeletions(LocalDateTime from) {
+        LocalDateTime last = null;
+        long afterId = 0;
+        List<ProductDeletion> deletions;
+        do {
+            deletions = productDeletionRepository.findDeletedAfter(from, afterId, PageRequest.of(0, batchSize));
+            for (ProductDeletion deletion : deletions) {
+                remove(deletion.getProductId());
+            }
+            if (!deletions.isEmpty()) {
+                ProductDeletion lastDeletion = deletions.get(deletions.size() - 1);
+                from = lastDeletion.getDeletedAt();
+                afterId = lastDeletion.getId();
+                last = from;
+            }
+        } while (deletions.size() == batchSize);
+        return last;
+    }
+
+    // 보존 기간이 지난 삭제 기록 정리 (여러 노드가 같은 행을 지워도 무방)
+    void purgeDeletions() {
+        try {
+            int purged = productDeletionRepository.deleteDeletedBefore(LocalDateTime.now().minus(tombstoneRetention));
+            if (purged > 0) {
+                log.info("보존 기간이 지난 상품 삭제 기록 {}건을 지웠습니다.", purged);
+            }
+        } catch (RuntimeException e) {
+            log.warn("상품 삭제 기록을 정리하지 못했습니다.", e);
+        }
+    }
+
+    private void remove(Long productId) {
+        index.remove(productId);
+        suggestIndex.remove(productId);
+        facetIndex.remove(productId);
+    }
+
+    private void apply(ProductSearchDocument document) {
+        index.index(document);
+        suggestIndex.index(document);
+        facetIndex.index(document);
+    }
+
+    // 색인 결과 순서대로 상품을 한 번에 조회 (색인에 반영되기 전에 삭제된 상품, enabledOnly 면 비활성화된 상품도 제외)
+    private List<ProductDTO> loadProducts(List<Long> productIds, boolean enabledOnly) {
+        if (productIds.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, Product> products = productRepository.findAllWithInventoryByIdIn(productIds)
+                .stream()
+                .collect(Collectors.toMap(Product::getId, Function.identity()));
+        return productIds.stream()
+                .map(products::get)
+                .filter(product -> product != null && (!enabledOnly || product.isEnabled()))
+                .map(productMapper::productToProductDTO)
+                .toList();
+    }
+}
@@ -0,0 +1,48 @@
+package com.example.runshop.search;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * 상품 검색용 토크나이저.
+ * 글자/숫자가 아닌 문자를 경계로 나누고 소문자로 맞춥니다. 색인과 검색어에 같은 규칙을 적용해야 일치합니다.
+ * 한글은 조사가 붙거나("에어맥스와") 띄어 쓰지 않은("나이키러닝화") 단어가 많아, 단어와 함께 연속된 두 음절(바이그램)도 토큰으로 냅니다.
+ */
+public final class ProductSearchTokenizer {
+
+    private ProductSearchTokenizer() {
+    }
+
+    public static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null || text.isEmpty()) {
+            return tokens;
+        }
+        int start = -1;
+        for (int i = 0; i <= text.length(); i++) {
+            boolean word = i < text.length() && Character.isLetterOrDigit(text.charAt(i));
+            if (word && start < 0) {
+                start = i;
+            } else if (!word && start >= 0) {
+                String token = text.substring(start, i).toLowerCase(Locale.ROOT);
+                tokens.add(token);
+                addHangulBigrams(token, tokens);
+                start = -1;
+            }
+        }
+        return tokens;
+    }
+
+    // 두 음절 단어는 바이그램이 단어 자신과 같으므로 세 음절 이상인 경우만
+    private static void addHangulBigrams(String token, List<String> tokens) {
+        if (token.length() <= 2) {
+            return;
+        }
+        for (int i = 0; i + 1 < token.length(); i++) {
+            if (HangulJamo.isSyllable(token.charAt(i)) && HangulJamo.isSyllable(token.charAt(i + 1))) {
+                tokens.add(token.substring(i, i + 2));
+            }
+        }
+    }
+}
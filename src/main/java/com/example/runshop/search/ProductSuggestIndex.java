@@ -0,0 +1,310 @@
+package com.example.runshop.search;
+
+import com.example.runshop.model.dto.product.ProductSearchDocument;
+import com.example.runshop.model.dto.product.ProductSuggestionDTO;
+import com.example.runshop.model.dto.product.ProductSuggestionDTO.Type;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 상품 이름/브랜드 자동완성 색인.
+ * 서로 다른 이름/브랜드 문자열을 후보로 두고, 후보를 자모로 푼 문자열(HangulJamo)을 단어 시작 위치마다 트라이에 넣어
+ * "에어" 로 "나이키 에어맥스" 를, 입력 중인 "나잌" 으로 "나이키" 를 찾습니다.
+ * 트라이 노드마다 하위 후보 중 상품 수가 많은 TOP_K 개를 미리 들고 있어 노드를 찾으면 하위 노드를 훑지 않고 바로 답하며,
+ * 오타는 트라이를 따라 편집 거리 행을 한 줄씩 계산하는 방식으로 허용 거리 안의 노드만 방문해 찾습니다.
+ * 상품 수가 줄어든 후보는 노드 목록에서 빼지 않고 조회 시 현재 상품 수로 다시 정렬/제외하므로,
+ * 목록이 채워지지 않는 노드는 색인을 다시 만들 때(ProductSearchService 의 재구축) 정리됩니다.
+ * 조회는 읽기 잠금, 변경은 쓰기 잠금으로 보호합니다.
+ */
+class ProductSuggestIndex {
+
+    static final int TOP_K = 10;
+    // 긴 상품명 전체를 트라이에 넣지 않도록 키 길이(자모 수)를 제한 - 입력이 더 길면 앞부분으로 찾음
+    static final int MAX_KEY_LENGTH = 24;
+    // 오타 허용 탐색이 p99 를 넘지 않도록 방문 노드 수를 제한
+    private static final int MAX_VISITED_NODES = 20_000;
+
+    private static final Comparator<Match> BEST_FIRST = Comparator.comparingInt(Match::distance)
+            .thenComparing(Comparator.comparingInt(Match::productCount).reversed())
+            .thenComparingInt(match -> match.text().length())
+            .thenComparing(Match::text);
+
+    private final int maxEdits;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Node root = new Node();
+    private final Map<String, Integer> entryIds = new HashMap<>();
+    private final List<Entry> entries = new ArrayList<>();
+    private final Map<Long, int[]> entriesByProduct = new HashMap<>();
+
+    ProductSuggestIndex(int maxEdits) {
+        this.maxEdits = maxEdits;
+    }
+
+    // 상품의 이름/브랜드 후보를 교체 (비활성 상품은 제거)
+    void index(ProductSearchDocument document) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(document.productId());
+            if (!document.enabled()) {
+                return;
+            }
+            List<Integer> ids = new ArrayList<>(2);
+            addProduct(document.name(), Type.NAME, ids);
+            addProduct(document.brand(), Type.BRAND, ids);
+            if (!ids.isEmpty()) {
+                entriesByProduct.put(document.productId(), ids.stream().mapToInt(Integer::intValue).toArray());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void remove(Long productId) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(productId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // 입력(자모로 풀어 비교)으로 시작하는 후보를 편집 거리, 상품 수 순으로 반환
+    List<ProductSuggestionDTO> suggest(String prefix, int limit) {
+        String query = HangulJamo.decompose(prefix);
+        if (query.isEmpty()) {
+            return List.of();
+        }
+        if (query.length() > MAX_KEY_LENGTH) {
+            query = query.substring(0, MAX_KEY_LENGTH);
+        }
+
+        lock.readLock().lock();
+        try {
+            Map<Integer, Integer> distances = new HashMap<>();
+            int allowed = allowedEdits(query.length());
+            if (allowed == 0) {
+                Node node = find(query);
+                if (node != null) {
+                    collect(node, 0, distances);
+                }
+            } else {
+                int[] firstRow = new int[query.length() + 1];
+                for (int i = 0; i < firstRow.length; i++) {
+                    firstRow[i] = i;
+                }
+                int[] visited = {0};
+                for (int i = 0; i < root.size; i++) {
+                    search(root.children[i], root.labels[i], query, firstRow, allowed, distances, visited);
+                }
+            }
+
+            return distances.entrySet().stream()
+                    .map(match -> {
+                        Entry entry = entries.get(match.getKey());
+                        return new Match(entry.text, entry.type, entry.productCount, match.getValue());
+                    })
+                    .filter(match -> match.productCount() > 0)
+                    .sorted(BEST_FIRST)
+                    .limit(limit)
+                    .map(match -> new ProductSuggestionDTO(match.text(), match.type(), match.productCount()))
+                    .toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // 후보 문자열 수 (상품이 없어진 후보 포함)
+    int size() {
+        lock.readLock().lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // 짧은 입력에 오타를 허용하면 거의 모든 후보가 일치하므로 입력 길이(자모 수)에 따라 허용 거리를 늘림
+    private int allowedEdits(int length) {
+        if (length < 4) {
+            return 0;
+        }
+        return Math.min(maxEdits, length < 8 ? 1 : 2);
+    }
+
+    private void search(Node node, char label, String query, int[] previousRow, int allowed,
+                        Map<Integer, Integer> distances, int[] visited) {
+        if (++visited[0] > MAX_VISITED_NODES) {
+            return;
+        }
+        int columns = query.length() + 1;
+        int[] row = new int[columns];
+        row[0] = previousRow[0] + 1;
+        int best = row[0];
+        for (int i = 1; i < columns; i++) {
+            int substitution = previousRow[i - 1] + (query.charAt(i - 1) == label ? 0 : 1);
+            row[i] = Math.min(substitution, Math.min(row[i - 1], previousRow[i]) + 1);
+            best = Math.min(best, row[i]);
+        }
+
+        int distance = row[columns - 1];
+        if (distance <= allowed) {
+            collect(node, distance, distances);
+        }
+        // 하위 노드의 후보는 이 노드 목록의 부분집합이므로 더 가까워질 수 있을 때만 내려감
+        if (best <= allowed && best < Math.min(distance, allowed + 1)) {
+            for (int i = 0; i < node.size; i++) {
+                search(node.children[i], node.labels[i], query, row, allowed, distances, visited);
+            }
+        }
+    }
+
+    private void collect(Node node, int distance, Map<Integer, Integer> distances) {
+        for (int i = 0; i < node.topSize; i++) {
+            distances.merge(node.top[i], distance, Math::min);
+        }
+    }
+
+    private Node find(String key) {
+        Node node = root;
+        for (int i = 0; i < key.length() && node != null; i++) {
+            node = node.child(key.charAt(i));
+        }
+        return node;
+    }
+
+    private void addProduct(String text, Type type, List<Integer> ids) {
+        if (text == null || text.isBlank()) {
+            return;
+        }
+        String normalized = text.strip();
+        String entryKey = type + ":" + normalized;
+        Integer id = entryIds.get(entryKey);
+        if (id == null) {
+            id = entries.size();
+            entryIds.put(entryKey, id);
+            entries.add(new Entry(normalized, type, keys(normalized)));
+        }
+        Entry entry = entries.get(id);
+        entry.productCount++;
+        for (String key : entry.keys) {
+            offer(key, id);
+        }
+        ids.add(id);
+    }
+
+    private void removeLocked(Long productId) {
+        int[] ids = entriesByProduct.remove(productId);
+        if (ids != null) {
+            for (int id : ids) {
+                entries.get(id).productCount--;
+            }
+        }
+    }
+
+    // 키 경로의 모든 노드 목록에 후보를 올림 (상품 수가 늘었으면 순서만 갱신)
+    private void offer(String key, int id) {
+        Node node = root;
+        for (int i = 0; i < key.length(); i++) {
+            node = node.childOrCreate(key.charAt(i));
+            node.offer(id, entries);
+        }
+    }
+
+    // 단어 시작 위치마다 그 뒤를 자모로 푼 키
+    private static List<String> keys(String text) {
+        String decomposed = HangulJamo.decompose(text);
+        List<String> keys = new ArrayList<>();
+        for (int i = 0; i < decomposed.length(); i++) {
+            if (i == 0 || decomposed.charAt(i - 1) == ' ') {
+                keys.add(decomposed.substring(i, Math.min(decomposed.length(), i + MAX_KEY_LENGTH)));
+            }
+        }
+        return keys;
+    }
+
+    private record Match(String text, Type type, int productCount, int distance) {
+    }
+
+    private static final class Entry {
+        private final String text;
+        private final Type type;
+        private final List<String> keys;
+        private int productCount;
+
+        private Entry(String text, Type type, List<String> keys) {
+            this.text = text;
+            this.type = type;
+            this.keys = keys;
+        }
+    }
+
+    // 자식은 글자 순으로 정렬된 배열에 두어 노드당 객체 수를 줄임
+    private static final class Node {
+        private char[] labels = new char[0];
+        private Node[] children = new Node[0];
+        private int size;
+        private int[] top = new int[0];
+        private int topSize;
+
+        private Node child(char label) {
+            int index = Arrays.binarySearch(labels, 0, size, label);
+            return index >= 0 ? children[index] : null;
+        }
+
+        private Node childOrCreate(char label) {
+            int index = Arrays.binarySearch(labels, 0, size, label);
+            if (index >= 0) {
+                return children[index];
+            }
+            int insertAt = -index - 1;
+            if (size == labels.length) {
+                int capacity = Math.max(2, size * 2);
+                labels = Arrays.copyOf(labels, capacity);
+                children = Arrays.copyOf(children, capacity);
+            }
+            System.arraycopy(labels, insertAt, labels, insertAt + 1, size - insertAt);
+            System.arraycopy(children, insertAt, children, insertAt + 1, size - insertAt);
+            Node child = new Node();
+            labels[insertAt] = label;
+            children[insertAt] = child;
+            size++;
+            return child;
+        }
+
+        // 상품 수 내림차순 목록에 후보를 넣고, 가득 찼으면 가장 적은 후보보다 많을 때만 교체
+        private void offer(int id, List<Entry> entries) {
+            int position = -1;
+            for (int i = 0; i < topSize; i++) {
+                if (top[i] == id) {
+                    position = i;
+                    break;
+                }
+            }
+            if (position < 0) {
+                if (topSize < TOP_K) {
+                    if (topSize == top.length) {
+                        top = Arrays.copyOf(top, Math.min(TOP_K, Math.max(2, topSize * 2)));
+                    }
+                    position = topSize++;
+                } else if (entries.get(top[topSize - 1]).productCount < entries.get(id).productCount) {
+                    position = topSize - 1;
+                } else {
+                    return;
+                }
+                top[position] = id;
+            }
+            // 삽입 정렬로 제자리 찾기
+            int count = entries.get(id).productCount;
+            while (position > 0 && entries.get(top[position - 1]).productCount < count) {
+                top[position] = top[position - 1];
+                top[--position] = id;
+            }
+        }
+    }
+}
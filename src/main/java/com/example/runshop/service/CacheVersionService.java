@@ -0,0 +1,75 @@
+package com.example.runshop.service;
+
+import com.example.runshop.repository.CacheVersionStore;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 캐시 키에 포함하는 버전 카운터.
+ * 데이터가 바뀌면 해당 범위(예: 사용자별 주문 내역)의 버전만 올려, 이전 버전의 캐시 항목을 하나씩 지우지 않고도 무효화합니다.
+ * 이전 버전 항목은 캐시 TTL 이 지나면 자연히 사라집니다.
+ * 버전은 CacheVersionStore(기본 Redis)에 두어 모든 노드가 공유하고, 저장소 장애 시에는 노드 로컬 카운터로 대체합니다.
+ */
+@Service
+@Slf4j
+public class CacheVersionService {
+
+    private static final String KEY_PREFIX = "cache:version:";
+
+    private final CacheVersionStore cacheVersionStore;
+    private final ConcurrentMap<String, AtomicLong> localVersions = new ConcurrentHashMap<>();
+
+    public CacheVersionService(CacheVersionStore cacheVersionStore) {
+        this.cacheVersionStore = cacheVersionStore;
+    }
+
+    // @Cacheable 키 SpEL 에서 사용 (예: @cacheVersionService.current('orderHistory', #userId))
+    public long current(String namespace, Object id) {
+        String key = key(namespace, id);
+        try {
+            return cacheVersionStore.get(key);
+        } catch (DataAccessException e) {
+            log.warn("Redis 에 접근할 수 없어 로컬 캐시 버전을 사용합니다: {}", e.getMessage());
+            return localVersion(key).get();
+        }
+    }
+
+    public void bump(String namespace, Object id) {
+        String key = key(namespace, id);
+        try {
+            cacheVersionStore.increment(key);
+        } catch (DataAccessException e) {
+            log.warn("Redis 에 접근할 수 없어 로컬 캐시 버전을 올립니다: {}", e.getMessage());
+            localVersion(key).incrementAndGet();
+        }
+    }
+
+    // 커밋 전에 버전을 올리면 다른 요청이 커밋 전 데이터를 새 버전으로 캐시할 수 있으므로 커밋 이후에 올림
+    public void bumpAfterCommit(String namespace, Object id) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            bump(namespace, id);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                bump(namespace, id);
+            }
+        });
+    }
+
+    private AtomicLong localVersion(String key) {
+        return localVersions.computeIfAbsent(key, k -> new AtomicLong());
+    }
+
+    private String key(String namespace, Object id) {
+        return KEY_PREFIX + namespace + ":" + id;
+    }
+}
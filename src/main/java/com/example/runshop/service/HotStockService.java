@@ -0,0 +1,293 @@
+package com.example.runshop.service;
+
+import com.example.runshop.exception.Inventory.InvalidStockModeException;
+import com.example.runshop.exception.Inventory.InventoryNotFoundException;
+import com.example.runshop.model.entity.Inventory;
+import com.example.runshop.model.enums.StockMode;
+import com.example.runshop.repository.InventoryRepository;
+import com.example.runshop.repository.StockCounterStore;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * 인기 상품(StockMode.REDIS) 재고를 Redis 카운터에서 차감하고,
+ * 확정된 변경량을 카운터 저장소(Redis 해시)에 모아 주기적으로 inventory 테이블에 일괄 반영(write-behind)합니다.
+ * 카운터가 없으면(시작 시점 또는 캐시 유실) DB 재고 + 아직 반영되지 않은 변경량으로 다시 맞추며,
+ * 변경량을 모든 노드가 함께 보관하므로 어느 노드에서 재동기화해도 다른 노드의 미반영 변경량이 빠지지 않습니다.
+ * 반영과 재동기화는 저장소 잠금으로 노드 전체에서 직렬화하여, 반영 중간(DB 에는 반영, 변경량은 아직 남음)을 재동기화가 보지 않도록 합니다.
+ * 모드 전환도 같은 잠금 안에서 처리하고 inventory 행의 조건부 UPDATE 는 DATABASE 모드에서만 적용되므로,
+ * 전환을 아직 모르는 노드는 행을 직접 차감하지 못하고(InventoryService 가 현재 모드로 다시 시도) 일반 상품으로 돌아간 뒤에는 카운터를 다시 만들지 않습니다.
+ */
+@Service
+@Slf4j
+public class HotStockService {
+
+    private static final String APPLY_DELTA_SQL = "update inventory set stock_quantity = stock_quantity + ? where product_id = ?";
+    private static final String DISABLE_SQL =
+            "update inventory set stock_quantity = stock_quantity + ?, stock_mode = 'DATABASE' where product_id = ? and stock_mode = 'REDIS'";
+    // 반영 한 번에 걸리는 시간보다 충분히 길게 (노드가 죽으면 이 시간 뒤 다른 노드가 이어받음)
+    private static final Duration LOCK_TTL = Duration.ofSeconds(30);
+    // 재동기화가 진행 중인 반영을 기다리는 최대 시간
+    private static final long RECONCILE_WAIT_MILLIS = 2000;
+    private static final long RECONCILE_POLL_MILLIS = 10;
+
+    private final StockCounterStore stockCounterStore;
+    private final InventoryRepository inventoryRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int flushBatchSize;
+
+    // 이 노드가 알고 있는 인기 상품 목록 (주기적으로 DB 에서 갱신)
+    private final Set<Long> hotProductIds = ConcurrentHashMap.newKeySet();
+
+    public HotStockService(StockCounterStore stockCounterStore,
+                           InventoryRepository inventoryRepository,
+                           JdbcTemplate jdbcTemplate,
+                           PlatformTransactionManager transactionManager,
+                           @Value("${inventory.hot-stock.flush-batch-size:500}") int flushBatchSize) {
+        this.stockCounterStore = stockCounterStore;
+        this.inventoryRepository = inventoryRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.flushBatchSize = flushBatchSize;
+    }
+
+    public boolean isHot(Long productId) {
+        return hotProductIds.contains(productId);
+    }
+
+    // 재고 선점 - 성공 시 true, 재고 부족 시 false
+    // 다른 노드가 일반 상품으로 되돌렸으면 false 를 반환하고 isHot 이 false 가 됨 (호출자가 DB 재고로 다시 시도)
+    public boolean tryDecrease(Long productId, int quantity) {
+        long result = stockCounterStore.tryDecrease(productId, quantity);
+        if (result == StockCounterStore.MISSING) {
+            if (!reconcile(productId)) {
+                return false;
+            }
+            result = stockCounterStore.tryDecrease(productId, quantity);
+        }
+        if (result < 0) {
+            return false;
+        }
+        recordDelta(productId, -quantity);
+        return true;
+    }
+
+    // 재고 반환 - 다른 노드가 일반 상품으로 되돌렸으면 반영하지 않고 false (호출자가 DB 재고에 반환)
+    public boolean increase(Long productId, int quantity) {
+        long result = stockCounterStore.increase(productId, quantity);
+        if (result == StockCounterStore.MISSING) {
+            if (!reconcile(productId)) {
+                return false;
+            }
+            stockCounterStore.increase(productId, quantity);
+        }
+        recordDelta(productId, quantity);
+        return true;
+    }
+
+    public int getStock(Long productId) {
+        Long stock = stockCounterStore.get(productId);
+        if (stock == null) {
+            if (!reconcile(productId)) {
+                return findInventoryOrThrow(productId).getStockQuantity().value();
+            }
+            stock = stockCounterStore.get(productId);
+        }
+        return stock != null ? stock.intValue() : 0;
+    }
+
+    // 인기 상품으로 전환 - 이후 재고 차감은 Redis 카운터에서 처리
+    // 모드 변경이 커밋되면 다른 노드의 행 차감은 실패하고 카운터로 넘어오며, 그 재동기화는 잠금 뒤에서 이 초기화가 끝나기를 기다림
+    public void enable(Long productId) {
+        withLock(() -> {
+            transactionTemplate.executeWithoutResult(status -> {
+                Inventory inventory = inventoryRepository.findByProductIdForUpdate(productId)
+                        .orElseThrow(() -> new InventoryNotFoundException("해당 상품에 대한 재고가 존재하지 않습니다."));
+                if (inventory.getStockMode() == StockMode.SHARDED) {
+                    throw new InvalidStockModeException("버킷으로 나뉜 재고는 인기 상품(Redis) 모드로 전환할 수 없습니다.");
+                }
+                inventory.setStockMode(StockMode.REDIS);
+            });
+            // 이전에 사용하던 카운터가 남아 있을 수 있으므로 지우고 DB 기준으로 새로 초기화
+            stockCounterStore.remove(productId);
+            return initializeFromDatabase(productId);
+        });
+        hotProductIds.add(productId);
+        log.info("인기 상품 재고 모드로 전환되었습니다. 상품 ID: {}", productId);
+    }
+
+    // 일반 상품으로 복귀 - 카운터를 먼저 지워 이후의 카운터 차감이 재동기화(잠금 대기 후 바뀐 모드를 확인)로 넘어가게 하고,
+    // 이 상품의 미반영 변경량을 DB 에 반영하면서 같은 문장으로 모드를 되돌림
+    // (지우기 직전 카운터에서 차감하고 아직 커밋되지 않은 트랜잭션의 변경량은 커밋 후 기록되어 다음 반영 주기에 DB 에 더해짐)
+    public void disable(Long productId) {
+        withLock(() -> {
+            stockCounterStore.remove(productId);
+            long pending = stockCounterStore.getPendingDelta(productId);
+            Integer updated = transactionTemplate.execute(status -> jdbcTemplate.update(DISABLE_SQL, pending, productId));
+            if (updated == null || updated == 0) {
+                // 인기 상품이 아니었음 - 변경량은 그대로 두고 다음 반영 주기에 처리
+                return null;
+            }
+            if (pending != 0) {
+                stockCounterStore.removePendingDeltas(Map.of(productId, pending));
+            }
+            return null;
+        });
+        hotProductIds.remove(productId);
+        log.info("일반 재고 모드로 전환되었습니다. 상품 ID: {}", productId);
+    }
+
+    // 카운터가 없을 때 DB 재고 + 모든 노드의 미반영 변경량으로 초기화 (다른 노드가 먼저 초기화했다면 그대로 사용)
+    // 잠금을 얻은 뒤 모드를 다시 확인해, 다른 노드가 일반 상품으로 되돌렸으면 카운터를 만들지 않고 false
+    public boolean reconcile(Long productId) {
+        if (stockCounterStore.get(productId) == null && !withLock(() -> initializeFromDatabase(productId))) {
+            hotProductIds.remove(productId);
+            return false;
+        }
+        hotProductIds.add(productId);
+        return true;
+    }
+
+    // 확정된 변경량을 모아서 한 트랜잭션, JDBC 배치로 반영 (다른 노드가 반영 중이면 이번 주기는 건너뜀)
+    // 커밋된 뒤 반영한 만큼만 변경량에서 빼므로, 그 사이 더해진 변경량과 반영에 실패한 변경량은 다음 주기에 반영됨
+    @Scheduled(fixedDelayString = "${inventory.hot-stock.flush-interval-ms:1000}")
+    public void flush() {
+        String owner = UUID.randomUUID().toString();
+        if (!stockCounterStore.tryLock(owner, LOCK_TTL)) {
+            return;
+        }
+        try {
+            Map<Long, Long> deltas = stockCounterStore.getPendingDeltas();
+            if (deltas.isEmpty()) {
+                return;
+            }
+            transactionTemplate.executeWithoutResult(status -> applyDeltas(deltas));
+            stockCounterStore.removePendingDeltas(deltas);
+            log.debug("인기 상품 재고 변경량을 반영했습니다. 상품 수: {}", deltas.size());
+        } catch (RuntimeException e) {
+            log.error("인기 상품 재고 반영에 실패했습니다. 다음 주기에 재시도합니다.", e);
+        } finally {
+            stockCounterStore.unlock(owner);
+        }
+    }
+
+    // 시작 시 및 주기적으로 인기 상품 목록을 DB 에서 읽어 다른 노드의 전환 내역을 반영
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${inventory.hot-stock.refresh-interval-ms:5000}", initialDelayString = "${inventory.hot-stock.refresh-interval-ms:5000}")
+    public void refreshHotProducts() {
+        try {
+            List<Long> productIds = inventoryRepository.findProductIdsByStockMode(StockMode.REDIS);
+            hotProductIds.retainAll(productIds);
+            for (Long productId : productIds) {
+                if (!hotProductIds.contains(productId)) {
+                    reconcile(productId); // 카운터를 준비하고 목록에 추가 (그 사이 되돌려졌으면 추가하지 않음)
+                }
+            }
+        } catch (RuntimeException e) {
+            log.error("인기 상품 목록 갱신에 실패했습니다.", e);
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+
+    // 트랜잭션 안에서 호출되면 커밋된 경우에만 변경량을 기록하고, 롤백되면 Redis 카운터를 되돌림
+    private void recordDelta(Long productId, long delta) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            addPendingDelta(productId, delta);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_ROLLED_BACK) {
+                    compensate(productId, delta);
+                } else {
+                    addPendingDelta(productId, delta);
+                }
+            }
+        });
+    }
+
+    private void compensate(Long productId, long delta) {
+        long result = delta < 0
+                ? stockCounterStore.increase(productId, (int) -delta)
+                : stockCounterStore.tryDecrease(productId, (int) delta);
+        if (result < 0) {
+            log.warn("롤백된 재고 변경을 카운터에 되돌리지 못했습니다. 상품 ID: {}, 변경량: {}", productId, delta);
+        }
+    }
+
+    private void addPendingDelta(Long productId, long delta) {
+        stockCounterStore.addPendingDelta(productId, delta);
+    }
+
+    // 잠금을 가진 상태에서만 호출 (반영 중간 상태와 모드 전환 중간을 보지 않도록) - 인기 상품이 아니면 false
+    private boolean initializeFromDatabase(Long productId) {
+        Inventory inventory = findInventoryOrThrow(productId);
+        if (inventory.getStockMode() != StockMode.REDIS) {
+            return false;
+        }
+        int dbStock = inventory.getStockQuantity().value();
+        long pending = stockCounterStore.getPendingDelta(productId);
+        if (stockCounterStore.initializeIfAbsent(productId, dbStock + pending)) {
+            log.info("재고 카운터를 DB 기준으로 재동기화했습니다. 상품 ID: {}, 재고: {}", productId, dbStock + pending);
+        }
+        return true;
+    }
+
+    // 진행 중인 반영/전환이 끝날 때까지 잠시 기다려 잠금을 얻은 뒤 실행 (재동기화는 카운터 유실 또는 전환 직후에만 일어남)
+    private <T> T withLock(Supplier<T> action) {
+        String owner = UUID.randomUUID().toString();
+        long deadline = System.currentTimeMillis() + RECONCILE_WAIT_MILLIS;
+        while (!stockCounterStore.tryLock(owner, LOCK_TTL)) {
+            if (System.currentTimeMillis() >= deadline) {
+                throw new IllegalStateException("재고 반영이 끝나지 않아 재고 카운터를 재동기화하지 못했습니다.");
+            }
+            try {
+                Thread.sleep(RECONCILE_POLL_MILLIS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("재고 카운터 재동기화 대기 중 인터럽트되었습니다.", e);
+            }
+        }
+        try {
+            return action.get();
+        } finally {
+            stockCounterStore.unlock(owner);
+        }
+    }
+
+    private void applyDeltas(Map<Long, Long> deltas) {
+        jdbcTemplate.batchUpdate(APPLY_DELTA_SQL, deltas.entrySet(), flushBatchSize, (ps, entry) -> {
+            ps.setLong(1, entry.getValue());
+            ps.setLong(2, entry.getKey());
+        });
+    }
+
+    private Inventory findInventoryOrThrow(Long productId) {
+        return inventoryRepository.findByProductId(productId)
+                .orElseThrow(() -> new InventoryNotFoundException("해당 상품에 대한 재고가 존재하지 않습니다."));
+    }
+}
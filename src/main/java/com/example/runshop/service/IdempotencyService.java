@@ -0,0 +1,117 @@
+package com.example.runshop.service;
+
+import com.example.runshop.exception.idempotency.IdempotencyKeyInProgressException;
+import com.example.runshop.exception.idempotency.IdempotencyKeyMismatchException;
+import com.example.runshop.model.dto.idempotency.IdempotencyRecord;
+import com.example.runshop.repository.IdempotencyKeyStore;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Idempotency-Key 처리. 처음 도착한 요청이 키를 선점해 실행하고, 결과 응답을 TTL 동안 보관합니다.
+ * 선점한 요청이 실행되는 동안에는 lock-ttl-seconds 의 1/3 마다 처리 중 표시를 연장하여 오래 걸리는 요청도 중복 실행되지 않게 하고,
+ * 노드가 죽어 연장이 멈추면 lock-ttl 이 지난 뒤 재시도가 다시 실행될 수 있습니다.
+ * 같은 키로 동시에 들어온 요청은 기다리지 않고 바로 IdempotencyKeyInProgressException(409) 으로 거절합니다.
+ */
+@Slf4j
+@Service
+public class IdempotencyService {
+
+    private final IdempotencyKeyStore idempotencyKeyStore;
+    private final Duration responseTtl;
+    private final Duration lockTtl;
+    // 이 노드에서 실행 중인 요청의 처리 중 표시 (연장 대상)
+    private final Set<Lease> leases = ConcurrentHashMap.newKeySet();
+    private ScheduledExecutorService renewer;
+
+    public IdempotencyService(IdempotencyKeyStore idempotencyKeyStore,
+                              @Value("${idempotency.response-ttl-seconds:86400}") long responseTtlSeconds,
+                              @Value("${idempotency.lock-ttl-seconds:30}") long lockTtlSeconds) {
+        this.idempotencyKeyStore = idempotencyKeyStore;
+        this.responseTtl = Duration.ofSeconds(responseTtlSeconds);
+        this.lockTtl = Duration.ofSeconds(lockTtlSeconds);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        renewer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "idempotency-lease-renewer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long intervalMillis = Math.max(1, lockTtl.toMillis() / 3);
+        renewer.scheduleWithFixedDelay(this::renewLeases, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (renewer != null) {
+            renewer.shutdownNow();
+        }
+    }
+
+    // claim(IdempotencyRecord.inProgress) 으로 키를 선점하면 empty (호출자가 요청을 실행하고 같은 claim 으로 complete/abort)
+    // 이미 처리된 키면 저장된 응답을 반환, 다른 요청이 처리 중이면 IdempotencyKeyInProgressException
+    public Optional<IdempotencyRecord> begin(String key, IdempotencyRecord claim) {
+        // 앞선 요청이 실패해 키가 풀린 사이에 조회했다면 한 번 더 선점 시도
+        for (int attempt = 0; attempt < 2; attempt++) {
+            if (idempotencyKeyStore.putIfAbsent(key, claim, lockTtl)) {
+                leases.add(new Lease(key, claim));
+                return Optional.empty();
+            }
+            Optional<IdempotencyRecord> existing = idempotencyKeyStore.get(key);
+            if (existing.isPresent()) {
+                IdempotencyRecord record = existing.get();
+                if (!claim.getFingerprint().equals(record.getFingerprint())) {
+                    throw new IdempotencyKeyMismatchException("같은 Idempotency-Key 로 다른 요청을 보낼 수 없습니다.");
+                }
+                if (record.isCompleted()) {
+                    return existing;
+                }
+                throw new IdempotencyKeyInProgressException("같은 Idempotency-Key 요청이 아직 처리 중입니다.");
+            }
+        }
+        throw new IdempotencyKeyInProgressException("같은 Idempotency-Key 요청이 아직 처리 중입니다.");
+    }
+
+    // 처리 결과 저장 - TTL 동안 같은 키의 요청에 이 응답을 재전송
+    public void complete(String key, IdempotencyRecord claim, IdempotencyRecord record) {
+        leases.remove(new Lease(key, claim));
+        idempotencyKeyStore.put(key, record, responseTtl);
+    }
+
+    // 처리 실패(서버 오류 등) - 자신이 남긴 처리 중 표시일 때만 풀어 재시도가 다시 실행될 수 있도록 함
+    public void abort(String key, IdempotencyRecord claim) {
+        leases.remove(new Lease(key, claim));
+        idempotencyKeyStore.remove(key, claim);
+    }
+
+    // 실행 중인 요청의 처리 중 표시를 연장 (이미 만료되어 다른 요청이 선점했다면 더 연장하지 않음)
+    void renewLeases() {
+        for (Lease lease : leases) {
+            try {
+                if (!idempotencyKeyStore.expire(lease.key(), lease.claim(), lockTtl)) {
+                    leases.remove(lease);
+                    log.warn("Idempotency-Key 처리 중 표시가 이미 만료되었습니다. 키: {}", lease.key());
+                }
+            } catch (RuntimeException e) {
+                log.warn("Idempotency-Key 처리 중 표시를 연장하지 못했습니다. 키: {}", lease.key(), e);
+            }
+        }
+    }
+
+    private record Lease(String key, IdempotencyRecord claim) {
+    }
+}
@@ -0,0 +1,241 @@
+package com.example.runshop.service;
+
+import com.example.runshop.model.dto.inventory.BulkStockAdjustmentResult;
+import com.example.runshop.model.dto.inventory.StockAdjustmentRow;
+import com.example.runshop.model.enums.StockAdjustmentMode;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * 판매자 ERP 재고 동기화용 대량 재고 조정.
+ * 업로드된 CSV / JSON Lines 를 한 줄씩 읽어 batch-size 단위로 JDBC 배치 UPDATE 를 실행하므로
+ * 파일 전체를 메모리에 올리지 않고 수십만 행을 처리할 수 있습니다.
+ * 배치마다 별도 트랜잭션으로 반영하며, 실패한 행만 행 번호와 사유를 함께 보고합니다.
+ */
+@Service
+@Slf4j
+public class InventoryBulkService {
+
+    public enum Format {
+        CSV, // productId,mode,quantity (첫 줄 헤더는 선택)
+        JSON_LINES // {"productId":1,"mode":"DELTA","quantity":-3} 한 줄에 하나
+    }
+
+    // 인기/버킷 상품은 stock_mode 조건으로 제외하고 InventoryService 를 통해 개별 처리
+    private static final String SET_STOCK_SQL =
+            "update inventory set stock_quantity = ? where product_id = ? and stock_mode = 'DATABASE'";
+    private static final String ADD_STOCK_SQL =
+            "update inventory set stock_quantity = stock_quantity + ? where product_id = ? and stock_mode = 'DATABASE' and stock_quantity + ? >= 0";
+
+    private static final String NOT_APPLIED = "재고가 없거나 조정 후 재고가 음수가 됩니다.";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final InventoryService inventoryService;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final int maxReportedErrors;
+
+    public InventoryBulkService(JdbcTemplate jdbcTemplate,
+                                InventoryService inventoryService,
+                                ObjectMapper objectMapper,
+                                PlatformTransactionManager transactionManager,
+                                @Value("${inventory.bulk.batch-size:1000}") int batchSize,
+                                @Value("${inventory.bulk.max-reported-errors:1000}") int maxReportedErrors) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.inventoryService = inventoryService;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.maxReportedErrors = maxReportedErrors;
+    }
+
+    public BulkStockAdjustmentResult apply(InputStream inputStream, Format format) throws IOException {
+        ResultCollector collector = new ResultCollector(maxReportedErrors);
+        List<StockAdjustmentRow> chunk = new ArrayList<>(batchSize);
+
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8))) {
+            String line;
+            long rowNumber = 0;
+            while ((line = reader.readLine()) != null) {
+                rowNumber++;
+                if (line.isBlank() || (rowNumber == 1 && format == Format.CSV && isCsvHeader(line))) {
+                    continue;
+                }
+                collector.totalRows++;
+                try {
+                    chunk.add(format == Format.CSV ? parseCsv(rowNumber, line) : parseJsonLine(rowNumber, line));
+                } catch (RuntimeException | IOException e) {
+                    collector.fail(rowNumber, null, "행을 해석할 수 없습니다: " + e.getMessage());
+                }
+                if (chunk.size() >= batchSize) {
+                    applyChunk(chunk, collector);
+                    chunk = new ArrayList<>(batchSize);
+                }
+            }
+        }
+        if (!chunk.isEmpty()) {
+            applyChunk(chunk, collector);
+        }
+
+        log.info("대량 재고 조정 완료. 전체: {}, 성공: {}, 실패: {}", collector.totalRows, collector.appliedRows, collector.failedRows);
+        return collector.toResult();
+    }
+
+    private void applyChunk(List<StockAdjustmentRow> chunk, ResultCollector collector) {
+        List<StockAdjustmentRow> defaultRows = new ArrayList<>(chunk.size());
+        List<StockAdjustmentRow> specialRows = new ArrayList<>();
+        for (StockAdjustmentRow row : chunk) {
+            (inventoryService.usesDefaultStockMode(row.productId()) ? defaultRows : specialRows).add(row);
+        }
+        if (!defaultRows.isEmpty()) {
+            applyDefaultRows(defaultRows, collector);
+        }
+        specialRows.forEach(row -> applySpecialRow(row, collector));
+    }
+
+    private void applyDefaultRows(List<StockAdjustmentRow> defaultRows, ResultCollector collector) {
+        try {
+            int[] counts = transactionTemplate.execute(status -> applyBatches(defaultRows));
+            for (int i = 0; i < defaultRows.size(); i++) {
+                StockAdjustmentRow row = defaultRows.get(i);
+                // SUCCESS_NO_INFO(-2) 는 드라이버가 행 수를 알려주지 않는 경우로, 반영된 것으로 간주
+                if (counts != null && counts[i] != 0) {
+                    collector.success();
+                } else {
+                    collector.fail(row.rowNumber(), row.productId(), NOT_APPLIED);
+                }
+            }
+        } catch (RuntimeException e) {
+            log.error("대량 재고 조정 배치 반영에 실패했습니다. 행 범위: {} ~ {}",
+                    defaultRows.get(0).rowNumber(), defaultRows.get(defaultRows.size() - 1).rowNumber(), e);
+            defaultRows.forEach(row -> collector.fail(row.rowNumber(), row.productId(), "배치 반영 실패: " + e.getMessage()));
+        }
+    }
+
+    // 같은 모드가 연속된 행끼리 묶어 배치로 실행 (파일 내 순서를 유지)
+    private int[] applyBatches(List<StockAdjustmentRow> rows) {
+        int[] counts = new int[rows.size()];
+        int start = 0;
+        while (start < rows.size()) {
+            StockAdjustmentMode mode = rows.get(start).mode();
+            int end = start;
+            while (end < rows.size() && rows.get(end).mode() == mode) {
+                end++;
+            }
+            List<StockAdjustmentRow> run = rows.subList(start, end);
+            int[][] results = jdbcTemplate.batchUpdate(mode == StockAdjustmentMode.ABSOLUTE ? SET_STOCK_SQL : ADD_STOCK_SQL,
+                    run, run.size(), (ps, row) -> {
+                        ps.setInt(1, row.quantity());
+                        ps.setLong(2, row.productId());
+                        if (row.mode() == StockAdjustmentMode.DELTA) {
+                            ps.setInt(3, row.quantity());
+                        }
+                    });
+            int offset = start;
+            for (int[] batch : results) {
+                System.arraycopy(batch, 0, counts, offset, batch.length);
+                offset += batch.length;
+            }
+            start = end;
+        }
+        return counts;
+    }
+
+    // 인기(Redis)/버킷 상품은 InventoryService 의 원자적 경로로 한 행씩 처리 (증감만 지원)
+    private void applySpecialRow(StockAdjustmentRow row, ResultCollector collector) {
+        if (row.mode() == StockAdjustmentMode.ABSOLUTE) {
+            collector.fail(row.rowNumber(), row.productId(), "인기/버킷 재고 상품은 증감(DELTA) 조정만 지원합니다.");
+            return;
+        }
+        try {
+            if (row.quantity() > 0) {
+                inventoryService.increaseStock(row.productId(), row.quantity());
+            } else if (row.quantity() < 0 && !inventoryService.tryDecreaseStock(row.productId(), -row.quantity())) {
+                collector.fail(row.rowNumber(), row.productId(), NOT_APPLIED);
+                return;
+            }
+            collector.success();
+        } catch (RuntimeException e) {
+            collector.fail(row.rowNumber(), row.productId(), e.getMessage());
+        }
+    }
+
+    private boolean isCsvHeader(String line) {
+        String first = line.split(",", -1)[0].trim();
+        return !first.isEmpty() && !Character.isDigit(first.charAt(0));
+    }
+
+    private StockAdjustmentRow parseCsv(long rowNumber, String line) {
+        String[] columns = line.split(",", -1);
+        if (columns.length != 3) {
+            throw new IllegalArgumentException("productId,mode,quantity 세 개의 열이 필요합니다.");
+        }
+        return toRow(rowNumber, Long.parseLong(columns[0].trim()), columns[1].trim(), Integer.parseInt(columns[2].trim()));
+    }
+
+    private StockAdjustmentRow parseJsonLine(long rowNumber, String line) throws IOException {
+        JsonNode node = objectMapper.readTree(line);
+        if (!node.hasNonNull("productId") || !node.hasNonNull("mode") || !node.hasNonNull("quantity")) {
+            throw new IllegalArgumentException("productId, mode, quantity 필드가 필요합니다.");
+        }
+        return toRow(rowNumber, node.get("productId").asLong(), node.get("mode").asText(), node.get("quantity").asInt());
+    }
+
+    private StockAdjustmentRow toRow(long rowNumber, Long productId, String mode, int quantity) {
+        StockAdjustmentMode adjustmentMode = StockAdjustmentMode.valueOf(mode.toUpperCase(Locale.ROOT));
+        if (adjustmentMode == StockAdjustmentMode.ABSOLUTE && quantity < 0) {
+            throw new IllegalArgumentException("재고는 0 이상이어야 합니다.");
+        }
+        return new StockAdjustmentRow(rowNumber, productId, adjustmentMode, quantity);
+    }
+
+    // 성공/실패 건수와 (최대 개수까지의) 실패 행을 모으는 집계기
+    private static class ResultCollector {
+        private final int maxReportedErrors;
+        private final List<BulkStockAdjustmentResult.RowError> errors = new ArrayList<>();
+        private long totalRows;
+        private long appliedRows;
+        private long failedRows;
+
+        ResultCollector(int maxReportedErrors) {
+            this.maxReportedErrors = maxReportedErrors;
+        }
+
+        void success() {
+            appliedRows++;
+        }
+
+        void fail(long rowNumber, Long productId, String reason) {
+            failedRows++;
+            if (errors.size() < maxReportedErrors) {
+                errors.add(new BulkStockAdjustmentResult.RowError(rowNumber, productId, reason));
+            }
+        }
+
+        BulkStockAdjustmentResult toResult() {
+            return BulkStockAdjustmentResult.builder()
+                    .totalRows(totalRows)
+                    .appliedRows(appliedRows)
+                    .failedRows(failedRows)
+                    .errors(errors)
+                    .errorsTruncated(failedRows > errors.size())
+                    .build();
+        }
+    }
+}
@@ -3,60 +3,167 @@ package com.example.runshop.service;
 import com.example.runshop.exception.Inventory.InventoryNotFoundException;
 import com.example.runshop.exception.Inventory.OutOfStockException;
 import com.example.runshop.model.entity.Inventory;
-import com.example.runshop.model.vo.inventory.StockQuantity;
+import com.example.runshop.model.enums.StockMode;
 import com.example.runshop.repository.InventoryRepository;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Map;
+import java.util.TreeMap;
+
 @Service
 @Transactional(readOnly = true)
 public class InventoryService {
 
     private final InventoryRepository inventoryRepository;
+    private final HotStockService hotStockService;
+    private final ShardedStockService shardedStockService;
 
-    public InventoryService(InventoryRepository inventoryRepository) {
+    public InventoryService(InventoryRepository inventoryRepository, HotStockService hotStockService, ShardedStockService shardedStockService) {
         this.inventoryRepository = inventoryRepository;
+        this.hotStockService = hotStockService;
+        this.shardedStockService = shardedStockService;
     }
 
     // 재고 조회 메서드
     public int getStock(Long productId) {
+        if (hotStockService.isHot(productId)) {
+            return hotStockService.getStock(productId);
+        }
+        if (shardedStockService.isSharded(productId)) {
+            return shardedStockService.getStock(productId);
+        }
         Inventory inventory = findByProductOrThrow(productId);
         return inventory.getStockQuantity().value();
     }
 
+    // Redis 카운터/버킷 재고가 아닌, inventory 테이블에 직접 재고를 두는 상품인지 여부
+    public boolean usesDefaultStockMode(Long productId) {
+        return !hotStockService.isHot(productId) && !shardedStockService.isSharded(productId);
+    }
+
     // 재고 감소 메서드
     @Transactional
     public void decreaseStock(Long productId, int quantity) {
-        Inventory inventory = findByProductOrThrow(productId);
-        StockQuantity currentStock = inventory.getStockQuantity();
-
-        if (currentStock.value() < quantity) {
-            throw new OutOfStockException("재고가 부족합니다.");
+        if (!tryDecreaseStock(productId, quantity)) {
+            throw outOfStockOrNotFound(productId);
         }
+    }
 
-        // 재고 감소 후 새 StockQuantity 객체 반환
-        StockQuantity updatedStockQuantity = currentStock.decreaseStock(quantity);
-
-        // 변경된 StockQuantity 설정
-        inventory.setStockQuantity(updatedStockQuantity);
+    // 재고 선점 메서드 - 엔티티를 읽지 않고 조건부 UPDATE 한 번으로 처리
+    // 성공 시 true, 재고 부족(또는 재고 없음) 시 false 를 반환
+    // 이 노드가 아는 재고 모드가 오래되었으면(다른 노드가 전환) 행 차감이 실패하므로 DB 의 현재 모드로 한 번 더 시도
+    @Transactional
+    public boolean tryDecreaseStock(Long productId, int quantity) {
+        validateQuantity(quantity);
+        if (hotStockService.isHot(productId)) {
+            boolean reserved = hotStockService.tryDecrease(productId, quantity);
+            if (reserved || hotStockService.isHot(productId)) {
+                return reserved;
+            }
+        } else if (shardedStockService.isSharded(productId)) {
+            return shardedStockService.tryDecrease(productId, quantity);
+        }
+        if (inventoryRepository.decreaseStockIfAvailable(productId, quantity) == 1) {
+            return true;
+        }
+        return switch (currentStockMode(productId)) {
+            case REDIS -> hotStockService.reconcile(productId) && hotStockService.tryDecrease(productId, quantity);
+            case SHARDED -> shardedStockService.tryDecrease(productId, quantity);
+            case DATABASE -> false;
+        };
+    }
 
-        inventoryRepository.save(inventory);
+    // 한 주문의 여러 상품 재고를 한꺼번에 선점 (전부 성공하거나 전부 실패)
+    // 상품 ID 순서로 갱신하여 동시 주문 간 락 순서를 고정하고 데드락을 방지
+    @Transactional
+    public void reserveStocks(Map<Long, Integer> quantities) {
+        for (Map.Entry<Long, Integer> entry : new TreeMap<>(quantities).entrySet()) {
+            if (!tryDecreaseStock(entry.getKey(), entry.getValue())) {
+                // 예외로 트랜잭션을 롤백시켜 앞서 차감한 재고도 함께 되돌림
+                throw outOfStockOrNotFound(entry.getKey());
+            }
+        }
     }
 
+    // reserveStocks 와 같지만 예외 대신 false 를 반환하고, 앞서 차감한 재고는 같은 트랜잭션 안에서 되돌림
+    // 여러 주문이 한 트랜잭션을 공유하는 그룹 커밋에서 한 주문의 재고 부족이 나머지를 롤백시키지 않도록 사용
+    @Transactional
+    public boolean tryReserveStocks(Map<Long, Integer> quantities) {
+        Map<Long, Integer> reserved = new TreeMap<>();
+        for (Map.Entry<Long, Integer> entry : new TreeMap<>(quantities).entrySet()) {
+            if (!tryDecreaseStock(entry.getKey(), entry.getValue())) {
+                reserved.forEach(this::increaseStock);
+                return false;
+            }
+            reserved.put(entry.getKey(), entry.getValue());
+        }
+        return true;
+    }
 
     // 재고 증가 메서드
     @Transactional
     public void increaseStock(Long productId, int quantity) {
-        Inventory inventory = findByProductOrThrow(productId);
-        StockQuantity updatedStockQuantity = inventory.getStockQuantity().increaseStock(quantity);
-        inventory.setStockQuantity(updatedStockQuantity); // 변경된 StockQuantity 설정
-        inventoryRepository.save(inventory);
+        validateQuantity(quantity);
+        if (hotStockService.isHot(productId) && hotStockService.increase(productId, quantity)) {
+            return;
+        }
+        if (shardedStockService.isSharded(productId) && shardedStockService.increase(productId, quantity)) {
+            return;
+        }
+        if (inventoryRepository.increaseStock(productId, quantity) == 1) {
+            return;
+        }
+        boolean increased = switch (currentStockMode(productId)) {
+            case REDIS -> hotStockService.reconcile(productId) && hotStockService.increase(productId, quantity);
+            case SHARDED -> shardedStockService.increase(productId, quantity);
+            case DATABASE -> false;
+        };
+        if (!increased) {
+            throw new InventoryNotFoundException("해당 상품에 대한 재고가 존재하지 않습니다.");
+        }
     }
 
+    // 인기 상품 재고 모드 전환 (Redis 카운터 사용 여부)
+    // 모드 변경과 카운터 초기화/반영은 HotStockService 가 단계별로 트랜잭션을 나누어 처리
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void changeHotStockMode(Long productId, boolean enabled) {
+        if (enabled) {
+            hotStockService.enable(productId);
+        } else {
+            hotStockService.disable(productId);
+        }
+    }
+
+    // 초인기 상품 재고를 여러 버킷 행으로 분할 (1 이면 다시 한 행으로 합침)
+    @Transactional
+    public void changeBucketCount(Long productId, int bucketCount) {
+        shardedStockService.changeBucketCount(productId, bucketCount);
+    }
 
     // 재고 확인 메서드
     public Inventory findByProductOrThrow(Long productId) {
         return inventoryRepository.findByProductId(productId)
                 .orElseThrow(() -> new InventoryNotFoundException("해당 상품에 대한 재고가 존재하지 않습니다."));
     }
+
+    private void validateQuantity(int quantity) {
+        if (quantity <= 0) {
+            throw new IllegalArgumentException("수량은 0보다 커야 합니다.");
+        }
+    }
+
+    // 조건부 UPDATE 가 실패한 경우에만 조회 (재고가 없으면 DATABASE 로 간주해 실패로 처리)
+    private StockMode currentStockMode(Long productId) {
+        return inventoryRepository.findStockModeByProductId(productId).orElse(StockMode.DATABASE);
+    }
+
+    // 조건부 UPDATE 가 실패한 경우에만 원인을 구분하기 위해 존재 여부를 조회
+    private RuntimeException outOfStockOrNotFound(Long productId) {
+        if (!inventoryRepository.existsByProductId(productId)) {
+            return new InventoryNotFoundException("해당 상품에 대한 재고가 존재하지 않습니다.");
+        }
+        return new OutOfStockException("재고가 부족합니다.");
+    }
 }
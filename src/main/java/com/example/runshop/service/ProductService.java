@@ -5,10 +5,13 @@ import com.example.runshop.model.dto.product.ProductDTO;
 import com.example.runshop.model.dto.product.UpdateProductRequest;
 import com.example.runshop.model.dto.product.AddProductRequest;
 import com.example.runshop.model.entity.Product;
+import com.example.runshop.model.entity.ProductDeletion;
 import com.example.runshop.model.vo.product.ProductDescription;
 import com.example.runshop.model.vo.product.ProductName;
 import com.example.runshop.model.vo.product.ProductPrice;
+import com.example.runshop.repository.ProductDeletionRepository;
 import com.example.runshop.repository.ProductRepository;
+import com.example.runshop.search.ProductSearchService;
 import com.example.runshop.utils.mapper.ProductMapper;
 import lombok.RequiredArgsConstructor;
 import org.springframework.cache.annotation.CacheEvict;
@@ -29,8 +32,17 @@ import java.util.stream.Collectors;
 @Slf4j
 @RequiredArgsConstructor
 public class ProductService {
+
+    // 상품 목록 캐시 버전 - 상품이 바뀌면 올려 이전 버전의 목록 페이지를 한 번에 무효화 (이전 항목은 TTL 로 만료)
+    // (@Cacheable 키 SpEL 에서는 T(...) 로 이 상수를 참조)
+    public static final String PRODUCT_LIST_VERSION = "productList";
+    public static final String ALL_PRODUCTS = "all"; // 목록은 전체 상품 하나의 버전만 사용
+
     private final ProductRepository productRepository;
+    private final ProductDeletionRepository productDeletionRepository;
     private final ProductMapper productMapper;
+    private final ProductSearchService productSearchService;
+    private final CacheVersionService cacheVersionService;
 
 
     @Transactional
@@ -42,22 +54,26 @@ public class ProductService {
                 .category(request.getCategory())
                 .brand(request.getBrand())
                 .build();
-        productRepository.save(product);
+        Product saved = productRepository.save(product);
+        productSearchService.reindexAfterCommit(saved != null ? saved.getId() : null);
+        cacheVersionService.bumpAfterCommit(PRODUCT_LIST_VERSION, ALL_PRODUCTS);
     }
 
     // 상품 조회 기능
     @Transactional(readOnly = true)
-    @Cacheable(value = "productCache", key = "#id")
+    // 만료 직후 동시 요청이 한꺼번에 DB 를 조회하지 않도록 sync 로 적재를 하나로 묶음 (TieredCache)
+    @Cacheable(value = "productCache", key = "#id", sync = true)
     public ProductDTO getProduct(Long id) {
         Product product = findProductOrThrow(id);
         return productMapper.productToProductDTO(product);
     }
 
-    // 상품 전체 조회 기능
+    // 상품 전체 조회 기능 (비활성 상품 제외)
     @Transactional(readOnly = true)
-    @Cacheable(value = "productListCache", key = "#pageable.pageNumber + '-' + #pageable.pageSize")
+    @Cacheable(value = "productListCache",
+            key = "@cacheVersionService.current(T(com.example.runshop.service.ProductService).PRODUCT_LIST_VERSION, T(com.example.runshop.service.ProductService).ALL_PRODUCTS) + ':' + #pageable.pageNumber + '-' + #pageable.pageSize + ':' + #pageable.sort")
     public List<ProductDTO> getProducts(Pageable pageable) {
-        return productRepository.findAll(pageable).map(productMapper::productToProductDTO).getContent();
+        return productRepository.findAllByEnabledTrue(pageable).map(productMapper::productToProductDTO).getContent();
     }
     // 상품 수정 기능
     @Transactional(propagation = Propagation.REQUIRES_NEW, isolation = Isolation.REPEATABLE_READ)
@@ -71,19 +87,29 @@ public class ProductService {
                 request.getCategory(),
                 request.getBrand()
         );
+        productSearchService.reindexAfterCommit(id);
+        cacheVersionService.bumpAfterCommit(PRODUCT_LIST_VERSION, ALL_PRODUCTS);
     }
 
     // 상품 삭제 기능
     @Transactional
+    @CacheEvict(value = "productCache", key = "#id")
     public void deleteProduct(Long id) {
         findProductOrThrow(id);
         productRepository.deleteById(id);
+        // 다른 노드의 검색 색인이 삭제를 알 수 있도록 같은 트랜잭션에 삭제 기록을 남김
+        productDeletionRepository.save(ProductDeletion.of(id));
+        productSearchService.reindexAfterCommit(id);
+        cacheVersionService.bumpAfterCommit(PRODUCT_LIST_VERSION, ALL_PRODUCTS);
     }
 
     @Transactional
+    @CacheEvict(value = "productCache", key = "#id")
     public void disabled(Long id) {
         Product product = findProductOrThrow(id);
         product.disableProduct();
+        productSearchService.reindexAfterCommit(id);
+        cacheVersionService.bumpAfterCommit(PRODUCT_LIST_VERSION, ALL_PRODUCTS);
     }
 
     public Product findProductOrThrow(Long id) {
@@ -0,0 +1,63 @@
+package com.example.runshop.service;
+
+import com.example.runshop.model.entity.SchedulerLease;
+import com.example.runshop.repository.SchedulerLeaseRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * 스케줄 작업용 DB 임대.
+ * 여러 노드에서 같은 @Scheduled 작업이 돌 때 임대를 가진 노드만 실행하도록 합니다.
+ * 임대를 가진 노드는 실행할 때마다 연장하고, 노드가 죽으면 임대 시간이 지난 뒤 다른 노드가 이어받습니다.
+ */
+@Service
+@Slf4j
+public class SchedulerLeaseService {
+
+    private final SchedulerLeaseRepository schedulerLeaseRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final String owner = ManagementFactory.getRuntimeMXBean().getName() + ":" + UUID.randomUUID();
+
+    public SchedulerLeaseService(SchedulerLeaseRepository schedulerLeaseRepository, PlatformTransactionManager transactionManager) {
+        this.schedulerLeaseRepository = schedulerLeaseRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    // 임대를 얻거나 연장하면 true
+    public boolean tryAcquire(String name, Duration duration) {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime leaseUntil = now.plus(duration);
+        Boolean acquired = transactionTemplate.execute(status -> {
+            if (schedulerLeaseRepository.acquire(name, owner, now, leaseUntil) == 1) {
+                return true;
+            }
+            return schedulerLeaseRepository.existsById(name) ? false : null;
+        });
+        if (acquired != null) {
+            return acquired;
+        }
+
+        // 처음 실행되는 작업이면 행을 만들며 임대 (동시에 만든 노드가 있으면 기본 키 충돌로 실패)
+        try {
+            transactionTemplate.executeWithoutResult(status ->
+                    schedulerLeaseRepository.saveAndFlush(new SchedulerLease(name, owner, leaseUntil)));
+            return true;
+        } catch (DataIntegrityViolationException e) {
+            log.debug("다른 노드가 먼저 임대를 만들었습니다. 작업: {}", name);
+            return false;
+        }
+    }
+
+    // 작업을 마친 뒤 바로 다른 노드가 가져갈 수 있도록 임대를 내려놓음 (종료 시)
+    public void release(String name) {
+        transactionTemplate.executeWithoutResult(status -> schedulerLeaseRepository.release(name, owner, LocalDateTime.now()));
+    }
+}
@@ -0,0 +1,191 @@
+package com.example.runshop.service;
+
+import com.example.runshop.exception.Inventory.InvalidStockModeException;
+import com.example.runshop.exception.Inventory.InventoryNotFoundException;
+import com.example.runshop.model.entity.Inventory;
+import com.example.runshop.model.entity.InventoryBucket;
+import com.example.runshop.model.enums.StockMode;
+import com.example.runshop.model.vo.inventory.StockQuantity;
+import com.example.runshop.repository.InventoryBucketRepository;
+import com.example.runshop.repository.InventoryRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 초인기 상품(StockMode.SHARDED)의 재고를 여러 inventory_bucket 행으로 나누어 관리합니다.
+ * 재고 차감은 임의의 버킷부터 조건부 UPDATE 를 시도하고, 부족하면 다른 버킷으로 넘어갑니다.
+ * 어떤 버킷 하나로도 부족한 대량 주문만 모든 버킷을 잠그고 나누어 차감합니다.
+ * 전환 중에는 inventory 행의 재고가 0 이므로, 아직 전환을 모르는 노드는 초과 판매 대신 재고 부족으로 실패합니다.
+ */
+@Service
+@Slf4j
+@Transactional(readOnly = true)
+public class ShardedStockService {
+
+    private final InventoryRepository inventoryRepository;
+    private final InventoryBucketRepository inventoryBucketRepository;
+
+    // 이 노드가 알고 있는 SHARDED 상품의 버킷 수 (주기적으로 DB 에서 갱신)
+    private final ConcurrentMap<Long, Integer> bucketCounts = new ConcurrentHashMap<>();
+
+    public ShardedStockService(InventoryRepository inventoryRepository, InventoryBucketRepository inventoryBucketRepository) {
+        this.inventoryRepository = inventoryRepository;
+        this.inventoryBucketRepository = inventoryBucketRepository;
+    }
+
+    public boolean isSharded(Long productId) {
+        return bucketCounts.containsKey(productId);
+    }
+
+    // 재고 선점 - 임의의 버킷에서 시작해 다른 버킷으로 넘어가며 시도
+    @Transactional
+    public boolean tryDecrease(Long productId, int quantity) {
+        int bucketCount = bucketCounts.getOrDefault(productId, 1);
+        int start = ThreadLocalRandom.current().nextInt(bucketCount);
+        for (int i = 0; i < bucketCount; i++) {
+            int bucketNo = (start + i) % bucketCount;
+            if (inventoryBucketRepository.decreaseStockIfAvailable(productId, bucketNo, quantity) == 1) {
+                return true;
+            }
+        }
+        return drainAcrossBuckets(productId, quantity);
+    }
+
+    // 재고 반환은 임의의 버킷 하나에 더함
+    // 캐시된 버킷 수가 오래되어(다른 노드가 버킷 수를 줄이거나 한 행으로 합침) 버킷이 없으면 DB 의 현재 상태로 갱신해 다시 시도
+    // 한 행으로 합쳐져 DATABASE 모드가 되었으면 inventory 행에 반환하고, 그 밖의 모드로 바뀌었으면 반영하지 않고 false
+    @Transactional
+    public boolean increase(Long productId, int quantity) {
+        int bucketCount = bucketCounts.getOrDefault(productId, 1);
+        if (inventoryBucketRepository.increaseStock(productId, randomBucket(bucketCount), quantity) == 1) {
+            return true;
+        }
+        Inventory inventory = inventoryRepository.findByProductIdForUpdate(productId)
+                .orElseThrow(() -> new InventoryNotFoundException("해당 상품에 대한 재고가 존재하지 않습니다."));
+        if (inventory.getStockMode() != StockMode.SHARDED) {
+            bucketCounts.remove(productId);
+            return inventoryRepository.increaseStock(productId, quantity) == 1;
+        }
+        bucketCounts.put(productId, inventory.getBucketCount());
+        if (inventoryBucketRepository.increaseStock(productId, randomBucket(inventory.getBucketCount()), quantity) == 0) {
+            throw new InventoryNotFoundException("해당 상품에 대한 재고 버킷이 존재하지 않습니다.");
+        }
+        return true;
+    }
+
+    // 전체 재고는 모든 버킷의 합
+    public int getStock(Long productId) {
+        return (int) inventoryBucketRepository.sumStockByProductId(productId);
+    }
+
+    // 재고를 bucketCount 개의 버킷으로 나눔 (1 이면 다시 inventory 한 행으로 합침)
+    @Transactional
+    public void changeBucketCount(Long productId, int bucketCount) {
+        if (bucketCount < 1) {
+            throw new IllegalArgumentException("버킷 수는 1 이상이어야 합니다.");
+        }
+        Inventory inventory = inventoryRepository.findByProductIdForUpdate(productId)
+                .orElseThrow(() -> new InventoryNotFoundException("해당 상품에 대한 재고가 존재하지 않습니다."));
+        if (inventory.getStockMode() == StockMode.REDIS) {
+            throw new InvalidStockModeException("인기 상품(Redis) 재고 모드에서는 버킷을 나눌 수 없습니다.");
+        }
+
+        // 전환을 아직 모르는 노드가 inventory 행에 반환한 재고도 합침
+        int totalStock = inventory.getStockMode() == StockMode.SHARDED
+                ? mergeBuckets(productId) + inventory.getStockQuantity().value()
+                : inventory.getStockQuantity().value();
+
+        if (bucketCount == 1) {
+            inventory.setStockQuantity(new StockQuantity(totalStock));
+            inventory.setStockMode(StockMode.DATABASE);
+            inventory.setBucketCount(1);
+            afterCommit(() -> bucketCounts.remove(productId));
+        } else {
+            inventoryBucketRepository.saveAll(splitIntoBuckets(productId, totalStock, bucketCount));
+            inventory.setStockQuantity(new StockQuantity(0));
+            inventory.setStockMode(StockMode.SHARDED);
+            inventory.setBucketCount(bucketCount);
+            afterCommit(() -> bucketCounts.put(productId, bucketCount));
+        }
+        log.info("재고 버킷 수가 변경되었습니다. 상품 ID: {}, 버킷 수: {}, 재고: {}", productId, bucketCount, totalStock);
+    }
+
+    // 시작 시 및 주기적으로 SHARDED 상품 목록을 DB 에서 읽어 다른 노드의 전환 내역을 반영
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${inventory.sharded.refresh-interval-ms:5000}", initialDelayString = "${inventory.sharded.refresh-interval-ms:5000}")
+    public void refreshShardedProducts() {
+        try {
+            Map<Long, Integer> latest = new HashMap<>();
+            for (Object[] row : inventoryRepository.findBucketCountsByStockMode(StockMode.SHARDED)) {
+                latest.put((Long) row[0], (Integer) row[1]);
+            }
+            bucketCounts.keySet().retainAll(latest.keySet());
+            bucketCounts.putAll(latest);
+        } catch (RuntimeException e) {
+            log.error("버킷 재고 상품 목록 갱신에 실패했습니다.", e);
+        }
+    }
+
+    // 한 버킷으로 부족한 경우 - 모든 버킷을 번호 순서로 잠그고 합계가 충분하면 나누어 차감
+    private boolean drainAcrossBuckets(Long productId, int quantity) {
+        List<InventoryBucket> buckets = inventoryBucketRepository.findAllByProductIdForUpdate(productId);
+        int total = buckets.stream().mapToInt(bucket -> bucket.getStockQuantity().value()).sum();
+        if (total < quantity) {
+            return false;
+        }
+        int remaining = quantity;
+        for (InventoryBucket bucket : buckets) {
+            if (remaining == 0) {
+                break;
+            }
+            remaining -= bucket.drain(remaining);
+        }
+        return true;
+    }
+
+    private int mergeBuckets(Long productId) {
+        int total = inventoryBucketRepository.findAllByProductIdForUpdate(productId).stream()
+                .mapToInt(bucket -> bucket.getStockQuantity().value())
+                .sum();
+        inventoryBucketRepository.deleteByProductId(productId);
+        return total;
+    }
+
+    private int randomBucket(int bucketCount) {
+        return ThreadLocalRandom.current().nextInt(bucketCount);
+    }
+
+    private List<InventoryBucket> splitIntoBuckets(Long productId, int totalStock, int bucketCount) {
+        List<InventoryBucket> buckets = new ArrayList<>(bucketCount);
+        int base = totalStock / bucketCount;
+        int remainder = totalStock % bucketCount;
+        for (int bucketNo = 0; bucketNo < bucketCount; bucketNo++) {
+            int stock = base + (bucketNo < remainder ? 1 : 0);
+            buckets.add(new InventoryBucket(productId, bucketNo, new StockQuantity(stock)));
+        }
+        return buckets;
+    }
+
+    private void afterCommit(Runnable action) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
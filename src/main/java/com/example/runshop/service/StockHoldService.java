@@ -0,0 +1,161 @@
+package com.example.runshop.service;
+
+import com.example.runshop.model.entity.StockHold;
+import com.example.runshop.model.enums.StockHoldStatus;
+import com.example.runshop.repository.StockHoldRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+/**
+ * 주문 생성 시 재고를 TTL 과 함께 선점(hold)하고,
+ * 결제 성공 시 확정(commit), 결제 실패/주문 취소/만료 시 반환(release)합니다.
+ * 만료된 홀드는 (status, expires_at) 인덱스를 이용해 배치 단위로 한꺼번에 반환합니다.
+ * 홀드 TTL 은 결제 대기 만료 시간(order.expiry.pending-ttl-minutes) 이상이어야 하며, 짧으면 시작 시 실패합니다
+ * (결제 대기 중인 주문의 재고가 먼저 반환되어 다른 주문에 팔리는 것을 막기 위함).
+ */
+@Service
+@Slf4j
+@Transactional(readOnly = true)
+public class StockHoldService {
+
+    private final StockHoldRepository stockHoldRepository;
+    private final InventoryService inventoryService;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration holdTtl;
+    private final int sweepBatchSize;
+
+    public StockHoldService(StockHoldRepository stockHoldRepository,
+                            InventoryService inventoryService,
+                            PlatformTransactionManager transactionManager,
+                            @Value("${inventory.hold.ttl-minutes:35}") long holdTtlMinutes,
+                            @Value("${order.expiry.pending-ttl-minutes:30}") long pendingTtlMinutes,
+                            @Value("${inventory.hold.sweep-batch-size:500}") int sweepBatchSize) {
+        if (holdTtlMinutes < pendingTtlMinutes) {
+            throw new IllegalStateException("inventory.hold.ttl-minutes(" + holdTtlMinutes
+                    + ") 는 order.expiry.pending-ttl-minutes(" + pendingTtlMinutes + ") 이상이어야 합니다.");
+        }
+        this.stockHoldRepository = stockHoldRepository;
+        this.inventoryService = inventoryService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.holdTtl = Duration.ofMinutes(holdTtlMinutes);
+        this.sweepBatchSize = sweepBatchSize;
+    }
+
+    // 재고 선점 - 상품별 수량을 한꺼번에 차감하고 만료 시각과 함께 기록 (하나라도 부족하면 전체 실패)
+    @Transactional
+    public void hold(Long orderId, Map<Long, Integer> quantities) {
+        inventoryService.reserveStocks(quantities);
+        recordHolds(Map.of(orderId, quantities));
+    }
+
+    // 그룹 커밋용 재고 차감 - 주문 저장 전에 재고부터 확보 (부족하면 false, 트랜잭션은 유지)
+    @Transactional
+    public boolean tryReserve(Map<Long, Integer> quantities) {
+        return inventoryService.tryReserveStocks(quantities);
+    }
+
+    // 이미 차감된 재고에 대해 주문별 홀드를 만료 시각과 함께 한 번에 기록
+    @Transactional
+    public void recordHolds(Map<Long, Map<Long, Integer>> quantitiesByOrder) {
+        LocalDateTime expiresAt = LocalDateTime.now().plus(holdTtl);
+        List<StockHold> holds = quantitiesByOrder.entrySet().stream()
+                .flatMap(order -> order.getValue().entrySet().stream()
+                        .map(entry -> StockHold.create(order.getKey(), entry.getKey(), entry.getValue(), expiresAt)))
+                .collect(Collectors.toList());
+        stockHoldRepository.saveAll(holds);
+    }
+
+    // 결제 성공 - 선점한 재고를 확정. 이미 만료되어 반환된 경우 false
+    @Transactional
+    public boolean commit(Long orderId) {
+        List<StockHold> holds = stockHoldRepository.findByOrderIdForUpdate(orderId, List.of(StockHoldStatus.HELD));
+        if (holds.isEmpty()) {
+            return false;
+        }
+        stockHoldRepository.updateStatus(idsOf(holds), StockHoldStatus.COMMITTED);
+        return true;
+    }
+
+    // 결제 성공 시 홀드가 이미 만료되어 반환된 경우 - 재고를 다시 차감해 확정 (부족하면 false, 차감하지 않음)
+    @Transactional
+    public boolean reacquire(Long orderId, Map<Long, Integer> quantities) {
+        if (!inventoryService.tryReserveStocks(quantities)) {
+            return false;
+        }
+        recordHolds(Map.of(orderId, quantities));
+        return commit(orderId);
+    }
+
+    // 결제 실패 또는 주문 취소 - 선점/확정된 재고를 반환
+    @Transactional
+    public void release(Long orderId) {
+        List<StockHold> holds = stockHoldRepository.findByOrderIdForUpdate(
+                orderId, List.of(StockHoldStatus.HELD, StockHoldStatus.COMMITTED));
+        restore(holds);
+    }
+
+    // 여러 주문의 재고를 한꺼번에 반환 (만료 주문 정리용 - 상품별로 합산해 상품당 한 번만 증가)
+    @Transactional
+    public void releaseAll(Collection<Long> orderIds) {
+        if (orderIds.isEmpty()) {
+            return;
+        }
+        List<StockHold> holds = stockHoldRepository.findByOrderIdInForUpdate(
+                orderIds, List.of(StockHoldStatus.HELD, StockHoldStatus.COMMITTED));
+        restore(holds);
+    }
+
+    // 만료된 홀드를 배치 단위로 반환 (배치마다 별도 트랜잭션)
+    @Scheduled(fixedDelayString = "${inventory.hold.sweep-interval-ms:10000}")
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void releaseExpiredHolds() {
+        int released;
+        int total = 0;
+        do {
+            Integer count = transactionTemplate.execute(status -> releaseExpiredBatch());
+            released = count != null ? count : 0;
+            total += released;
+        } while (released == sweepBatchSize);
+
+        if (total > 0) {
+            log.info("만료된 재고 홀드를 반환했습니다. 건수: {}", total);
+        }
+    }
+
+    private int releaseExpiredBatch() {
+        List<StockHold> expired = stockHoldRepository.findExpiredForUpdate(
+                StockHoldStatus.HELD, LocalDateTime.now(), PageRequest.of(0, sweepBatchSize));
+        restore(expired);
+        return expired.size();
+    }
+
+    // 상품별로 수량을 합산해 상품당 한 번만 재고를 증가시키고, 홀드 상태는 한 문장으로 변경
+    private void restore(List<StockHold> holds) {
+        if (holds.isEmpty()) {
+            return;
+        }
+        Map<Long, Integer> quantities = holds.stream()
+                .collect(Collectors.groupingBy(StockHold::getProductId, TreeMap::new, Collectors.summingInt(StockHold::getQuantity)));
+        quantities.forEach(inventoryService::increaseStock);
+        stockHoldRepository.updateStatus(idsOf(holds), StockHoldStatus.RELEASED);
+    }
+
+    private List<Long> idsOf(List<StockHold> holds) {
+        return holds.stream().map(StockHold::getId).collect(Collectors.toList());
+    }
+}
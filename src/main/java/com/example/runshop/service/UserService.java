@@ -91,6 +91,12 @@ public class UserService {
                 .orElseThrow(() -> new UserNotFoundException("사용자를 찾을 수 없습니다: " + userId));
     }
 
+    // 인증된 사용자(JWT 의 이메일)로 유저 조회
+    public User findByEmail(String email) {
+        return userRepository.findByEmail(new Email(email))
+                .orElseThrow(() -> new UserNotFoundException("사용자를 찾을 수 없습니다: " + email));
+    }
+
 
     // 유저 검증 메서드
     public User findUserOrThrow(Long userId, String operationContext) {
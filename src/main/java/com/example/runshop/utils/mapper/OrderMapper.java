@@ -43,13 +43,14 @@ public interface OrderMapper {
     }
 
     // 주문 아이템 DTO 변환 (VO에서 값을 추출하여 매핑)
-    @Mapping(target = "product", source = "productName", qualifiedByName = "productNameToString")
+    @Mapping(target = "productName", source = "productName", qualifiedByName = "productNameToString")
     @Mapping(target = "quantity", source = "quantity", qualifiedByName = "orderQuantityToInt")
     default OrderItemDTO toOrderItemDTO(OrderItem item) {
         return OrderItemDTO.builder()
                 .id(item.getId())
-                .product(item.getProduct())
-                .quantity(item.getQuantity())          // OrderQuantity VO에서 값 추출
+                .productId(item.getProduct().getId())
+                .productName(productNameToString(item.getProduct().getName()))
+                .quantity(orderQuantityToInt(item.getQuantity()))          // OrderQuantity VO에서 값 추출
                 .price(item.getProduct().getPrice().value())   // ProductPrice VO에서 값 추출
                 .build();
     }
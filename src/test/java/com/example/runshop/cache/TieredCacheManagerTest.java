@@ -0,0 +1,162 @@
+package com.example.runshop.cache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TieredCacheManagerTest {
+
+    @Mock
+    private CacheInvalidationPublisher invalidationPublisher;
+    @Mock
+    private CacheStampedeStore stampedeStore;
+
+    private ConcurrentMapCacheManager remoteCacheManager;
+    private TieredCacheManager cacheManager;
+
+    @BeforeEach
+    void setUp() {
+        remoteCacheManager = new ConcurrentMapCacheManager();
+        cacheManager = new TieredCacheManager(remoteCacheManager, invalidationPublisher, stampedeStore, new SimpleMeterRegistry(),
+                Set.of("productCache"), 100, Duration.ofMinutes(1), Duration.ofSeconds(1), Duration.ofMinutes(1));
+        lenient().when(stampedeStore.tryLock(anyString(), anyString(), any())).thenReturn(true);
+    }
+
+    @Test
+    @DisplayName("지정한 캐시만 L1 을 두고, L1 에 올라간 값은 L2 를 거치지 않고 반환한다")
+    void servesHitsFromLocalCache() {
+        assertInstanceOf(TieredCache.class, cacheManager.getCache("productCache"));
+        assertFalse(cacheManager.getCache("orderListCache") instanceof TieredCache);
+
+        Cache cache = cacheManager.getCache("productCache");
+        assertEquals("상품", cache.get(1L, () -> "상품"));
+        remoteCacheManager.getCache("productCache").clear();
+
+        assertEquals("상품", cache.get(1L, String.class));
+    }
+
+    @Test
+    @DisplayName("삭제는 L1/L2 를 함께 지우고 다른 노드에 무효화를 전파한다")
+    void evictPublishesInvalidation() {
+        Cache cache = cacheManager.getCache("productCache");
+        cache.put(1L, "상품");
+
+        cache.evict(1L);
+
+        assertNull(cache.get(1L));
+        ArgumentCaptor<CacheInvalidationMessage> message = ArgumentCaptor.forClass(CacheInvalidationMessage.class);
+        verify(invalidationPublisher).publish(message.capture());
+        assertEquals("productCache", message.getValue().cacheName());
+        assertEquals("1", message.getValue().key());
+    }
+
+    @Test
+    @DisplayName("다른 노드의 무효화는 이 노드의 L1 만 지우고, 자신이 보낸 메시지는 무시한다")
+    void appliesRemoteInvalidation() {
+        Cache cache = cacheManager.getCache("productCache");
+        cache.put(1L, "상품");
+        remoteCacheManager.getCache("productCache").put(1L, "수정된 상품");
+
+        cacheManager.invalidateLocal(new CacheInvalidationMessage("other-node", "productCache", "1"));
+
+        assertEquals("수정된 상품", cache.get(1L, String.class));
+    }
+
+    @Test
+    @DisplayName("적재하는 동안 무효화된 항목은 L1 에 남기지 않는다")
+    void skipsLocalFillInvalidatedDuringLoad() {
+        Cache cache = cacheManager.getCache("productCache");
+
+        String value = cache.get(1L, () -> {
+            cacheManager.invalidateLocal(new CacheInvalidationMessage("other-node", "productCache", "1"));
+            return "삭제 전 상품";
+        });
+        remoteCacheManager.getCache("productCache").clear();
+
+        assertEquals("삭제 전 상품", value);
+        assertNull(cache.get(1L));
+    }
+
+    @Test
+    @DisplayName("같은 키를 동시에 적재하면 로더는 한 번만 실행되고 모두 같은 값을 받는다")
+    void coalescesConcurrentLoads() throws Exception {
+        Cache cache = cacheManager.getCache("productCache");
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        CompletableFuture<String> first = CompletableFuture.supplyAsync(() -> cache.get(1L, () -> {
+            loads.incrementAndGet();
+            started.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return "상품";
+        }));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        CompletableFuture<String> second = CompletableFuture.supplyAsync(() -> cache.get(1L, () -> {
+            loads.incrementAndGet();
+            return "다른 값";
+        }));
+        TimeUnit.MILLISECONDS.sleep(100);
+        release.countDown();
+
+        assertEquals("상품", first.get(5, TimeUnit.SECONDS));
+        assertEquals("상품", second.get(5, TimeUnit.SECONDS));
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    @DisplayName("먼저 시작한 적재가 잠금 시간 안에 끝나지 않으면 기다리던 요청은 직접 적재한다")
+    void loadsDirectlyWhenCoalescedLoadIsStuck() throws Exception {
+        Cache cache = cacheManager.getCache("productCache");
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        CompletableFuture<String> stuck = CompletableFuture.supplyAsync(() -> cache.get(1L, () -> {
+            started.countDown();
+            release.await(10, TimeUnit.SECONDS);
+            return "상품";
+        }));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        try {
+            String value = CompletableFuture.supplyAsync(() -> cache.get(1L, () -> "직접 적재한 상품"))
+                    .get(5, TimeUnit.SECONDS);
+            assertEquals("직접 적재한 상품", value);
+            assertFalse(stuck.isDone());
+        } finally {
+            release.countDown();
+        }
+    }
+
+    @Test
+    @DisplayName("다른 노드가 적재 잠금을 가지고 있으면 직접 적재하지 않고 L2 에 올라온 값을 사용한다")
+    void waitsForOtherNodeLoad() {
+        when(stampedeStore.tryLock(anyString(), anyString(), any())).thenReturn(false);
+        Cache cache = cacheManager.getCache("productCache");
+        CompletableFuture.runAsync(() -> remoteCacheManager.getCache("productCache").put(1L, "다른 노드가 적재한 상품"),
+                CompletableFuture.delayedExecutor(100, TimeUnit.MILLISECONDS));
+
+        String value = cache.get(1L, () -> fail("잠금을 선점하지 못한 노드는 적재하지 않아야 합니다."));
+
+        assertEquals("다른 노드가 적재한 상품", value);
+    }
+}
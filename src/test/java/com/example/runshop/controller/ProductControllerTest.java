@@ -7,6 +7,7 @@ import com.example.runshop.model.enums.Category;
 import com.example.runshop.model.vo.product.ProductDescription;
 import com.example.runshop.model.vo.product.ProductName;
 import com.example.runshop.model.vo.product.ProductPrice;
+import com.example.runshop.search.ProductSearchService;
 import com.example.runshop.service.ProductService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -38,9 +39,12 @@ public class ProductControllerTest {
     @MockBean
     private ProductService productService;
 
+    @MockBean
+    private ProductSearchService productSearchService;
+
     @BeforeEach
     void setUp() {
-        mockMvc = MockMvcBuilders.standaloneSetup(new ProductController(productService)).build();
+        mockMvc = MockMvcBuilders.standaloneSetup(new ProductController(productService, productSearchService)).build();
     }
 
     @Test
@@ -0,0 +1,47 @@
+package com.example.runshop.fixture;
+
+import com.example.runshop.model.entity.Inventory;
+import com.example.runshop.model.entity.Product;
+import com.example.runshop.model.enums.Category;
+import com.example.runshop.model.vo.inventory.StockQuantity;
+import com.example.runshop.model.vo.product.ProductDescription;
+import com.example.runshop.model.vo.product.ProductName;
+import com.example.runshop.model.vo.product.ProductPrice;
+import com.example.runshop.repository.InventoryRepository;
+import com.example.runshop.repository.ProductRepository;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+// 통합 테스트/벤치마크용 상품과 재고를 만들고, 테스트가 끝나면 만든 상품과 재고를 함께 지움
+public class ProductStockFixture {
+
+    private final ProductRepository productRepository;
+    private final InventoryRepository inventoryRepository;
+    private final List<Product> products = new ArrayList<>();
+
+    public ProductStockFixture(ProductRepository productRepository, InventoryRepository inventoryRepository) {
+        this.productRepository = productRepository;
+        this.inventoryRepository = inventoryRepository;
+    }
+
+    public Product createProductWithStock(String name, BigDecimal price, int stock) {
+        Product product = productRepository.save(Product.builder()
+                .name(new ProductName(name))
+                .description(new ProductDescription("테스트용 상품"))
+                .price(new ProductPrice(price))
+                .category(Category.SHOES)
+                .brand("테스트")
+                .build());
+        products.add(product);
+        inventoryRepository.save(new Inventory(product, new StockQuantity(stock)));
+        return product;
+    }
+
+    public void deleteAll() {
+        inventoryRepository.deleteAll();
+        productRepository.deleteAll(products);
+        products.clear();
+    }
+}
@@ -0,0 +1,342 @@
+package com.example.runshop.loadtest;
+
+import com.example.runshop.model.entity.Inventory;
+import com.example.runshop.model.entity.Product;
+import com.example.runshop.model.enums.Category;
+import com.example.runshop.model.vo.inventory.StockQuantity;
+import com.example.runshop.model.vo.product.ProductDescription;
+import com.example.runshop.model.vo.product.ProductName;
+import com.example.runshop.model.vo.product.ProductPrice;
+import com.example.runshop.model.vo.user.Email;
+import com.example.runshop.repository.InventoryRepository;
+import com.example.runshop.repository.ProductRepository;
+import com.example.runshop.repository.UserRepository;
+import com.example.runshop.service.InventoryService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 주문/결제 전 구간 부하 테스트.
+ * 애플리케이션을 H2 위에서 그대로 띄우고, Redis 대신 인메모리 저장소(test 프로필)와 결제사 시뮬레이터를 사용하므로 외부 서비스 없이 실행됩니다.
+ * 고정된 도착률(초당 세션 수)로 회원가입 → 로그인 → 장바구니 담기 → 주문 생성을 보내고(이전 요청의 응답을 기다리지 않는 open-loop),
+ * 결제는 아웃박스 릴레이가 시뮬레이터로 처리할 때까지 기다린 뒤 단계별 p50/p95/p99, 처리량과 재고 정합성(초과 판매 여부)을 보고합니다.
+ * 재고보다 수요가 많도록 상품 재고를 작게 잡아 재고 부족 거절과 결제 실패 시 재고 반환 경로도 함께 검증합니다.
+ * 실행: ./gradlew loadTest -Dloadtest.arrival-rate=100 -Dloadtest.duration-seconds=30
+ */
+@Tag("loadtest")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.cache.type=simple",
+        "payment.gateway.type=simulator",
+        "order.expiry.enabled=false",
+        "logging.level.com.example.runshop=WARN"
+})
+class CheckoutLoadTest {
+
+    private static final String PASSWORD = "loadtest-password";
+    private static final BigDecimal PRICE = BigDecimal.valueOf(129000);
+
+    @LocalServerPort
+    private int port;
+
+    @Value("${loadtest.arrival-rate:20}")
+    private double arrivalRate; // 초당 시작하는 세션 수
+    @Value("${loadtest.duration-seconds:10}")
+    private int durationSeconds;
+    @Value("${loadtest.products:5}")
+    private int productCount;
+    @Value("${loadtest.stock-per-product:20}")
+    private int stockPerProduct;
+    @Value("${loadtest.max-quantity:2}")
+    private int maxQuantity;
+    @Value("${loadtest.settle-timeout-seconds:120}")
+    private int settleTimeoutSeconds;
+
+    @Autowired
+    private ProductRepository productRepository;
+    @Autowired
+    private InventoryRepository inventoryRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private InventoryService inventoryService;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+    private final LatencyRecorder signup = new LatencyRecorder("signup");
+    private final LatencyRecorder login = new LatencyRecorder("login");
+    private final LatencyRecorder addToCart = new LatencyRecorder("cart");
+    private final LatencyRecorder createOrder = new LatencyRecorder("order");
+    private final LatencyRecorder payment = new LatencyRecorder("payment");
+    private final LatencyRecorder checkout = new LatencyRecorder("checkout");
+
+    // 가입 응답에는 사용자 ID 가 없으므로 이메일로 조회 (DB 호출이라 HTTP 클라이언트 스레드와 분리)
+    private final ExecutorService lookupExecutor = Executors.newFixedThreadPool(8);
+    private final List<Long> productIds = new ArrayList<>();
+    private final String runId = UUID.randomUUID().toString().substring(0, 8);
+
+    @AfterEach
+    void tearDown() {
+        lookupExecutor.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("고정 도착률로 주문/결제를 보내도 재고가 초과 판매되지 않고 주문과 재고가 일치한다")
+    void checkoutUnderLoad() throws Exception {
+        seedProducts();
+
+        ConcurrentLinkedQueue<CompletableFuture<Void>> sessions = new ConcurrentLinkedQueue<>();
+        AtomicLong sequence = new AtomicLong();
+        ScheduledExecutorService arrivals = Executors.newSingleThreadScheduledExecutor();
+        long periodNanos = (long) (TimeUnit.SECONDS.toNanos(1) / arrivalRate);
+        long startedAt = System.nanoTime();
+        arrivals.scheduleAtFixedRate(() -> sessions.add(runSession(sequence.incrementAndGet())), 0, periodNanos, TimeUnit.NANOSECONDS);
+        Thread.sleep(TimeUnit.SECONDS.toMillis(durationSeconds));
+        arrivals.shutdownNow();
+
+        CompletableFuture.allOf(sessions.toArray(CompletableFuture[]::new)).get(settleTimeoutSeconds, TimeUnit.SECONDS);
+        double requestSeconds = (System.nanoTime() - startedAt) / 1e9;
+        awaitPaymentsSettled();
+        double totalSeconds = (System.nanoTime() - startedAt) / 1e9;
+
+        Map<String, Long> ordersByStatus = recordPaymentLatencies();
+        printReport(sessions.size(), requestSeconds, totalSeconds, ordersByStatus);
+        assertConsistency(ordersByStatus);
+    }
+
+    // 세션 하나: 회원가입 → 로그인 → 장바구니 → 주문. 앞 단계가 실패하면 이후 단계는 보내지 않음
+    private CompletableFuture<Void> runSession(long sessionNo) {
+        String email = "loadtest-" + runId + "-" + sessionNo + "@runshop.test";
+        Long productId = productIds.get(ThreadLocalRandom.current().nextInt(productIds.size()));
+        int quantity = ThreadLocalRandom.current().nextInt(1, maxQuantity + 1);
+        long startedAt = System.nanoTime();
+
+        return call(signup, post("/signup", null, signUpBody(email)))
+                .thenCompose(signedUp -> succeeded(signedUp) ? call(login, loginRequest(email)) : stopped())
+                .thenComposeAsync(loggedIn -> {
+                    if (!succeeded(loggedIn)) {
+                        return CompletableFuture.<Void>completedFuture(null);
+                    }
+                    String token = loggedIn.headers().firstValue("Authorization").orElseThrow();
+                    Long userId = userRepository.findByEmail(new Email(email)).orElseThrow().getId();
+                    return call(addToCart, post("/api/cart-items/", token, Map.of("userId", userId, "productId", productId, "quantity", quantity)))
+                            .thenCompose(added -> succeeded(added) ? call(createOrder, orderRequest(token, userId, productId, quantity)) : stopped())
+                            .thenAccept(ordered -> {
+                                if (ordered != null) {
+                                    checkout.record(System.nanoTime() - startedAt, ordered.statusCode());
+                                }
+                            });
+                }, lookupExecutor)
+                .exceptionally(e -> null);
+    }
+
+    private CompletableFuture<HttpResponse<String>> call(LatencyRecorder recorder, HttpRequest request) {
+        long startedAt = System.nanoTime();
+        return httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofString())
+                .whenComplete((response, error) -> {
+                    if (error != null) {
+                        recorder.recordFailure();
+                    } else {
+                        recorder.record(System.nanoTime() - startedAt, response.statusCode());
+                    }
+                });
+    }
+
+    private static CompletableFuture<HttpResponse<String>> stopped() {
+        return CompletableFuture.completedFuture(null);
+    }
+
+    private static boolean succeeded(HttpResponse<String> response) {
+        return response != null && response.statusCode() / 100 == 2;
+    }
+
+    private Map<String, Object> signUpBody(String email) {
+        Map<String, Object> address = Map.of("street", "테헤란로 1", "detailedAddress", "101호", "city", "서울", "region", "강남구", "zipCode", "06000");
+        return Map.of("email", email, "password", PASSWORD, "name", "부하테스트", "phone", "010-0000-0000", "address", address);
+    }
+
+    private HttpRequest loginRequest(String email) {
+        String form = "email=" + URLEncoder.encode(email, StandardCharsets.UTF_8) + "&password=" + URLEncoder.encode(PASSWORD, StandardCharsets.UTF_8);
+        return HttpRequest.newBuilder(uri("/login"))
+                .header("Content-Type", "application/x-www-form-urlencoded")
+                .POST(HttpRequest.BodyPublishers.ofString(form))
+                .build();
+    }
+
+    private HttpRequest orderRequest(String token, Long userId, Long productId, int quantity) {
+        Map<String, Object> line = new HashMap<>();
+        line.put("productId", productId);
+        line.put("quantity", quantity);
+        line.put("expectedUnitPrice", PRICE);
+        Map<String, Object> body = Map.of("userId", userId, "orderLines", List.of(line), "paymentMethod", "CREDIT_CARD");
+        return HttpRequest.newBuilder(uri("/api/orders"))
+                .header("Content-Type", "application/json")
+                .header("Authorization", token)
+                .header("Idempotency-Key", UUID.randomUUID().toString())
+                .POST(HttpRequest.BodyPublishers.ofString(json(body)))
+                .build();
+    }
+
+    private HttpRequest post(String path, String token, Map<String, Object> body) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(uri(path))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json(body)));
+        if (token != null) {
+            builder.header("Authorization", token);
+        }
+        return builder.build();
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://localhost:" + port + path);
+    }
+
+    private String json(Object body) {
+        try {
+            return objectMapper.writeValueAsString(body);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    // 결제는 아웃박스 릴레이가 비동기로 처리하므로 결제 대기 주문이 없어질 때까지 기다림
+    private void awaitPaymentsSettled() throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(settleTimeoutSeconds);
+        while (countPendingOrders() > 0 && System.nanoTime() < deadline) {
+            Thread.sleep(200);
+        }
+    }
+
+    private long countPendingOrders() {
+        return namedJdbc().queryForObject("""
+                select count(distinct o.id) from orders o join order_item oi on oi.order_id = o.id
+                where o.status = 'PENDING' and oi.product_id in (:productIds)
+                """, productParams(), Long.class);
+    }
+
+    // 주문 생성 시각부터 결제 반영 시각까지를 결제 지연으로 기록하고, 최종 상태별 주문 수를 돌려줌
+    private Map<String, Long> recordPaymentLatencies() {
+        Map<String, Long> ordersByStatus = new LinkedHashMap<>();
+        namedJdbc().query("""
+                select distinct o.id, o.status, o.order_date, o.payment_date from orders o join order_item oi on oi.order_id = o.id
+                where oi.product_id in (:productIds)
+                """, productParams(), rs -> {
+            String status = rs.getString("status");
+            ordersByStatus.merge(status, 1L, Long::sum);
+            Timestamp paidAt = rs.getTimestamp("payment_date");
+            if (paidAt != null) {
+                long elapsedNanos = TimeUnit.MILLISECONDS.toNanos(paidAt.getTime() - rs.getTimestamp("order_date").getTime());
+                payment.record(elapsedNanos, status);
+            }
+        });
+        return ordersByStatus;
+    }
+
+    private void printReport(int sessionCount, double requestSeconds, double totalSeconds, Map<String, Long> ordersByStatus) {
+        long accepted = createOrder.count("200");
+        long paid = ordersByStatus.getOrDefault("PAYMENT_COMPLETE", 0L);
+        System.out.printf("도착률 %.1f/s, %d초 동안 세션 %d개 (상품 %d개 x 재고 %d)%n",
+                arrivalRate, durationSeconds, sessionCount, productCount, stockPerProduct);
+        System.out.println(LatencyRecorder.header());
+        for (LatencyRecorder recorder : List.of(signup, login, addToCart, createOrder, checkout, payment)) {
+            System.out.println(recorder.report());
+        }
+        System.out.printf("주문 접수 처리량: %.1f orders/s, 결제 완료 처리량: %.1f orders/s%n",
+                accepted / requestSeconds, paid / totalSeconds);
+        System.out.println("주문 최종 상태: " + ordersByStatus);
+    }
+
+    private void assertConsistency(Map<String, Long> ordersByStatus) {
+        for (LatencyRecorder recorder : List.of(signup, login, addToCart, createOrder)) {
+            assertEquals(0, recorder.serverErrors(), "5xx 응답이 없어야 합니다: " + recorder.report());
+            assertEquals(0, recorder.failures(), "응답을 받지 못한 요청이 없어야 합니다: " + recorder.report());
+        }
+        assertEquals(0L, ordersByStatus.getOrDefault("PENDING", 0L), "모든 주문의 결제가 끝나야 합니다.");
+        // 주문 생성에 성공한 응답 수와 실제 저장된 주문 수가 같아야 함 (유실/중복 없음)
+        long storedOrders = ordersByStatus.values().stream().mapToLong(Long::longValue).sum();
+        assertEquals(createOrder.count("200"), storedOrders);
+
+        Map<Long, Long> soldByProduct = new HashMap<>();
+        namedJdbc().query("""
+                select oi.product_id, sum(oi.quantity) as sold from order_item oi join orders o on o.id = oi.order_id
+                where o.status = 'PAYMENT_COMPLETE' and oi.product_id in (:productIds) group by oi.product_id
+                """, productParams(), rs -> {
+            soldByProduct.put(rs.getLong("product_id"), rs.getLong("sold"));
+        });
+        for (Long productId : productIds) {
+            int stock = inventoryService.getStock(productId);
+            long sold = soldByProduct.getOrDefault(productId, 0L);
+            assertTrue(stock >= 0, "재고가 음수가 되면 안 됩니다. 상품 ID: " + productId);
+            assertTrue(sold <= stockPerProduct, "초과 판매되었습니다. 상품 ID: " + productId + ", 판매: " + sold);
+            // 결제 실패/취소 주문의 재고는 모두 반환되어야 함
+            assertEquals(stockPerProduct - sold, stock, "재고와 결제 완료 주문 수량이 맞지 않습니다. 상품 ID: " + productId);
+        }
+        Long activeHolds = namedJdbc().queryForObject(
+                "select count(*) from stock_hold where status = 'HELD' and product_id in (:productIds)", productParams(), Long.class);
+        assertEquals(0L, activeHolds, "결제가 끝난 주문의 재고 선점이 남아 있으면 안 됩니다.");
+    }
+
+    private NamedParameterJdbcTemplate namedJdbc() {
+        return new NamedParameterJdbcTemplate(jdbcTemplate);
+    }
+
+    private MapSqlParameterSource productParams() {
+        return new MapSqlParameterSource("productIds", productIds);
+    }
+
+    private void seedProducts() {
+        for (int i = 0; i < productCount; i++) {
+            Product product = productRepository.save(Product.builder()
+                    .name(new ProductName("부하 테스트 러닝화 " + runId + "-" + i))
+                    .description(new ProductDescription("주문/결제 부하 테스트용 상품"))
+                    .price(new ProductPrice(PRICE))
+                    .category(Category.SHOES)
+                    .brand("테스트")
+                    .build());
+            inventoryRepository.save(new Inventory(product, new StockQuantity(stockPerProduct)));
+            productIds.add(product.getId());
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.example.runshop.loadtest;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 부하 테스트 단계별 응답 시간과 결과(HTTP 응답 코드 또는 주문 최종 상태)를 모읍니다.
+ * 측정이 끝난 뒤 한 번 정렬해 백분위를 계산하므로 기록 중에는 추가만 합니다.
+ */
+class LatencyRecorder {
+
+    private final String name;
+    private final ConcurrentLinkedQueue<Long> samples = new ConcurrentLinkedQueue<>();
+    private final Map<String, LongAdder> outcomeCounts = new ConcurrentHashMap<>();
+    private final LongAdder failures = new LongAdder();
+
+    LatencyRecorder(String name) {
+        this.name = name;
+    }
+
+    void record(long elapsedNanos, int status) {
+        record(elapsedNanos, String.valueOf(status));
+    }
+
+    void record(long elapsedNanos, String outcome) {
+        samples.add(elapsedNanos);
+        outcomeCounts.computeIfAbsent(outcome, o -> new LongAdder()).increment();
+    }
+
+    // 응답을 받지 못한 경우 (연결 실패, 타임아웃 등)
+    void recordFailure() {
+        failures.increment();
+    }
+
+    long count(String outcome) {
+        LongAdder count = outcomeCounts.get(outcome);
+        return count != null ? count.sum() : 0;
+    }
+
+    long serverErrors() {
+        return outcomeCounts.entrySet().stream()
+                .filter(entry -> entry.getKey().startsWith("5"))
+                .mapToLong(entry -> entry.getValue().sum())
+                .sum();
+    }
+
+    long failures() {
+        return failures.sum();
+    }
+
+    String report() {
+        long[] sorted = samples.stream().mapToLong(Long::longValue).sorted().toArray();
+        Map<String, Long> outcomes = new TreeMap<>();
+        outcomeCounts.forEach((outcome, count) -> outcomes.put(outcome, count.sum()));
+        return String.format("%-10s | %7d | %8.1f | %8.1f | %8.1f | %8.1f | %s, 실패=%d",
+                name, sorted.length, millis(sorted, 0.50), millis(sorted, 0.95), millis(sorted, 0.99),
+                sorted.length > 0 ? toMillis(sorted[sorted.length - 1]) : 0.0, outcomes, failures.sum());
+    }
+
+    static String header() {
+        return String.format("%-10s | %7s | %8s | %8s | %8s | %8s | %s",
+                "step", "count", "p50(ms)", "p95(ms)", "p99(ms)", "max(ms)", "outcome");
+    }
+
+    // nearest-rank 백분위
+    private static double millis(long[] sortedNanos, double percentile) {
+        if (sortedNanos.length == 0) {
+            return 0.0;
+        }
+        int rank = (int) Math.ceil(percentile * sortedNanos.length);
+        return toMillis(sortedNanos[Math.max(0, rank - 1)]);
+    }
+
+    private static double toMillis(long nanos) {
+        return nanos / (double) TimeUnit.MILLISECONDS.toNanos(1);
+    }
+}
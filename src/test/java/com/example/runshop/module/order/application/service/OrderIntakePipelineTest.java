@@ -0,0 +1,207 @@
+package com.example.runshop.module.order.application.service;
+
+import com.example.runshop.exception.Inventory.OutOfStockException;
+import com.example.runshop.exception.order.OrderIntakePendingException;
+import com.example.runshop.exception.user.UserNotFoundException;
+import com.example.runshop.module.order.application.port.in.CreateOrderCommand;
+import com.example.runshop.model.entity.Product;
+import com.example.runshop.model.vo.orderitem.OrderQuantity;
+import com.example.runshop.module.order.domain.Order;
+import com.example.runshop.module.order.domain.OrderItem;
+import com.example.runshop.module.payment.domain.PaymentMethod;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OrderIntakePipelineTest {
+
+    @Mock
+    private OrderService orderService;
+
+    private OrderIntakePipeline pipeline;
+    private final ExecutorService callers = Executors.newFixedThreadPool(2);
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        callers.shutdownNow();
+        if (pipeline != null) {
+            pipeline.stop();
+        }
+    }
+
+    @Test
+    @DisplayName("동시에 들어온 주문은 한 배치로 저장되고, 각 호출자는 자신의 결과를 돌려받는다")
+    void concurrentOrdersShareOneBatch() throws Exception {
+        startPipeline(200);
+        Order placed = mock(Order.class);
+        when(placed.getId()).thenReturn(10L);
+        when(orderService.placeOrders(argThat((List<CreateOrderCommand> commands) -> commands.size() == 2)))
+                .thenReturn(List.of(OrderPlacement.placed(placed), OrderPlacement.rejected(new OutOfStockException("재고가 부족합니다."))));
+
+        CompletableFuture<Void> first = CompletableFuture.runAsync(() -> createOrder(1L), callers);
+        CompletableFuture<Void> second = CompletableFuture.runAsync(() -> createOrder(2L), callers);
+
+        CompletableFuture.allOf(first.exceptionally(e -> null), second.exceptionally(e -> null)).join();
+        // 어느 쪽이 먼저 큐에 들어갔는지에 따라 성공/실패가 나뉨
+        assertTrue(first.isCompletedExceptionally() ^ second.isCompletedExceptionally());
+        verify(orderService, times(1)).placeOrders(anyList());
+        verify(orderService, never()).createOrder(any(), any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("배치 트랜잭션이 실패하면 한 건씩 다시 처리해 실패한 요청에만 예외를 돌려준다")
+    void fallsBackToSingleOrdersWhenBatchFails() {
+        startPipeline(200);
+        Order placed = mock(Order.class);
+        when(placed.getId()).thenReturn(10L);
+        when(orderService.placeOrders(anyList())).thenAnswer(invocation -> {
+            List<CreateOrderCommand> commands = invocation.getArgument(0);
+            if (commands.size() > 1 || commands.get(0).userId() == 2L) {
+                throw new UserNotFoundException("User not found for operation: 주문 생성");
+            }
+            return List.of(OrderPlacement.placed(placed));
+        });
+
+        CompletableFuture<Void> valid = CompletableFuture.runAsync(() -> createOrder(1L), callers);
+        CompletableFuture<Void> invalid = CompletableFuture.runAsync(() -> createOrder(2L), callers);
+
+        valid.join();
+        CompletableFuture<Void> failed = invalid.exceptionally(e -> null);
+        failed.join();
+        assertTrue(invalid.isCompletedExceptionally());
+    }
+
+    @Test
+    @DisplayName("주문 항목을 저장한 뒤 배치가 롤백되면, 개별 처리는 새 주문 항목으로 다시 저장한다")
+    void retriesWithNewOrderItemsWhenBatchFailsAfterSave() {
+        startPipeline(200);
+        Order placed = mock(Order.class);
+        when(placed.getId()).thenReturn(10L);
+        AtomicLong itemIds = new AtomicLong();
+        when(orderService.placeOrders(anyList())).thenAnswer(invocation -> {
+            List<CreateOrderCommand> commands = invocation.getArgument(0);
+            List<OrderItem> items = commands.stream().flatMap(command -> command.orderItems().stream()).toList();
+            // saveAll 이 IDENTITY 식별자를 채운 항목을 다시 persist 하면 Hibernate 가 detached entity 예외를 던짐
+            if (items.stream().anyMatch(item -> item.getId() != null)) {
+                throw new IllegalStateException("detached entity passed to persist: OrderItem");
+            }
+            items.forEach(item -> ReflectionTestUtils.setField(item, "id", itemIds.incrementAndGet()));
+            if (commands.size() > 1) {
+                throw new DataIntegrityViolationException("배치 커밋 실패");
+            }
+            return List.of(OrderPlacement.placed(placed));
+        });
+
+        CompletableFuture<Void> first = CompletableFuture.runAsync(() -> createOrder(1L, List.of(orderItem())), callers);
+        CompletableFuture<Void> second = CompletableFuture.runAsync(() -> createOrder(2L, List.of(orderItem())), callers);
+
+        CompletableFuture.allOf(first, second).join();
+        // 배치 1회 + 개별 처리 2회
+        verify(orderService, times(3)).placeOrders(anyList());
+    }
+
+    @Test
+    @DisplayName("배치에 실린 요청의 결과가 제한 시간 안에 나오지 않으면 오류 대신 처리 중임을 알린다")
+    void reportsPendingWhenClaimedBatchIsSlow() throws Exception {
+        pipeline = new OrderIntakePipeline(orderService, new SimpleMeterRegistry(), true, 2, 0, 100, 100);
+        pipeline.start();
+        CountDownLatch release = new CountDownLatch(1);
+        when(orderService.placeOrders(anyList())).thenAnswer(invocation -> {
+            release.await();
+            return List.of(OrderPlacement.placed(mock(Order.class)));
+        });
+
+        try {
+            assertThrows(OrderIntakePendingException.class, () -> createOrder(1L));
+        } finally {
+            release.countDown();
+        }
+        // 배치 스레드가 가져간 요청은 직접 처리하지 않음 (주문 중복 생성 방지)
+        verify(orderService, never()).createOrder(any(), any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("파이프라인이 꺼져 있으면 요청 스레드에서 바로 주문을 생성한다")
+    void disabledPipelineCreatesOrderDirectly() {
+        pipeline = new OrderIntakePipeline(orderService, new SimpleMeterRegistry(), false, 32, 5, 100, 3000);
+        pipeline.start();
+
+        createOrder(1L);
+
+        verify(orderService, times(1)).createOrder(eq(1L), any(), any(), any());
+        verify(orderService, never()).placeOrders(anyList());
+    }
+
+    @Test
+    @DisplayName("종료된 파이프라인은 요청을 큐에 넣지 않고 요청 스레드에서 바로 주문을 생성한다")
+    void stoppedPipelineCreatesOrderDirectly() throws InterruptedException {
+        startPipeline(5);
+        pipeline.stop();
+
+        createOrder(1L);
+
+        verify(orderService, times(1)).createOrder(eq(1L), any(), any(), any());
+        verify(orderService, never()).placeOrders(anyList());
+    }
+
+    @Test
+    @DisplayName("제한 시간 안에 배치에 실리지 못한 요청은 큐에서 빼고 요청 스레드에서 직접 처리한다")
+    void fallsBackToDirectPathWhenBatchIsStuck() throws Exception {
+        pipeline = new OrderIntakePipeline(orderService, new SimpleMeterRegistry(), true, 2, 0, 100, 200);
+        pipeline.start();
+        CountDownLatch inBatch = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(orderService.placeOrders(anyList())).thenAnswer(invocation -> {
+            inBatch.countDown();
+            release.await();
+            return List.of(OrderPlacement.placed(mock(Order.class)));
+        });
+
+        CompletableFuture<Void> stuck = CompletableFuture.runAsync(() -> createOrder(1L), callers);
+        assertTrue(inBatch.await(1, TimeUnit.SECONDS));
+        createOrder(2L);
+        release.countDown();
+        stuck.exceptionally(e -> null).join();
+
+        verify(orderService, times(1)).createOrder(eq(2L), any(), any(), any());
+        // 호출자가 가져간 요청은 배치 스레드가 다시 처리하지 않음
+        verify(orderService, times(1)).placeOrders(anyList());
+    }
+
+    private void startPipeline(long lingerMillis) {
+        pipeline = new OrderIntakePipeline(orderService, new SimpleMeterRegistry(), true, 2, lingerMillis, 100, 3000);
+        pipeline.start();
+    }
+
+    private void createOrder(Long userId) {
+        createOrder(userId, List.of());
+    }
+
+    private void createOrder(Long userId, List<OrderItem> orderItems) {
+        pipeline.createOrder(userId, BigDecimal.valueOf(100), orderItems, PaymentMethod.CREDIT_CARD);
+    }
+
+    private OrderItem orderItem() {
+        return OrderItem.create(mock(Product.class), new OrderQuantity(1), PaymentMethod.CREDIT_CARD);
+    }
+}
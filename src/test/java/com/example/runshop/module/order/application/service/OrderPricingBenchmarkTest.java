@@ -0,0 +1,85 @@
+package com.example.runshop.module.order.application.service;
+
+import com.example.runshop.fixture.ProductStockFixture;
+import com.example.runshop.module.order.application.port.in.OrderLine;
+import com.example.runshop.module.payment.domain.PaymentMethod;
+import com.example.runshop.repository.InventoryRepository;
+import com.example.runshop.repository.ProductRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * 주문 줄 수(1 ~ 100)에 따른 가격 계산 쿼리 수와 소요 시간을 측정합니다.
+ * 상품과 재고를 IN 쿼리 한 번으로 읽으므로 줄 수와 관계없이 쿼리 수가 일정해야 합니다.
+ * 실행: ./gradlew benchmark
+ */
+@Tag("benchmark")
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class OrderPricingBenchmarkTest {
+
+    private static final int ITERATIONS = 200;
+
+    @Autowired
+    private OrderPricingService orderPricingService;
+    @Autowired
+    private ProductRepository productRepository;
+    @Autowired
+    private InventoryRepository inventoryRepository;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private ProductStockFixture fixture;
+
+    @BeforeEach
+    void setUp() {
+        fixture = new ProductStockFixture(productRepository, inventoryRepository);
+    }
+
+    @AfterEach
+    void tearDown() {
+        fixture.deleteAll();
+    }
+
+    @Test
+    @DisplayName("주문 줄 수가 늘어나도 가격 계산 쿼리 수는 일정하다")
+    void queryCountIsConstantForCartSize() {
+        List<OrderLine> allLines = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            Long productId = fixture.createProductWithStock("가격 계산 상품 " + i, BigDecimal.valueOf(10000 + i), 1_000).getId();
+            allLines.add(new OrderLine(productId, 1, null));
+        }
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        System.out.println("lines | statements | avg micros");
+        for (int lineCount : new int[]{1, 10, 25, 50, 100}) {
+            List<OrderLine> lines = allLines.subList(0, lineCount);
+
+            statistics.clear();
+            orderPricingService.price(lines, PaymentMethod.CREDIT_CARD, null);
+            long statements = statistics.getPrepareStatementCount();
+
+            long startedAt = System.nanoTime();
+            for (int i = 0; i < ITERATIONS; i++) {
+                orderPricingService.price(lines, PaymentMethod.CREDIT_CARD, null);
+            }
+            long avgMicros = (System.nanoTime() - startedAt) / ITERATIONS / 1_000;
+
+            System.out.printf("%5d | %10d | %,d%n", lineCount, statements, avgMicros);
+            assertEquals(1, statements);
+        }
+    }
+}
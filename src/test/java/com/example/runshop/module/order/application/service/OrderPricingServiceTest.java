@@ -0,0 +1,110 @@
+package com.example.runshop.module.order.application.service;
+
+import com.example.runshop.exception.Inventory.OutOfStockException;
+import com.example.runshop.exception.order.InvalidOrderRequestException;
+import com.example.runshop.exception.order.StalePriceException;
+import com.example.runshop.exception.product.ProductNotFoundException;
+import com.example.runshop.model.entity.Inventory;
+import com.example.runshop.model.entity.Product;
+import com.example.runshop.model.enums.StockMode;
+import com.example.runshop.model.vo.inventory.StockQuantity;
+import com.example.runshop.model.vo.product.ProductName;
+import com.example.runshop.model.vo.product.ProductPrice;
+import com.example.runshop.module.order.application.port.in.OrderLine;
+import com.example.runshop.module.payment.domain.PaymentMethod;
+import com.example.runshop.repository.ProductRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OrderPricingServiceTest {
+
+    @Mock
+    private ProductRepository productRepository;
+
+    private OrderPricingService orderPricingService;
+
+    @BeforeEach
+    void setUp() {
+        orderPricingService = new OrderPricingService(productRepository, 100);
+    }
+
+    @Test
+    @DisplayName("줄별 금액과 총액을 서버 가격으로 계산하고, 상품은 한 번에 조회한다")
+    void price_ComputesTotalsWithOneLookup() {
+        when(productRepository.findAllWithInventoryByIdIn(anyCollection()))
+                .thenReturn(List.of(product(1L, "19900.50", 10), product(2L, "5000", 10)));
+
+        PricedOrder priced = orderPricingService.price(List.of(
+                new OrderLine(1L, 2, null),
+                new OrderLine(2L, 3, new BigDecimal("5000.00"))), PaymentMethod.CREDIT_CARD, null);
+
+        assertEquals(0, new BigDecimal("39801.00").compareTo(priced.lines().get(0).lineTotal()));
+        assertEquals(0, new BigDecimal("54801.00").compareTo(priced.totalPrice()));
+        assertEquals(2, priced.orderItems().size());
+        verify(productRepository, times(1)).findAllWithInventoryByIdIn(anyCollection());
+    }
+
+    @Test
+    @DisplayName("클라이언트가 본 단가나 총액이 현재 가격과 다르면 주문을 거절한다")
+    void price_RejectsStalePrices() {
+        when(productRepository.findAllWithInventoryByIdIn(anyCollection())).thenReturn(List.of(product(1L, "10000", 10)));
+
+        assertThrows(StalePriceException.class, () -> orderPricingService.price(
+                List.of(new OrderLine(1L, 1, new BigDecimal("9000"))), PaymentMethod.CREDIT_CARD, null));
+        assertThrows(StalePriceException.class, () -> orderPricingService.price(
+                List.of(new OrderLine(1L, 2, null)), PaymentMethod.CREDIT_CARD, new BigDecimal("10000")));
+    }
+
+    @Test
+    @DisplayName("없는 상품, 재고가 명백히 부족한 상품, 빈 주문은 거절한다")
+    void price_RejectsInvalidLines() {
+        when(productRepository.findAllWithInventoryByIdIn(anyCollection())).thenReturn(List.of(product(1L, "10000", 1)));
+
+        assertThrows(ProductNotFoundException.class, () -> orderPricingService.price(
+                List.of(new OrderLine(2L, 1, null)), PaymentMethod.CREDIT_CARD, null));
+        assertThrows(OutOfStockException.class, () -> orderPricingService.price(
+                List.of(new OrderLine(1L, 2, null)), PaymentMethod.CREDIT_CARD, null));
+        assertThrows(InvalidOrderRequestException.class, () -> orderPricingService.price(
+                List.of(), PaymentMethod.CREDIT_CARD, null));
+    }
+
+    @Test
+    @DisplayName("같은 상품을 여러 줄로 나누어 주문하면 합산한 수량으로 재고를 확인한다")
+    void price_ChecksStockAgainstSummedQuantity() {
+        when(productRepository.findAllWithInventoryByIdIn(anyCollection())).thenReturn(List.of(product(1L, "10000", 3)));
+
+        assertThrows(OutOfStockException.class, () -> orderPricingService.price(List.of(
+                new OrderLine(1L, 2, null),
+                new OrderLine(1L, 2, null)), PaymentMethod.CREDIT_CARD, null));
+
+        PricedOrder priced = orderPricingService.price(List.of(
+                new OrderLine(1L, 2, null),
+                new OrderLine(1L, 1, null)), PaymentMethod.CREDIT_CARD, null);
+        assertEquals(2, priced.orderItems().size());
+    }
+
+    private Product product(Long id, String price, int stock) {
+        Product product = mock(Product.class);
+        Inventory inventory = mock(Inventory.class);
+        lenient().when(product.getId()).thenReturn(id);
+        lenient().when(product.isEnabled()).thenReturn(true);
+        lenient().when(product.getName()).thenReturn(new ProductName("상품 " + id));
+        lenient().when(product.getPrice()).thenReturn(new ProductPrice(new BigDecimal(price)));
+        lenient().when(product.getInventory()).thenReturn(inventory);
+        lenient().when(inventory.getStockMode()).thenReturn(StockMode.DATABASE);
+        lenient().when(inventory.getStockQuantity()).thenReturn(new StockQuantity(stock));
+        return product;
+    }
+}
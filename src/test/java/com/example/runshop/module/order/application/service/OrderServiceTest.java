@@ -1,25 +1,35 @@
 package com.example.runshop.module.order.application.service;
 
+import com.example.runshop.exception.Inventory.OutOfStockException;
 import com.example.runshop.exception.order.OrderNotFoundException;
+import com.example.runshop.model.dto.order.OrderCursor;
 import com.example.runshop.model.dto.order.OrderDetailDTO;
+import com.example.runshop.model.dto.order.OrderHistoryPage;
 import com.example.runshop.model.dto.order.OrderListDTO;
+import com.example.runshop.model.dto.order.OrderSummaryDTO;
 import com.example.runshop.model.entity.Inventory;
 import com.example.runshop.model.entity.Product;
 import com.example.runshop.model.entity.Seller;
 import com.example.runshop.model.enums.Category;
+import com.example.runshop.model.enums.OrderStatus;
 import com.example.runshop.model.enums.UserRole;
 import com.example.runshop.model.vo.orderitem.OrderQuantity;
 import com.example.runshop.model.vo.product.ProductDescription;
 import com.example.runshop.model.vo.product.ProductName;
 import com.example.runshop.model.vo.product.ProductPrice;
+import com.example.runshop.module.order.application.port.in.CreateOrderCommand;
 import com.example.runshop.module.order.application.port.out.OrderRepository;
 import com.example.runshop.module.order.domain.Order;
 import com.example.runshop.module.order.domain.OrderItem;
+import com.example.runshop.module.outbox.application.service.OutboxService;
 import com.example.runshop.model.entity.User;
 import com.example.runshop.module.payment.adapters.in.event.PaymentFailedEvent;
+import com.example.runshop.module.payment.adapters.in.event.PaymentRefundRequestEvent;
 import com.example.runshop.module.payment.adapters.in.event.PaymentRequestEvent;
 import com.example.runshop.module.payment.adapters.in.event.PaymentSuccessEvent;
 import com.example.runshop.module.payment.domain.PaymentMethod;
+import com.example.runshop.service.CacheVersionService;
+import com.example.runshop.service.StockHoldService;
 import com.example.runshop.service.UserService;
 import com.example.runshop.utils.mapper.OrderMapper;
 import org.junit.jupiter.api.BeforeEach;
@@ -29,18 +39,25 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -51,9 +68,15 @@ class OrderServiceTest {
     @Mock
     private OrderRepository orderRepository;
     @Mock
-    private ApplicationEventPublisher eventPublisher;
+    private OutboxService outboxService;
     @Mock
     private OrderMapper orderMapper;
+    @Mock
+    private StockHoldService stockHoldService;
+    @Mock
+    private CacheVersionService cacheVersionService;
+    @Mock
+    private OrderStatusNotifier orderStatusNotifier;
 
     @InjectMocks
     private OrderService orderService;
@@ -91,6 +114,7 @@ class OrderServiceTest {
         );
 
         order = mock(Order.class); // Order 객체를 목(mock)으로 생성
+        lenient().when(order.getUser()).thenReturn(user);
 
         orderItems = List.of(OrderItem.create(
             product,new OrderQuantity(3),PaymentMethod.CREDIT_CARD));
@@ -108,33 +132,122 @@ class OrderServiceTest {
 
         verify(userService, times(1)).findUserOrThrow(anyLong(), anyString());
         verify(orderRepository, times(1)).save(any(Order.class));
-        verify(eventPublisher, times(1)).publishEvent(any(PaymentRequestEvent.class));
+        verify(stockHoldService, times(1)).hold(any(), anyMap());
+        verify(outboxService, times(1)).append(any(PaymentRequestEvent.class));
+    }
+
+    @Test
+    @DisplayName("주문 일괄 생성 시 재고가 부족한 주문만 거절하고 나머지는 함께 저장한다")
+    void placeOrders_RejectsOnlyOutOfStockOrders() {
+        when(userService.findUserOrThrow(anyLong(), anyString())).thenReturn(user);
+        when(stockHoldService.tryReserve(anyMap())).thenReturn(true, false);
+
+        List<OrderPlacement> placements = orderService.placeOrders(List.of(
+                new CreateOrderCommand(1L, totalPrice, orderItems, paymentMethod),
+                new CreateOrderCommand(1L, totalPrice, List.of(OrderItem.create(product, new OrderQuantity(1), paymentMethod)), paymentMethod)));
+
+        assertTrue(placements.get(0).isPlaced());
+        assertInstanceOf(OutOfStockException.class, placements.get(1).error());
+        verify(orderRepository, times(1)).saveAll(argThat((List<Order> orders) -> orders.size() == 1));
+        verify(stockHoldService, times(1)).recordHolds(anyMap());
+        verify(outboxService, times(1)).append(any(PaymentRequestEvent.class));
     }
 
     @Test
     @DisplayName("결제 성공 이벤트 처리")
     void handlePaymentSuccess() {
-        when(orderRepository.findById(anyLong())).thenReturn(Optional.of(order));
+        when(orderRepository.findByIdForUpdate(anyLong())).thenReturn(Optional.of(order));
+        when(order.getStatus()).thenReturn(OrderStatus.PENDING);
+        when(stockHoldService.commit(any())).thenReturn(true);
 
         PaymentSuccessEvent event = new PaymentSuccessEvent(this, 1L);
         orderService.handlePaymentSuccess(event);
 
-        verify(orderRepository, times(1)).findById(anyLong());
+        verify(orderRepository, times(1)).findByIdForUpdate(anyLong());
+        verify(order, times(1)).completePayment();
+        verify(orderRepository, times(1)).save(order);
+        verify(stockHoldService, times(1)).commit(any());
+        verify(orderStatusNotifier, times(1)).notifyAfterCommit(order);
+    }
+
+    @Test
+    @DisplayName("홀드가 만료되어 반환된 뒤 결제가 완료되면 재고를 다시 확보해 결제를 완료한다")
+    void handlePaymentSuccess_ReacquiresExpiredHold() {
+        when(orderRepository.findByIdForUpdate(anyLong())).thenReturn(Optional.of(order));
+        when(order.getStatus()).thenReturn(OrderStatus.PENDING);
+        when(order.getId()).thenReturn(1L);
+        when(order.quantitiesByProduct()).thenReturn(Map.of(1L, 3));
+        when(stockHoldService.commit(1L)).thenReturn(false);
+        when(stockHoldService.reacquire(1L, Map.of(1L, 3))).thenReturn(true);
+
+        orderService.handlePaymentSuccess(new PaymentSuccessEvent(this, 1L));
+
         verify(order, times(1)).completePayment();
+        verify(outboxService, never()).append(any());
+    }
+
+    @Test
+    @DisplayName("홀드가 만료된 사이 재고가 팔려 다시 확보하지 못하면 주문을 취소하고 환불을 요청한다")
+    void handlePaymentSuccess_CancelsAndRefundsWhenStockGone() {
+        when(orderRepository.findByIdForUpdate(anyLong())).thenReturn(Optional.of(order));
+        when(order.getStatus()).thenReturn(OrderStatus.PENDING);
+        when(order.getId()).thenReturn(1L);
+        when(order.quantitiesByProduct()).thenReturn(Map.of(1L, 3));
+        when(stockHoldService.commit(1L)).thenReturn(false);
+        when(stockHoldService.reacquire(1L, Map.of(1L, 3))).thenReturn(false);
+
+        orderService.handlePaymentSuccess(new PaymentSuccessEvent(this, 1L));
+
+        verify(order, never()).completePayment();
+        verify(order, times(1)).cancelOrder();
         verify(orderRepository, times(1)).save(order);
+        verify(outboxService, times(1)).append(any(PaymentRefundRequestEvent.class));
+        verify(orderStatusNotifier, times(1)).notifyAfterCommit(order);
+    }
+
+    @Test
+    @DisplayName("만료/취소된 주문에 결제 성공이 늦게 도착하면 주문을 되살리지 않고 환불을 요청한다")
+    void handlePaymentSuccess_CancelledOrderRequestsRefund() {
+        when(orderRepository.findByIdForUpdate(anyLong())).thenReturn(Optional.of(order));
+        when(order.getStatus()).thenReturn(OrderStatus.ORDER_CANCELLATION);
+        when(order.getId()).thenReturn(1L);
+
+        orderService.handlePaymentSuccess(new PaymentSuccessEvent(this, 1L));
+
+        verify(order, never()).completePayment();
+        verify(orderRepository, never()).save(any());
+        verify(stockHoldService, never()).commit(any());
+        verify(outboxService, times(1)).append(argThat(event ->
+                event instanceof PaymentRefundRequestEvent refund && refund.getOrderId() == 1L));
     }
 
     @Test
     @DisplayName("결제 실패 이벤트 처리")
     void handlePaymentFailure() {
-        when(orderRepository.findById(anyLong())).thenReturn(Optional.of(order));
+        when(orderRepository.findByIdForUpdate(anyLong())).thenReturn(Optional.of(order));
+        when(order.getStatus()).thenReturn(OrderStatus.PENDING);
 
         PaymentFailedEvent event = new PaymentFailedEvent(this, 1L);
         orderService.handlePaymentFailure(event);
 
-        verify(orderRepository, times(1)).findById(anyLong());
+        verify(orderRepository, times(1)).findByIdForUpdate(anyLong());
         verify(order, times(1)).cancelOrder();
         verify(orderRepository, times(1)).save(order);
+        verify(stockHoldService, times(1)).release(any());
+        verify(cacheVersionService, times(1)).bumpAfterCommit(eq(OrderService.ORDER_VERSION), any());
+        verify(orderStatusNotifier, times(1)).notifyAfterCommit(order);
+    }
+
+    @Test
+    @DisplayName("결제가 완료된 주문에 늦게 도착한 결제 실패는 무시한다")
+    void handlePaymentFailure_IgnoresCompletedOrder() {
+        when(orderRepository.findByIdForUpdate(anyLong())).thenReturn(Optional.of(order));
+        when(order.getStatus()).thenReturn(OrderStatus.PAYMENT_COMPLETE);
+
+        orderService.handlePaymentFailure(new PaymentFailedEvent(this, 1L));
+
+        verify(order, never()).cancelOrder();
+        verify(stockHoldService, never()).release(any());
     }
 
     @Test
@@ -151,49 +264,140 @@ class OrderServiceTest {
         verify(orderRepository, times(1)).findByUserId(anyLong(), any(PageRequest.class));
     }
 
+    @Test
+    @DisplayName("주문 내역 조회 시 한 건을 더 읽어 다음 페이지 커서를 만들고, 요청하지 않으면 전체 건수를 세지 않는다")
+    void getOrderHistory_ReturnsNextCursor() {
+        LocalDateTime now = LocalDateTime.now();
+        List<OrderListDTO> rows = List.of(
+                new OrderListDTO(3L, now, OrderStatus.PAYMENT_COMPLETE, totalPrice),
+                new OrderListDTO(2L, now.minusMinutes(1), OrderStatus.PAYMENT_COMPLETE, totalPrice),
+                new OrderListDTO(1L, now.minusMinutes(2), OrderStatus.ORDER_CANCELLATION, totalPrice));
+        when(orderRepository.findHistory(eq(1L), isNull(), eq(3))).thenReturn(rows);
+
+        OrderHistoryPage page = orderService.getOrderHistory(1L, null, 2, false);
+
+        assertEquals(2, page.getOrders().size());
+        assertTrue(page.isHasNext());
+        assertEquals(new OrderCursor(now.minusMinutes(1), 2L), OrderCursor.decode(page.getNextCursor()));
+        assertNull(page.getTotalCount());
+        verify(orderRepository, never()).countByUserId(anyLong());
+    }
+
+    @Test
+    @DisplayName("마지막 페이지에서 남은 주문이 요청한 건수와 같으면 다음 커서를 주지 않는다")
+    void getOrderHistory_LastPageHasNoCursor() {
+        LocalDateTime now = LocalDateTime.now();
+        OrderCursor after = new OrderCursor(now, 5L);
+        List<OrderListDTO> rows = List.of(
+                new OrderListDTO(4L, now, OrderStatus.PAYMENT_COMPLETE, totalPrice),
+                new OrderListDTO(3L, now.minusMinutes(1), OrderStatus.PAYMENT_COMPLETE, totalPrice));
+        when(orderRepository.findHistory(1L, after, 3)).thenReturn(rows);
+
+        OrderHistoryPage page = orderService.getOrderHistory(1L, after.encode(), 2, false);
+
+        assertEquals(2, page.getOrders().size());
+        assertFalse(page.isHasNext());
+        assertNull(page.getNextCursor());
+    }
+
+    @Test
+    @DisplayName("주문 내역 조회 크기는 최대 100 건으로 제한되고 1 보다 작으면 예외 발생")
+    void getOrderHistory_ClampsPageSize() {
+        when(orderRepository.findHistory(eq(1L), isNull(), eq(101))).thenReturn(List.of());
+
+        OrderHistoryPage page = orderService.getOrderHistory(1L, "", 500, false);
+
+        assertTrue(page.getOrders().isEmpty());
+        assertFalse(page.isHasNext());
+        assertThrows(IllegalArgumentException.class, () -> orderService.getOrderHistory(1L, null, 0, false));
+    }
+
+    @Test
+    @DisplayName("주문 내역 조회 시 잘못된 커서는 예외 발생")
+    void getOrderHistory_InvalidCursor() {
+        assertThrows(IllegalArgumentException.class, () -> orderService.getOrderHistory(1L, "not-a-cursor", 20, false));
+
+        verify(orderRepository, never()).findHistory(anyLong(), any(), anyInt());
+    }
+
+    @Test
+    @DisplayName("주문 요약 조회는 엔티티를 읽지 않고 요약 쿼리만 사용한다")
+    void getOrderSummary_Success() {
+        when(orderRepository.findSummaryById(1L)).thenReturn(Optional.of(new OrderSummaryDTO()));
+
+        assertNotNull(orderService.getOrderSummary(1L));
+
+        verify(orderRepository, never()).findById(anyLong());
+    }
+
+    @Test
+    @DisplayName("주문 요약 조회 시 주문을 찾을 수 없는 경우 예외 발생")
+    void getOrderSummary_OrderNotFoundException() {
+        when(orderRepository.findSummaryById(anyLong())).thenReturn(Optional.empty());
+
+        assertThrows(OrderNotFoundException.class, () -> orderService.getOrderSummary(1L));
+    }
+
     @Test
     @DisplayName("주문 상세 조회 성공")
     void getOrderDetail_Success() {
-        when(orderRepository.findById(anyLong())).thenReturn(Optional.of(order));
-        when(orderMapper.toOrderDetailDTO(any(Order.class))).thenReturn(new OrderDetailDTO());
+        when(orderRepository.findDetailById(anyLong())).thenReturn(Optional.of(new OrderDetailDTO()));
 
         OrderDetailDTO result = orderService.getOrderDetail(1L);
 
         assertNotNull(result);
-        verify(orderRepository, times(1)).findById(anyLong());
-        verify(orderMapper, times(1)).toOrderDetailDTO(any(Order.class));
+        verify(orderRepository, times(1)).findDetailById(anyLong());
+        verify(orderRepository, never()).findById(anyLong());
     }
 
     @Test
     @DisplayName("주문 상세 조회 시 주문을 찾을 수 없는 경우 예외 발생")
     void getOrderDetail_OrderNotFoundException() {
-        when(orderRepository.findById(anyLong())).thenReturn(Optional.empty());
+        when(orderRepository.findDetailById(anyLong())).thenReturn(Optional.empty());
 
         assertThrows(OrderNotFoundException.class, () -> orderService.getOrderDetail(1L));
 
-        verify(orderRepository, times(1)).findById(anyLong());
+        verify(orderRepository, times(1)).findDetailById(anyLong());
     }
 
     @Test
     @DisplayName("주문 취소 성공")
     void cancelOrder_Success() {
-        when(orderRepository.findById(anyLong())).thenReturn(Optional.of(order));
+        when(orderRepository.findByIdForUpdate(anyLong())).thenReturn(Optional.of(order));
+        when(order.getStatus()).thenReturn(OrderStatus.PENDING);
 
         orderService.cancelOrder(1L);
 
-        verify(orderRepository, times(1)).findById(anyLong());
+        verify(orderRepository, times(1)).findByIdForUpdate(anyLong());
         verify(order, times(1)).cancelOrder();
         verify(orderRepository, times(1)).save(order);
+        verify(stockHoldService, times(1)).release(1L);
+        verify(outboxService, never()).append(any());
+        verify(cacheVersionService, times(1)).bumpAfterCommit(OrderService.ORDER_HISTORY_VERSION, 1L);
+    }
+
+    @Test
+    @DisplayName("결제가 완료된 주문을 취소하면 재고를 반환하고 결제 환불을 요청한다")
+    void cancelOrder_PaidOrderRequestsRefund() {
+        when(orderRepository.findByIdForUpdate(anyLong())).thenReturn(Optional.of(order));
+        when(order.getStatus()).thenReturn(OrderStatus.PAYMENT_COMPLETE);
+
+        orderService.cancelOrder(1L);
+
+        verify(order, times(1)).cancelOrder();
+        verify(stockHoldService, times(1)).release(1L);
+        verify(outboxService, times(1)).append(argThat(event ->
+                event instanceof PaymentRefundRequestEvent refund && refund.getOrderId() == 1L));
     }
 
     @Test
     @DisplayName("주문 취소 시 주문을 찾을 수 없는 경우 예외 발생")
     void cancelOrder_OrderNotFoundException() {
-        when(orderRepository.findById(anyLong())).thenReturn(Optional.empty());
+        when(orderRepository.findByIdForUpdate(anyLong())).thenReturn(Optional.empty());
 
         assertThrows(OrderNotFoundException.class, () -> orderService.cancelOrder(1L));
 
-        verify(orderRepository, times(1)).findById(anyLong());
+        verify(orderRepository, times(1)).findByIdForUpdate(anyLong());
         verify(order, never()).cancelOrder();
     }
 }
@@ -0,0 +1,89 @@
+package com.example.runshop.module.order.application.service;
+
+import com.example.runshop.model.dto.order.OrderStatusMessage;
+import com.example.runshop.model.enums.OrderStatus;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OrderStatusStreamServiceTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private OrderStatusStreamService streamService;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        streamService = new OrderStatusStreamService(meterRegistry, 30, 25, 2, 3000, 32, 2);
+        streamService.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        streamService.stop();
+    }
+
+    @Test
+    @DisplayName("주문한 사용자의 연결에만 상태 알림을 전달한다")
+    void deliversOnlyToOwner() {
+        streamService.subscribe(1L);
+        streamService.subscribe(2L);
+
+        streamService.deliver(message(1L));
+        streamService.deliver(message(3L));
+
+        awaitDelivered(1.0);
+        assertEquals(1.0, meterRegistry.counter("order.status.stream.delivered").count());
+    }
+
+    @Test
+    @DisplayName("사용자당 연결 한도를 넘으면 기존 연결을 닫고 새 연결로 대체한다")
+    void replacesConnectionOverLimit() {
+        streamService.subscribe(1L);
+        streamService.subscribe(1L);
+        streamService.subscribe(1L);
+
+        assertEquals(2, streamService.connectionCount());
+        streamService.deliver(message(1L));
+        awaitDelivered(2.0);
+        assertEquals(2.0, meterRegistry.counter("order.status.stream.delivered").count());
+    }
+
+    @Test
+    @DisplayName("전송 대기열이 가득 찰 만큼 받아 가지 못하는 연결은 닫는다")
+    void closesSlowConnection() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        // 전송 스레드를 시작하지 않아 대기열이 비워지지 않는 느린 연결을 만듦
+        OrderStatusStreamService slowService = new OrderStatusStreamService(registry, 30, 25, 2, 3000, 2, 1);
+        slowService.subscribe(1L);
+
+        slowService.deliver(message(1L));
+        assertEquals(1, slowService.connectionCount());
+        slowService.deliver(message(1L));
+
+        assertEquals(0, slowService.connectionCount());
+        assertEquals(1.0, registry.counter("order.status.stream.slow_closed").count());
+    }
+
+    private void awaitDelivered(double expected) {
+        long deadline = System.currentTimeMillis() + 1000;
+        while (meterRegistry.counter("order.status.stream.delivered").count() < expected && System.currentTimeMillis() < deadline) {
+            Thread.onSpinWait();
+        }
+    }
+
+    private OrderStatusMessage message(Long userId) {
+        return OrderStatusMessage.builder()
+                .orderId(10L)
+                .userId(userId)
+                .orderStatus(OrderStatus.PAYMENT_COMPLETE)
+                .changedAt(LocalDateTime.now())
+                .build();
+    }
+}
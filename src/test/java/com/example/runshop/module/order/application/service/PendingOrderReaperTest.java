@@ -0,0 +1,76 @@
+package com.example.runshop.module.order.application.service;
+
+import com.example.runshop.module.order.application.port.out.OrderRepository;
+import com.example.runshop.service.SchedulerLeaseService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PendingOrderReaperTest {
+
+    @Mock
+    private OrderService orderService;
+    @Mock
+    private OrderRepository orderRepository;
+    @Mock
+    private SchedulerLeaseService schedulerLeaseService;
+
+    private SimpleMeterRegistry meterRegistry;
+    private PendingOrderReaper reaper;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        reaper = new PendingOrderReaper(orderService, orderRepository, schedulerLeaseService, meterRegistry,
+                true, 30, 2, 3, 120);
+    }
+
+    @Test
+    @DisplayName("임대를 얻지 못한 노드는 주문을 건드리지 않는다")
+    void reap_SkipsWithoutLease() {
+        when(schedulerLeaseService.tryAcquire(eq(PendingOrderReaper.LEASE_NAME), any())).thenReturn(false);
+
+        reaper.reap();
+
+        verifyNoInteractions(orderService, orderRepository);
+    }
+
+    @Test
+    @DisplayName("배치가 가득 차는 동안 이어서 처리하되 max-batches 에서 멈추고, 남은 건수를 기록한다")
+    void reap_StopsAtMaxBatches() {
+        when(schedulerLeaseService.tryAcquire(eq(PendingOrderReaper.LEASE_NAME), any())).thenReturn(true);
+        when(orderService.expirePendingOrders(any(LocalDateTime.class), eq(2))).thenReturn(2);
+        when(orderRepository.countPendingOrderedBefore(any(LocalDateTime.class))).thenReturn(5L);
+
+        reaper.reap();
+
+        verify(orderService, times(3)).expirePendingOrders(any(LocalDateTime.class), anyInt());
+        assertEquals(6.0, meterRegistry.get("order.expiry.reaped").counter().count());
+        assertEquals(5.0, meterRegistry.get("order.expiry.backlog").gauge().value());
+    }
+
+    @Test
+    @DisplayName("배치가 덜 차면 더 남은 주문이 없으므로 멈춘다")
+    void reap_StopsWhenBatchIsNotFull() {
+        when(schedulerLeaseService.tryAcquire(eq(PendingOrderReaper.LEASE_NAME), any())).thenReturn(true);
+        when(orderService.expirePendingOrders(any(LocalDateTime.class), eq(2))).thenReturn(2, 1);
+
+        reaper.reap();
+
+        verify(orderService, times(2)).expirePendingOrders(any(LocalDateTime.class), anyInt());
+        assertEquals(3.0, meterRegistry.get("order.expiry.reaped").counter().count());
+    }
+}
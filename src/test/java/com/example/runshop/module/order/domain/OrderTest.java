@@ -0,0 +1,63 @@
+package com.example.runshop.module.order.domain;
+
+import com.example.runshop.exception.order.InvalidOrderStatusException;
+import com.example.runshop.model.enums.OrderStatus;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class OrderTest {
+
+    @Test
+    @DisplayName("결제 대기 중인 주문은 결제 완료로 바뀐다")
+    void completePayment_Pending() {
+        Order order = Order.create(null, BigDecimal.valueOf(10000), List.of());
+
+        order.completePayment();
+
+        assertEquals(OrderStatus.PAYMENT_COMPLETE, order.getStatus());
+    }
+
+    @Test
+    @DisplayName("결제가 완료되면 결제 시각을 기록하고, 완료되지 않은 주문에는 기록하지 않는다")
+    void completePayment_StampsPaymentDate() {
+        Order order = Order.create(null, BigDecimal.valueOf(10000), List.of());
+        Order cancelled = Order.create(null, BigDecimal.valueOf(10000), List.of());
+        cancelled.cancelOrder();
+        LocalDateTime before = LocalDateTime.now();
+
+        order.completePayment();
+        assertThrows(InvalidOrderStatusException.class, cancelled::completePayment);
+
+        assertFalse(order.getPaymentDate().isBefore(before));
+        assertFalse(order.getPaymentDate().isAfter(LocalDateTime.now()));
+        assertNull(cancelled.getPaymentDate());
+    }
+
+    @Test
+    @DisplayName("만료/취소된 주문은 결제 완료로 되살리지 않는다")
+    void completePayment_CancelledOrder() {
+        Order order = Order.create(null, BigDecimal.valueOf(10000), List.of());
+        order.cancelOrder();
+
+        assertThrows(InvalidOrderStatusException.class, order::completePayment);
+        assertEquals(OrderStatus.ORDER_CANCELLATION, order.getStatus());
+    }
+
+    @Test
+    @DisplayName("이미 결제된 주문의 결제를 다시 완료하지 않는다")
+    void completePayment_AlreadyPaid() {
+        Order order = Order.create(null, BigDecimal.valueOf(10000), List.of());
+        order.completePayment();
+
+        assertThrows(InvalidOrderStatusException.class, order::completePayment);
+    }
+}
@@ -0,0 +1,184 @@
+package com.example.runshop.module.order.infrastructure.persistence;
+
+import com.example.runshop.model.dto.order.OrderCursor;
+import com.example.runshop.model.dto.order.OrderDetailDTO;
+import com.example.runshop.model.dto.order.OrderListDTO;
+import com.example.runshop.model.entity.Inventory;
+import com.example.runshop.model.entity.Product;
+import com.example.runshop.model.entity.User;
+import com.example.runshop.model.enums.Category;
+import com.example.runshop.model.vo.inventory.StockQuantity;
+import com.example.runshop.model.vo.orderitem.OrderQuantity;
+import com.example.runshop.model.vo.product.ProductDescription;
+import com.example.runshop.model.vo.product.ProductName;
+import com.example.runshop.model.vo.product.ProductPrice;
+import com.example.runshop.model.vo.user.Email;
+import com.example.runshop.model.vo.user.Password;
+import com.example.runshop.module.order.application.port.out.OrderRepository;
+import com.example.runshop.module.order.domain.Order;
+import com.example.runshop.module.order.domain.OrderItem;
+import com.example.runshop.module.payment.domain.PaymentMethod;
+import com.example.runshop.repository.InventoryRepository;
+import com.example.runshop.repository.ProductRepository;
+import com.example.runshop.repository.UserRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Transactional // 테스트 종료 후 롤백
+class OrderRepositoryImplTest {
+
+    @Autowired
+    private OrderRepository orderRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private ProductRepository productRepository;
+    @Autowired
+    private InventoryRepository inventoryRepository;
+    @Autowired
+    private EntityManager entityManager;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    @DisplayName("주문 상세 조회는 주문 항목 수와 관계없이 한 번의 쿼리로 끝난다")
+    void findDetailById_StatementCountIsConstant() {
+        Long smallOrderId = createOrder("small@example.com", 1);
+        Long largeOrderId = createOrder("large@example.com", 20);
+        entityManager.flush();
+        entityManager.clear();
+
+        long smallOrderStatements = countStatements(() -> assertEquals(1, orderRepository.findDetailById(smallOrderId).orElseThrow().getOrderItems().size()));
+        long largeOrderStatements = countStatements(() -> {
+            OrderDetailDTO detail = orderRepository.findDetailById(largeOrderId).orElseThrow();
+            assertEquals(20, detail.getOrderItems().size());
+            assertNotNull(detail.getOrderItems().get(0).getProductName());
+        });
+
+        assertEquals(1, smallOrderStatements);
+        assertEquals(smallOrderStatements, largeOrderStatements);
+    }
+
+    @Test
+    @DisplayName("주문 요약 조회는 항목 수를 포함해 한 번의 쿼리로 끝난다")
+    void findSummaryById_SingleStatement() {
+        Long orderId = createOrder("summary@example.com", 3);
+        entityManager.flush();
+        entityManager.clear();
+
+        long statements = countStatements(() -> assertEquals(3, orderRepository.findSummaryById(orderId).orElseThrow().getItemCount()));
+
+        assertEquals(1, statements);
+    }
+
+    @Test
+    @DisplayName("존재하지 않는 주문은 빈 결과를 돌려준다")
+    void findDetailById_NotFound() {
+        assertTrue(orderRepository.findDetailById(-1L).isEmpty());
+    }
+
+    @Test
+    @DisplayName("주문 내역을 커서로 끝까지 넘기면 주문 시각이 같은 주문도 빠지거나 겹치지 않고 한 번씩 나온다")
+    void findHistory_PagesThroughTiesWithoutGapsOrDuplicates() {
+        User user = createUser("history@example.com");
+        LocalDateTime tied = LocalDateTime.of(2024, 1, 1, 12, 0);
+        List<Long> older = List.of(createOrder(user), createOrder(user));
+        List<Long> newer = List.of(createOrder(user), createOrder(user), createOrder(user));
+        setOrderDate(older, tied.minusMinutes(1));
+        setOrderDate(newer, tied);
+        entityManager.clear();
+
+        List<Long> pagedIds = new ArrayList<>();
+        List<Integer> pageSizes = new ArrayList<>();
+        OrderCursor cursor = null;
+        while (true) {
+            List<OrderListDTO> page = orderRepository.findHistory(user.getId(), cursor, 2);
+            if (page.isEmpty()) {
+                break;
+            }
+            pageSizes.add(page.size());
+            page.forEach(order -> pagedIds.add(order.getOrderId()));
+            // 클라이언트가 받는 문자열 커서를 거쳐도 경계가 그대로 유지되어야 함
+            cursor = OrderCursor.decode(OrderCursor.of(page.get(page.size() - 1)).encode());
+        }
+
+        assertEquals(List.of(newer.get(2), newer.get(1), newer.get(0), older.get(1), older.get(0)), pagedIds);
+        assertEquals(List.of(2, 2, 1), pageSizes);
+    }
+
+    @Test
+    @DisplayName("다른 사용자의 주문은 주문 내역에 포함되지 않는다")
+    void findHistory_OnlyReturnsOwnOrders() {
+        User user = createUser("mine@example.com");
+        User other = createUser("other@example.com");
+        Long mine = createOrder(user);
+        createOrder(other);
+
+        List<OrderListDTO> history = orderRepository.findHistory(user.getId(), null, 10);
+
+        assertEquals(List.of(mine), history.stream().map(OrderListDTO::getOrderId).toList());
+        assertEquals(1, orderRepository.countByUserId(user.getId()));
+    }
+
+    private User createUser(String email) {
+        return userRepository.save(User.builder()
+                .email(new Email(email))
+                .password(new Password("encodedPassword"))
+                .name("테스트 사용자")
+                .phone("010-1234-5678")
+                .build());
+    }
+
+    private Long createOrder(User user) {
+        return orderRepository.save(Order.create(user, BigDecimal.valueOf(99000), new ArrayList<>())).getId();
+    }
+
+    private void setOrderDate(List<Long> orderIds, LocalDateTime orderDate) {
+        entityManager.flush();
+        entityManager.createQuery("update Order o set o.orderDate = :orderDate where o.id in :ids")
+                .setParameter("orderDate", orderDate)
+                .setParameter("ids", orderIds)
+                .executeUpdate();
+    }
+
+    private long countStatements(Runnable query) {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        query.run();
+        return statistics.getPrepareStatementCount();
+    }
+
+    private Long createOrder(String email, int itemCount) {
+        User user = createUser(email);
+
+        List<OrderItem> items = new ArrayList<>(itemCount);
+        for (int i = 0; i < itemCount; i++) {
+            Product product = productRepository.save(Product.builder()
+                    .name(new ProductName("러닝화 " + email + " " + i))
+                    .description(new ProductDescription("주문 상세 조회 테스트용 상품"))
+                    .price(new ProductPrice(BigDecimal.valueOf(99000)))
+                    .category(Category.SHOES)
+                    .brand("테스트")
+                    .build());
+            inventoryRepository.save(new Inventory(product, new StockQuantity(10)));
+            items.add(OrderItem.create(product, new OrderQuantity(1), PaymentMethod.CREDIT_CARD));
+        }
+        Order order = Order.create(user, BigDecimal.valueOf(99000L * itemCount), items);
+        return orderRepository.save(order).getId();
+    }
+}
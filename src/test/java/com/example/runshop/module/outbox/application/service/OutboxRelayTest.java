@@ -0,0 +1,126 @@
+package com.example.runshop.module.outbox.application.service;
+
+import com.example.runshop.module.outbox.application.port.out.OutboxRepository;
+import com.example.runshop.module.outbox.domain.OutboxEvent;
+import com.example.runshop.module.outbox.domain.OutboxEventType;
+import com.example.runshop.module.payment.adapters.in.event.PaymentFailedEvent;
+import com.example.runshop.module.payment.adapters.in.event.PaymentRequestEvent;
+import com.example.runshop.module.payment.adapters.in.event.PaymentSuccessEvent;
+import com.example.runshop.module.payment.domain.PaymentMethod;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OutboxRelayTest {
+
+    @Mock
+    private OutboxRepository outboxRepository;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final OutboxEventCodec codec = new OutboxEventCodec(new ObjectMapper());
+    private OutboxRelay relay;
+
+    @BeforeEach
+    void setUp() {
+        relay = new OutboxRelay(outboxRepository, codec, eventPublisher, Runnable::run, transactionManager,
+                new SimpleMeterRegistry(), true, 1, 10, 200, 60, 1, 300, 3);
+    }
+
+    @Test
+    @DisplayName("결제 요청 이벤트는 금액과 결제 수단을 포함해 그대로 복원된다")
+    void codec_RoundTripsPaymentRequest() {
+        OutboxEvent encoded = codec.encode(new PaymentRequestEvent(this, 7L, new BigDecimal("15000.50"), PaymentMethod.CREDIT_CARD));
+
+        PaymentRequestEvent decoded = (PaymentRequestEvent) codec.decode(encoded, this);
+
+        assertEquals(OutboxEventType.PAYMENT_REQUESTED, encoded.getEventType());
+        assertEquals(7L, decoded.getOrderId());
+        assertEquals(new BigDecimal("15000.50"), decoded.getAmount());
+        assertEquals(PaymentMethod.CREDIT_CARD, decoded.getPaymentMethod());
+    }
+
+    @Test
+    @DisplayName("선점한 이벤트 중 전달된 것만 삭제하고, 실패한 것은 백오프 후 재시도하도록 미룬다")
+    void relayBatch_DeletesDeliveredAndReschedulesFailed() {
+        OutboxEvent succeeded = withId(codec.encode(new PaymentSuccessEvent(this, 1L)), 100L);
+        OutboxEvent failed = withId(codec.encode(new PaymentFailedEvent(this, 2L)), 101L);
+        when(outboxRepository.findAvailableForUpdate(any(LocalDateTime.class), eq(10))).thenReturn(List.of(succeeded, failed));
+        doThrow(new IllegalStateException("리스너 실패")).when(eventPublisher).publishEvent(any(PaymentFailedEvent.class));
+
+        assertEquals(2, relay.relayBatch());
+
+        verify(outboxRepository, times(1)).extendLease(eq(List.of(100L, 101L)), any(LocalDateTime.class));
+        verify(eventPublisher, times(1)).publishEvent(any(PaymentSuccessEvent.class));
+        verify(outboxRepository, times(1)).deleteAll(List.of(100L));
+        verify(outboxRepository, times(1)).reschedule(eq(101L), any(LocalDateTime.class));
+    }
+
+    @Test
+    @DisplayName("최대 시도 횟수만큼 실패한 이벤트는 재시도하지 않고 dead-letter 로 표시한다")
+    void relayBatch_DeadLettersExhausted() {
+        OutboxEvent exhausted = withId(codec.encode(new PaymentFailedEvent(this, 2L)), 101L);
+        ReflectionTestUtils.setField(exhausted, "attempts", 2);
+        when(outboxRepository.findAvailableForUpdate(any(LocalDateTime.class), eq(10))).thenReturn(List.of(exhausted));
+        doThrow(new IllegalStateException("리스너 실패")).when(eventPublisher).publishEvent(any(PaymentFailedEvent.class));
+
+        relay.relayBatch();
+
+        verify(outboxRepository, times(1)).deadLetter(eq(101L), any(LocalDateTime.class));
+        verify(outboxRepository, never()).reschedule(anyLong(), any());
+    }
+
+    @Test
+    @DisplayName("전달 중인 이벤트만 리스를 연장하고, 전달이 끝나면 더 이상 연장하지 않는다")
+    void renewLeases_ExtendsOnlyInProgress() {
+        OutboxEvent slow = withId(codec.encode(new PaymentSuccessEvent(this, 1L)), 100L);
+        when(outboxRepository.findAvailableForUpdate(any(LocalDateTime.class), eq(10))).thenReturn(List.of(slow));
+        // 리스너가 오래 걸리는 동안 리스 연장 주기가 돌아온 상황
+        doAnswer(invocation -> {
+            relay.renewLeases();
+            return null;
+        }).when(eventPublisher).publishEvent(any(PaymentSuccessEvent.class));
+
+        relay.relayBatch();
+        relay.renewLeases();
+
+        // 선점 시 한 번, 전달 중 연장 한 번 (전달이 끝난 뒤에는 연장하지 않음)
+        verify(outboxRepository, times(2)).extendLease(eq(List.of(100L)), any(LocalDateTime.class));
+        verify(outboxRepository, times(1)).deleteAll(List.of(100L));
+    }
+
+    @Test
+    @DisplayName("선점할 이벤트가 없으면 아무것도 전달하지 않는다")
+    void relayBatch_NothingAvailable() {
+        when(outboxRepository.findAvailableForUpdate(any(LocalDateTime.class), anyInt())).thenReturn(List.of());
+
+        assertEquals(0, relay.relayBatch());
+
+        verifyNoInteractions(eventPublisher);
+        verify(outboxRepository, never()).deleteAll(anyCollection());
+    }
+
+    private OutboxEvent withId(OutboxEvent event, Long id) {
+        ReflectionTestUtils.setField(event, "id", id);
+        return event;
+    }
+}
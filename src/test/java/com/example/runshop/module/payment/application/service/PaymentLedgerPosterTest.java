@@ -0,0 +1,145 @@
+package com.example.runshop.module.payment.application.service;
+
+import com.example.runshop.module.payment.application.port.out.PaymentLedgerRepository;
+import com.example.runshop.module.payment.domain.LedgerBalance;
+import com.example.runshop.module.payment.domain.LedgerPosting;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PaymentLedgerPosterTest {
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private FakeLedgerRepository paymentLedgerRepository;
+    private SimpleMeterRegistry meterRegistry;
+    private PaymentLedgerPoster paymentLedgerPoster;
+
+    @BeforeEach
+    void setUp() {
+        paymentLedgerRepository = new FakeLedgerRepository();
+        meterRegistry = new SimpleMeterRegistry();
+        paymentLedgerPoster = new PaymentLedgerPoster(paymentLedgerRepository, transactionManager, meterRegistry, true, 2);
+    }
+
+    @Test
+    @DisplayName("대기 중인 거래를 batch-size 씩 나누어 한 주기 안에 모두 반영한다")
+    void postPending_PostsInBatches() {
+        enqueue(5);
+
+        paymentLedgerPoster.postPending();
+
+        assertEquals(List.of(2, 2, 1), paymentLedgerRepository.batchSizes);
+        assertTrue(paymentLedgerRepository.queue.isEmpty());
+        assertEquals(5, meterRegistry.counter("payment.ledger.posted").count());
+        verify(transactionManager, times(3)).commit(any());
+    }
+
+    @Test
+    @DisplayName("반영에 실패한 거래는 롤백되어 대기열에 남고 다음 주기에 다시 반영된다")
+    void postPending_RetriesFailedBatchOnNextRun() {
+        enqueue(3);
+        paymentLedgerRepository.failuresLeft = 1;
+
+        paymentLedgerPoster.postPending();
+
+        assertEquals(3, paymentLedgerRepository.queue.size());
+        assertTrue(paymentLedgerRepository.posted.isEmpty());
+        verify(transactionManager, times(1)).rollback(any());
+
+        paymentLedgerPoster.postPending();
+
+        assertTrue(paymentLedgerRepository.queue.isEmpty());
+        assertEquals(3, paymentLedgerRepository.posted.size());
+    }
+
+    @Test
+    @DisplayName("실패와 재시도를 거쳐도 각 거래는 원장에 정확히 한 번만 반영된다")
+    void postPending_PostsEachEntryExactlyOnce() {
+        List<LedgerPosting> postings = enqueue(7);
+        paymentLedgerRepository.failuresLeft = 2;
+
+        for (int run = 0; run < 5; run++) {
+            paymentLedgerPoster.postPending();
+        }
+
+        List<String> journalIds = paymentLedgerRepository.posted.stream().map(LedgerPosting::getJournalId).toList();
+        assertEquals(postings.size(), journalIds.size());
+        assertEquals(postings.stream().map(LedgerPosting::getJournalId).collect(Collectors.toSet()),
+                new HashSet<>(journalIds));
+        assertTrue(paymentLedgerRepository.queue.isEmpty());
+    }
+
+    @Test
+    @DisplayName("비활성화되어 있으면 대기열을 읽지 않는다")
+    void postPending_DoesNothingWhenDisabled() {
+        enqueue(1);
+        paymentLedgerPoster = new PaymentLedgerPoster(paymentLedgerRepository, transactionManager, meterRegistry, false, 2);
+
+        paymentLedgerPoster.postPending();
+
+        assertEquals(1, paymentLedgerRepository.queue.size());
+        verifyNoInteractions(transactionManager);
+    }
+
+    private List<LedgerPosting> enqueue(int count) {
+        List<LedgerPosting> postings = new ArrayList<>();
+        for (long orderId = 1; orderId <= count; orderId++) {
+            LedgerPosting posting = LedgerPosting.capture(orderId, orderId, BigDecimal.valueOf(1000));
+            paymentLedgerRepository.enqueue(posting);
+            postings.add(posting);
+        }
+        return postings;
+    }
+
+    // 트랜잭션 롤백을 흉내 내도록, 반영이 실패하면 대기열과 원장을 건드리지 않는 저장소
+    private static class FakeLedgerRepository implements PaymentLedgerRepository {
+        private final List<LedgerPosting> queue = new ArrayList<>();
+        private final List<LedgerPosting> posted = new ArrayList<>();
+        private final List<Integer> batchSizes = new ArrayList<>();
+        private int failuresLeft;
+
+        @Override
+        public void enqueue(LedgerPosting posting) {
+            queue.add(posting);
+        }
+
+        @Override
+        public List<LedgerPosting> findPendingForUpdate(int limit) {
+            return new ArrayList<>(queue.subList(0, Math.min(limit, queue.size())));
+        }
+
+        @Override
+        public void post(List<LedgerPosting> postings) {
+            if (failuresLeft > 0) {
+                failuresLeft--;
+                throw new IllegalStateException("원장 기록 실패");
+            }
+            batchSizes.add(postings.size());
+            posted.addAll(postings);
+            queue.removeAll(postings);
+        }
+
+        @Override
+        public List<LedgerBalance> findBalancesAfter(Long afterOrderId, int limit) {
+            return List.of();
+        }
+    }
+}
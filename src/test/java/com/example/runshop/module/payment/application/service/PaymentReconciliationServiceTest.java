@@ -0,0 +1,93 @@
+package com.example.runshop.module.payment.application.service;
+
+import com.example.runshop.model.dto.payment.ReconciliationReport;
+import com.example.runshop.model.dto.payment.ReconciliationReport.DiscrepancyType;
+import com.example.runshop.module.payment.application.port.out.PaymentLedgerRepository;
+import com.example.runshop.module.payment.domain.LedgerBalance;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PaymentReconciliationServiceTest {
+
+    @Mock
+    private PaymentLedgerRepository paymentLedgerRepository;
+
+    @TempDir
+    Path tempDir;
+
+    private PaymentReconciliationService reconciliationService;
+
+    @BeforeEach
+    void setUp() {
+        reconciliationService = new PaymentReconciliationService(paymentLedgerRepository, 2, 10);
+    }
+
+    @Test
+    @DisplayName("정산 파일과 원장 잔액을 주문 ID 순으로 병합해 누락과 금액 불일치를 보고한다")
+    void reconcile_ReportsDiscrepancies() throws IOException {
+        // 원장: 1(100), 2(50), 4(30), 5(0 - 전액 환불) - page-size 2 로 세 번 나누어 읽음
+        when(paymentLedgerRepository.findBalancesAfter(eq(0L), anyInt())).thenReturn(List.of(balance(1L, 100), balance(2L, 50)));
+        when(paymentLedgerRepository.findBalancesAfter(eq(2L), anyInt())).thenReturn(List.of(balance(4L, 30), refunded(5L, 20)));
+        when(paymentLedgerRepository.findBalancesAfter(eq(5L), anyInt())).thenReturn(List.of());
+
+        ReconciliationReport report = reconciliationService.reconcile(file("""
+                orderId,type,amount
+                1,CAPTURE,100.00
+                2,CAPTURE,70
+                2,refund,10
+                3,CAPTURE,15
+                not-a-row
+                """));
+
+        assertEquals(5, report.getSettlementRows());
+        assertEquals(1, report.getInvalidRows());
+        assertEquals(2, report.getMatchedOrders());
+        assertEquals(3, report.getDiscrepancyCount());
+        assertEquals(List.of(DiscrepancyType.AMOUNT_MISMATCH, DiscrepancyType.MISSING_IN_LEDGER, DiscrepancyType.MISSING_IN_SETTLEMENT),
+                report.getDiscrepancies().stream().map(ReconciliationReport.Discrepancy::getType).toList());
+        assertEquals(0, new BigDecimal("60").compareTo(report.getDiscrepancies().get(0).getSettlementAmount()));
+        assertEquals(4L, report.getDiscrepancies().get(2).getOrderId());
+    }
+
+    @Test
+    @DisplayName("주문 ID 순으로 정렬되지 않은 정산 파일은 대사하지 않는다")
+    void reconcile_RejectsUnsortedFile() throws IOException {
+        lenient().when(paymentLedgerRepository.findBalancesAfter(eq(0L), anyInt())).thenReturn(List.of(balance(1L, 100), balance(2L, 50)));
+        Path settlement = file("""
+                2,CAPTURE,50
+                1,CAPTURE,100
+                """);
+
+        assertThrows(IllegalArgumentException.class, () -> reconciliationService.reconcile(settlement));
+    }
+
+    private Path file(String content) throws IOException {
+        return Files.writeString(tempDir.resolve("settlement.csv"), content);
+    }
+
+    private LedgerBalance balance(Long orderId, long captured) {
+        return new LedgerBalance(orderId, BigDecimal.valueOf(captured), BigDecimal.ZERO, LocalDateTime.now());
+    }
+
+    private LedgerBalance refunded(Long orderId, long amount) {
+        return new LedgerBalance(orderId, BigDecimal.valueOf(amount), BigDecimal.valueOf(amount), LocalDateTime.now());
+    }
+}
@@ -0,0 +1,115 @@
+package com.example.runshop.module.payment.application.service;
+
+import com.example.runshop.module.payment.application.port.out.PaymentRetryRepository;
+import com.example.runshop.module.payment.domain.PaymentMethod;
+import com.example.runshop.module.payment.domain.PaymentRetry;
+import com.example.runshop.repository.RateLimitStore;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PaymentRetrySchedulerTest {
+
+    @Mock
+    private PaymentRetryRepository paymentRetryRepository;
+    @Mock
+    private PaymentService paymentService;
+    @Mock
+    private RateLimitStore rateLimitStore;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final PaymentRetryPolicy policy = new PaymentRetryPolicy(1000, 60000, 3);
+    private PaymentRetryScheduler scheduler;
+
+    @BeforeEach
+    void setUp() {
+        scheduler = new PaymentRetryScheduler(paymentRetryRepository, paymentService, policy, rateLimitStore,
+                Runnable::run, transactionManager, new SimpleMeterRegistry(), true, 10, 1000, 60, 5);
+        lenient().when(rateLimitStore.tryAcquire(anyString(), anyInt(), any(Duration.class))).thenReturn(true);
+    }
+
+    @Test
+    @DisplayName("여전히 결과를 알 수 없는 결제는 시도 횟수를 올려 다시 예약하고, 해결된 결제는 그대로 둔다")
+    void retryBatch_ReschedulesUnresolved() {
+        PaymentRetry unresolved = retry(100L, 1);
+        PaymentRetry resolved = retry(101L, 1);
+        when(paymentRetryRepository.findDueForUpdate(any(LocalDateTime.class), eq(10))).thenReturn(List.of(unresolved, resolved));
+        when(paymentService.retryPayment(unresolved)).thenReturn(PaymentRetryResult.unresolved("결제사 응답 시간이 초과되었습니다."));
+        when(paymentService.retryPayment(resolved)).thenReturn(PaymentRetryResult.resolved());
+
+        assertEquals(2, scheduler.retryBatch());
+
+        verify(paymentRetryRepository, times(1)).postpone(eq(List.of(100L, 101L)), any(LocalDateTime.class));
+        verify(paymentRetryRepository, times(1)).reschedule(eq(100L), any(LocalDateTime.class), eq("결제사 응답 시간이 초과되었습니다."));
+        verify(paymentRetryRepository, never()).reschedule(eq(101L), any(), any());
+        verify(paymentRetryRepository, never()).moveToDeadLetter(any(), anyInt(), any());
+    }
+
+    @Test
+    @DisplayName("마지막 시도와 결제 결과 조회까지 실패하면 주문을 취소하지 않고 수동 대사용 dead-letter 로 옮긴다")
+    void retryBatch_DeadLettersExhausted() {
+        PaymentRetry exhausted = retry(100L, 2);
+        when(paymentRetryRepository.findDueForUpdate(any(LocalDateTime.class), anyInt())).thenReturn(List.of(exhausted));
+        when(paymentService.retryPayment(exhausted)).thenReturn(PaymentRetryResult.unresolved("결제사 점검"));
+
+        scheduler.retryBatch();
+
+        verify(paymentRetryRepository, times(1)).moveToDeadLetter(exhausted, 3, "결제사 점검");
+        verify(paymentRetryRepository, never()).reschedule(anyLong(), any(), any());
+    }
+
+    @Test
+    @DisplayName("처리율 한도를 넘은 결제는 결제사를 호출하지 않고 시도 횟수를 올리지 않은 채 미룬다")
+    void retryBatch_DefersRateLimited() {
+        PaymentRetry first = retry(100L, 1);
+        PaymentRetry second = retry(101L, 1);
+        PaymentRetry third = retry(102L, 1);
+        when(paymentRetryRepository.findDueForUpdate(any(LocalDateTime.class), anyInt())).thenReturn(List.of(first, second, third));
+        when(rateLimitStore.tryAcquire(eq(PaymentRetryScheduler.RATE_LIMIT_NAME), eq(5), any(Duration.class)))
+                .thenReturn(true, false);
+        when(paymentService.retryPayment(first)).thenReturn(PaymentRetryResult.resolved());
+
+        assertEquals(0, scheduler.retryBatch());
+
+        verify(paymentService, times(1)).retryPayment(any());
+        verify(paymentRetryRepository, times(1)).postpone(eq(List.of(101L, 102L)), any(LocalDateTime.class));
+        verify(paymentRetryRepository, never()).reschedule(anyLong(), any(), any());
+    }
+
+    @Test
+    @DisplayName("재시도 간격은 시도마다 늘어나되 최대 간격을 넘지 않고, 절반 이상은 보장한다")
+    void policy_JitteredExponentialBackoff() {
+        for (int i = 0; i < 100; i++) {
+            long second = policy.delay(2).toMillis();
+            assertTrue(second >= 1000 && second <= 2000, "두 번째 재시도 간격: " + second);
+            long capped = policy.delay(20).toMillis();
+            assertTrue(capped >= 30000 && capped <= 60000, "최대 간격: " + capped);
+        }
+        assertFalse(policy.isExhausted(2));
+        assertTrue(policy.isExhausted(3));
+    }
+
+    private PaymentRetry retry(Long id, int attempts) {
+        PaymentRetry retry = PaymentRetry.firstFailure(7L, BigDecimal.valueOf(15000), PaymentMethod.CREDIT_CARD, LocalDateTime.now(), "결제사 응답 시간이 초과되었습니다.");
+        ReflectionTestUtils.setField(retry, "id", id);
+        ReflectionTestUtils.setField(retry, "attempts", attempts);
+        return retry;
+    }
+}
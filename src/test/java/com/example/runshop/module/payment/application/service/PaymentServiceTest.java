@@ -2,15 +2,22 @@ package com.example.runshop.module.payment.application.service;
 
 import com.example.runshop.exception.order.OrderNotFoundException;
 import com.example.runshop.model.enums.OrderStatus;
+import com.example.runshop.model.vo.payment.PaymentAmount;
 import com.example.runshop.module.order.application.port.out.OrderRepository;
 import com.example.runshop.module.order.domain.Order;
+import com.example.runshop.module.outbox.application.service.OutboxService;
 import com.example.runshop.module.payment.adapters.in.event.PaymentFailedEvent;
 import com.example.runshop.module.payment.adapters.in.event.PaymentRequestEvent;
 import com.example.runshop.module.payment.adapters.in.event.PaymentSuccessEvent;
+import com.example.runshop.module.payment.application.port.out.PaymentLedgerRepository;
 import com.example.runshop.module.payment.application.port.out.PaymentRepository;
+import com.example.runshop.module.payment.application.port.out.PaymentRetryRepository;
+import com.example.runshop.module.payment.domain.LedgerEntryType;
 import com.example.runshop.module.payment.domain.Payment;
 import com.example.runshop.module.payment.domain.PaymentMethod;
+import com.example.runshop.module.payment.domain.PaymentRetry;
 import com.example.runshop.module.payment.intrastructure.gateway.external.PaymentGateway;
+import com.example.runshop.module.payment.intrastructure.gateway.external.PaymentResult;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -18,14 +25,21 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 import static org.mockito.Mockito.lenient;
 
@@ -37,10 +51,18 @@ class PaymentServiceTest {
     @Mock
     private PaymentGateway paymentGateway;
     @Mock
-    private ApplicationEventPublisher eventPublisher;
+    private OutboxService outboxService;
     @Mock
     private OrderRepository orderRepository;
     @Mock
+    private PaymentRetryRepository paymentRetryRepository;
+    @Mock
+    private PaymentRetryPolicy paymentRetryPolicy;
+    @Mock
+    private PaymentLedgerRepository paymentLedgerRepository;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+    @Mock
     private Order order;
 
     @InjectMocks
@@ -50,6 +72,7 @@ class PaymentServiceTest {
     void setUp() {
         lenient().when(order.getId()).thenReturn(1L);
         lenient().when(order.getStatus()).thenReturn(OrderStatus.PENDING);
+        lenient().when(order.getTotalPrice()).thenReturn(BigDecimal.valueOf(100.00));
     }
 
     @Test
@@ -57,14 +80,31 @@ class PaymentServiceTest {
     void processPayment_Success() {
         PaymentRequestEvent event = new PaymentRequestEvent(this, 1L, BigDecimal.valueOf(100.00), PaymentMethod.CREDIT_CARD);
 
-        when(paymentGateway.process(any(), any())).thenReturn(true);
+        when(paymentGateway.process(any(), any(), any())).thenReturn(PaymentResult.approved());
         when(orderRepository.findById(anyLong())).thenReturn(Optional.of(order));
 
         paymentService.processPayment(event);
 
-        verify(paymentGateway, times(1)).process(any(), any());
+        verify(paymentGateway, times(1)).process(any(), any(), any());
         verify(paymentRepository, times(1)).save(any(Payment.class));
-        verify(eventPublisher, times(1)).publishEvent(any(PaymentSuccessEvent.class));
+        verify(paymentLedgerRepository, times(1)).enqueue(argThat(posting ->
+                posting.getType() == LedgerEntryType.CAPTURE && posting.getOrderId() == 1L));
+        verify(outboxService, times(1)).append(any(PaymentSuccessEvent.class));
+    }
+
+    @Test
+    @DisplayName("요청 금액이 주문 총액과 달라도 주문 총액으로 결제한다")
+    void processPayment_ChargesOrderTotal() {
+        PaymentRequestEvent event = new PaymentRequestEvent(this, 1L, BigDecimal.ONE, PaymentMethod.CREDIT_CARD);
+
+        when(paymentGateway.process(any(), any(), any())).thenReturn(PaymentResult.approved());
+        when(orderRepository.findById(anyLong())).thenReturn(Optional.of(order));
+
+        paymentService.processPayment(event);
+
+        verify(paymentGateway, times(1)).process(eq("order-1-1"), eq(PaymentMethod.CREDIT_CARD), eq(BigDecimal.valueOf(100.00)));
+        verify(paymentLedgerRepository, times(1)).enqueue(argThat(posting ->
+                posting.getAmount().compareTo(BigDecimal.valueOf(100.00)) == 0));
     }
 
     @Test
@@ -72,14 +112,123 @@ class PaymentServiceTest {
     void processPayment_Failure() {
         PaymentRequestEvent event = new PaymentRequestEvent(this, 1L, BigDecimal.valueOf(100.00), PaymentMethod.CREDIT_CARD);
 
-        when(paymentGateway.process(any(), any())).thenReturn(false);
+        when(paymentGateway.process(any(), any(), any())).thenReturn(PaymentResult.declined("잔액 부족"));
         when(orderRepository.findById(anyLong())).thenReturn(Optional.of(order));
 
         paymentService.processPayment(event);
 
-        verify(paymentGateway, times(1)).process(any(), any());
+        verify(paymentGateway, times(1)).process(any(), any(), any());
         verify(paymentRepository, times(1)).save(any(Payment.class));
-        verify(eventPublisher, times(1)).publishEvent(any(PaymentFailedEvent.class));
+        verify(paymentLedgerRepository, never()).enqueue(any());
+        verify(outboxService, times(1)).append(any(PaymentFailedEvent.class));
+    }
+
+    @Test
+    @DisplayName("결제사 응답 시간 초과 시 주문을 취소하지 않고 재시도 큐에 등록")
+    void processPayment_TimeoutSchedulesRetry() {
+        PaymentRequestEvent event = new PaymentRequestEvent(this, 1L, BigDecimal.valueOf(100.00), PaymentMethod.CREDIT_CARD);
+
+        when(paymentGateway.process(any(), any(), any())).thenReturn(PaymentResult.timeout());
+        when(orderRepository.findById(anyLong())).thenReturn(Optional.of(order));
+        when(paymentRetryPolicy.nextAttemptAt(eq(1), any())).thenReturn(LocalDateTime.now().plusSeconds(2));
+
+        paymentService.processPayment(event);
+
+        verify(paymentGateway, times(1)).process(eq("order-1-1"), any(), any());
+        verify(paymentRetryRepository, times(1)).save(argThat(retry -> retry.getOrderId() == 1L && retry.getAttempts() == 1));
+        verify(paymentRepository, never()).save(any(Payment.class));
+        verify(outboxService, never()).append(any());
+    }
+
+    @Test
+    @DisplayName("재시도 대기 중인 결제 요청이 다시 전달되면 결제사를 호출하지 않음")
+    void processPayment_AlreadyScheduledForRetry() {
+        PaymentRequestEvent event = new PaymentRequestEvent(this, 1L, BigDecimal.valueOf(100.00), PaymentMethod.CREDIT_CARD);
+
+        when(orderRepository.findById(anyLong())).thenReturn(Optional.of(order));
+        when(paymentRetryRepository.existsByOrderId(1L)).thenReturn(true);
+
+        paymentService.processPayment(event);
+
+        verify(paymentGateway, never()).process(any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("재시도에서 승인되면 결제를 기록하고 같은 트랜잭션에서 재시도 큐에서 제거")
+    void retryPayment_ApprovedRemovesRetry() {
+        PaymentRetry retry = retry();
+        when(orderRepository.findById(1L)).thenReturn(Optional.of(order));
+        when(paymentGateway.process(any(), any(), any())).thenReturn(PaymentResult.approved());
+
+        PaymentRetryResult result = paymentService.retryPayment(retry);
+
+        assertTrue(result.resolved());
+        // 최초 시도와 같은 결제 키로 요청해 앞선 호출이 승인됐더라도 결제사가 다시 결제하지 않음
+        verify(paymentGateway, times(1)).process(eq("order-1-1"), any(), any());
+        verify(paymentRepository, times(1)).save(any(Payment.class));
+        verify(outboxService, times(1)).append(any(PaymentSuccessEvent.class));
+        verify(paymentRetryRepository, times(1)).deleteAll(any());
+    }
+
+    @Test
+    @DisplayName("재시도에서도 결과를 알 수 없으면 큐에 남겨 호출자가 다시 예약")
+    void retryPayment_StillUnknown() {
+        PaymentRetry retry = retry();
+        when(orderRepository.findById(1L)).thenReturn(Optional.of(order));
+        when(paymentGateway.process(any(), any(), any())).thenReturn(PaymentResult.error("결제사 점검"));
+
+        PaymentRetryResult result = paymentService.retryPayment(retry);
+
+        assertFalse(result.resolved());
+        verify(paymentRepository, never()).save(any(Payment.class));
+        verify(paymentRetryRepository, never()).deleteAll(any());
+    }
+
+    @Test
+    @DisplayName("마지막 재시도도 타임아웃이면 결제사에 결과를 조회해 승인된 결제를 기록")
+    void retryPayment_LastAttemptInquiresProvider() {
+        PaymentRetry retry = retry();
+        when(orderRepository.findById(1L)).thenReturn(Optional.of(order));
+        when(paymentGateway.process(any(), any(), any())).thenReturn(PaymentResult.timeout());
+        when(paymentRetryPolicy.isExhausted(2)).thenReturn(true);
+        when(paymentGateway.inquire("order-1-1")).thenReturn(PaymentResult.approved());
+
+        PaymentRetryResult result = paymentService.retryPayment(retry);
+
+        assertTrue(result.resolved());
+        verify(paymentRepository, times(1)).save(any(Payment.class));
+        verify(outboxService, times(1)).append(any(PaymentSuccessEvent.class));
+        verify(outboxService, never()).append(any(PaymentFailedEvent.class));
+    }
+
+    @Test
+    @DisplayName("마지막 재시도에서 결제 결과 조회도 실패하면 결제를 기록하지 않고 미해결로 돌려줌")
+    void retryPayment_LastAttemptInquiryFails() {
+        PaymentRetry retry = retry();
+        when(orderRepository.findById(1L)).thenReturn(Optional.of(order));
+        when(paymentGateway.process(any(), any(), any())).thenReturn(PaymentResult.timeout());
+        when(paymentRetryPolicy.isExhausted(2)).thenReturn(true);
+        when(paymentGateway.inquire("order-1-1")).thenReturn(PaymentResult.error("결제사 점검"));
+
+        PaymentRetryResult result = paymentService.retryPayment(retry);
+
+        assertFalse(result.resolved());
+        verify(paymentRepository, never()).save(any(Payment.class));
+        verify(outboxService, never()).append(any());
+    }
+
+    @Test
+    @DisplayName("재시도 전에 주문이 취소되었으면 결제사를 호출하지 않고 재시도를 제거")
+    void retryPayment_CancelledOrder() {
+        PaymentRetry retry = retry();
+        when(order.getStatus()).thenReturn(OrderStatus.ORDER_CANCELLATION);
+        when(orderRepository.findById(1L)).thenReturn(Optional.of(order));
+
+        PaymentRetryResult result = paymentService.retryPayment(retry);
+
+        assertTrue(result.resolved());
+        verify(paymentGateway, never()).process(any(), any(), any());
+        verify(paymentRetryRepository, times(1)).deleteAll(List.of(retry.getId()));
     }
 
     @Test
@@ -92,9 +241,62 @@ class PaymentServiceTest {
 
         paymentService.processPayment(event);
 
-        verify(paymentGateway, never()).process(any(), any());
+        verify(paymentGateway, never()).process(any(), any(), any());
+        verify(paymentRepository, never()).save(any(Payment.class));
+        verify(outboxService, never()).append(any());
+    }
+
+    @Test
+    @DisplayName("만료/취소된 주문에 늦게 전달된 결제 요청은 결제하지 않음")
+    void processPayment_CancelledOrder() {
+        PaymentRequestEvent event = new PaymentRequestEvent(this, 1L, BigDecimal.valueOf(100.00), PaymentMethod.CREDIT_CARD);
+
+        when(order.getStatus()).thenReturn(OrderStatus.ORDER_CANCELLATION);
+        when(orderRepository.findById(anyLong())).thenReturn(Optional.of(order));
+
+        paymentService.processPayment(event);
+
+        verify(paymentGateway, never()).process(any(), any(), any());
         verify(paymentRepository, never()).save(any(Payment.class));
-        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    @Test
+    @DisplayName("환불이 승인되면 결제를 환불로 바꾸고 환불 원장 거래를 기록")
+    void refundPayment_Approved() {
+        Payment payment = succeededPayment();
+        when(paymentRepository.findSuccessfulPayment(1L)).thenReturn(Optional.of(payment));
+        when(paymentGateway.refund(eq("order-1-1"), any())).thenReturn(PaymentResult.approved());
+        when(paymentRepository.markRefunded(5L)).thenReturn(true);
+
+        paymentService.refundPayment(1L);
+
+        verify(paymentLedgerRepository, times(1)).enqueue(argThat(posting ->
+                posting.getType() == LedgerEntryType.REFUND && posting.getPaymentId() == 5L));
+    }
+
+    @Test
+    @DisplayName("같은 환불 요청이 겹쳐 이미 환불로 바뀐 결제는 원장 거래를 다시 기록하지 않음")
+    void refundPayment_AlreadyRefunded() {
+        Payment payment = succeededPayment();
+        when(paymentRepository.findSuccessfulPayment(1L)).thenReturn(Optional.of(payment));
+        when(paymentGateway.refund(any(), any())).thenReturn(PaymentResult.approved());
+        when(paymentRepository.markRefunded(5L)).thenReturn(false);
+
+        paymentService.refundPayment(1L);
+
+        verify(paymentLedgerRepository, never()).enqueue(any());
+    }
+
+    @Test
+    @DisplayName("환불 결과를 확정하지 못하면 예외를 던져 아웃박스가 다시 전달하도록 함")
+    void refundPayment_Unresolved() {
+        when(paymentRepository.findSuccessfulPayment(1L)).thenReturn(Optional.of(succeededPayment()));
+        when(paymentGateway.refund(any(), any())).thenReturn(PaymentResult.timeout());
+
+        assertThrows(IllegalStateException.class, () -> paymentService.refundPayment(1L));
+
+        verify(paymentRepository, never()).markRefunded(any());
+        verify(paymentLedgerRepository, never()).enqueue(any());
     }
 
     @Test
@@ -106,8 +308,21 @@ class PaymentServiceTest {
 
         assertThrows(OrderNotFoundException.class, () -> paymentService.processPayment(event));
 
-        verify(paymentGateway, never()).process(any(), any());
+        verify(paymentGateway, never()).process(any(), any(), any());
         verify(paymentRepository, never()).save(any(Payment.class));
-        verify(eventPublisher, never()).publishEvent(any());
+        verify(outboxService, never()).append(any());
+    }
+
+    private Payment succeededPayment() {
+        Payment payment = Payment.create(order, new PaymentAmount(BigDecimal.valueOf(100.00)), PaymentMethod.CREDIT_CARD);
+        payment.process(true);
+        ReflectionTestUtils.setField(payment, "id", 5L);
+        return payment;
+    }
+
+    private PaymentRetry retry() {
+        PaymentRetry retry = PaymentRetry.firstFailure(1L, BigDecimal.valueOf(100.00), PaymentMethod.CREDIT_CARD, LocalDateTime.now(), "결제사 응답 시간이 초과되었습니다.");
+        ReflectionTestUtils.setField(retry, "id", 10L);
+        return retry;
     }
 }
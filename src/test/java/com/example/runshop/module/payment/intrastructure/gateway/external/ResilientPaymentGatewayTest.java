@@ -0,0 +1,143 @@
+package com.example.runshop.module.payment.intrastructure.gateway.external;
+
+import com.example.runshop.module.payment.domain.PaymentMethod;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ResilientPaymentGatewayTest {
+
+    private static final BigDecimal AMOUNT = BigDecimal.valueOf(10000);
+
+    @Test
+    @DisplayName("기한 안에 응답이 없으면 TIMEOUT 을 돌려준다")
+    void timesOutSlowProvider() {
+        ResilientPaymentGateway gateway = gateway((key, method, amount) -> new CompletableFuture<>(), 10, 10);
+
+        PaymentResult result = gateway.process("order-1-1", PaymentMethod.CREDIT_CARD, AMOUNT);
+
+        assertEquals(PaymentResult.Status.TIMEOUT, result.status());
+    }
+
+    @Test
+    @DisplayName("동시 호출 한도를 넘은 요청은 결제사를 호출하지 않고 바로 거절한다")
+    void bulkheadRejectsExcessCalls() {
+        AtomicInteger calls = new AtomicInteger();
+        CompletableFuture<PaymentResult> pending = new CompletableFuture<>();
+        ResilientPaymentGateway gateway = gateway((key, method, amount) -> {
+            calls.incrementAndGet();
+            return pending;
+        }, 60_000, 1);
+
+        CompletableFuture<PaymentResult> first = gateway.processAsync("order-1-1", PaymentMethod.CREDIT_CARD, AMOUNT);
+        PaymentResult second = gateway.process("order-2-1", PaymentMethod.CREDIT_CARD, AMOUNT);
+        pending.complete(PaymentResult.approved());
+
+        assertEquals(PaymentResult.Status.REJECTED, second.status());
+        assertTrue(first.join().isApproved());
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    @DisplayName("같은 결제 키의 호출이 진행 중이면 결제사를 다시 호출하지 않고 그 결과를 함께 기다린다")
+    void sharesInFlightCallWithSameKey() {
+        AtomicInteger calls = new AtomicInteger();
+        CompletableFuture<PaymentResult> pending = new CompletableFuture<>();
+        ResilientPaymentGateway gateway = gateway((key, method, amount) -> {
+            calls.incrementAndGet();
+            return pending;
+        }, 60_000, 10);
+
+        CompletableFuture<PaymentResult> first = gateway.processAsync("order-1-1", PaymentMethod.CREDIT_CARD, AMOUNT);
+        CompletableFuture<PaymentResult> redelivered = gateway.processAsync("order-1-1", PaymentMethod.CREDIT_CARD, AMOUNT);
+        pending.complete(PaymentResult.approved());
+
+        assertTrue(first.join().isApproved());
+        assertTrue(redelivered.join().isApproved());
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    @DisplayName("결제사 오류가 임계치를 넘으면 서킷을 열어 호출 없이 실패시킨다 (거절은 오류로 세지 않음)")
+    void circuitOpensOnProviderFailures() {
+        AtomicInteger calls = new AtomicInteger();
+        ResilientPaymentGateway gateway = gateway((key, method, amount) -> {
+            calls.incrementAndGet();
+            return CompletableFuture.failedFuture(new IllegalStateException("503"));
+        }, 1_000, 10);
+
+        for (int i = 0; i < 4; i++) {
+            assertEquals(PaymentResult.Status.ERROR, gateway.process("order-" + i + "-1", PaymentMethod.CREDIT_CARD, AMOUNT).status());
+        }
+        PaymentResult rejected = gateway.process("order-4-1", PaymentMethod.CREDIT_CARD, AMOUNT);
+
+        assertEquals(CircuitBreaker.State.OPEN, gateway.circuitState());
+        assertEquals(PaymentResult.Status.REJECTED, rejected.status());
+        assertEquals(4, calls.get());
+    }
+
+    @Test
+    @DisplayName("서킷이 열린 뒤 시간이 지나면 시험 호출이 모두 성공할 때 다시 닫힌다")
+    void circuitClosesAfterSuccessfulTrialCalls() {
+        AtomicLong now = new AtomicLong();
+        CircuitBreaker breaker = new CircuitBreaker(10, 2, 50, 1_000, 2, now::get);
+        breaker.onFailure(breaker.tryAcquirePermission());
+        breaker.onFailure(breaker.tryAcquirePermission());
+        assertEquals(CircuitBreaker.NOT_PERMITTED, breaker.tryAcquirePermission());
+
+        now.addAndGet(1_000);
+        long first = breaker.tryAcquirePermission();
+        long second = breaker.tryAcquirePermission();
+        assertNotEquals(CircuitBreaker.NOT_PERMITTED, first);
+        assertNotEquals(CircuitBreaker.NOT_PERMITTED, second);
+        assertEquals(CircuitBreaker.NOT_PERMITTED, breaker.tryAcquirePermission());
+        breaker.onSuccess(first);
+        breaker.onSuccess(second);
+
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.state());
+    }
+
+    @Test
+    @DisplayName("서킷이 열리기 전에 시작해 시험 호출 중에 끝난 호출은 시험 결과로 세지 않는다")
+    void ignoresResultsFromEarlierGeneration() {
+        AtomicLong now = new AtomicLong();
+        CircuitBreaker breaker = new CircuitBreaker(10, 2, 50, 1_000, 1, now::get);
+        long slowCall = breaker.tryAcquirePermission();
+        breaker.onFailure(breaker.tryAcquirePermission());
+        breaker.onFailure(breaker.tryAcquirePermission());
+        assertEquals(CircuitBreaker.State.OPEN, breaker.state());
+
+        now.addAndGet(1_000);
+        long trial = breaker.tryAcquirePermission();
+        breaker.onFailure(slowCall);
+        assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.state());
+
+        breaker.onSuccess(trial);
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.state());
+    }
+
+    private ResilientPaymentGateway gateway(ChargeOnlyClient delegate, long timeoutMillis, int maxConcurrentCalls) {
+        return new ResilientPaymentGateway(delegate, new SimpleMeterRegistry(), timeoutMillis, maxConcurrentCalls,
+                10, 4, 50, 60, 2);
+    }
+
+    // 결제 호출만 람다로 지정하는 테스트용 결제사
+    private interface ChargeOnlyClient extends PaymentGatewayClient {
+        @Override
+        default CompletableFuture<PaymentResult> refundAsync(String paymentKey, BigDecimal amount) {
+            return CompletableFuture.completedFuture(PaymentResult.approved());
+        }
+
+        @Override
+        default CompletableFuture<PaymentResult> inquireAsync(String paymentKey) {
+            return CompletableFuture.completedFuture(PaymentResult.approved());
+        }
+    }
+}
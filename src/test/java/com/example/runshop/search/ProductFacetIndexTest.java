@@ -0,0 +1,69 @@
+package com.example.runshop.search;
+
+import com.example.runshop.model.dto.product.ProductFacetFilter;
+import com.example.runshop.model.dto.product.ProductSearchDocument;
+import com.example.runshop.model.enums.Category;
+import com.example.runshop.search.ProductFacetIndex.FacetResult;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProductFacetIndexTest {
+
+    private static final LocalDateTime VERSION = LocalDateTime.of(2024, 1, 1, 0, 0);
+
+    private ProductFacetIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new ProductFacetIndex(new long[]{50000, 100000});
+        index.index(document(1L, Category.SHOES, "나이키", 120000, true));
+        index.index(document(2L, Category.SHOES, "아디다스", 80000, true));
+        index.index(document(3L, Category.OUTER, "나이키", 150000, true));
+        index.index(document(4L, Category.SHOES, "나이키", 40000, false));
+    }
+
+    @Test
+    @DisplayName("필터를 모두 만족하는 상품과, 차원마다 그 차원의 필터를 뺀 기준의 값별 상품 수를 함께 반환한다")
+    void filtersAndCountsFacets() {
+        FacetResult result = index.filter(new ProductFacetFilter(Category.SHOES, null, null, true), 0, 10);
+
+        assertEquals(2, result.totalHits());
+        assertEquals(List.of(1L, 2L), result.productIds());
+        assertEquals(Map.of("SHOES", 2L, "OUTER", 1L), result.facets().get(ProductFacetIndex.CATEGORY));
+        assertEquals(Map.of("나이키", 1L, "아디다스", 1L), result.facets().get(ProductFacetIndex.BRAND));
+        assertEquals(Map.of("50000-100000", 1L, "100000-", 1L), result.facets().get(ProductFacetIndex.PRICE_BAND));
+        assertEquals(Map.of("true", 2L, "false", 1L), result.facets().get(ProductFacetIndex.ENABLED));
+    }
+
+    @Test
+    @DisplayName("수정된 상품은 순번을 유지한 채 새 값으로, 삭제된 상품은 결과에서 빠진다")
+    void reflectsUpdatesAndRemovals() {
+        index.index(document(2L, Category.SHOES, "나이키", 130000, true));
+        index.remove(3L);
+
+        FacetResult result = index.filter(new ProductFacetFilter(null, "나이키", null, null), 0, 10);
+        assertEquals(List.of(1L, 2L, 4L), result.productIds());
+        assertEquals(Map.of("0-50000", 1L, "100000-", 2L), result.facets().get(ProductFacetIndex.PRICE_BAND));
+        assertEquals(List.of(2L), index.filter(new ProductFacetFilter(null, "나이키", null, null), 1, 1).productIds());
+        assertEquals(3, index.size());
+    }
+
+    @Test
+    @DisplayName("알 수 없는 가격대로 거르면 예외가 발생한다")
+    void rejectsUnknownPriceBand() {
+        assertThrows(IllegalArgumentException.class,
+                () -> index.filter(new ProductFacetFilter(null, null, "0-1000", null), 0, 10));
+    }
+
+    private ProductSearchDocument document(Long id, Category category, String brand, long price, boolean enabled) {
+        return new ProductSearchDocument(id, "상품" + id, "", brand, category, BigDecimal.valueOf(price), enabled, VERSION);
+    }
+}
@@ -0,0 +1,87 @@
+package com.example.runshop.search;
+
+import com.example.runshop.model.dto.product.ProductSearchDocument;
+import com.example.runshop.model.enums.Category;
+import com.example.runshop.search.ProductSearchIndex.SearchHit;
+import com.example.runshop.search.ProductSearchIndex.SearchHits;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProductSearchIndexTest {
+
+    private static final LocalDateTime VERSION = LocalDateTime.of(2024, 1, 1, 0, 0);
+    private static final BigDecimal PRICE = BigDecimal.valueOf(100000);
+
+    private ProductSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new ProductSearchIndex(1.2f, 0.75f);
+        index.index(document(1L, "나이키 에어맥스 러닝화", "가볍고 쿠션이 좋은 러닝화", "나이키", Category.SHOES, VERSION));
+        index.index(document(2L, "아디다스 울트라부스트", "나이키 에어맥스 대항마 러닝화", "아디다스", Category.SHOES, VERSION));
+        index.index(document(3L, "나이키 윈드러너 자켓", "바람막이", "나이키", Category.OUTER, VERSION));
+    }
+
+    @Test
+    @DisplayName("이름/브랜드에 일치한 상품이 설명에만 일치한 상품보다 앞에 온다")
+    void ranksNameMatchesFirst() {
+        SearchHits result = index.search(List.of("에어맥스"), 10);
+
+        assertEquals(2, result.totalHits());
+        assertEquals(List.of(1L, 2L), productIds(result));
+    }
+
+    @Test
+    @DisplayName("여러 단어 검색은 더 많은 단어에 일치한 상품을 앞에 두고, limit 만큼만 반환한다")
+    void limitsTopHits() {
+        SearchHits result = index.search(ProductSearchTokenizer.tokenize("나이키 러닝화"), 2);
+
+        assertEquals(3, result.totalHits());
+        assertEquals(2, result.hits().size());
+        assertEquals(1L, result.hits().get(0).productId());
+    }
+
+    @Test
+    @DisplayName("수정된 상품은 새 내용으로 검색되고, 비활성 상품은 검색되지 않는다")
+    void reflectsUpdatesAndDisabledProducts() {
+        ProductSearchDocument updated = document(3L, "나이키 패딩", "겨울용", "나이키", Category.OUTER, VERSION.plusMinutes(1));
+        assertFalse(index.isCurrent(updated));
+        index.index(updated);
+        assertTrue(index.isCurrent(updated));
+
+        assertEquals(0, index.search(List.of("윈드러너"), 10).totalHits());
+        assertEquals(List.of(3L), productIds(index.search(List.of("패딩"), 10)));
+
+        index.index(new ProductSearchDocument(1L, "나이키 에어맥스 러닝화", "", "나이키", Category.SHOES, PRICE, false, VERSION.plusMinutes(1)));
+        assertEquals(List.of(2L), productIds(index.search(List.of("에어맥스"), 10)));
+        assertEquals(2, index.size());
+        assertEquals(0.5, index.deletedRatio(), 0.0001);
+    }
+
+    @Test
+    @DisplayName("조사가 붙은 한글 검색어도 음절 바이그램으로 찾는다")
+    void matchesHangulWithParticles() {
+        assertEquals(List.of(2L), productIds(index.search(ProductSearchTokenizer.tokenize("울트라부스트와"), 10)));
+    }
+
+    @Test
+    @DisplayName("토크나이저는 구두점을 경계로 나누고 소문자로 맞추며, 세 음절 이상 한글 단어는 바이그램을 덧붙인다")
+    void tokenizesWords() {
+        assertEquals(List.of("nike", "air", "max", "270", "러닝화", "러닝", "닝화"), ProductSearchTokenizer.tokenize("Nike Air-Max 270, 러닝화!"));
+    }
+
+    private ProductSearchDocument document(Long id, String name, String description, String brand, Category category, LocalDateTime version) {
+        return new ProductSearchDocument(id, name, description, brand, category, PRICE, true, version);
+    }
+
+    private List<Long> productIds(SearchHits result) {
+        return result.hits().stream().map(SearchHit::productId).toList();
+    }
+}
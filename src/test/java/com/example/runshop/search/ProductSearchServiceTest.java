@@ -0,0 +1,109 @@
+package com.example.runshop.search;
+
+import com.example.runshop.model.dto.product.ProductFacetFilter;
+import com.example.runshop.model.dto.product.ProductFacetPageDTO;
+import com.example.runshop.model.dto.product.ProductSearchDocument;
+import com.example.runshop.model.entity.Product;
+import com.example.runshop.model.entity.ProductDeletion;
+import com.example.runshop.model.enums.Category;
+import com.example.runshop.repository.ProductDeletionRepository;
+import com.example.runshop.repository.ProductRepository;
+import com.example.runshop.utils.mapper.ProductMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ProductSearchServiceTest {
+
+    private static final LocalDateTime VERSION = LocalDateTime.of(2024, 1, 1, 0, 0);
+
+    @Mock
+    private ProductRepository productRepository;
+
+    @Mock
+    private ProductDeletionRepository productDeletionRepository;
+
+    @Mock
+    private ProductMapper productMapper;
+
+    private ProductSearchService productSearchService;
+
+    @BeforeEach
+    void setUp() {
+        productSearchService = new ProductSearchService(productRepository, productDeletionRepository, productMapper,
+                new SimpleMeterRegistry(), true, 1.2f, 0.75f, 100, 2000, 30, 24, 0.3, 2, new long[]{50000, 100000});
+    }
+
+    @Test
+    @DisplayName("목록 필터는 비활성 상품을 요청해도 활성 상품만 반환한다")
+    void filter_ReturnsOnlyEnabledProducts() {
+        rebuildWith(document(1L, true), document(2L, false));
+        Product enabledProduct = mock(Product.class);
+        when(enabledProduct.getId()).thenReturn(1L);
+        when(enabledProduct.isEnabled()).thenReturn(true);
+        when(productRepository.findAllWithInventoryByIdIn(List.of(1L))).thenReturn(List.of(enabledProduct));
+
+        ProductFacetPageDTO disabledRequested = productSearchService.filter(
+                new ProductFacetFilter(null, null, null, false), 0, 10);
+        ProductFacetPageDTO unspecified = productSearchService.filter(
+                new ProductFacetFilter(null, "나이키", null, null), 0, 10);
+
+        assertEquals(0, disabledRequested.getPage().getTotalElements());
+        assertEquals(1, unspecified.getPage().getTotalElements());
+        verify(productRepository, never()).findAllWithInventoryByIdIn(List.of(2L));
+        verify(productMapper, times(1)).productToProductDTO(enabledProduct);
+    }
+
+    @Test
+    @DisplayName("다른 노드에서 삭제된 상품은 삭제 기록으로 동기화되어 목록 필터 결과에서 빠진다")
+    void sync_RemovesDeletedProducts() {
+        rebuildWith(document(1L, true), document(2L, true));
+        ProductDeletion deletion = mock(ProductDeletion.class);
+        when(deletion.getId()).thenReturn(10L);
+        when(deletion.getProductId()).thenReturn(2L);
+        when(deletion.getDeletedAt()).thenReturn(LocalDateTime.now());
+        when(productRepository.findSearchDocumentsUpdatedAfter(any(), eq(0L), any())).thenReturn(List.of());
+        when(productDeletionRepository.findDeletedAfter(any(), eq(0L), any())).thenReturn(List.of(deletion));
+
+        productSearchService.sync();
+
+        assertEquals(1, productSearchService.filter(new ProductFacetFilter(null, "나이키", null, null), 0, 10)
+                .getPage().getTotalElements());
+    }
+
+    @Test
+    @DisplayName("삭제 기록 보존 기간보다 오래 동기화하지 못했으면 색인을 새로 만든다")
+    void sync_RebuildsWhenTombstonesMayBePurged() {
+        rebuildWith(document(1L, true));
+        ReflectionTestUtils.setField(productSearchService, "syncedUntil", LocalDateTime.now().minusHours(25));
+
+        productSearchService.sync();
+
+        verify(productRepository, times(2)).findSearchDocumentsAfter(eq(0L), any());
+        verifyNoInteractions(productDeletionRepository);
+    }
+
+    private void rebuildWith(ProductSearchDocument... documents) {
+        when(productRepository.findSearchDocumentsAfter(eq(0L), any())).thenReturn(List.of(documents));
+        productSearchService.rebuild();
+    }
+
+    private ProductSearchDocument document(Long id, boolean enabled) {
+        return new ProductSearchDocument(id, "상품" + id, "", "나이키", Category.SHOES, BigDecimal.valueOf(80000), enabled, VERSION);
+    }
+}
@@ -0,0 +1,73 @@
+package com.example.runshop.search;
+
+import com.example.runshop.model.dto.product.ProductSearchDocument;
+import com.example.runshop.model.dto.product.ProductSuggestionDTO;
+import com.example.runshop.model.dto.product.ProductSuggestionDTO.Type;
+import com.example.runshop.model.enums.Category;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProductSuggestIndexTest {
+
+    private static final LocalDateTime VERSION = LocalDateTime.of(2024, 1, 1, 0, 0);
+
+    private ProductSuggestIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new ProductSuggestIndex(2);
+        index.index(document(1L, "나이키 에어맥스 러닝화", "나이키", true));
+        index.index(document(2L, "아디다스 울트라부스트", "아디다스", true));
+        index.index(document(3L, "나이키 윈드러너 자켓", "나이키", true));
+    }
+
+    @Test
+    @DisplayName("입력 중인 글자도 자모 단위로 앞부분이 일치하면 찾고, 상품 수가 많은 후보가 앞에 온다")
+    void suggestsPartialSyllables() {
+        List<ProductSuggestionDTO> suggestions = index.suggest("나잌", 10);
+
+        assertEquals(new ProductSuggestionDTO("나이키", Type.BRAND, 2), suggestions.get(0));
+        assertEquals(3, suggestions.size());
+    }
+
+    @Test
+    @DisplayName("이름 중간 단어로 시작하는 입력도 찾는다")
+    void suggestsFromWordStarts() {
+        assertEquals("나이키 에어맥스 러닝화", index.suggest("에어", 10).get(0).text());
+    }
+
+    @Test
+    @DisplayName("긴 입력은 오타를 허용한다")
+    void toleratesTypos() {
+        List<ProductSuggestionDTO> suggestions = index.suggest("아디다수", 10);
+
+        assertEquals(List.of("아디다스", "아디다스 울트라부스트"), suggestions.stream().map(ProductSuggestionDTO::text).toList());
+    }
+
+    @Test
+    @DisplayName("짧은 입력은 정확히 일치하는 후보만 찾는다")
+    void shortPrefixesRequireExactMatch() {
+        assertTrue(index.suggest("너", 10).isEmpty());
+    }
+
+    @Test
+    @DisplayName("비활성화된 상품의 이름은 빠지고 브랜드의 상품 수가 줄어든다")
+    void reflectsDisabledProducts() {
+        index.index(document(3L, "나이키 윈드러너 자켓", "나이키", false));
+
+        assertEquals(List.of(
+                new ProductSuggestionDTO("나이키", Type.BRAND, 1),
+                new ProductSuggestionDTO("나이키 에어맥스 러닝화", Type.NAME, 1)), index.suggest("나이키", 10));
+    }
+
+    private ProductSearchDocument document(Long id, String name, String brand, boolean enabled) {
+        return new ProductSearchDocument(id, name, "", brand, Category.SHOES, BigDecimal.valueOf(100000), enabled, VERSION);
+    }
+}
@@ -0,0 +1,115 @@
+package com.example.runshop.service;
+
+import com.example.runshop.fixture.ProductStockFixture;
+import com.example.runshop.model.enums.StockMode;
+import com.example.runshop.repository.InventoryRepository;
+import com.example.runshop.repository.ProductRepository;
+import com.example.runshop.repository.StockCounterStore;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 두 노드가 같은 DB 와 카운터 저장소를 공유할 때, 한 노드의 재고 모드 전환을 다른 노드가 아직 모르는 상태에서도
+ * 초과 판매하지 않는지 검증합니다. 각 노드는 자신만의 HotStockService(인기 상품 목록)를 가진 InventoryService 입니다.
+ */
+@SpringBootTest
+class HotStockModeSwitchTest {
+
+    private static final int INITIAL_STOCK = 10;
+
+    @Autowired
+    private StockCounterStore stockCounterStore;
+    @Autowired
+    private InventoryRepository inventoryRepository;
+    @Autowired
+    private ProductRepository productRepository;
+    @Autowired
+    private ShardedStockService shardedStockService;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private ProductStockFixture fixture;
+    private TransactionTemplate transactionTemplate;
+    private HotStockService hotStockA;
+    private HotStockService hotStockB;
+    private InventoryService nodeA;
+    private InventoryService nodeB;
+    private Long productId;
+
+    @BeforeEach
+    void setUp() {
+        fixture = new ProductStockFixture(productRepository, inventoryRepository);
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        hotStockA = new HotStockService(stockCounterStore, inventoryRepository, jdbcTemplate, transactionManager, 500);
+        hotStockB = new HotStockService(stockCounterStore, inventoryRepository, jdbcTemplate, transactionManager, 500);
+        nodeA = new InventoryService(inventoryRepository, hotStockA, shardedStockService);
+        nodeB = new InventoryService(inventoryRepository, hotStockB, shardedStockService);
+        productId = fixture.createProductWithStock("모드 전환 운동화", BigDecimal.valueOf(100000), INITIAL_STOCK).getId();
+    }
+
+    @AfterEach
+    void tearDown() {
+        stockCounterStore.remove(productId);
+        fixture.deleteAll();
+    }
+
+    @Test
+    @DisplayName("인기 상품 전환을 모르는 노드는 inventory 행을 직접 차감하지 않고 카운터로 넘어간다")
+    void enable_LaggingNodeSellsFromCounter() {
+        hotStockA.enable(productId);
+        assertFalse(hotStockB.isHot(productId));
+
+        int sold = sellAlternately(INITIAL_STOCK + 5);
+        hotStockA.flush();
+
+        assertEquals(INITIAL_STOCK, sold);
+        assertTrue(hotStockB.isHot(productId));
+        assertEquals(0, dbStock());
+    }
+
+    @Test
+    @DisplayName("일반 상품 복귀를 모르는 노드는 카운터를 다시 만들지 않고 inventory 행에서 차감한다")
+    void disable_LaggingNodeSellsFromRow() {
+        hotStockA.enable(productId);
+        hotStockB.refreshHotProducts();
+        int soldBefore = sellAlternately(3);
+
+        hotStockA.disable(productId);
+        int soldAfter = sellAlternately(INITIAL_STOCK + 5);
+
+        assertEquals(INITIAL_STOCK, soldBefore + soldAfter);
+        assertNull(stockCounterStore.get(productId));
+        assertFalse(hotStockB.isHot(productId));
+        assertEquals(StockMode.DATABASE, inventoryRepository.findStockModeByProductId(productId).orElseThrow());
+        assertEquals(0, dbStock());
+    }
+
+    // 두 노드에 번갈아 한 개씩 주문하고 성공한 수를 반환 (B 부터 시작해 전환을 모르는 노드가 먼저 처리)
+    private int sellAlternately(int attempts) {
+        int sold = 0;
+        for (int i = 0; i < attempts; i++) {
+            InventoryService node = i % 2 == 0 ? nodeB : nodeA;
+            if (Boolean.TRUE.equals(transactionTemplate.execute(status -> node.tryDecreaseStock(productId, 1)))) {
+                sold++;
+            }
+        }
+        return sold;
+    }
+
+    private int dbStock() {
+        return inventoryRepository.findByProductId(productId).orElseThrow().getStockQuantity().value();
+    }
+}
@@ -0,0 +1,152 @@
+package com.example.runshop.service;
+
+import com.example.runshop.model.entity.Inventory;
+import com.example.runshop.model.entity.Product;
+import com.example.runshop.model.enums.StockMode;
+import com.example.runshop.model.vo.inventory.StockQuantity;
+import com.example.runshop.repository.InMemoryStockCounterStore;
+import com.example.runshop.repository.InventoryRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class HotStockServiceTest {
+
+    private static final Long PRODUCT_ID = 1L;
+
+    @Mock
+    private InventoryRepository inventoryRepository;
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private InMemoryStockCounterStore stockCounterStore;
+    private HotStockService hotStockService;
+    private Inventory inventory;
+
+    @BeforeEach
+    void setUp() {
+        stockCounterStore = new InMemoryStockCounterStore();
+        hotStockService = new HotStockService(stockCounterStore, inventoryRepository, jdbcTemplate, transactionManager, 500);
+        inventory = new Inventory(new Product(), new StockQuantity(10));
+        inventory.setStockMode(StockMode.REDIS);
+        lenient().when(inventoryRepository.findByProductId(PRODUCT_ID)).thenReturn(Optional.of(inventory));
+    }
+
+    @Test
+    @DisplayName("카운터가 없으면 DB 재고로 초기화한 뒤 차감한다")
+    void tryDecrease_ReconcilesFromDatabaseOnCacheMiss() {
+        assertTrue(hotStockService.tryDecrease(PRODUCT_ID, 3));
+
+        assertEquals(7L, stockCounterStore.get(PRODUCT_ID));
+    }
+
+    @Test
+    @DisplayName("카운터 재고가 부족하면 차감하지 않고 false 를 반환한다")
+    void tryDecrease_Insufficient() {
+        stockCounterStore.initializeIfAbsent(PRODUCT_ID, 2);
+
+        assertFalse(hotStockService.tryDecrease(PRODUCT_ID, 3));
+        assertEquals(2L, stockCounterStore.get(PRODUCT_ID));
+    }
+
+    @Test
+    @DisplayName("확정된 변경량은 상품별로 합산되어 한 번의 배치로 DB 에 반영된다")
+    @SuppressWarnings("unchecked")
+    void flush_AppliesAggregatedDeltaInOneBatch() {
+        stockCounterStore.initializeIfAbsent(PRODUCT_ID, 10);
+        hotStockService.tryDecrease(PRODUCT_ID, 2);
+        hotStockService.tryDecrease(PRODUCT_ID, 3);
+        hotStockService.increase(PRODUCT_ID, 1);
+
+        hotStockService.flush();
+
+        ArgumentCaptor<Collection<Map.Entry<Long, Long>>> captor = ArgumentCaptor.forClass(Collection.class);
+        verify(jdbcTemplate, times(1)).batchUpdate(anyString(), captor.capture(), eq(500), any(ParameterizedPreparedStatementSetter.class));
+        List<Map.Entry<Long, Long>> applied = List.copyOf(captor.getValue());
+        assertEquals(1, applied.size());
+        assertEquals(-4L, applied.get(0).getValue());
+    }
+
+    @Test
+    @DisplayName("반영할 변경량이 없으면 DB 에 접근하지 않는다")
+    void flush_NothingPending() {
+        hotStockService.flush();
+
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    @Test
+    @DisplayName("다음 반영 전에 카운터가 유실되면 미반영 변경량까지 포함해 재동기화한다")
+    void reconcile_IncludesPendingDeltas() {
+        stockCounterStore.initializeIfAbsent(PRODUCT_ID, 10);
+        hotStockService.tryDecrease(PRODUCT_ID, 4);
+
+        stockCounterStore.remove(PRODUCT_ID);
+
+        assertEquals(6, hotStockService.getStock(PRODUCT_ID));
+    }
+
+    @Test
+    @DisplayName("카운터가 유실되면 다른 노드가 기록한 미반영 변경량까지 포함해 재동기화한다")
+    void reconcile_IncludesPendingDeltasFromOtherNodes() {
+        HotStockService otherNode = new HotStockService(stockCounterStore, inventoryRepository, jdbcTemplate, transactionManager, 500);
+        stockCounterStore.initializeIfAbsent(PRODUCT_ID, 10);
+        otherNode.tryDecrease(PRODUCT_ID, 4);
+
+        stockCounterStore.remove(PRODUCT_ID);
+
+        assertEquals(6, hotStockService.getStock(PRODUCT_ID));
+    }
+
+    @Test
+    @DisplayName("반영한 변경량만 지우고, 다른 노드가 반영 중이면 이번 주기는 건너뛴다")
+    void flush_RemovesAppliedDeltasAndSkipsWhileLocked() {
+        stockCounterStore.initializeIfAbsent(PRODUCT_ID, 10);
+        hotStockService.tryDecrease(PRODUCT_ID, 2);
+
+        hotStockService.flush();
+        assertEquals(0L, stockCounterStore.getPendingDelta(PRODUCT_ID));
+
+        hotStockService.tryDecrease(PRODUCT_ID, 1);
+        assertTrue(stockCounterStore.tryLock("other-node", Duration.ofSeconds(30)));
+        hotStockService.flush();
+
+        assertEquals(-1L, stockCounterStore.getPendingDelta(PRODUCT_ID));
+        verify(jdbcTemplate, times(1)).batchUpdate(anyString(), anyCollection(), eq(500), any(ParameterizedPreparedStatementSetter.class));
+    }
+
+    @Test
+    @DisplayName("다른 노드가 일반 상품으로 되돌렸으면 카운터를 다시 만들지 않고 차감을 거절한다")
+    void tryDecrease_DoesNotRecreateCounterAfterDisable() {
+        assertTrue(hotStockService.reconcile(PRODUCT_ID));
+        // 다른 노드가 일반 상품으로 되돌림 (카운터 제거 후 모드 변경)
+        stockCounterStore.remove(PRODUCT_ID);
+        inventory.setStockMode(StockMode.DATABASE);
+
+        assertFalse(hotStockService.tryDecrease(PRODUCT_ID, 1));
+
+        assertNull(stockCounterStore.get(PRODUCT_ID));
+        assertFalse(hotStockService.isHot(PRODUCT_ID));
+        assertEquals(10, hotStockService.getStock(PRODUCT_ID));
+    }
+}
@@ -0,0 +1,105 @@
+package com.example.runshop.service;
+
+import com.example.runshop.exception.idempotency.IdempotencyKeyInProgressException;
+import com.example.runshop.exception.idempotency.IdempotencyKeyMismatchException;
+import com.example.runshop.model.dto.idempotency.IdempotencyRecord;
+import com.example.runshop.repository.IdempotencyKeyStore;
+import com.example.runshop.repository.InMemoryIdempotencyKeyStore;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class IdempotencyServiceTest {
+
+    private static final String KEY = "user@example.com:/api/orders:key-1";
+
+    private IdempotencyService idempotencyService;
+
+    @BeforeEach
+    void setUp() {
+        idempotencyService = new IdempotencyService(new InMemoryIdempotencyKeyStore(), 60, 30);
+    }
+
+    @Test
+    @DisplayName("처음 요청은 키를 선점하고, 완료 후 같은 키의 요청은 저장된 응답을 돌려받는다")
+    void begin_ReplaysCompletedResponse() {
+        IdempotencyRecord claim = IdempotencyRecord.inProgress("hash");
+        assertTrue(idempotencyService.begin(KEY, claim).isEmpty());
+        idempotencyService.complete(KEY, claim, IdempotencyRecord.completed("hash", 200, "application/json", "{\"code\":200}"));
+
+        Optional<IdempotencyRecord> replayed = idempotencyService.begin(KEY, IdempotencyRecord.inProgress("hash"));
+
+        assertTrue(replayed.isPresent());
+        assertEquals("{\"code\":200}", replayed.get().getBody());
+    }
+
+    @Test
+    @DisplayName("같은 키의 요청이 처리 중이면 기다리지 않고 바로 충돌로 거절한다")
+    void begin_RejectsWhileInProgress() {
+        assertTrue(idempotencyService.begin(KEY, IdempotencyRecord.inProgress("hash")).isEmpty());
+
+        assertThrows(IdempotencyKeyInProgressException.class,
+                () -> idempotencyService.begin(KEY, IdempotencyRecord.inProgress("hash")));
+    }
+
+    @Test
+    @DisplayName("먼저 온 요청이 실패해 키를 풀면 다음 요청이 다시 실행된다")
+    void begin_RetriesAfterAbort() {
+        IdempotencyRecord claim = IdempotencyRecord.inProgress("hash");
+        assertTrue(idempotencyService.begin(KEY, claim).isEmpty());
+
+        idempotencyService.abort(KEY, claim);
+
+        assertTrue(idempotencyService.begin(KEY, IdempotencyRecord.inProgress("hash")).isEmpty());
+    }
+
+    @Test
+    @DisplayName("처리 중 표시가 만료되어 다른 요청이 선점한 키는 앞선 요청의 실패로 풀리지 않는다")
+    void abort_KeepsKeyClaimedByAnotherRequest() {
+        IdempotencyKeyStore store = new InMemoryIdempotencyKeyStore();
+        idempotencyService = new IdempotencyService(store, 60, 30);
+        IdempotencyRecord expired = IdempotencyRecord.inProgress("hash");
+        IdempotencyRecord current = IdempotencyRecord.inProgress("hash");
+        store.put(KEY, current, Duration.ofSeconds(30));
+
+        idempotencyService.abort(KEY, expired);
+
+        assertEquals(Optional.of(current), store.get(KEY));
+    }
+
+    @Test
+    @DisplayName("실행 중인 요청의 처리 중 표시만 연장한다")
+    void renewLeases_ExtendsOnlyRunningRequests() {
+        IdempotencyKeyStore store = mock(IdempotencyKeyStore.class);
+        when(store.putIfAbsent(any(), any(), any())).thenReturn(true);
+        when(store.expire(any(), any(), any())).thenReturn(true);
+        idempotencyService = new IdempotencyService(store, 60, 30);
+        IdempotencyRecord running = IdempotencyRecord.inProgress("hash");
+        IdempotencyRecord completed = IdempotencyRecord.inProgress("hash");
+        idempotencyService.begin(KEY, running);
+        idempotencyService.begin("other-key", completed);
+        idempotencyService.complete("other-key", completed, IdempotencyRecord.completed("hash", 200, null, null));
+
+        idempotencyService.renewLeases();
+
+        verify(store, times(1)).expire(KEY, running, Duration.ofSeconds(30));
+        verify(store, never()).expire(eq("other-key"), any(), any());
+    }
+
+    @Test
+    @DisplayName("같은 키로 다른 내용의 요청을 보내면 거절한다")
+    void begin_RejectsDifferentRequestWithSameKey() {
+        assertTrue(idempotencyService.begin(KEY, IdempotencyRecord.inProgress("hash")).isEmpty());
+
+        assertThrows(IdempotencyKeyMismatchException.class,
+                () -> idempotencyService.begin(KEY, IdempotencyRecord.inProgress("other-hash")));
+    }
+}
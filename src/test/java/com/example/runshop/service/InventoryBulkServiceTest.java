@@ -0,0 +1,107 @@
+package com.example.runshop.service;
+
+import com.example.runshop.model.dto.inventory.BulkStockAdjustmentResult;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class InventoryBulkServiceTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+    @Mock
+    private InventoryService inventoryService;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private InventoryBulkService inventoryBulkService;
+
+    @BeforeEach
+    void setUp() {
+        inventoryBulkService = new InventoryBulkService(jdbcTemplate, inventoryService, new ObjectMapper(), transactionManager, 2, 10);
+        lenient().when(inventoryService.usesDefaultStockMode(anyLong())).thenReturn(true);
+    }
+
+    @Test
+    @DisplayName("CSV 헤더는 건너뛰고 batch-size 단위로 나누어 반영하며, 반영되지 않은 행을 보고한다")
+    @SuppressWarnings("unchecked")
+    void apply_Csv_ReportsRowsNotApplied() throws IOException {
+        when(jdbcTemplate.batchUpdate(anyString(), any(Collection.class), anyInt(), any(ParameterizedPreparedStatementSetter.class)))
+                .thenReturn(new int[][]{{1, 0}})
+                .thenReturn(new int[][]{{1}});
+
+        BulkStockAdjustmentResult result = inventoryBulkService.apply(stream("""
+                productId,mode,quantity
+                1,ABSOLUTE,10
+                2,DELTA,-5
+                3,delta,3
+                """), InventoryBulkService.Format.CSV);
+
+        assertEquals(3, result.getTotalRows());
+        assertEquals(2, result.getAppliedRows());
+        assertEquals(1, result.getFailedRows());
+        assertEquals(3, result.getErrors().get(0).getRowNumber());
+        assertEquals(2L, result.getErrors().get(0).getProductId());
+        // 첫 배치는 모드가 바뀌는 지점에서 두 번, 두 번째 배치는 한 번 실행
+        verify(jdbcTemplate, times(3)).batchUpdate(anyString(), any(Collection.class), anyInt(), any(ParameterizedPreparedStatementSetter.class));
+    }
+
+    @Test
+    @DisplayName("해석할 수 없는 행과 음수 절대값은 DB 에 보내지 않고 실패로 보고한다")
+    @SuppressWarnings("unchecked")
+    void apply_JsonLines_RejectsInvalidRows() throws IOException {
+        when(jdbcTemplate.batchUpdate(anyString(), any(Collection.class), anyInt(), any(ParameterizedPreparedStatementSetter.class)))
+                .thenReturn(new int[][]{{1}});
+
+        BulkStockAdjustmentResult result = inventoryBulkService.apply(stream("""
+                {"productId":1,"mode":"DELTA","quantity":4}
+                {"productId":2,"mode":"ABSOLUTE","quantity":-1}
+                not-json
+                """), InventoryBulkService.Format.JSON_LINES);
+
+        assertEquals(3, result.getTotalRows());
+        assertEquals(1, result.getAppliedRows());
+        assertEquals(2, result.getFailedRows());
+        assertFalse(result.isErrorsTruncated());
+    }
+
+    @Test
+    @DisplayName("인기/버킷 재고 상품은 증감만 InventoryService 를 통해 반영한다")
+    void apply_RoutesSpecialStockModeProducts() throws IOException {
+        when(inventoryService.usesDefaultStockMode(anyLong())).thenReturn(false);
+        when(inventoryService.tryDecreaseStock(2L, 5)).thenReturn(true);
+
+        BulkStockAdjustmentResult result = inventoryBulkService.apply(stream("""
+                1,DELTA,3
+                2,DELTA,-5
+                3,ABSOLUTE,10
+                """), InventoryBulkService.Format.CSV);
+
+        verify(inventoryService, times(1)).increaseStock(1L, 3);
+        assertEquals(2, result.getAppliedRows());
+        assertEquals(1, result.getFailedRows());
+        assertEquals(3L, result.getErrors().get(0).getProductId());
+    }
+
+    private InputStream stream(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,121 @@
+package com.example.runshop.service;
+
+import com.example.runshop.exception.Inventory.OutOfStockException;
+import com.example.runshop.fixture.ProductStockFixture;
+import com.example.runshop.repository.InventoryRepository;
+import com.example.runshop.repository.ProductRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class InventoryServiceConcurrencyTest {
+
+    @Autowired
+    private InventoryService inventoryService;
+    @Autowired
+    private InventoryRepository inventoryRepository;
+    @Autowired
+    private ProductRepository productRepository;
+
+    private ProductStockFixture fixture;
+
+    @BeforeEach
+    void setUp() {
+        fixture = new ProductStockFixture(productRepository, inventoryRepository);
+    }
+
+    @AfterEach
+    void tearDown() {
+        fixture.deleteAll();
+    }
+
+    @Test
+    @DisplayName("하나의 인기 상품에 수백 개의 스레드가 동시에 주문해도 초과 판매되지 않는다")
+    void concurrentDecrease_NeverOversells() throws InterruptedException {
+        // given
+        int initialStock = 100;
+        int threadCount = 300;
+        Long productId = createProductWithStock("한정판 운동화", initialStock);
+
+        ExecutorService executor = Executors.newFixedThreadPool(64);
+        CountDownLatch ready = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(threadCount);
+        AtomicInteger successCount = new AtomicInteger();
+        AtomicInteger failCount = new AtomicInteger();
+
+        // when
+        for (int i = 0; i < threadCount; i++) {
+            executor.submit(() -> {
+                try {
+                    ready.await();
+                    if (inventoryService.tryDecreaseStock(productId, 1)) {
+                        successCount.incrementAndGet();
+                    } else {
+                        failCount.incrementAndGet();
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    done.countDown();
+                }
+            });
+        }
+        ready.countDown();
+        assertTrue(done.await(60, TimeUnit.SECONDS));
+        executor.shutdown();
+
+        // then
+        assertEquals(initialStock, successCount.get());
+        assertEquals(threadCount - initialStock, failCount.get());
+        assertEquals(0, inventoryService.getStock(productId));
+    }
+
+    @Test
+    @DisplayName("여러 상품 재고 선점 중 하나라도 부족하면 전체가 롤백된다")
+    void reserveStocks_AllOrNothing() {
+        // given
+        Long first = createProductWithStock("나이키 운동화", 10);
+        Long second = createProductWithStock("아디다스 운동화", 1);
+
+        // when
+        assertThrows(OutOfStockException.class,
+                () -> inventoryService.reserveStocks(Map.of(first, 5, second, 2)));
+
+        // then
+        assertEquals(10, inventoryService.getStock(first));
+        assertEquals(1, inventoryService.getStock(second));
+    }
+
+    @Test
+    @DisplayName("여러 상품 재고 선점이 모두 성공하면 각 상품의 재고가 차감된다")
+    void reserveStocks_Success() {
+        // given
+        Long first = createProductWithStock("나이키 운동화", 10);
+        Long second = createProductWithStock("아디다스 운동화", 3);
+
+        // when
+        inventoryService.reserveStocks(Map.of(first, 5, second, 3));
+
+        // then
+        assertEquals(5, inventoryService.getStock(first));
+        assertEquals(0, inventoryService.getStock(second));
+    }
+
+    private Long createProductWithStock(String name, int stock) {
+        return fixture.createProductWithStock(name, BigDecimal.valueOf(100000), stock).getId();
+    }
+}
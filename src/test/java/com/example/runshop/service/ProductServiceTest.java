@@ -10,6 +10,7 @@ import com.example.runshop.model.enums.Category;
 import com.example.runshop.model.vo.product.ProductDescription;
 import com.example.runshop.model.vo.product.ProductName;
 import com.example.runshop.model.vo.product.ProductPrice;
+import com.example.runshop.repository.ProductDeletionRepository;
 import com.example.runshop.repository.ProductRepository;
 import com.example.runshop.utils.mapper.ProductMapper;
 import org.junit.jupiter.api.DisplayName;
@@ -42,6 +43,9 @@ public class ProductServiceTest {
     @MockBean
     private ProductRepository productRepository;
 
+    @MockBean
+    private ProductDeletionRepository productDeletionRepository;
+
     @MockBean
     private ProductMapper productMapper;
 
@@ -190,6 +194,7 @@ public class ProductServiceTest {
 
         // then
         verify(productRepository, times(1)).deleteById(productId);
+        verify(productDeletionRepository, times(1)).save(argThat(deletion -> productId.equals(deletion.getProductId())));
     }
 
     @Test
@@ -247,7 +252,7 @@ public class ProductServiceTest {
                 .build();
 
         Page<Product> products = new PageImpl<>(List.of(product1, product2), PageRequest.of(0, 10), 2);
-        when(productRepository.findAll(pageable)).thenReturn(products);
+        when(productRepository.findAllByEnabledTrue(pageable)).thenReturn(products);
 
         ProductDTO productDTO1 = ProductDTO.builder()
                 .id(1L)
@@ -276,6 +281,6 @@ public class ProductServiceTest {
 
         // then
         assertNotNull(result);
-        verify(productRepository, times(1)).findAll(pageable);
+        verify(productRepository, times(1)).findAllByEnabledTrue(pageable);
     }
 }
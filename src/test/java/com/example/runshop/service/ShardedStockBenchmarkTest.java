@@ -0,0 +1,120 @@
+package com.example.runshop.service;
+
+import com.example.runshop.fixture.ProductStockFixture;
+import com.example.runshop.repository.InventoryBucketRepository;
+import com.example.runshop.repository.InventoryRepository;
+import com.example.runshop.repository.ProductRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 한 상품(SKU)에 대해 버킷 수에 따른 재고 차감 처리량을 측정합니다.
+ * 실제 주문처럼 재고 차감 후 커밋 전까지 짧은 작업(주문 저장 등)이 있다고 보고 트랜잭션을 잠시 유지합니다.
+ * 실행: ./gradlew benchmark
+ */
+@Tag("benchmark")
+@SpringBootTest
+class ShardedStockBenchmarkTest {
+
+    private static final int INITIAL_STOCK = 1_000_000;
+    private static final int THREADS = 32;
+    private static final long DURATION_MILLIS = 3_000;
+    private static final long WORK_IN_TRANSACTION_MILLIS = 2;
+
+    @Autowired
+    private InventoryService inventoryService;
+    @Autowired
+    private InventoryRepository inventoryRepository;
+    @Autowired
+    private InventoryBucketRepository inventoryBucketRepository;
+    @Autowired
+    private ProductRepository productRepository;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private ProductStockFixture fixture;
+
+    @BeforeEach
+    void setUp() {
+        fixture = new ProductStockFixture(productRepository, inventoryRepository);
+    }
+
+    @AfterEach
+    void tearDown() {
+        inventoryBucketRepository.deleteAll();
+        fixture.deleteAll();
+    }
+
+    @Test
+    @DisplayName("버킷 수가 늘어날수록 한 상품의 재고 차감 처리량이 늘어난다")
+    void throughputScalesWithBucketCount() throws InterruptedException {
+        System.out.println("buckets | ops/sec");
+        for (int bucketCount : new int[]{1, 2, 4, 8, 16}) {
+            Long productId = fixture.createProductWithStock("한정판 운동화 " + bucketCount, BigDecimal.valueOf(199000), INITIAL_STOCK)
+                    .getId();
+            if (bucketCount > 1) {
+                inventoryService.changeBucketCount(productId, bucketCount);
+            }
+
+            long succeeded = runFor(productId);
+
+            System.out.printf("%7d | %,.0f%n", bucketCount, succeeded * 1000.0 / DURATION_MILLIS);
+            assertEquals(INITIAL_STOCK - succeeded, inventoryService.getStock(productId));
+        }
+    }
+
+    private long runFor(Long productId) throws InterruptedException {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        LongAdder succeeded = new LongAdder();
+        CountDownLatch done = new CountDownLatch(THREADS);
+        long deadline = System.currentTimeMillis() + DURATION_MILLIS;
+
+        for (int i = 0; i < THREADS; i++) {
+            executor.submit(() -> {
+                try {
+                    while (System.currentTimeMillis() < deadline) {
+                        Boolean reserved = transactionTemplate.execute(status -> {
+                            boolean result = inventoryService.tryDecreaseStock(productId, 1);
+                            sleepQuietly(WORK_IN_TRANSACTION_MILLIS);
+                            return result;
+                        });
+                        if (Boolean.TRUE.equals(reserved)) {
+                            succeeded.increment();
+                        }
+                    }
+                } finally {
+                    done.countDown();
+                }
+            });
+        }
+        assertTrue(done.await(DURATION_MILLIS + 60_000, TimeUnit.MILLISECONDS));
+        executor.shutdown();
+        return succeeded.sum();
+    }
+
+    private static void sleepQuietly(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
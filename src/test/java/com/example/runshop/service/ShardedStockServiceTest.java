@@ -0,0 +1,78 @@
+package com.example.runshop.service;
+
+import com.example.runshop.model.entity.Inventory;
+import com.example.runshop.model.entity.Product;
+import com.example.runshop.model.enums.StockMode;
+import com.example.runshop.model.vo.inventory.StockQuantity;
+import com.example.runshop.repository.InventoryBucketRepository;
+import com.example.runshop.repository.InventoryRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ShardedStockServiceTest {
+
+    private static final Long PRODUCT_ID = 1L;
+
+    @Mock
+    private InventoryRepository inventoryRepository;
+    @Mock
+    private InventoryBucketRepository inventoryBucketRepository;
+
+    private ShardedStockService shardedStockService;
+
+    @BeforeEach
+    void setUp() {
+        shardedStockService = new ShardedStockService(inventoryRepository, inventoryBucketRepository);
+        // 이 노드는 버킷 8개로 알고 있음
+        when(inventoryRepository.findBucketCountsByStockMode(StockMode.SHARDED)).thenReturn(List.<Object[]>of(new Object[]{PRODUCT_ID, 8}));
+        shardedStockService.refreshShardedProducts();
+    }
+
+    @Test
+    @DisplayName("다른 노드가 버킷 수를 줄여 반환할 버킷이 없으면 DB 의 현재 버킷 수로 다시 시도한다")
+    void increase_RetriesWithCurrentBucketCount() {
+        when(inventoryBucketRepository.increaseStock(eq(PRODUCT_ID), anyInt(), eq(3))).thenReturn(0, 1);
+        when(inventoryRepository.findByProductIdForUpdate(PRODUCT_ID)).thenReturn(Optional.of(inventory(StockMode.SHARDED, 2)));
+
+        assertTrue(shardedStockService.increase(PRODUCT_ID, 3));
+
+        ArgumentCaptor<Integer> bucketNo = ArgumentCaptor.forClass(Integer.class);
+        verify(inventoryBucketRepository, times(2)).increaseStock(eq(PRODUCT_ID), bucketNo.capture(), eq(3));
+        assertTrue(bucketNo.getAllValues().get(1) < 2);
+        verify(inventoryRepository, never()).increaseStock(any(), anyInt());
+    }
+
+    @Test
+    @DisplayName("다른 노드가 버킷을 한 행으로 합쳤으면 inventory 행에 재고를 반환한다")
+    void increase_FallsBackToInventoryRowWhenMerged() {
+        when(inventoryBucketRepository.increaseStock(eq(PRODUCT_ID), anyInt(), eq(3))).thenReturn(0);
+        when(inventoryRepository.findByProductIdForUpdate(PRODUCT_ID)).thenReturn(Optional.of(inventory(StockMode.DATABASE, 1)));
+
+        when(inventoryRepository.increaseStock(PRODUCT_ID, 3)).thenReturn(1);
+
+        assertTrue(shardedStockService.increase(PRODUCT_ID, 3));
+
+        verify(inventoryRepository, times(1)).increaseStock(PRODUCT_ID, 3);
+        assertFalse(shardedStockService.isSharded(PRODUCT_ID));
+    }
+
+    private Inventory inventory(StockMode stockMode, int bucketCount) {
+        Inventory inventory = new Inventory(new Product(), new StockQuantity(0));
+        inventory.setStockMode(stockMode);
+        inventory.setBucketCount(bucketCount);
+        return inventory;
+    }
+}
@@ -0,0 +1,107 @@
+package com.example.runshop.service;
+
+import com.example.runshop.model.entity.StockHold;
+import com.example.runshop.model.enums.StockHoldStatus;
+import com.example.runshop.repository.StockHoldRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class StockHoldServiceTest {
+
+    @Mock
+    private StockHoldRepository stockHoldRepository;
+    @Mock
+    private InventoryService inventoryService;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private StockHoldService stockHoldService;
+
+    @BeforeEach
+    void setUp() {
+        stockHoldService = new StockHoldService(stockHoldRepository, inventoryService, transactionManager, 35, 30, 500);
+    }
+
+    @Test
+    @DisplayName("재고 선점 시 재고를 차감하고 상품별 홀드를 기록한다")
+    void hold_ReservesStockAndSavesHolds() {
+        Map<Long, Integer> quantities = Map.of(1L, 2, 2L, 1);
+
+        stockHoldService.hold(10L, quantities);
+
+        verify(inventoryService, times(1)).reserveStocks(quantities);
+        verify(stockHoldRepository, times(1)).saveAll(argThat((List<StockHold> holds) -> holds.size() == 2));
+    }
+
+    @Test
+    @DisplayName("이미 만료되어 반환된 홀드는 확정하지 않는다")
+    void commit_ReturnsFalseWhenNothingHeld() {
+        when(stockHoldRepository.findByOrderIdForUpdate(eq(10L), anyCollection())).thenReturn(List.of());
+
+        assertFalse(stockHoldService.commit(10L));
+        verify(stockHoldRepository, never()).updateStatus(anyCollection(), any());
+    }
+
+    @Test
+    @DisplayName("홀드 TTL 이 결제 대기 만료 시간보다 짧으면 시작하지 않는다")
+    void rejectsHoldTtlShorterThanPendingTtl() {
+        assertThrows(IllegalStateException.class,
+                () -> new StockHoldService(stockHoldRepository, inventoryService, transactionManager, 15, 30, 500));
+    }
+
+    @Test
+    @DisplayName("만료된 홀드를 다시 확보할 때 재고를 차감하고 홀드를 확정한다")
+    void reacquire_ReservesAndCommits() {
+        Map<Long, Integer> quantities = Map.of(1L, 2);
+        when(inventoryService.tryReserveStocks(quantities)).thenReturn(true);
+        when(stockHoldRepository.findByOrderIdForUpdate(eq(10L), anyCollection()))
+                .thenReturn(List.of(StockHold.create(10L, 1L, 2, LocalDateTime.now().plusMinutes(35))));
+
+        assertTrue(stockHoldService.reacquire(10L, quantities));
+        verify(stockHoldRepository, times(1)).saveAll(anyList());
+        verify(stockHoldRepository, times(1)).updateStatus(anyCollection(), eq(StockHoldStatus.COMMITTED));
+    }
+
+    @Test
+    @DisplayName("재고가 부족하면 다시 확보하지 않고 홀드도 기록하지 않는다")
+    void reacquire_OutOfStock() {
+        Map<Long, Integer> quantities = Map.of(1L, 2);
+        when(inventoryService.tryReserveStocks(quantities)).thenReturn(false);
+
+        assertFalse(stockHoldService.reacquire(10L, quantities));
+        verify(stockHoldRepository, never()).saveAll(anyList());
+    }
+
+    @Test
+    @DisplayName("만료된 홀드는 상품별로 합산해 상품당 한 번만 재고를 반환한다")
+    void releaseExpiredHolds_AggregatesPerProduct() {
+        LocalDateTime past = LocalDateTime.now().minusMinutes(1);
+        List<StockHold> expired = List.of(
+                StockHold.create(10L, 1L, 2, past),
+                StockHold.create(11L, 1L, 3, past),
+                StockHold.create(12L, 2L, 1, past));
+        when(stockHoldRepository.findExpiredForUpdate(eq(StockHoldStatus.HELD), any(LocalDateTime.class), any(Pageable.class)))
+                .thenReturn(expired);
+
+        stockHoldService.releaseExpiredHolds();
+
+        verify(inventoryService, times(1)).increaseStock(1L, 5);
+        verify(inventoryService, times(1)).increaseStock(2L, 1);
+        verify(stockHoldRepository, times(1)).updateStatus(anyCollection(), eq(StockHoldStatus.RELEASED));
+    }
+}